@@ -10,6 +10,7 @@
 
 package com.tibetiroka.deblint;
 
+import com.tibetiroka.deblint.archive.DebArchive;
 import com.tibetiroka.deblint.parser.ControlType;
 
 import java.io.File;
@@ -226,6 +227,31 @@ public class Configuration implements Cloneable {
 		PRESET_NORMAL.addressStyle = true;
 		PRESET_STRICT.addressStyle = true;
 		PRESET_EXACT.addressStyle = true;
+		//
+		PRESET_NORMAL.duplicateIndexEntries = true;
+		PRESET_STRICT.duplicateIndexEntries = true;
+		PRESET_EXACT.duplicateIndexEntries = true;
+		//
+		PRESET_NORMAL.indexFileCollisions = true;
+		PRESET_STRICT.indexFileCollisions = true;
+		PRESET_EXACT.indexFileCollisions = true;
+		//
+		PRESET_STRICT.missingSourcePackages = true;
+		PRESET_EXACT.missingSourcePackages = true;
+		//
+		PRESET_NORMAL.unsatisfiableDependencies = true;
+		PRESET_STRICT.unsatisfiableDependencies = true;
+		PRESET_EXACT.unsatisfiableDependencies = true;
+		//
+		PRESET_NORMAL.unusedFilePattern = true;
+		PRESET_STRICT.unusedFilePattern = true;
+		PRESET_EXACT.unusedFilePattern = true;
+		//
+		PRESET_EXACT.catchAllFiles = true;
+		//
+		PRESET_NORMAL.packageConsistency = true;
+		PRESET_STRICT.packageConsistency = true;
+		PRESET_EXACT.packageConsistency = true;
 	}
 
 	/**
@@ -234,6 +260,23 @@ public class Configuration implements Cloneable {
 	public final String presetDescription;
 	public boolean addressStyle;
 	public boolean archInversion;
+	/**
+	 * The host architecture that architecture restrictions of package relationships are evaluated for, or null if unknown.
+	 */
+	public String architecture;
+	/**
+	 * The binary package index that the build dependencies of the checked file are resolved against, instead of linting the file, or null.
+	 */
+	public File buildDepsAgainst;
+	/**
+	 * The active build profiles that build profile restrictions of package relationships are evaluated for.
+	 */
+	public Set<String> buildProfiles = Set.of();
+	public boolean catchAllFiles;
+	/**
+	 * The time budget of running a single field, stanza or file linter in milliseconds, or 0 for no limit. See {@link com.tibetiroka.deblint.linter.Deadline}.
+	 */
+	public long checkBudget;
 	/**
 	 * The type of control file this object is configured for.
 	 */
@@ -252,6 +295,7 @@ public class Configuration implements Cloneable {
 	public boolean duplicateField;
 	public boolean duplicateFilePattern;
 	public boolean duplicateFiles;
+	public boolean duplicateIndexEntries;
 	public boolean duplicateIssueNumbers;
 	public boolean duplicatePackages;
 	public boolean duplicateVcs;
@@ -263,19 +307,50 @@ public class Configuration implements Cloneable {
 	public boolean fieldName;
 	public boolean fieldNameCapitalization;
 	public boolean fieldType;
+	/**
+	 * The time budget of linting the target in milliseconds, or 0 for no limit. See {@link com.tibetiroka.deblint.linter.Deadline}.
+	 */
+	public long fileBudget;
 	public boolean fileListIndent;
 	public boolean futureDate;
+	/**
+	 * The range of git revisions whose debian/control and debian/copyright files are linted, or null if the history is not linted.
+	 */
+	public String gitRevisions;
+	public boolean indexFileCollisions;
 	public boolean leadingEmptyLine;
 	public boolean licenseDeclarations;
 	public boolean licenseDeclaredAfterExplanation;
 	public boolean licenseName;
 	public boolean maintainerNameFullStop;
+	/**
+	 * The memory budget in bytes, or 0 for no limit. With a budget, files with a {@link com.tibetiroka.deblint.linter.StreamingFileLinter streaming} file linter are linted one stanza at a time, and the summaries kept for file-wide checks are moved to a temporary file when they exceed half of the budget. The file patterns checked against the {@link #sourceTree source tree} are loaded into memory regardless of the budget.
+	 */
+	public long memoryBudget;
 	public boolean missingSectionOrPriority;
+	public boolean missingSourcePackages;
 	public boolean multipleDistributions;
+	public boolean packageConsistency;
+	/**
+	 * The directory of a source package whose control files are linted together, or null if a single file is linted.
+	 */
+	public File packageDirectory;
+	/**
+	 * The binary package index that package relationships are resolved against, or null if they are not checked.
+	 */
+	public File packagesIndex;
 	public boolean recommendedFields;
 	public boolean redundantFilePattern;
 	public boolean redundantPackageType;
 	public boolean sourceRedundantVersion;
+	/**
+	 * The unpacked source tree that the file patterns of a debian/copyright file are checked against, or null if they are not checked.
+	 */
+	public File sourceTree;
+	/**
+	 * The source package index that the source packages of a binary package index are looked up in, or null if they are not checked.
+	 */
+	public File sourcesIndex;
 	public boolean spaceAfterColon;
 	public boolean strictArch;
 	public boolean strictCopyrightFormatVersion;
@@ -288,6 +363,8 @@ public class Configuration implements Cloneable {
 	public boolean trailingSpace;
 	public boolean unknownPackageType;
 	public boolean unknownPriority;
+	public boolean unsatisfiableDependencies;
+	public boolean unusedFilePattern;
 	public boolean upstreamContactStyle;
 	public boolean upstreamVersionStyle;
 	public boolean urgencyDescriptionParentheses;
@@ -295,6 +372,10 @@ public class Configuration implements Cloneable {
 	public boolean urlExists;
 	public boolean urlForceHttps;
 	public boolean vcsBranch;
+	/**
+	 * The directory that the files listed in .dsc and .changes files are verified in, or null if they are not verified.
+	 */
+	public File verifyFiles;
 	public boolean versionStyle;
 
 	/**
@@ -344,11 +425,13 @@ public class Configuration implements Cloneable {
 	}
 
 	/**
-	 * Finalizes the changes made to this configuration, bringing it to a valid state. Editing values after this call might cause unexpected behaviour. This method should be called after this object is configured.
+	 * Finalizes the changes made to this configuration, bringing it to a valid state. The checked type of {@link DebArchive#isPackage(File) binary packages} is always {@link ControlType#BINARY_PACKAGE_CONTROL}, replacing any other type. Editing values after this call might cause unexpected behaviour. This method should be called after this object is configured.
 	 */
 	public void apply() {
 		if(targetFile == null) {
 			targetFile = new File(checkedType.getDefaultFile());
+		} else if(DebArchive.isPackage(targetFile)) {
+			checkedType = ControlType.BINARY_PACKAGE_CONTROL;
 		}
 	}
 
@@ -367,6 +450,7 @@ public class Configuration implements Cloneable {
 	public static final class ConfigOptionDetails {
 		public static final String addressStyle = "An address (name and email) not using the proper format.";
 		public static final String archInversion = "Mixed inverted and non-inverted architectures.";
+		public static final String catchAllFiles = "A file in the source tree specified with --source-tree that is only covered by a 'Files: *' stanza of a debian/copyright file, or not covered at all.";
 		public static final String comments = "Comments outside of debian/control files.";
 		public static final String copyrightFilePatternGenerality = "Whether more generic file patterns are declared first in copyright files. When disabled, debian/copyright file lists are not checked for for 'redundantFilePattern' and 'duplicateFilePattern'.";
 		public static final String copyrightSourceStyle = "A Source field in a debian/copyright file that is not a single URL address.";
@@ -381,6 +465,7 @@ public class Configuration implements Cloneable {
 		public static final String duplicateField = "A field declared twice in the same stanza.";
 		public static final String duplicateFilePattern = "A file pattern repeated within the same field.";
 		public static final String duplicateFiles = "Duplicate entry in a file list.";
+		public static final String duplicateIndexEntries = "A package declared more than once with the same version and architecture in an archive index.";
 		public static final String duplicateIssueNumbers = "A Closes field with repeated issue numbers.";
 		public static final String duplicatePackages = "Duplicate entry in a package list.";
 		public static final String duplicateVcs = "More than one version control fields declared.";
@@ -394,13 +479,16 @@ public class Configuration implements Cloneable {
 		public static final String fieldType = "A field with an invalid type.";
 		public static final String fileListIndent = "A file list not using a single space as indentation.";
 		public static final String futureDate = "A future date specified in a Date field.";
+		public static final String indexFileCollisions = "Packages in an archive index sharing the same file name with different sizes or hashes, or the same hash with different sizes.";
 		public static final String leadingEmptyLine = "A field that should begin with an empty line but doesn't.";
 		public static final String licenseDeclarations = "Declared licenses that are not used, or used licenses that are not declared.";
 		public static final String licenseDeclaredAfterExplanation = "A license that had an explanation every time it was used, and still has a stand-alone license stanza.";
 		public static final String licenseName = "Short license name(s) not properly formatted. When disabled, debian/copyright licenses are also not checked for 'customLicenseException'.";
 		public static final String maintainerNameFullStop = "A maintainer name that contains a full stop.";
 		public static final String missingSectionOrPriority = "A missing section or priority value in a .changes file's file list.";
+		public static final String missingSourcePackages = "A binary package in an archive index whose source package is not in the index specified with --sources-index.";
 		public static final String multipleDistributions = "A Distribution field with more than one distribution specified.";
+		public static final String packageConsistency = "Control files of the same source package that disagree, such as the Binary or Package-List field of a .dsc file and the binary packages of debian/control. Used with --package.";
 		public static final String recommendedFields = "A recommended field that is not present in the stanza.";
 		public static final String redundantFilePattern = "A file pattern that is not necessary, because there is a more generic pattern in the same field.";
 		public static final String redundantPackageType = "A Package-Type field with a value of 'deb' in a debian/control file.";
@@ -413,6 +501,8 @@ public class Configuration implements Cloneable {
 		public static final String trailingSpace = "Line that ends with a trailing whitespace.";
 		public static final String unknownPackageType = "An unrecognized type is used in a Package-Type field. Currently, the recognized types are 'deb' and 'udeb'. Used in debian/control files.";
 		public static final String unknownPriority = "A priority name not recognized.";
+		public static final String unsatisfiableDependencies = "A Depends, Pre-Depends or Build-Depends relation that no package in the index specified with --packages-index satisfies.";
+		public static final String unusedFilePattern = "A file pattern in a debian/copyright file that matches no file in the source tree specified with --source-tree.";
 		public static final String upstreamContactStyle = "An Upstream-Contact field that is not a single URL address or a Maintainer-style contact. Used in debian/copyright files.";
 		public static final String upstreamVersionStyle = "An upstream version using invalid syntax.";
 		public static final String urgencyDescriptionParentheses = "Commentary in an Urgency field that is not wrapped in parentheses. Used in .changes files.";
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint;
+
+import java.util.Objects;
+
+/**
+ * A single error reported by the linter.
+ * <p>
+ * The message is stored as a template and its arguments, and is only formatted when it is {@link #message() displayed}. Errors that are only counted, or replayed from a cache, never build their message. Arguments should be immutable, such as strings and {@link com.tibetiroka.deblint.parser.Line lines}, as they may be formatted much later.
+ *
+ * @param template  The error message, with a {@code {}} placeholder for each argument
+ * @param arguments The values of the placeholders, or null if the template is the message itself
+ * @param check     The name of the check that generated the error, or null
+ * @param reference The error's description in the standard, see {@link References}, or null
+ * @param line      The line number of the error, or -1
+ * @param context   The part of the file the error was found in, such as the name and version of a package in an archive index, or null
+ */
+public record Diagnostic(String template, Object[] arguments, String check, String reference, int line, String context) {
+	/**
+	 * Creates a diagnostic with a preformatted message.
+	 *
+	 * @param message   The error message
+	 * @param check     The name of the check that generated the error, or null
+	 * @param reference The error's description in the standard, or null
+	 * @param line      The line number of the error, or -1
+	 * @param context   The part of the file the error was found in, or null
+	 */
+	public Diagnostic(String message, String check, String reference, int line, String context) {
+		this(message, null, check, reference, line, context);
+	}
+
+	/**
+	 * Creates a diagnostic with a preformatted message and without context.
+	 *
+	 * @param message   The error message
+	 * @param check     The name of the check that generated the error, or null
+	 * @param reference The error's description in the standard, or null
+	 * @param line      The line number of the error, or -1
+	 */
+	public Diagnostic(String message, String check, String reference, int line) {
+		this(message, null, check, reference, line, null);
+	}
+
+	/**
+	 * Formats the message of this error, replacing each placeholder of the {@link #template} with the next argument. Extra placeholders are kept as they are.
+	 *
+	 * @return The error message
+	 */
+	public String message() {
+		if(arguments == null || arguments.length == 0) {
+			return template;
+		}
+		StringBuilder sb = new StringBuilder(template.length() + 16 * arguments.length);
+		int start = 0;
+		for(Object argument : arguments) {
+			int placeholder = template.indexOf("{}", start);
+			if(placeholder == -1) {
+				break;
+			}
+			sb.append(template, start, placeholder).append(argument);
+			start = placeholder + 2;
+		}
+		return sb.append(template, start, template.length()).toString();
+	}
+
+	/**
+	 * Creates a copy of this diagnostic in a different context.
+	 *
+	 * @param context The new context, or null
+	 * @return The new diagnostic
+	 */
+	public Diagnostic withContext(String context) {
+		return Objects.equals(context, this.context) ? this : new Diagnostic(template, arguments, check, reference, line, context);
+	}
+
+	/**
+	 * Creates a copy of this diagnostic on a different line.
+	 *
+	 * @param line The new line number, or -1
+	 * @return The new diagnostic
+	 */
+	public Diagnostic withLine(int line) {
+		return line == this.line ? this : new Diagnostic(template, arguments, check, reference, line, context);
+	}
+}
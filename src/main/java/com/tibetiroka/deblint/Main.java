@@ -10,12 +10,25 @@
 
 package com.tibetiroka.deblint;
 
+import com.tibetiroka.deblint.archive.DebArchive;
+import com.tibetiroka.deblint.archive.SourceTarball;
+import com.tibetiroka.deblint.git.GitHistory;
+import com.tibetiroka.deblint.linter.Deadline;
+import com.tibetiroka.deblint.linter.Linters;
+import com.tibetiroka.deblint.linter.PackageConsistency;
+import com.tibetiroka.deblint.output.DiagnosticSink;
 import com.tibetiroka.deblint.parser.ControlFile;
 import com.tibetiroka.deblint.parser.ControlType;
+import com.tibetiroka.deblint.universe.PackageUniverse;
+import com.tibetiroka.deblint.util.SpillingStringList;
 
-import java.io.File;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.BiPredicate;
 
@@ -48,6 +61,50 @@ public class Main {
 	 * The number of errors generated during linting.
 	 */
 	private static int ERROR_COUNT = 0;
+	/**
+	 * The number of errors after which linting stops, or 0 to lint everything.
+	 */
+	private static int MAX_ERRORS = 0;
+	/**
+	 * Whether to only report the result through the exit code, without displaying any errors.
+	 */
+	private static boolean QUIET = false;
+	/**
+	 * Whether linting should stop, because its result is already known. Checked by long-running loops via {@link #isCancelled()}.
+	 */
+	private static volatile boolean CANCELLED = false;
+	/**
+	 * The output format of errors, see {@link DiagnosticSink#create(String, Writer, boolean, boolean, boolean)}.
+	 */
+	private static String FORMAT = "text";
+	/**
+	 * The format of the profile printed after linting, or null if profiling is disabled. See {@link Profiler}.
+	 */
+	private static String PROFILE = null;
+	/**
+	 * The sink errors are written to, created on the first error.
+	 */
+	private static DiagnosticSink SINK = null;
+	/**
+	 * The linted file, as displayed in structured output.
+	 */
+	private static String TARGET = null;
+	/**
+	 * The type of the linted file, used for errors without a {@link #TYPE type of their own}.
+	 */
+	private static ControlType TARGET_TYPE = null;
+	/**
+	 * The context of the errors reported by each thread, see {@link Diagnostic#context()}.
+	 */
+	private static final ThreadLocal<String> CONTEXT = new ThreadLocal<>();
+	/**
+	 * The type of the control file each thread is checking, if it differs from {@link #TARGET_TYPE}, such as a file inside a tarball.
+	 */
+	private static final ThreadLocal<ControlType> TYPE = new ThreadLocal<>();
+	/**
+	 * The active recordings of each thread, innermost first.
+	 */
+	private static final ThreadLocal<Deque<Recording>> RECORDINGS = ThreadLocal.withInitial(ArrayDeque::new);
 
 	/**
 	 * Displays an error message, incrementing {@link #ERROR_COUNT}. During testing, throws an {@link IllegalArgumentException}.
@@ -115,27 +172,153 @@ public class Main {
 	 * @throws IllegalArgumentException If testing
 	 */
 	public static synchronized void error(String error, String check, String reference, int line) {
+		report(new Diagnostic(error, check, reference, line));
+	}
+
+	/**
+	 * Displays an error message built from a template, incrementing {@link #ERROR_COUNT}. The message is only formatted if it is displayed, see {@link Diagnostic#message()}. During testing, throws an {@link IllegalArgumentException}.
+	 *
+	 * @param check     The name of the check that generated the error, or null
+	 * @param reference The error's description in the standard, see {@link References}, or null
+	 * @param line      The line number to display, or -1
+	 * @param template  The error message, with a {@code {}} placeholder for each argument
+	 * @param arguments The values of the placeholders
+	 * @throws IllegalArgumentException If testing
+	 */
+	public static void report(String check, String reference, int line, String template, Object... arguments) {
+		report(new Diagnostic(template, arguments, check, reference, line, null));
+	}
+
+	/**
+	 * Displays an error, incrementing {@link #ERROR_COUNT}. The error is also added to every {@link #record(Runnable) recording} active on the current thread, before the {@link #setContext(String) context} of the thread is applied to it. If the thread is in a {@link #defer(Runnable) deferred} action, the error is only recorded. During testing, throws an {@link IllegalArgumentException}.
+	 *
+	 * @param diagnostic The error to display
+	 * @throws IllegalArgumentException If testing
+	 */
+	public static synchronized void report(Diagnostic diagnostic) {
+		for(Recording recording : RECORDINGS.get()) {
+			recording.diagnostics.add(diagnostic);
+			if(recording.deferred) {
+				return;
+			}
+		}
+		if(diagnostic.context() == null && CONTEXT.get() != null) {
+			diagnostic = diagnostic.withContext(CONTEXT.get());
+		}
 		ERROR_COUNT++;
+		Profiler.diagnostic(diagnostic.check());
 		if(IS_TEST) {
+			String check = diagnostic.check();
 			if(check != null) {
 				if(Configuration.getChecks().stream().noneMatch(f -> f.getName().equals(check))) {
 					throw new RuntimeException("Invalid check: " + check);
 				}
 			}
-			throw new IllegalArgumentException(error);
+			throw new IllegalArgumentException(diagnostic.message());
 		} else {
-			StringBuilder sb = new StringBuilder("Error: ");
-			if(DISPLAY_CHECK && check != null) {
-				sb.append('[').append(check).append("] ");
-			}
-			sb.append(error);
-			if(DISPLAY_LINE_NUMBER && line != -1) {
-				sb.append(" {").append("around line ").append(line).append('}');
+			// errors of other threads may still arrive after cancelling
+			if(!QUIET && (MAX_ERRORS == 0 || ERROR_COUNT <= MAX_ERRORS)) {
+				try {
+					sink().accept(diagnostic, TARGET, TYPE.get() == null ? TARGET_TYPE : TYPE.get());
+				} catch(IOException e) {
+					throw new UncheckedIOException(e);
+				}
 			}
-			if(DISPLAY_REFERENCE && reference != null) {
-				sb.append(" <").append(reference).append('>');
+			if(MAX_ERRORS != 0 && ERROR_COUNT >= MAX_ERRORS) {
+				cancel();
 			}
-			System.out.println(sb);
+		}
+	}
+
+	/**
+	 * Stops linting. Parsing, matching and linting loops check {@link #isCancelled()}, and skip their remaining work; errors that are already being checked may still be reported.
+	 */
+	public static void cancel() {
+		CANCELLED = true;
+	}
+
+	/**
+	 * Checks whether linting was {@link #cancel() cancelled}, such as when the maximum number of errors is reached.
+	 *
+	 * @return {@link #CANCELLED}
+	 */
+	public static boolean isCancelled() {
+		return CANCELLED;
+	}
+
+	/**
+	 * Checks whether linting stops after a maximum number of errors. In this case, the checks of each stanza are run in the order of their {@link com.tibetiroka.deblint.linter.CheckCosts measured cost}, so that cheap checks can find errors before expensive ones run.
+	 *
+	 * @return True if {@code --max-errors} or {@code --quiet} is used
+	 */
+	public static boolean isFailFast() {
+		return MAX_ERRORS != 0;
+	}
+
+	/**
+	 * Runs an action while recording the errors it reports. Errors are still displayed as usual. Recordings can be nested; nested recordings are also added to the enclosing ones.
+	 *
+	 * @param action The action to run
+	 * @return The reported errors, in order, or null if the action called {@link #uncacheable()}
+	 */
+	public static List<Diagnostic> record(Runnable action) {
+		Deque<Recording> recordings = RECORDINGS.get();
+		Recording recording = new Recording();
+		recordings.push(recording);
+		try {
+			action.run();
+		} finally {
+			recordings.pop();
+		}
+		return recording.cacheable ? recording.diagnostics : null;
+	}
+
+	/**
+	 * Runs an action while recording the errors it reports, without displaying or counting them. The errors can be {@link #report(Diagnostic) reported} later, such as to report the errors of tasks running in parallel in a fixed order. Recordings inside the action still receive the errors; enclosing recordings only receive them when they are reported.
+	 *
+	 * @param action The action to run
+	 * @return The reported errors, in order
+	 */
+	public static List<Diagnostic> defer(Runnable action) {
+		Deque<Recording> recordings = RECORDINGS.get();
+		Recording recording = new Recording();
+		recording.deferred = true;
+		recordings.push(recording);
+		try {
+			action.run();
+		} finally {
+			recordings.pop();
+		}
+		return recording.diagnostics;
+	}
+
+	/**
+	 * Sets the context of the errors reported by the current thread, such as the name and version of the package being linted in an archive index.
+	 *
+	 * @param context The context, or null to clear it
+	 */
+	public static void setContext(String context) {
+		CONTEXT.set(context);
+		TYPE.remove();
+	}
+
+	/**
+	 * Sets the context of the errors reported by the current thread, and the type of the control file they are found in, such as a file inside a tarball.
+	 *
+	 * @param context The context, or null to clear it
+	 * @param type    The type of the checked file, or null to use the type of the linted file
+	 */
+	public static void setContext(String context, ControlType type) {
+		CONTEXT.set(context);
+		TYPE.set(type);
+	}
+
+	/**
+	 * Marks the errors of the currently running checks as dependent on something other than the checked value and the configuration, such as the current time or the network. The active {@link #record(Runnable) recordings} of the current thread will not be cached.
+	 */
+	public static void uncacheable() {
+		for(Recording recording : RECORDINGS.get()) {
+			recording.cacheable = false;
 		}
 	}
 
@@ -155,12 +338,14 @@ public class Main {
 	 */
 	public static synchronized void info(String information) {
 		if(!IS_TEST) {
+			flushOutput();
 			System.out.println(information);
 		}
 	}
 
 	public static void main(String[] args) {
 		Thread.currentThread().setUncaughtExceptionHandler((t, e) -> {
+			finishOutput();
 			e.printStackTrace();
 			System.exit(3);
 		});
@@ -171,6 +356,12 @@ public class Main {
 		} else if(argList.contains("--version") || argList.contains("-v")) {
 			printVersion();
 		}
+		if(argList.contains("--quiet") || argList.contains("-q")) {
+			// the only option without a value
+			QUIET = true;
+			MAX_ERRORS = 1;
+			args = argList.stream().filter(arg -> !arg.equals("--quiet") && !arg.equals("-q")).toArray(String[]::new);
+		}
 		HashMap<String, List<String>> parameters = new HashMap<>();
 		for(int i = 0; i < args.length - 1; i += 2) {
 			parameters.computeIfAbsent(args[i], s -> new ArrayList<>());
@@ -183,6 +374,13 @@ public class Main {
 		Configuration config = processParameters(parameters);
 		//
 		lint(config);
+		finishOutput();
+		if(PROFILE != null) {
+			Profiler.print(System.err, PROFILE.equals("json"));
+		}
+		if(config.memoryBudget > 0 && !QUIET) {
+			printMemoryUsage(config.memoryBudget);
+		}
 		if(ERROR_COUNT != 0) {
 			System.exit(1);
 		}
@@ -198,7 +396,9 @@ public class Main {
 		if(IS_TEST) {
 			throw new IllegalStateException(warning);
 		} else {
-			System.out.println("Warning: " + warning);
+			flushOutput();
+			// keep structured output parseable
+			(FORMAT.equals("text") && !QUIET ? System.out : System.err).println("Warning: " + warning);
 		}
 	}
 
@@ -208,18 +408,97 @@ public class Main {
 	 * @param config The linter configuration
 	 */
 	protected static void lint(Configuration config) {
+		TARGET = (config.gitRevisions != null ? config.targetFile.isDirectory() ? config.targetFile : new File(".") : config.packageDirectory != null ? config.packageDirectory : config.targetFile).getPath();
+		TARGET_TYPE = config.gitRevisions != null || config.packageDirectory != null || SourceTarball.isTarball(config.targetFile) ? null : config.checkedType;
+		Deadline previous = Deadline.enter(config.fileBudget, true);
 		try {
 			ControlFile file = new ControlFile(config);
-			file.parse();
-			file.matchStanzas();
-			file.lintStanzas();
+			if(config.gitRevisions != null) {
+				GitHistory.lint(config.targetFile.isDirectory() ? config.targetFile : new File("."), config.gitRevisions, config);
+			} else if(config.packageDirectory != null) {
+				PackageConsistency.lint(config);
+			} else if(SourceTarball.isTarball(config.targetFile)) {
+				SourceTarball.lint(config.targetFile, config);
+			} else if(config.buildDepsAgainst != null) {
+				file.parse();
+				file.checkBuildDependencies(PackageUniverse.cached(config.buildDepsAgainst));
+			} else if(config.checkedType.isStreamed() || config.memoryBudget > 0 && config.checkedType.isStreamable() && !DebArchive.isPackage(config.targetFile)) {
+				file.lintStreamed();
+			} else {
+				file.parse();
+				file.matchStanzas();
+				file.lintStanzas();
+				if(config.checkedType == ControlType.SOURCE_CONTROL) {
+					SourceTarball.lintReferenced(file, config);
+				}
+			}
+		} catch(Deadline.Exceeded e) {
+			report(null, null, -1, "Linting exceeded its time budget of {} ms", e.getBudget());
 		} catch(Exception e) {
 			if(IS_TEST) {
 				throw new RuntimeException(e);
 			}
 			error("Error during linting: " + e.getMessage());
+			finishOutput();
 			System.exit(2);
+		} finally {
+			Deadline.exit(previous);
+		}
+	}
+
+	/**
+	 * Prints the peak heap usage, and the size of the summaries moved to temporary files, to standard error.
+	 *
+	 * @param budget The memory budget, in bytes
+	 */
+	private static void printMemoryUsage(long budget) {
+		long peak = 0;
+		for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if(pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		flushOutput();
+		System.err.printf("Peak heap usage: %d MiB of the %d MiB budget; %d KiB of summaries spilled to disk%n", peak >> 20, budget >> 20, SpillingStringList.getSpilledBytes() >> 10);
+	}
+
+	/**
+	 * Writes the summary of the errors in the chosen {@link #FORMAT output format}, and flushes the output. Structured formats always have a summary, even without errors.
+	 */
+	private static synchronized void finishOutput() {
+		try {
+			if(!QUIET && (SINK != null || !FORMAT.equals("text"))) {
+				sink().finish();
+			}
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Flushes the errors written so far, so that they are displayed before the following messages.
+	 */
+	private static synchronized void flushOutput() {
+		if(SINK != null) {
+			try {
+				SINK.flush();
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Gets the sink of errors, creating it on first use. The sink writes to {@link System#out} through a buffer; text output uses the charset of the standard output, structured output is always UTF-8.
+	 *
+	 * @return {@link #SINK}
+	 */
+	private static DiagnosticSink sink() {
+		if(SINK == null) {
+			Writer out = new BufferedWriter(new OutputStreamWriter(System.out, FORMAT.equals("text") ? System.out.charset() : StandardCharsets.UTF_8), 1 << 16);
+			SINK = DiagnosticSink.create(FORMAT, out, DISPLAY_CHECK, DISPLAY_LINE_NUMBER, DISPLAY_REFERENCE);
 		}
+		return SINK;
 	}
 
 	/**
@@ -256,7 +535,7 @@ public class Main {
 				     
 				     Arguments:
 				      [FILE]
-				     		The file to lint; can also be supplied via a '--file' option. Each control file type also has a default file associated with it that is used if no file is specified. If the file is '-' and it doesn't exist, read from standard input.
+				     		The file to lint; can also be supplied via a '--file' option. Each control file type also has a default file associated with it that is used if no file is specified. If the file is '-' and it doesn't exist, read from standard input. If the file is a tarball (.tar, optionally compressed), the debian/control and debian/copyright files inside it are linted without unpacking it; a .dsc file also has the debian or native tarball in its file list linted this way, if it is in the same directory. If the file is a binary package (.deb or .udeb), its control file is read from the package without extracting it, and checked as a DEBIAN/control file; control archives compressed with xz or zstd are decompressed with the 'xz' or 'zstd' commands.
 				     
 				     Options:
 				      -h, --help
@@ -271,6 +550,24 @@ public class Main {
 				     		Specifies the type of the control file to lint. The list of supported types can be queried via '--list types'. Information on these types can be acquired via '--type-info <type>'. The default type is 'debian/copyright'. Type names are case-sensitive.
 				      --file <path>
 				     		Specifies the file to lint. This file can also be specified by an argument after all of the options. All types also have a default file. If the file is '-' and it doesn't exist, read from standard input.
+				      --verify-files <directory>
+				     		Checks that the files listed in a .dsc or .changes file exist in the directory, with the listed sizes and MD5, SHA1 and SHA256 checksums. This is usually the directory of the checked file. Files are hashed in parallel.
+				      --git-revs <range>
+				     		Lints debian/control and debian/copyright in every revision of a range of a git repository, oldest first, such as 'debian/2.10-1..HEAD'. A file is only reported in the revisions where it changes. The repository is the file argument if it is a directory, otherwise the current directory. Requires git 2.36 or newer.
+				      --package <directory>
+				     		Lints all control files of a source package together: debian/control and debian/copyright in the directory, and the .dsc and .changes files directly in it. The files are parsed concurrently, then checked for 'packageConsistency', such as the Binary and Package-List fields of the .dsc file matching the binary packages of debian/control. The file argument is ignored.
+				      --source-tree <directory>
+				     		Checks the file patterns of a debian/copyright file against the unpacked source tree in the directory. Every file is assigned to the last file stanza with a matching pattern; patterns that match no file are reported for 'unusedFilePattern', and files only covered by 'Files: *' for 'catchAllFiles'. Version control directories and .pc are skipped.
+				      --build-deps-against <path>
+				     		Instead of linting the file, checks whether the Build-Depends, Build-Depends-Arch and Build-Depends-Indep relations of a debian/control or .dsc file can be installed from a binary package index (optionally gzip-compressed), and reports the first relation that cannot. Implies '--type debian/control', unless the type is '.dsc'.
+				      --arch <architecture>
+				     		Specifies the host architecture that architecture restrictions of package relations are evaluated for. Without this option, relations with architecture restrictions are not resolved.
+				      --build-profiles <profile[,profile]...>
+				     		Specifies the active build profiles that build profile restrictions of package relations are evaluated for. By default, no profiles are active.
+				      --packages-index <path>
+				     		Specifies a binary package index (optionally gzip-compressed) that the Depends, Pre-Depends and Build-Depends relations of debian/control and .dsc files are resolved against, for the 'unsatisfiableDependencies' check.
+				      --sources-index <path>
+				     		Specifies a source package index (optionally gzip-compressed) that the source packages of a 'Packages' index are looked up in, for the 'missingSourcePackages' check.
 				      --enable <check[,check]...>
 				     		Enables a specific check. The list of checks can be queried via '--list checks'. Regardless of the order they are specified in, presets are always processed before individual check toggles. Information on these checks can be acquired via '--check-info <check>'. Check names are case-insensitive.
 				      --disable <check[,check]...>
@@ -282,7 +579,23 @@ public class Main {
 				      --check-info <check>
 				     		Prints information about a specific check.
 				      --display <check|reference|line|all|none>
-				     		Configures how error messages are displayed. Check names are displayed in square brackets before the error text, and references to the standard are displayed in angle brackets after the error body. Line numbers are displayed in curly brackets before the references. The default value is 'none'. Display values are case-insensitive. Multiple values can be specified using a comma-separated list.
+				     		Configures how error messages are displayed. Check names are displayed in square brackets before the error text, and references to the standard are displayed in angle brackets after the error body. Line numbers are displayed in curly brackets before the references. The default value is 'none'. Display values are case-insensitive. Multiple values can be specified using a comma-separated list. Only applies to text output.
+				      -q, --quiet
+				     		Displays no errors; the result is only reported through the exit code, which is 0 for a file without errors and 1 otherwise. Linting stops at the first error. Warnings are written to standard error.
+				      --max-errors <count>
+				     		Stops linting after the specified number of errors. Within each stanza, cheaper checks are run first, based on their measured cost, so the errors that are found and displayed may differ from a full run. The default value is 0, which lints the whole file.
+				      --check-budget <milliseconds>
+				     		Limits the time each field, stanza and file check may run for. A check that runs out of time is stopped, and reported as an error instead. Checks are stopped at the next point where they poll the time, such as while matching file patterns or waiting for a URL to respond. The default value is 0, which disables the limit.
+				      --file-budget <milliseconds>
+				     		Limits the time spent linting the target. When the limit is reached, linting stops and an error is reported. The default value is 0, which disables the limit.
+				      --memory-budget <MiB>
+				     		Lints debian/copyright files and archive indices one stanza at a time, discarding each stanza after it is checked. Only compact summaries are kept for the checks that need the whole file, such as file patterns and license names; they are moved to a temporary file when they exceed half of the budget. The peak heap usage is written to standard error at the end, unless --quiet is given. The budget does not limit the heap of the JVM, nor the file patterns checked against --source-tree, which are loaded into memory. The default value is 0, which loads files into memory.
+				      --cache <count>
+				     		Caches the errors of the checks of frequently repeated values, such as addresses, architectures, dependencies and versions, for up to the specified number of distinct values per check. When a cached value is checked again, its errors are repeated without running the check. The default value is 0, which disables caching.
+				      --format <text|json|jsonl|sarif>
+				     		Configures the output format of errors. 'json' writes a single object with a 'diagnostics' array and a 'summary' object; 'jsonl' writes one object per line, with the summary on the last line; 'sarif' writes a SARIF 2.1.0 log. Each error has its message, check, reference, line number, file, context and control file type. The summary has the number of errors, in total and for each check. Warnings are written to standard error in structured formats. The default value is 'text'. Format names are case-insensitive.
+				      --profile <text|json>
+				     		Measures the time spent in each parsing and linting phase, and in each file, stanza and field linter, and counts the errors reported by each check. The report is written to standard error after linting, as a table or as JSON. Each entry has the number of invocations, the total and maximum time, and the number of errors. Profiling is disabled by default.
 				      """);
 		System.exit(0);
 	}
@@ -303,6 +616,8 @@ public class Main {
 	 */
 	private static Configuration processParameters(Map<String, List<String>> parameters) {
 		final Configuration[] config = {Configuration.PRESET_NORMAL};
+		// the type requested with --type, which binary packages override
+		final ControlType[] requestedType = {null};
 		ArrayList<BiPredicate<String, String>> processors = new ArrayList<>();
 		{
 			processors.add((param, value) -> {
@@ -436,6 +751,7 @@ public class Main {
 						if(controlType.getTypeName().equals(value)) {
 							found = true;
 							config[0].checkedType = controlType;
+							requestedType[0] = controlType;
 							break;
 						}
 					}
@@ -454,6 +770,163 @@ public class Main {
 					return false;
 				}
 			});
+			processors.add((param, value) -> {
+				if(param.equals("--verify-files")) {
+					config[0].verifyFiles = new File(value);
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--git-revs")) {
+					config[0].gitRevisions = value;
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--package")) {
+					config[0].packageDirectory = new File(value);
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--source-tree")) {
+					config[0].sourceTree = new File(value);
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--build-deps-against")) {
+					config[0].buildDepsAgainst = new File(value);
+					if(config[0].checkedType != ControlType.SOURCE_CONTROL) {
+						config[0].checkedType = ControlType.SOURCE_PACKAGE_CONTROL;
+					}
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--arch")) {
+					config[0].architecture = value;
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--build-profiles")) {
+					config[0].buildProfiles = Set.of(value.strip().split("[\\s,]+"));
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--packages-index")) {
+					config[0].packagesIndex = new File(value);
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--sources-index")) {
+					config[0].sourcesIndex = new File(value);
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--max-errors")) {
+					try {
+						int max = Integer.parseInt(value);
+						if(max < 0) {
+							throw new NumberFormatException();
+						}
+						if(!QUIET) {
+							MAX_ERRORS = max;
+						}
+					} catch(NumberFormatException e) {
+						Main.warn("Invalid value for --max-errors: " + value);
+					}
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--check-budget") || param.equals("--file-budget")) {
+					try {
+						long budget = Long.parseLong(value);
+						if(budget < 0) {
+							throw new NumberFormatException();
+						}
+						if(param.equals("--check-budget")) {
+							config[0].checkBudget = budget;
+						} else {
+							config[0].fileBudget = budget;
+						}
+					} catch(NumberFormatException e) {
+						Main.warn("Invalid value for " + param + ": " + value);
+					}
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--memory-budget")) {
+					try {
+						long budget = Long.parseLong(value);
+						if(budget < 0 || budget > Long.MAX_VALUE >> 20) {
+							throw new NumberFormatException();
+						}
+						config[0].memoryBudget = budget << 20;
+					} catch(NumberFormatException e) {
+						Main.warn("Invalid value for --memory-budget: " + value);
+					}
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--cache")) {
+					try {
+						int capacity = Integer.parseInt(value);
+						if(capacity < 0) {
+							throw new NumberFormatException();
+						}
+						if(capacity > 0) {
+							Linters.memoize(capacity);
+						}
+					} catch(NumberFormatException e) {
+						Main.warn("Invalid value for --cache: " + value);
+					}
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--format")) {
+					switch(value.toLowerCase()) {
+						case "text", "json", "jsonl", "sarif" -> FORMAT = value.toLowerCase();
+						default -> Main.warn("Unknown value for --format: " + value);
+					}
+					return true;
+				}
+				return false;
+			});
+			processors.add((param, value) -> {
+				if(param.equals("--profile")) {
+					switch(value.toLowerCase()) {
+						case "text", "json" -> {
+							PROFILE = value.toLowerCase();
+							Profiler.ENABLED = true;
+						}
+						default -> Main.warn("Unknown value for --profile: " + value);
+					}
+					return true;
+				}
+				return false;
+			});
 			processors.add((param, value) -> {
 				if(param.equals("--display")) {
 					for(String s : value.toLowerCase().split(",")) {
@@ -487,6 +960,30 @@ public class Main {
 		}
 		parameters.forEach((key, value) -> warn("Unknown option: " + key));
 		config[0].apply();
+		if(requestedType[0] != null && requestedType[0] != config[0].checkedType) {
+			warn("Ignoring --type " + requestedType[0].getTypeName() + ": the control file of binary packages is linted as " + config[0].checkedType.getTypeName());
+		}
+		if(config[0].memoryBudget > 0 && config[0].sourceTree != null) {
+			warn("--memory-budget does not apply to the file patterns checked against --source-tree; they are loaded into memory");
+		}
 		return config[0];
 	}
-}
\ No newline at end of file
+
+	/**
+	 * The errors reported while running an action in {@link #record(Runnable)}.
+	 */
+	private static final class Recording {
+		/**
+		 * The reported errors, in order.
+		 */
+		private final List<Diagnostic> diagnostics = new ArrayList<>();
+		/**
+		 * Whether the errors only depend on the checked value and the configuration.
+		 */
+		private boolean cacheable = true;
+		/**
+		 * Whether the errors are only recorded, see {@link #defer(Runnable)}.
+		 */
+		private boolean deferred = false;
+	}
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint;
+
+import com.tibetiroka.deblint.output.JsonWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Measures the time spent in each phase and check, and counts the errors reported by them, for {@code --profile}.
+ * <p>
+ * Every measured item has a slot, identified by its {@link Kind} and name. Each thread accumulates its measurements in its own array of {@code long} slots without synchronization; the arrays of all threads are merged when the {@link #print(PrintStream, boolean) report} is printed, after linting finished. When profiling is disabled, {@link #enter(Kind, String)} and {@link #exit(long)} only check {@link #ENABLED}, so the calls can stay in place.
+ */
+public final class Profiler {
+	/**
+	 * The number of {@code long} values in a slot: invocations, total time, maximum time and errors.
+	 */
+	private static final int SLOT_SIZE = 4;
+	/**
+	 * The measurements of every thread that entered a slot.
+	 */
+	private static final Queue<ThreadState> STATES = new ConcurrentLinkedQueue<>();
+	/**
+	 * The measurements of the current thread.
+	 */
+	private static final ThreadLocal<ThreadState> STATE = ThreadLocal.withInitial(() -> {
+		ThreadState state = new ThreadState();
+		STATES.add(state);
+		return state;
+	});
+	/**
+	 * The ids of the slots of each kind, by name.
+	 */
+	private static final Map<Kind, Map<String, Integer>> SLOTS = new EnumMap<>(Kind.class);
+	/**
+	 * The kind and name of each slot, by id.
+	 */
+	private static final List<Map.Entry<Kind, String>> SLOT_NAMES = Collections.synchronizedList(new ArrayList<>());
+	/**
+	 * Whether profiling is enabled.
+	 */
+	public static volatile boolean ENABLED = false;
+
+	static {
+		for(Kind kind : Kind.values()) {
+			SLOTS.put(kind, new ConcurrentHashMap<>());
+		}
+	}
+
+	/**
+	 * Counts an error. It is added to the slot of its check, and to the innermost slot the current thread is in.
+	 *
+	 * @param check The name of the check that generated the error, or null
+	 */
+	public static void diagnostic(String check) {
+		if(!ENABLED) {
+			return;
+		}
+		ThreadState state = STATE.get();
+		if(check != null) {
+			int slot = slot(Kind.CHECK, check);
+			state.ensure(slot);
+			state.data[slot * SLOT_SIZE + 3]++;
+		}
+		if(state.depth > 0) {
+			state.data[state.stack[state.depth - 1] * SLOT_SIZE + 3]++;
+		}
+	}
+
+	/**
+	 * Starts measuring a slot. Must be followed by a call to {@link #exit(long)} on the same thread.
+	 *
+	 * @param kind The kind of the measured item
+	 * @param name The name of the measured item
+	 * @return The start time to pass to {@link #exit(long)}
+	 */
+	public static long enter(Kind kind, String name) {
+		if(!ENABLED) {
+			return 0;
+		}
+		ThreadState state = STATE.get();
+		int slot = slot(kind, name);
+		state.ensure(slot);
+		if(state.depth == state.stack.length) {
+			state.stack = Arrays.copyOf(state.stack, state.depth * 2);
+		}
+		state.stack[state.depth++] = slot;
+		return System.nanoTime();
+	}
+
+	/**
+	 * Stops measuring the slot entered last on the current thread.
+	 *
+	 * @param start The start time returned by {@link #enter(Kind, String)}
+	 */
+	public static void exit(long start) {
+		if(!ENABLED) {
+			return;
+		}
+		long time = System.nanoTime() - start;
+		ThreadState state = STATE.get();
+		int index = state.stack[--state.depth] * SLOT_SIZE;
+		state.data[index]++;
+		state.data[index + 1] += time;
+		state.data[index + 2] = Math.max(state.data[index + 2], time);
+	}
+
+	/**
+	 * Prints the merged measurements of all threads, ordered by kind and total time. Must only be called after linting finished.
+	 *
+	 * @param out  The stream to print to
+	 * @param json Whether to print JSON instead of a table
+	 */
+	public static void print(PrintStream out, boolean json) {
+		List<Row> rows = merge();
+		if(json) {
+			try {
+				Writer writer = new PrintWriter(out);
+				JsonWriter jsonWriter = new JsonWriter(writer);
+				jsonWriter.beginObject().name("profile").beginArray();
+				for(Row row : rows) {
+					jsonWriter.beginObject();
+					jsonWriter.name("kind").value(row.kind.name().toLowerCase());
+					jsonWriter.name("name").value(row.name);
+					jsonWriter.name("invocations").value(row.invocations);
+					jsonWriter.name("totalNanos").value(row.total);
+					jsonWriter.name("maxNanos").value(row.max);
+					jsonWriter.name("errors").value(row.errors);
+					jsonWriter.endObject();
+				}
+				jsonWriter.endArray().endObject().newLine();
+				writer.flush();
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		} else {
+			out.printf("%-6s %-40s %12s %12s %12s %8s%n", "Kind", "Name", "Invocations", "Total (ms)", "Max (ms)", "Errors");
+			for(Row row : rows) {
+				out.printf("%-6s %-40s %12d %12.3f %12.3f %8d%n", row.kind.name().toLowerCase(), row.name, row.invocations, row.total / 1e6, row.max / 1e6, row.errors);
+			}
+		}
+	}
+
+	/**
+	 * Merges the measurements of all threads.
+	 *
+	 * @return The measured slots, ordered by kind and descending total time
+	 */
+	private static List<Row> merge() {
+		List<Row> rows = new ArrayList<>();
+		synchronized(SLOT_NAMES) {
+			for(int slot = 0; slot < SLOT_NAMES.size(); slot++) {
+				Row row = new Row(SLOT_NAMES.get(slot).getKey(), SLOT_NAMES.get(slot).getValue());
+				int index = slot * SLOT_SIZE;
+				for(ThreadState state : STATES) {
+					long[] data = state.data;
+					if(index < data.length) {
+						row.invocations += data[index];
+						row.total += data[index + 1];
+						row.max = Math.max(row.max, data[index + 2]);
+						row.errors += data[index + 3];
+					}
+				}
+				rows.add(row);
+			}
+		}
+		rows.sort(Comparator.comparing((Row row) -> row.kind).thenComparing(row -> -row.total).thenComparing(row -> row.name));
+		return rows;
+	}
+
+	/**
+	 * Gets the id of a slot, registering it on first use.
+	 *
+	 * @param kind The kind of the measured item
+	 * @param name The name of the measured item
+	 * @return The id of the slot
+	 */
+	private static int slot(Kind kind, String name) {
+		Integer slot = SLOTS.get(kind).get(name);
+		if(slot != null) {
+			return slot;
+		}
+		return SLOTS.get(kind).computeIfAbsent(name, n -> {
+			synchronized(SLOT_NAMES) {
+				SLOT_NAMES.add(Map.entry(kind, n));
+				return SLOT_NAMES.size() - 1;
+			}
+		});
+	}
+
+	/**
+	 * The kinds of measured items.
+	 */
+	public enum Kind {
+		/**
+		 * A phase of processing a file: parsing, matching or linting.
+		 */
+		PHASE,
+		/**
+		 * A {@link com.tibetiroka.deblint.linter.FileLinter}, by file type.
+		 */
+		FILE,
+		/**
+		 * A {@link com.tibetiroka.deblint.linter.StanzaLinter}, by stanza name.
+		 */
+		STANZA,
+		/**
+		 * A {@link com.tibetiroka.deblint.linter.FieldLinter}, by field name.
+		 */
+		FIELD,
+		/**
+		 * A check, only counting its errors.
+		 */
+		CHECK
+	}
+
+	/**
+	 * The merged measurements of a slot.
+	 */
+	private static final class Row {
+		/**
+		 * The kind of the measured item.
+		 */
+		private final Kind kind;
+		/**
+		 * The name of the measured item.
+		 */
+		private final String name;
+		/**
+		 * The number of errors reported.
+		 */
+		private long errors;
+		/**
+		 * The number of invocations.
+		 */
+		private long invocations;
+		/**
+		 * The longest invocation, in nanoseconds.
+		 */
+		private long max;
+		/**
+		 * The total time of the invocations, in nanoseconds.
+		 */
+		private long total;
+
+		/**
+		 * Creates an empty row.
+		 *
+		 * @param kind The kind of the measured item
+		 * @param name The name of the measured item
+		 */
+		private Row(Kind kind, String name) {
+			this.kind = kind;
+			this.name = name;
+		}
+	}
+
+	/**
+	 * The measurements of a single thread.
+	 */
+	private static final class ThreadState {
+		/**
+		 * The values of the slots, {@link #SLOT_SIZE} values per slot.
+		 */
+		private long[] data = new long[64 * SLOT_SIZE];
+		/**
+		 * The number of entered slots.
+		 */
+		private int depth = 0;
+		/**
+		 * The entered slots, innermost last.
+		 */
+		private int[] stack = new int[8];
+
+		/**
+		 * Grows the data array to contain a slot.
+		 *
+		 * @param slot The id of the slot
+		 */
+		private void ensure(int slot) {
+			if(slot * SLOT_SIZE >= data.length) {
+				data = Arrays.copyOf(data, Math.max(data.length * 2, (slot + 1) * SLOT_SIZE));
+			}
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint;
+
+/**
+ * The sections of the standards that errors refer to, see {@link Diagnostic#reference()}. Each section is declared once, and shared by every error that refers to it.
+ */
+public final class References {
+	/**
+	 * The Architecture field in the Debian Policy Manual.
+	 */
+	public static final String ARCHITECTURE_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#architecture";
+	/**
+	 * Architecture wildcards in the Debian Policy Manual.
+	 */
+	public static final String ARCHITECTURE_WILDCARDS = "https://www.debian.org/doc/debian-policy/ch-customized-programs.html#s-arch-wildcard-spec";
+	/**
+	 * Relationships between source and binary packages in the Debian Policy Manual.
+	 */
+	public static final String BUILD_RELATIONSHIPS = "https://www.debian.org/doc/debian-policy/ch-relationships.html#s-sourcebinarydeps";
+	/**
+	 * The Changes field in the Debian Policy Manual.
+	 */
+	public static final String CHANGES_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#changes";
+	/**
+	 * Upload control files in the Debian Policy Manual.
+	 */
+	public static final String CHANGES_FILES = "https://www.debian.org/doc/debian-policy/ch-controlfields#debian-changes-files-changes";
+	/**
+	 * The Checksums-Sha1 and Checksums-Sha256 fields in the Debian Policy Manual.
+	 */
+	public static final String CHECKSUMS_FIELDS = "https://www.debian.org/doc/debian-policy/ch-controlfields#checksums-sha1-and-checksums-sha256";
+	/**
+	 * The syntax of control files in the Debian Policy Manual.
+	 */
+	public static final String CONTROL_FILE_SYNTAX = "https://www.debian.org/doc/debian-policy/ch-controlfields#syntax-of-control-files";
+	/**
+	 * The Files field of machine-readable debian/copyright files.
+	 */
+	public static final String COPYRIGHT_FILES_FIELD = "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#files-field";
+	/**
+	 * The Format field of machine-readable debian/copyright files.
+	 */
+	public static final String COPYRIGHT_FORMAT_FIELD = "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#format-field";
+	/**
+	 * The header stanza of machine-readable debian/copyright files.
+	 */
+	public static final String COPYRIGHT_HEADER_STANZA = "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#header-stanza";
+	/**
+	 * The License field of machine-readable debian/copyright files.
+	 */
+	public static final String COPYRIGHT_LICENSE_FIELD = "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#license-field";
+	/**
+	 * The short names of licenses in machine-readable debian/copyright files.
+	 */
+	public static final String COPYRIGHT_LICENSE_NAMES = "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#license-short-name";
+	/**
+	 * The Source field of machine-readable debian/copyright files.
+	 */
+	public static final String COPYRIGHT_SOURCE_FIELD = "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#source-field";
+	/**
+	 * The Date field in the Debian Policy Manual.
+	 */
+	public static final String DATE_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#date";
+	/**
+	 * The Description field in the Debian Policy Manual.
+	 */
+	public static final String DESCRIPTION_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#description";
+	/**
+	 * The Dgit field in the Debian Policy Manual.
+	 */
+	public static final String DGIT_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#dgit";
+	/**
+	 * The Distribution field in the Debian Policy Manual.
+	 */
+	public static final String DISTRIBUTION_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-distribution";
+	/**
+	 * The Files field in the Debian Policy Manual.
+	 */
+	public static final String FILES_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-files";
+	/**
+	 * The Format field in the Debian Policy Manual.
+	 */
+	public static final String FORMAT_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#format";
+	/**
+	 * The Maintainer field in the Debian Policy Manual.
+	 */
+	public static final String MAINTAINER_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#maintainer";
+	/**
+	 * The Package-List field in the Debian Policy Manual.
+	 */
+	public static final String PACKAGE_LIST_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-package-list";
+	/**
+	 * The Package-Type field in the Debian Policy Manual.
+	 */
+	public static final String PACKAGE_TYPE_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#package-type";
+	/**
+	 * The priorities of packages in the Debian Policy Manual.
+	 */
+	public static final String PRIORITIES = "https://www.debian.org/doc/debian-policy/ch-archive.html#s-priorities";
+	/**
+	 * Relationships between packages in the Debian Policy Manual.
+	 */
+	public static final String RELATIONSHIPS = "https://www.debian.org/doc/debian-policy/ch-relationships.html";
+	/**
+	 * The address syntax of RFC 822.
+	 */
+	public static final String RFC822 = "https://www.w3.org/Protocols/rfc822/";
+	/**
+	 * The Rules-Requires-Root field in the Debian Policy Manual.
+	 */
+	public static final String RULES_REQUIRES_ROOT_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-rules-requires-root";
+	/**
+	 * The sections and archive areas of packages in the Debian Policy Manual.
+	 */
+	public static final String SECTIONS = "https://www.debian.org/doc/debian-policy/ch-archive.html#s-subsections";
+	/**
+	 * Source control files in the Debian Policy Manual.
+	 */
+	public static final String SOURCE_CONTROL_FILES = "https://www.debian.org/doc/debian-policy/ch-controlfields#debian-source-control-files-dsc";
+	/**
+	 * The Source field in the Debian Policy Manual.
+	 */
+	public static final String SOURCE_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#source";
+	/**
+	 * The Urgency field in the Debian Policy Manual.
+	 */
+	public static final String URGENCY_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#urgency";
+	/**
+	 * User-defined fields in the Debian Policy Manual.
+	 */
+	public static final String USER_DEFINED_FIELDS = "https://www.debian.org/doc/debian-policy/ch-controlfields#user-defined-fields";
+	/**
+	 * The Vcs-* fields in the Debian Policy Manual.
+	 */
+	public static final String VCS_FIELDS = "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-vcs-fields";
+	/**
+	 * The Version field in the Debian Policy Manual.
+	 */
+	public static final String VERSION_FIELD = "https://www.debian.org/doc/debian-policy/ch-controlfields#version";
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.archive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the members of a Unix {@code ar} archive, such as a binary package, one at a time. The archive is read sequentially, so it can come from any stream; skipped members are never buffered.
+ *
+ * @see <a href="https://manpages.debian.org/deb.5">deb(5)</a>
+ */
+public final class ArReader {
+	/**
+	 * The size of the header of each member.
+	 */
+	private static final int HEADER_SIZE = 60;
+	/**
+	 * The global header at the start of the archive.
+	 */
+	private static final byte[] MAGIC = "!<arch>\n".getBytes(StandardCharsets.US_ASCII);
+	/**
+	 * The stream of the archive.
+	 */
+	private final InputStream in;
+	/**
+	 * The current member, or null if not yet read.
+	 */
+	private Member current;
+
+	/**
+	 * Creates a new reader, and checks the global header of the archive.
+	 *
+	 * @param in The stream of the archive
+	 * @throws IOException If the stream cannot be read, or it is not an {@code ar} archive
+	 */
+	public ArReader(InputStream in) throws IOException {
+		this.in = in;
+		if(!Arrays.equals(in.readNBytes(MAGIC.length), MAGIC)) {
+			throw new IOException("Not an ar archive");
+		}
+	}
+
+	/**
+	 * Reads the header of the next member, skipping the unread contents of the current member.
+	 *
+	 * @return The next member, or null if there are no members left
+	 * @throws IOException If the archive cannot be read or is malformed
+	 */
+	public Member next() throws IOException {
+		if(current != null) {
+			current.data.skipRemaining();
+			if(current.size % 2 == 1) {
+				// members are aligned to even offsets
+				in.read();
+			}
+		}
+		byte[] header = in.readNBytes(HEADER_SIZE);
+		if(header.length == 0) {
+			return current = null;
+		}
+		if(header.length < HEADER_SIZE || header[58] != '`' || header[59] != '\n') {
+			throw new IOException("Malformed ar member header");
+		}
+		String name = new String(header, 0, 16, StandardCharsets.US_ASCII).strip();
+		if(name.endsWith("/") && name.length() > 1) {
+			// GNU ar terminates names with a slash
+			name = name.substring(0, name.length() - 1);
+		}
+		long size;
+		try {
+			size = Long.parseLong(new String(header, 48, 10, StandardCharsets.US_ASCII).strip());
+		} catch(NumberFormatException e) {
+			throw new IOException("Malformed size of ar member " + name);
+		}
+		return current = new Member(name, size, new BoundedInputStream(in, size));
+	}
+
+	/**
+	 * A member of the archive.
+	 *
+	 * @param name The name of the member
+	 * @param size The size of the contents of the member
+	 * @param data The contents of the member, only readable until the next member is read
+	 */
+	public record Member(String name, long size, BoundedInputStream data) {
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.archive;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A view of the next bytes of a stream, used for the entries of archives. Closing this stream does not close the underlying stream.
+ */
+public final class BoundedInputStream extends InputStream {
+	/**
+	 * The underlying stream.
+	 */
+	private final InputStream in;
+	/**
+	 * The number of bytes left in this view.
+	 */
+	private long remaining;
+
+	/**
+	 * Creates a new view.
+	 *
+	 * @param in     The underlying stream
+	 * @param length The number of bytes in the view
+	 */
+	public BoundedInputStream(InputStream in, long length) {
+		this.in = in;
+		this.remaining = length;
+	}
+
+	@Override
+	public int available() throws IOException {
+		return (int) Math.min(in.available(), remaining);
+	}
+
+	@Override
+	public void close() {
+		// the underlying stream is owned by the archive reader
+	}
+
+	@Override
+	public int read() throws IOException {
+		if(remaining == 0) {
+			return -1;
+		}
+		int b = in.read();
+		if(b == -1) {
+			throw new EOFException("Unexpected end of archive");
+		}
+		remaining--;
+		return b;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if(remaining == 0) {
+			return -1;
+		}
+		int read = in.read(b, off, (int) Math.min(len, remaining));
+		if(read == -1) {
+			throw new EOFException("Unexpected end of archive");
+		}
+		remaining -= read;
+		return read;
+	}
+
+	/**
+	 * Skips the rest of this view.
+	 *
+	 * @throws IOException If the underlying stream cannot be read
+	 */
+	public void skipRemaining() throws IOException {
+		in.skipNBytes(remaining);
+		remaining = 0;
+	}
+}
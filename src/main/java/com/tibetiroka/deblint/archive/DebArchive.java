@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.archive;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the control file of a binary package without extracting it. The package is streamed: the {@code ar} members before the control archive are skipped, and only the control archive is decompressed.
+ *
+ * @see <a href="https://manpages.debian.org/deb.5">deb(5)</a>
+ */
+public final class DebArchive {
+	/**
+	 * Checks whether a file is a binary package, based on its name.
+	 *
+	 * @param file The file
+	 * @return True for {@code .deb} and {@code .udeb} files
+	 */
+	public static boolean isPackage(File file) {
+		String name = file.getName();
+		return name.endsWith(".deb") || name.endsWith(".udeb");
+	}
+
+	/**
+	 * Reads the lines of the control file of a binary package.
+	 *
+	 * @param file The binary package
+	 * @return The lines of the {@code control} file in the control archive
+	 * @throws IOException If the package cannot be read, or it has no control file
+	 */
+	public static List<String> readControl(File file) throws IOException {
+		try(InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+			return readControl(in);
+		}
+	}
+
+	/**
+	 * Reads the lines of the control file of a binary package.
+	 *
+	 * @param in The stream of the binary package
+	 * @return The lines of the {@code control} file in the control archive
+	 * @throws IOException If the package cannot be read, or it has no control file
+	 */
+	public static List<String> readControl(InputStream in) throws IOException {
+		ArReader ar = new ArReader(in);
+		for(ArReader.Member member = ar.next(); member != null; member = ar.next()) {
+			if(member.name().startsWith("control.tar")) {
+				try(InputStream tarStream = Decompressors.open(member.name(), member.data())) {
+					TarReader tar = new TarReader(tarStream);
+					for(TarReader.Entry entry = tar.next(); entry != null; entry = tar.next()) {
+						if(entry.isFile() && entry.normalizedName().equals("control")) {
+							BufferedReader reader = new BufferedReader(new InputStreamReader(entry.data(), StandardCharsets.UTF_8));
+							List<String> lines = new ArrayList<>();
+							for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+								lines.add(line);
+							}
+							return lines;
+						}
+					}
+				}
+				throw new IOException("No control file in " + member.name());
+			}
+		}
+		throw new IOException("No control archive in package");
+	}
+}
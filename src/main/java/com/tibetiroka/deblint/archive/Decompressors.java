@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.archive;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The decompressors of archive members, by the extension of the member after {@code .tar}. Uncompressed and gzip-compressed members are handled in-process; xz and zstd members are piped through the {@code xz} and {@code zstd} commands, unless a different decompressor is {@link #register(String, Decompressor) registered}.
+ */
+public final class Decompressors {
+	/**
+	 * The registered decompressors, by extension. The empty extension is used for uncompressed data.
+	 */
+	private static final Map<String, Decompressor> DECOMPRESSORS = new ConcurrentHashMap<>();
+
+	static {
+		register("", in -> in);
+		register(".gz", GZIPInputStream::new);
+		register(".xz", external("xz", "-dc"));
+		register(".zst", external("zstd", "-dc"));
+	}
+
+	/**
+	 * Creates a decompressor running an external command. The compressed data is written to the standard input of the command, and its standard output is returned. When the output ends or the stream is closed, the command is waited for; if it fails, such as for corrupt data, an {@link IOException} is thrown with its error output.
+	 *
+	 * @param command The command and its arguments
+	 * @return The decompressor
+	 */
+	public static Decompressor external(String... command) {
+		return in -> {
+			Process process = new ProcessBuilder(command).start();
+			Thread.ofVirtual().start(() -> {
+				try(OutputStream out = process.getOutputStream()) {
+					in.transferTo(out);
+				} catch(IOException e) {
+					// the output was closed before the whole input was read
+				}
+			});
+			ByteArrayOutputStream errors = new ByteArrayOutputStream();
+			Thread errorReader = Thread.ofVirtual().start(() -> {
+				try(InputStream err = process.getErrorStream()) {
+					err.transferTo(errors);
+				} catch(IOException e) {
+					// the command was destroyed
+				}
+			});
+			return new FilterInputStream(process.getInputStream()) {
+				/**
+				 * Whether the exit status of the command was checked.
+				 */
+				private boolean checked;
+
+				@Override
+				public int read() throws IOException {
+					int b = super.read();
+					if(b == -1) {
+						check();
+					}
+					return b;
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) throws IOException {
+					int read = super.read(b, off, len);
+					if(read == -1) {
+						check();
+					}
+					return read;
+				}
+
+				@Override
+				public void close() throws IOException {
+					try {
+						if(!checked) {
+							// the command cannot exit while its output is full
+							in.transferTo(OutputStream.nullOutputStream());
+						}
+						super.close();
+						check();
+					} finally {
+						process.destroy();
+					}
+				}
+
+				/**
+				 * Waits for the command, and checks its exit status.
+				 *
+				 * @throws IOException If the command failed, or the thread was interrupted
+				 */
+				private void check() throws IOException {
+					if(checked) {
+						return;
+					}
+					checked = true;
+					try {
+						int status = process.waitFor();
+						errorReader.join();
+						if(status != 0) {
+							String message = errors.toString(StandardCharsets.UTF_8).strip();
+							throw new IOException(command[0] + " exited with status " + status + (message.isEmpty() ? "" : ": " + message));
+						}
+					} catch(InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new IOException("Interrupted while waiting for " + command[0], e);
+					}
+				}
+			};
+		};
+	}
+
+	/**
+	 * Decompresses the contents of a member of a binary package, based on its name.
+	 *
+	 * @param name The name of the member, such as {@code control.tar.xz}
+	 * @param in   The contents of the member
+	 * @return The decompressed contents
+	 * @throws IOException If the compression is not supported, or the decompressor cannot be started
+	 */
+	public static InputStream open(String name, InputStream in) throws IOException {
+		int tar = name.lastIndexOf(".tar");
+		String extension = tar == -1 ? "" : name.substring(tar + ".tar".length());
+		Decompressor decompressor = DECOMPRESSORS.get(extension);
+		if(decompressor == null) {
+			throw new IOException("Unsupported compression: " + name);
+		}
+		return decompressor.open(in);
+	}
+
+	/**
+	 * Registers a decompressor, replacing any previous decompressor of the extension.
+	 *
+	 * @param extension    The extension after {@code .tar}, including the leading dot
+	 * @param decompressor The decompressor
+	 */
+	public static void register(String extension, Decompressor decompressor) {
+		DECOMPRESSORS.put(extension, decompressor);
+	}
+
+	/**
+	 * Decompresses a stream.
+	 */
+	@FunctionalInterface
+	public interface Decompressor {
+		/**
+		 * Wraps a compressed stream.
+		 *
+		 * @param in The compressed stream
+		 * @return The decompressed stream
+		 * @throws IOException If the decompressor cannot be started
+		 */
+		InputStream open(InputStream in) throws IOException;
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.archive;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.parser.ControlFile;
+import com.tibetiroka.deblint.parser.ControlType;
+import com.tibetiroka.deblint.parser.DataField;
+import com.tibetiroka.deblint.parser.Stanza;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lints the packaging metadata of a source package inside its {@code debian.tar.*} or native tarball, without unpacking it. The tarball is streamed, and only the entries of the linted files are read into memory; everything else is skipped.
+ */
+public final class SourceTarball {
+	/**
+	 * The linted files, by their path inside the {@code debian} directory.
+	 */
+	private static final Map<String, ControlType> FILES = Map.of("debian/control", ControlType.SOURCE_PACKAGE_CONTROL, "debian/copyright", ControlType.COPYRIGHT);
+
+	/**
+	 * Checks whether a file is a tarball, based on its name.
+	 *
+	 * @param file The file
+	 * @return True if the name contains {@code .tar}, optionally followed by a compression extension
+	 */
+	public static boolean isTarball(File file) {
+		String name = file.getName();
+		int tar = name.lastIndexOf(".tar");
+		return tar != -1 && (tar + ".tar".length() == name.length() || name.charAt(tar + ".tar".length()) == '.');
+	}
+
+	/**
+	 * Lints the {@code debian/control} and {@code debian/copyright} files of a tarball. The files are found either at the root of the tarball, as in {@code debian.tar.*} tarballs, or inside the top-level directory, as in native tarballs. Errors are reported with the tarball and the path of the file as their context.
+	 *
+	 * @param tarball The tarball
+	 * @param config  The configuration; its checked type and target file are ignored
+	 */
+	public static void lint(File tarball, Configuration config) {
+		try(InputStream in = Decompressors.open(tarball.getName(), new BufferedInputStream(Files.newInputStream(tarball.toPath())))) {
+			TarReader tar = new TarReader(in);
+			for(TarReader.Entry entry = tar.next(); entry != null && !Main.isCancelled(); entry = tar.next()) {
+				String path = entry.normalizedName();
+				int slash = path.indexOf('/');
+				// native tarballs have a top-level directory
+				String relative = slash != -1 && !path.startsWith("debian/") ? path.substring(slash + 1) : path;
+				ControlType type = FILES.get(relative);
+				if(type != null && entry.isFile()) {
+					lintEntry(tarball.getName() + "/" + path, entry.data(), type, config);
+				}
+			}
+		} catch(IOException e) {
+			Main.report(null, null, -1, "Could not read tarball: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Lints the packaging metadata in the tarball of a source control file, if it is in the same directory as the source control file. The tarball is the {@code debian.tar.*} tarball in the file list, or, for native packages, the only tarball that is not an upstream tarball.
+	 *
+	 * @param file   The parsed source control file
+	 * @param config The configuration of the source control file
+	 */
+	public static void lintReferenced(ControlFile file, Configuration config) {
+		if(file.getStanzas().isEmpty()) {
+			return;
+		}
+		Stanza stanza = file.getStanzas().getFirst();
+		DataField files = stanza.getField("Files");
+		if(files == null) {
+			return;
+		}
+		File directory = config.targetFile.getAbsoluteFile().getParentFile();
+		String selected = null;
+		for(String line : files.data().split("\\n")) {
+			String[] parts = line.strip().split("\\s+");
+			String name = parts[parts.length - 1];
+			if(isTarball(new File(name)) && !name.contains(".orig")) {
+				if(selected == null || name.contains(".debian.tar")) {
+					selected = name;
+				}
+			}
+		}
+		if(selected != null && !selected.contains("/")) {
+			File tarball = new File(directory, selected);
+			if(tarball.isFile()) {
+				lint(tarball, config);
+			}
+		}
+	}
+
+	/**
+	 * Parses, matches and lints a file of the tarball.
+	 *
+	 * @param context The path of the file, used as the context of the errors
+	 * @param data    The contents of the file
+	 * @param type    The type of the file
+	 * @param config  The configuration
+	 * @throws IOException If the tarball cannot be read
+	 */
+	private static void lintEntry(String context, InputStream data, ControlType type, Configuration config) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(data, StandardCharsets.UTF_8));
+		List<String> lines = new ArrayList<>();
+		for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+			lines.add(line);
+		}
+		Configuration entryConfig = config.clone();
+		entryConfig.checkedType = type;
+		Main.setContext(context, type);
+		try {
+			ControlFile file = new ControlFile(entryConfig);
+			file.parse(lines);
+			file.matchStanzas();
+			file.lintStanzas();
+		} finally {
+			Main.setContext(null);
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.archive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the entries of a tar archive one at a time, from a sequential stream. The ustar format is supported, with the long names of GNU tar and the {@code path} records of pax headers.
+ */
+public final class TarReader {
+	/**
+	 * The size of the blocks of the archive.
+	 */
+	private static final int BLOCK_SIZE = 512;
+	/**
+	 * The stream of the archive.
+	 */
+	private final InputStream in;
+	/**
+	 * The current entry, or null if not yet read.
+	 */
+	private Entry current;
+
+	/**
+	 * Creates a new reader.
+	 *
+	 * @param in The stream of the archive
+	 */
+	public TarReader(InputStream in) {
+		this.in = in;
+	}
+
+	/**
+	 * Reads an octal or base-256 number from a header.
+	 *
+	 * @param header The header
+	 * @param offset The offset of the number
+	 * @param length The length of the field
+	 * @return The number
+	 * @throws IOException If the number is malformed
+	 */
+	private static long parseNumber(byte[] header, int offset, int length) throws IOException {
+		if((header[offset] & 0x80) != 0) {
+			// GNU base-256 encoding for large values
+			long value = header[offset] & 0x7f;
+			for(int i = 1; i < length; i++) {
+				value = (value << 8) | (header[offset + i] & 0xff);
+			}
+			return value;
+		}
+		long value = 0;
+		for(int i = offset; i < offset + length; i++) {
+			byte b = header[i];
+			if(b == 0 || b == ' ') {
+				if(value != 0) {
+					break;
+				}
+			} else if(b >= '0' && b <= '7') {
+				value = (value << 3) | (b - '0');
+			} else {
+				throw new IOException("Malformed number in tar header");
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Reads a NUL-terminated string from a header.
+	 *
+	 * @param header The header
+	 * @param offset The offset of the string
+	 * @param length The length of the field
+	 * @return The string
+	 */
+	private static String parseString(byte[] header, int offset, int length) {
+		int end = offset;
+		while(end < offset + length && header[end] != 0) {
+			end++;
+		}
+		return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Finds the {@code path} record of a pax extended header.
+	 *
+	 * @param records The records of the header
+	 * @return The path, or null if not specified
+	 */
+	private static String parsePaxPath(String records) {
+		for(String record : records.split("\n")) {
+			int space = record.indexOf(' ');
+			if(space != -1 && record.startsWith("path=", space + 1)) {
+				return record.substring(space + 1 + "path=".length());
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the header of the next entry, skipping the unread contents of the current entry.
+	 *
+	 * @return The next entry, or null if the end of the archive is reached
+	 * @throws IOException If the archive cannot be read or is malformed
+	 */
+	public Entry next() throws IOException {
+		String longName = null;
+		while(true) {
+			if(current != null) {
+				current.data.skipRemaining();
+				skipPadding(current.size);
+				current = null;
+			}
+			byte[] header = in.readNBytes(BLOCK_SIZE);
+			if(header.length < BLOCK_SIZE || header[0] == 0) {
+				return null;
+			}
+			long size = parseNumber(header, 124, 12);
+			char type = (char) header[156];
+			BoundedInputStream data = new BoundedInputStream(in, size);
+			if(type == 'L' || type == 'x') {
+				String text = new String(data.readAllBytes(), StandardCharsets.UTF_8);
+				current = new Entry("", type, size, data);
+				String name = type == 'L' ? text.substring(0, text.indexOf('\0') == -1 ? text.length() : text.indexOf('\0')) : parsePaxPath(text);
+				if(name != null) {
+					longName = name;
+				}
+				continue;
+			}
+			String name = longName;
+			if(name == null) {
+				name = parseString(header, 0, 100);
+				String prefix = parseString(header, 345, 155);
+				if(!prefix.isEmpty() && parseString(header, 257, 6).equals("ustar")) {
+					name = prefix + "/" + name;
+				}
+			}
+			return current = new Entry(name, type, size, data);
+		}
+	}
+
+	/**
+	 * Skips the padding after the contents of an entry.
+	 *
+	 * @param size The size of the contents
+	 * @throws IOException If the archive cannot be read
+	 */
+	private void skipPadding(long size) throws IOException {
+		long padding = (BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE;
+		in.skipNBytes(padding);
+	}
+
+	/**
+	 * An entry of the archive.
+	 *
+	 * @param name The path of the entry, as stored in the archive
+	 * @param type The type flag of the entry
+	 * @param size The size of the contents of the entry
+	 * @param data The contents of the entry, only readable until the next entry is read
+	 */
+	public record Entry(String name, char type, long size, BoundedInputStream data) {
+		/**
+		 * Checks whether this entry is a regular file.
+		 *
+		 * @return True for regular files
+		 */
+		public boolean isFile() {
+			return type == '0' || type == '\0' || type == '7';
+		}
+
+		/**
+		 * Gets the path of this entry without the leading {@code ./}.
+		 *
+		 * @return The normalized path
+		 */
+		public String normalizedName() {
+			String name = this.name;
+			while(name.startsWith("./")) {
+				name = name.substring(2);
+			}
+			return name;
+		}
+	}
+}
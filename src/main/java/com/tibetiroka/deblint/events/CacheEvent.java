@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.events;
+
+import jdk.jfr.*;
+
+/**
+ * A flight recorder event for looking up a value in the cache of a memoized linter. For a miss, the duration includes running the linter. Disabled by default.
+ */
+@Name("com.tibetiroka.deblint.Cache")
+@Label("Linter Cache Lookup")
+@Category("Debian Control Linter")
+@Enabled(false)
+@StackTrace(false)
+public final class CacheEvent extends Event {
+	/**
+	 * The number of errors replayed or recorded.
+	 */
+	@Label("Errors")
+	public int errors;
+	/**
+	 * Whether the errors of the value were cached.
+	 */
+	@Label("Hit")
+	public boolean hit;
+}
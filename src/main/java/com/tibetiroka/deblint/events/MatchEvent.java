@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.events;
+
+import jdk.jfr.*;
+
+/**
+ * A flight recorder event for matching a stanza specification onto a stanza, changing the types of its fields. Disabled by default.
+ */
+@Name("com.tibetiroka.deblint.Match")
+@Label("Match Stanza")
+@Category("Debian Control Linter")
+@Enabled(false)
+@StackTrace(false)
+public final class MatchEvent extends Event {
+	/**
+	 * The number of fields in the stanza.
+	 */
+	@Label("Fields")
+	public int fields;
+	/**
+	 * The first line of the stanza.
+	 */
+	@Label("Line")
+	public int line;
+	/**
+	 * The name of the matched stanza specification.
+	 */
+	@Label("Stanza")
+	public String stanza;
+}
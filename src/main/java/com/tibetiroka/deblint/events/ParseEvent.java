@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.events;
+
+import jdk.jfr.*;
+
+/**
+ * A flight recorder event for parsing a control file into stanzas. Disabled by default.
+ */
+@Name("com.tibetiroka.deblint.Parse")
+@Label("Parse Control File")
+@Category("Debian Control Linter")
+@Enabled(false)
+@StackTrace(false)
+public final class ParseEvent extends Event {
+	/**
+	 * The number of parsed lines.
+	 */
+	@Label("Lines")
+	public int lines;
+	/**
+	 * The number of parsed stanzas.
+	 */
+	@Label("Stanzas")
+	public int stanzas;
+	/**
+	 * The name of the checked control file type.
+	 */
+	@Label("Type")
+	public String type;
+}
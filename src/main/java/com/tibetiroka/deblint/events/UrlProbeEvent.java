@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.events;
+
+import jdk.jfr.*;
+
+/**
+ * A flight recorder event for checking whether a URL is reachable. Disabled by default.
+ */
+@Name("com.tibetiroka.deblint.UrlProbe")
+@Label("URL Probe")
+@Category({"Debian Control Linter", "Network"})
+@Enabled(false)
+@StackTrace(false)
+public final class UrlProbeEvent extends Event {
+	/**
+	 * The host of the URL.
+	 */
+	@Label("Host")
+	public String host;
+	/**
+	 * The protocol of the URL.
+	 */
+	@Label("Protocol")
+	public String protocol;
+	/**
+	 * The HTTP response code, 0 for other protocols, or -1 if the URL could not be reached.
+	 */
+	@Label("Status")
+	public int status;
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.git;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A long-lived {@code git cat-file --batch-command} process, used for reading many objects of a repository without starting a process for each of them. Object ids are resolved with {@code info} commands, and only the objects that are actually needed are read with {@code contents} commands.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @see <a href="https://git-scm.com/docs/git-cat-file">git-cat-file(1)</a>
+ */
+public final class CatFile implements Closeable {
+	/**
+	 * The standard input of the process.
+	 */
+	private final OutputStream in;
+	/**
+	 * The standard output of the process.
+	 */
+	private final InputStream out;
+	/**
+	 * The process.
+	 */
+	private final Process process;
+
+	/**
+	 * Starts a new process.
+	 *
+	 * @param repository The directory of the repository
+	 * @throws IOException If the process cannot be started
+	 */
+	public CatFile(File repository) throws IOException {
+		this.process = new ProcessBuilder("git", "-C", repository.getPath(), "cat-file", "--batch-command").redirectError(ProcessBuilder.Redirect.DISCARD).start();
+		this.in = new BufferedOutputStream(process.getOutputStream());
+		this.out = new BufferedInputStream(process.getInputStream());
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+		out.close();
+		process.destroy();
+	}
+
+	/**
+	 * Reads the contents of a blob.
+	 *
+	 * @param id The id of the blob
+	 * @return The contents of the blob
+	 * @throws IOException If the object is missing or is not a blob, or the process cannot be read
+	 */
+	public byte[] contents(String id) throws IOException {
+		String header = command("contents " + id);
+		String[] parts = header.split(" ");
+		if(parts.length != 3 || !parts[1].equals("blob")) {
+			throw new IOException("Not a blob: " + header);
+		}
+		int size = Integer.parseInt(parts[2]);
+		byte[] data = out.readNBytes(size);
+		if(data.length != size || out.read() != '\n') {
+			throw new EOFException("Unexpected end of git cat-file output");
+		}
+		return data;
+	}
+
+	/**
+	 * Resolves the id of a blob.
+	 *
+	 * @param name The name of the blob, such as {@code HEAD:debian/control}
+	 * @return The id of the blob, or null if it doesn't exist or is not a blob
+	 * @throws IOException If the process cannot be read
+	 */
+	public String resolve(String name) throws IOException {
+		String[] parts = command("info " + name).split(" ");
+		return parts.length == 3 && parts[1].equals("blob") ? parts[0] : null;
+	}
+
+	/**
+	 * Sends a command, and reads the header line of the reply.
+	 *
+	 * @param command The command
+	 * @return The header line, without the line terminator
+	 * @throws IOException If the process cannot be written or read
+	 */
+	private String command(String command) throws IOException {
+		if(command.indexOf('\n') != -1) {
+			throw new IOException("Invalid object name: " + command);
+		}
+		in.write((command + "\n").getBytes(StandardCharsets.UTF_8));
+		in.flush();
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		for(int b = out.read(); b != '\n'; b = out.read()) {
+			if(b == -1) {
+				throw new EOFException("git cat-file exited unexpectedly");
+			}
+			line.write(b);
+		}
+		return line.toString(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.git;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Diagnostic;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.parser.ControlFile;
+import com.tibetiroka.deblint.parser.ControlType;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Lints the {@code debian/control} and {@code debian/copyright} files of every revision in a range of a git repository, oldest first.
+ * <p>
+ * All objects are read through a single {@link CatFile} process. A file is only reported in the revisions where its blob changes; since most revisions don't touch these files, this shows when each problem was introduced or fixed. The errors of each blob are cached by blob id, so a blob that reappears, such as after a revert, is not read or linted again.
+ */
+public final class GitHistory {
+	/**
+	 * The linted files, and their types.
+	 */
+	private static final Map<String, ControlType> FILES = new LinkedHashMap<>();
+
+	static {
+		FILES.put("debian/control", ControlType.SOURCE_PACKAGE_CONTROL);
+		FILES.put("debian/copyright", ControlType.COPYRIGHT);
+	}
+
+	/**
+	 * Lints the files of a range of revisions. Errors are reported with the abbreviated revision and the path of the file as their context.
+	 *
+	 * @param repository The directory of the repository
+	 * @param range      The revision range, as accepted by {@code git rev-list}, such as {@code debian/2.10-1..HEAD}
+	 * @param config     The configuration; its checked type and target file are ignored
+	 * @return The number of distinct blobs linted
+	 */
+	public static int lint(File repository, String range, Configuration config) {
+		List<String> revisions;
+		try {
+			revisions = listRevisions(repository, range);
+		} catch(IOException e) {
+			Main.report(null, null, -1, "Could not list revisions: {}", e.getMessage());
+			return 0;
+		}
+		Map<String, List<Diagnostic>> results = new HashMap<>();
+		Map<String, String> previous = new HashMap<>();
+		int linted = 0;
+		try(CatFile catFile = new CatFile(repository)) {
+			for(String revision : revisions) {
+				if(Main.isCancelled()) {
+					break;
+				}
+				for(Map.Entry<String, ControlType> file : FILES.entrySet()) {
+					String id = catFile.resolve(revision + ":" + file.getKey());
+					String last = previous.put(file.getKey(), id);
+					if(id == null || id.equals(last)) {
+						continue;
+					}
+					Main.setContext(revision.substring(0, Math.min(12, revision.length())) + ":" + file.getKey(), file.getValue());
+					try {
+						List<Diagnostic> cached = results.get(id);
+						if(cached != null) {
+							cached.forEach(Main::report);
+						} else {
+							byte[] data = catFile.contents(id);
+							linted++;
+							List<Diagnostic> diagnostics = Main.record(() -> lintBlob(data, file.getValue(), config));
+							if(diagnostics != null) {
+								results.put(id, diagnostics);
+							}
+						}
+					} finally {
+						Main.setContext(null);
+					}
+				}
+			}
+		} catch(IOException e) {
+			Main.report(null, null, -1, "Could not read repository: {}", e.getMessage());
+		}
+		return linted;
+	}
+
+	/**
+	 * Lists the revisions of a range, oldest first.
+	 *
+	 * @param repository The directory of the repository
+	 * @param range      The revision range
+	 * @return The full ids of the commits
+	 * @throws IOException If git cannot be run, or the range is invalid
+	 */
+	private static List<String> listRevisions(File repository, String range) throws IOException {
+		Process process = new ProcessBuilder("git", "-C", repository.getPath(), "rev-list", "--reverse", "--end-of-options", range).redirectErrorStream(true).start();
+		process.getOutputStream().close();
+		List<String> lines = new ArrayList<>();
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+				lines.add(line);
+			}
+		}
+		try {
+			if(process.waitFor() != 0) {
+				throw new IOException(String.join(" ", lines).strip());
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted", e);
+		}
+		return lines;
+	}
+
+	/**
+	 * Parses, matches and lints the contents of a blob.
+	 *
+	 * @param data   The contents of the blob
+	 * @param type   The type of the file
+	 * @param config The configuration
+	 */
+	private static void lintBlob(byte[] data, ControlType type, Configuration config) {
+		List<String> lines = new String(data, StandardCharsets.UTF_8).lines().toList();
+		if(lines.isEmpty()) {
+			Main.error("Control file is empty");
+			return;
+		}
+		Configuration blobConfig = config.clone();
+		blobConfig.checkedType = type;
+		ControlFile file = new ControlFile(blobConfig);
+		file.parse(lines);
+		file.matchStanzas();
+		file.lintStanzas();
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.parser.FieldSpec;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The measured cost of field linters, used to run cheap checks before expensive ones when linting stops at the first errors (see {@link Main#isFailFast()}).
+ * <p>
+ * The cost of a linter is the average time of its calls. Linters that are known to be slow, such as the ones probing URLs, start with an {@link #estimate(FieldLinter, long) estimated} cost, which is averaged with the measurements; other linters start at zero, and take their place after their first call.
+ */
+public final class CheckCosts {
+	/**
+	 * The costs of the linters. Linters are compared by identity.
+	 */
+	private static final Map<FieldLinter, Cost> COSTS = new ConcurrentHashMap<>();
+
+	/**
+	 * Gets the average cost of a linter.
+	 *
+	 * @param linter The linter
+	 * @return The average time of a call, in nanoseconds, or 0 if the linter was never called or estimated
+	 */
+	public static long cost(FieldLinter linter) {
+		Cost cost = COSTS.get(linter);
+		return cost == null ? 0 : cost.average();
+	}
+
+	/**
+	 * Sets the initial cost of a linter that is known to be slow, replacing its previous measurements.
+	 *
+	 * @param linter The linter
+	 * @param nanos  The estimated time of a call, in nanoseconds
+	 */
+	public static void estimate(FieldLinter linter, long nanos) {
+		Cost cost = new Cost();
+		cost.add(nanos);
+		COSTS.put(linter, cost);
+	}
+
+	/**
+	 * Records the time of a call to a linter.
+	 *
+	 * @param linter The linter
+	 * @param nanos  The time of the call, in nanoseconds
+	 */
+	public static void measure(FieldLinter linter, long nanos) {
+		COSTS.computeIfAbsent(linter, l -> new Cost()).add(nanos);
+	}
+
+	/**
+	 * Orders the fields of a stanza by the cost of their linters, cheapest first. Fields of equal cost keep their order.
+	 *
+	 * @param fields The fields of a stanza specification
+	 * @return The fields, ordered by cost
+	 */
+	public static List<Map.Entry<String, FieldSpec>> order(Map<String, FieldSpec> fields) {
+		List<Map.Entry<String, FieldSpec>> ordered = new ArrayList<>(fields.entrySet());
+		ordered.sort(Comparator.comparingLong(entry -> cost(entry.getValue().linter())));
+		return ordered;
+	}
+
+	/**
+	 * The total time and number of calls of a linter.
+	 */
+	private static final class Cost {
+		/**
+		 * The number of calls.
+		 */
+		private final AtomicLong calls = new AtomicLong();
+		/**
+		 * The total time of the calls, in nanoseconds.
+		 */
+		private final AtomicLong total = new AtomicLong();
+
+		/**
+		 * Adds a call.
+		 *
+		 * @param nanos The time of the call, in nanoseconds
+		 */
+		private void add(long nanos) {
+			total.addAndGet(nanos);
+			calls.incrementAndGet();
+		}
+
+		/**
+		 * Gets the average time of the calls.
+		 *
+		 * @return The average time, in nanoseconds
+		 */
+		private long average() {
+			long count = calls.get();
+			return count == 0 ? 0 : total.get() / count;
+		}
+	}
+}
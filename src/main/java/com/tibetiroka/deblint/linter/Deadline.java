@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+/**
+ * A cooperative time budget of a file or a check. Budgets are nested: a check runs within the budget of its file, and a budget is exceeded if its own deadline or any enclosing deadline has passed.
+ * <p>
+ * Budgets are enforced by polling: long loops call {@link #check()}, and regular expressions that may backtrack match against a {@link #watch(CharSequence) watched} text. An exceeded budget throws an {@link Exceeded} exception, which is reported by the code that {@link #enter(long, boolean) entered} the budget. Code without a budget only pays for a thread-local lookup.
+ */
+public final class Deadline {
+	/**
+	 * The innermost budget of each thread.
+	 */
+	private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+	/**
+	 * The length of the budget, in milliseconds.
+	 */
+	private final long budget;
+	/**
+	 * The enclosing budget, or null.
+	 */
+	private final Deadline enclosing;
+	/**
+	 * The deadline, as a {@link System#nanoTime()} value.
+	 */
+	private final long end;
+	/**
+	 * Whether this is the budget of a whole file, instead of a single check.
+	 */
+	private final boolean file;
+
+	/**
+	 * Creates a budget starting now.
+	 *
+	 * @param budget    The length of the budget, in milliseconds
+	 * @param file      Whether this is the budget of a whole file
+	 * @param enclosing The enclosing budget, or null
+	 */
+	private Deadline(long budget, boolean file, Deadline enclosing) {
+		this.budget = budget;
+		this.file = file;
+		this.enclosing = enclosing;
+		this.end = System.nanoTime() + budget * 1_000_000;
+	}
+
+	/**
+	 * Throws an exception if the budget of the current thread is exceeded.
+	 *
+	 * @throws Exceeded If the deadline of the innermost budget, or of an enclosing budget, has passed
+	 */
+	public static void check() {
+		Deadline deadline = CURRENT.get();
+		if(deadline != null) {
+			deadline.poll();
+		}
+	}
+
+	/**
+	 * Gets the innermost budget of the current thread, for passing it to tasks running on other threads.
+	 *
+	 * @return The budget, or null if there is none
+	 */
+	public static Deadline current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Starts a budget on the current thread. Must be followed by a call to {@link #exit(Deadline)} with the returned value.
+	 *
+	 * @param budget The length of the budget in milliseconds, or 0 for no budget
+	 * @param file   Whether this is the budget of a whole file, instead of a single check
+	 * @return The previous budget of the thread, or null
+	 */
+	public static Deadline enter(long budget, boolean file) {
+		Deadline previous = CURRENT.get();
+		if(budget > 0) {
+			CURRENT.set(new Deadline(budget, file, previous));
+		}
+		return previous;
+	}
+
+	/**
+	 * Ends the budget started by {@link #enter(long, boolean)}.
+	 *
+	 * @param previous The value returned by {@link #enter(long, boolean)}
+	 */
+	public static void exit(Deadline previous) {
+		if(previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+
+	/**
+	 * Gets the time left from the budget of the current thread, for limiting blocking operations.
+	 *
+	 * @param max The maximum time, in milliseconds
+	 * @return The time left, at least 1 and at most {@code max}
+	 */
+	public static int remainingMillis(int max) {
+		long remaining = max;
+		long now = System.nanoTime();
+		for(Deadline deadline = CURRENT.get(); deadline != null; deadline = deadline.enclosing) {
+			remaining = Math.min(remaining, (deadline.end - now) / 1_000_000);
+		}
+		return (int) Math.max(1, remaining);
+	}
+
+	/**
+	 * Runs a task within a budget, such as on a worker thread of a parallel stream.
+	 *
+	 * @param deadline The budget, or null
+	 * @param task     The task
+	 */
+	public static void run(Deadline deadline, Runnable task) {
+		Deadline previous = CURRENT.get();
+		if(deadline == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(deadline);
+		}
+		try {
+			task.run();
+		} finally {
+			exit(previous);
+		}
+	}
+
+	/**
+	 * Wraps a text so that reading it polls the budget of the current thread. Regular expressions matched against the wrapper stop when the budget is exceeded, instead of backtracking indefinitely.
+	 *
+	 * @param text The text
+	 * @return The wrapper, or the text itself if there is no budget
+	 */
+	public static CharSequence watch(CharSequence text) {
+		Deadline deadline = CURRENT.get();
+		return deadline == null ? text : new WatchedText(text, deadline);
+	}
+
+	/**
+	 * Throws an exception if this budget or an enclosing budget is exceeded.
+	 *
+	 * @throws Exceeded If a deadline has passed
+	 */
+	private void poll() {
+		long now = System.nanoTime();
+		for(Deadline deadline = this; deadline != null; deadline = deadline.enclosing) {
+			if(now - deadline.end > 0) {
+				throw new Exceeded(deadline);
+			}
+		}
+	}
+
+	/**
+	 * Thrown when a budget is exceeded. The exception has no stack trace, and can be rethrown on the thread that started a parallel task.
+	 */
+	public static final class Exceeded extends RuntimeException {
+		/**
+		 * The serialization version of this class.
+		 */
+		private static final long serialVersionUID = 1L;
+		/**
+		 * The exceeded budget.
+		 */
+		private final transient Deadline deadline;
+
+		/**
+		 * Creates an exception for an exceeded budget.
+		 *
+		 * @param deadline The exceeded budget
+		 */
+		private Exceeded(Deadline deadline) {
+			super("Exceeded the time budget of " + deadline.budget + " ms", null, false, false);
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Gets the length of the exceeded budget.
+		 *
+		 * @return The budget, in milliseconds
+		 */
+		public long getBudget() {
+			return deadline.budget;
+		}
+
+		/**
+		 * Checks whether the exceeded budget is the budget of a whole file.
+		 *
+		 * @return True for a file budget, false for a check budget
+		 */
+		public boolean isFile() {
+			return deadline.file;
+		}
+	}
+
+	/**
+	 * A text that polls a budget while it is read. To keep reads cheap, the clock is only read once every {@value #POLL_INTERVAL} characters.
+	 */
+	private static final class WatchedText implements CharSequence {
+		/**
+		 * The number of characters read between polls.
+		 */
+		private static final int POLL_INTERVAL = 1024;
+		/**
+		 * The polled budget.
+		 */
+		private final Deadline deadline;
+		/**
+		 * The wrapped text.
+		 */
+		private final CharSequence text;
+		/**
+		 * The number of characters read since the last poll.
+		 */
+		private int reads = 0;
+
+		/**
+		 * Creates a watched text.
+		 *
+		 * @param text     The wrapped text
+		 * @param deadline The polled budget
+		 */
+		private WatchedText(CharSequence text, Deadline deadline) {
+			this.text = text;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if(++reads == POLL_INTERVAL) {
+				reads = 0;
+				deadline.poll();
+			}
+			return text.charAt(index);
+		}
+
+		@Override
+		public int length() {
+			return text.length();
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return new WatchedText(text.subSequence(start, end), deadline);
+		}
+
+		@Override
+		public String toString() {
+			return text.toString();
+		}
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.parser.DataField;
+import com.tibetiroka.deblint.parser.LineView;
+import com.tibetiroka.deblint.parser.Stanza;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Verifies that the files listed in a {@code .dsc} or {@code .changes} file exist in the {@link Configuration#verifyFiles verified directory}, with the listed size and checksums.
+ * <p>
+ * Each file is read only once, and all of its checksums are computed in the same pass. Different files are hashed in parallel; errors are reported in the order of the file list.
+ */
+public final class FileVerifier {
+	/**
+	 * The size of the direct buffer used for reading each file.
+	 */
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	/**
+	 * Verifies the files listed in a stanza.
+	 *
+	 * @param stanza The stanza with the {@code Files}, {@code Checksums-Sha1} and {@code Checksums-Sha256} fields
+	 * @param config The configuration
+	 */
+	public static void verify(Stanza stanza, Configuration config) {
+		Map<String, Expected> files = new LinkedHashMap<>();
+		collect(stanza.getField("Files"), files, 0);
+		collect(stanza.getField("Checksums-Sha1"), files, 1);
+		collect(stanza.getField("Checksums-Sha256"), files, 2);
+		if(files.isEmpty()) {
+			return;
+		}
+		List<Future<Computed>> results = new ArrayList<>(files.size());
+		try(ExecutorService executor = Executors.newFixedThreadPool(Math.min(files.size(), Runtime.getRuntime().availableProcessors()))) {
+			for(String name : files.keySet()) {
+				if(isValidName(name)) {
+					File file = new File(config.verifyFiles, name);
+					results.add(executor.submit(() -> compute(file)));
+				} else {
+					results.add(null);
+				}
+			}
+			Iterator<Future<Computed>> iterator = results.iterator();
+			for(Map.Entry<String, Expected> entry : files.entrySet()) {
+				if(Main.isCancelled()) {
+					results.stream().filter(Objects::nonNull).forEach(result -> result.cancel(true));
+					return;
+				}
+				Future<Computed> result = iterator.next();
+				if(result == null) {
+					Main.report(null, null, entry.getValue().line, "Listed file name is not a plain file name: {}", entry.getKey());
+					continue;
+				}
+				Computed computed;
+				try {
+					computed = result.get();
+				} catch(ExecutionException e) {
+					Throwable cause = e.getCause();
+					if(cause instanceof NoSuchFileException) {
+						Main.report(null, null, entry.getValue().line, "Listed file does not exist: {}", entry.getKey());
+					} else {
+						Main.report(null, null, entry.getValue().line, "Could not read listed file: {}: {}", entry.getKey(), cause.getMessage());
+					}
+					continue;
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				entry.getValue().check(entry.getKey(), computed);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a listed file name refers to a file directly in the verified directory. Names with path separators, and the names of the directory itself or its parent, are never opened, so that a hostile file list cannot reveal the checksums of files outside the directory.
+	 *
+	 * @param name The listed file name
+	 * @return True if the name is a plain file name
+	 */
+	private static boolean isValidName(String name) {
+		return !name.contains("/") && !name.equals(".") && !name.equals("..");
+	}
+
+	/**
+	 * Adds the files of a file list to the expected values.
+	 *
+	 * @param field The list of files, with the hash, the size and the name of each file on separate lines, or null
+	 * @param files The expected values of the files, by name
+	 * @param hash  The index of the hash algorithm used in the list
+	 */
+	private static void collect(DataField field, Map<String, Expected> files, int hash) {
+		if(field == null) {
+			return;
+		}
+		for(LineView line : field.lines()) {
+			String[] parts = line.strip().toString().split("\\s+");
+			if(parts.length < 3) {
+				continue;
+			}
+			Expected expected = files.computeIfAbsent(parts[parts.length - 1], name -> new Expected(line.lineNumber()));
+			expected.hashes[hash] = parts[0];
+			expected.lines[hash] = line.lineNumber();
+			if(expected.size == -1) {
+				try {
+					expected.size = Long.parseLong(parts[1]);
+					expected.sizeLine = line.lineNumber();
+				} catch(NumberFormatException e) {
+					// reported by SIZE_LINTER
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads a file, computing its size and checksums.
+	 *
+	 * @param file The file to read
+	 * @return The computed values
+	 * @throws IOException If the file cannot be read
+	 */
+	private static Computed compute(File file) throws IOException {
+		MessageDigest[] digests;
+		try {
+			digests = new MessageDigest[]{MessageDigest.getInstance("MD5"), MessageDigest.getInstance("SHA-1"), MessageDigest.getInstance("SHA-256")};
+		} catch(NoSuchAlgorithmException e) {
+			throw new AssertionError(e);
+		}
+		long size = 0;
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			while(channel.read(buffer) != -1) {
+				buffer.flip();
+				size += buffer.remaining();
+				for(MessageDigest digest : digests) {
+					buffer.position(0);
+					digest.update(buffer);
+				}
+				buffer.clear();
+			}
+		}
+		String[] hashes = new String[digests.length];
+		for(int i = 0; i < digests.length; i++) {
+			hashes[i] = HexFormat.of().formatHex(digests[i].digest());
+		}
+		return new Computed(size, hashes);
+	}
+
+	/**
+	 * The actual size and checksums of a file.
+	 *
+	 * @param size   The size of the file in bytes
+	 * @param hashes The MD5, SHA1 and SHA256 checksums of the file, in lowercase hexadecimal
+	 */
+	private record Computed(long size, String[] hashes) {
+	}
+
+	/**
+	 * The size and checksums of a file, as listed in the stanza.
+	 */
+	private static final class Expected {
+		/**
+		 * The names of the hash algorithms.
+		 */
+		private static final String[] NAMES = {"MD5", "SHA1", "SHA256"};
+		/**
+		 * The listed MD5, SHA1 and SHA256 checksums, or null if not listed.
+		 */
+		private final String[] hashes = new String[3];
+		/**
+		 * The line number where the file is first listed.
+		 */
+		private final int line;
+		/**
+		 * The line numbers listing each checksum, or -1.
+		 */
+		private final int[] lines = {-1, -1, -1};
+		/**
+		 * The listed size, or -1 if not listed.
+		 */
+		private long size = -1;
+		/**
+		 * The line number of the first listed size, or -1.
+		 */
+		private int sizeLine = -1;
+
+		/**
+		 * Creates an empty expectation.
+		 *
+		 * @param line The line number where the file is first listed
+		 */
+		private Expected(int line) {
+			this.line = line;
+		}
+
+		/**
+		 * Reports the differences between the listed and the actual values.
+		 *
+		 * @param name     The name of the file
+		 * @param computed The actual values
+		 */
+		private void check(String name, Computed computed) {
+			if(size != -1 && size != computed.size()) {
+				Main.report(null, null, sizeLine, "Listed size of {} is {}, but the file has {} bytes", name, size, computed.size());
+			}
+			for(int i = 0; i < hashes.length; i++) {
+				if(hashes[i] != null && !hashes[i].equalsIgnoreCase(computed.hashes()[i])) {
+					Main.report(null, null, lines[i], "{} checksum of {} does not match: listed {}, actual {}", NAMES[i], name, hashes[i], computed.hashes()[i]);
+				}
+			}
+		}
+	}
+}
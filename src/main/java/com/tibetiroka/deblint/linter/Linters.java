@@ -12,10 +12,18 @@ package com.tibetiroka.deblint.linter;
 
 import com.tibetiroka.deblint.Configuration;
 import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.References;
+import com.tibetiroka.deblint.events.UrlProbeEvent;
 import com.tibetiroka.deblint.parser.*;
+import com.tibetiroka.deblint.universe.PackageUniverse;
+import com.tibetiroka.deblint.universe.Relation;
+import com.tibetiroka.deblint.util.LongIntHashMap;
+import com.tibetiroka.deblint.util.SpillingStringList;
+import com.tibetiroka.deblint.util.SymbolTable;
 import jakarta.mail.internet.AddressException;
 import jakarta.mail.internet.InternetAddress;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.*;
 import java.time.DateTimeException;
@@ -44,6 +52,10 @@ public class Linters {
 	 * Specification preset for {@link ControlType#COPYRIGHT}.
 	 */
 	public static final List<StanzaSpec> COPYRIGHT_STANZAS = new ArrayList<>();
+	/**
+	 * The memoized linters used in the specification presets, by the name of the linter they wrap. Empty unless {@link #memoize(int) caching} is enabled.
+	 */
+	public static final Map<String, MemoizedFieldLinter> MEMOIZED_LINTERS = new LinkedHashMap<>();
 	/**
 	 * Specification preset for {@link ControlType#BINARY_PACKAGE_CONTROL}.
 	 */
@@ -52,11 +64,20 @@ public class Linters {
 	 * Specification preset for {@link ControlType#SOURCE_PACKAGE_CONTROL}.
 	 */
 	public static final List<StanzaSpec> PACKAGE_SOURCE_CONTROL_STANZAS = new ArrayList<>();
+	/**
+	 * Specification preset for {@link ControlType#PACKAGES_INDEX}.
+	 */
+	public static final List<StanzaSpec> PACKAGES_INDEX_STANZAS = new ArrayList<>();
 	/**
 	 * Specification preset for {@link ControlType#SOURCE_CONTROL}.
 	 */
 	public static final List<StanzaSpec> SOURCE_CONTROL_STANZAS = new ArrayList<>();
+	/**
+	 * Specification preset for {@link ControlType#SOURCES_INDEX}.
+	 */
+	public static final List<StanzaSpec> SOURCES_INDEX_STANZAS = new ArrayList<>();
 	public static final FileLinter TYPE_COPYRIGHT_LINTER = new TypeCopyrightLinter();
+	public static final FileLinter TYPE_INDEX_LINTER = new TypeIndexLinter();
 	/**
 	 * The list of supported architectures, according to dpkg-architecture 1.21.1
 	 */
@@ -75,7 +96,7 @@ public class Linters {
 		if(config.archInversion) {
 			for(String arch : declared) {
 				if(inverted && !arch.startsWith("!")) {
-					Main.error("Architecture names must all be prepended with exclamation marks, or not at all: " + s, "archInversion", "https://www.debian.org/doc/debian-policy/ch-controlfields#architecture", s.lineNumber());
+					Main.report("archInversion", References.ARCHITECTURE_FIELD, s.lineNumber(), "Architecture names must all be prepended with exclamation marks, or not at all: {}", s);
 				}
 			}
 		}
@@ -93,21 +114,21 @@ public class Linters {
 				if(arch.endsWith("-any")) {
 					String os = arch.substring(0, arch.length() - "-any".length());
 					if(!supOs.contains(os)) {
-						Main.error("Wildcard does not match any architecture: " + arch, "strictArch", "https://www.debian.org/doc/debian-policy/ch-customized-programs.html#s-arch-wildcard-spec", s.lineNumber());
+						Main.report("strictArch", References.ARCHITECTURE_WILDCARDS, s.lineNumber(), "Wildcard does not match any architecture: {}", arch);
 					}
 				} else if(arch.startsWith("any-")) {
 					String cpu = arch.substring("any-".length());
 					if(!supCpu.contains(cpu)) {
-						Main.error("Wildcard does not match any architecture: " + arch, "strictArch", "https://www.debian.org/doc/debian-policy/ch-customized-programs.html#s-arch-wildcard-spec", s.lineNumber());
+						Main.report("strictArch", References.ARCHITECTURE_WILDCARDS, s.lineNumber(), "Wildcard does not match any architecture: {}", arch);
 					}
 				} else {
 					if(!supArch.contains(arch)) {
-						Main.error("Unknown architecture: " + arch, "strictArch", s.lineNumber());
+						Main.report("strictArch", null, s.lineNumber(), "Unknown architecture: {}", arch);
 					}
 				}
 			} else {
 				if(!Pattern.matches("^[a-zA-Z0-9\\-]+$", arch)) {
-					Main.error("Invalid architecture: " + arch, s.lineNumber());
+					Main.report(null, null, s.lineNumber(), "Invalid architecture: {}", arch);
 				}
 			}
 		}
@@ -115,20 +136,20 @@ public class Linters {
 	protected static final FieldLinter SINGLE_ARCHITECTURE_LINTER = (s, config) -> {
 		ArrayList<String> arches = new ArrayList<>(List.of(s.text().split(" ")));
 		if(config.duplicateArchitecture && arches.size() > new HashSet<>(arches).size()) {
-			Main.error("Duplicated architecture: " + s, "duplicateArchitecture", s.lineNumber());
+			Main.report("duplicateArchitecture", null, s.lineNumber(), "Duplicated architecture: {}", s);
 		}
 		if(config.checkedType == ControlType.SOURCE_PACKAGE_CONTROL) {
 			if(!s.text().equals("all") && !s.text().equals("any")) {
 				if(arches.stream().anyMatch(a -> a.equals("all") || a.equals("any"))) {
-					Main.error("'all' or 'any' must be the only entries, if present: " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#architecture", s.lineNumber());
+					Main.report(null, References.ARCHITECTURE_FIELD, s.lineNumber(), "'all' or 'any' must be the only entries, if present: {}", s);
 				} else {
 					ARCHITECTURE_LINTER.accept(new Line(String.join(" ", arches.stream().filter(a -> !a.equals("all")).toList()), s.lineNumber()), config);
 				}
 			}
-		} else if(config.checkedType == ControlType.SOURCE_CONTROL) {
+		} else if(config.checkedType == ControlType.SOURCE_CONTROL || config.checkedType == ControlType.SOURCES_INDEX) {
 			if(arches.contains("any")) {
 				if(!arches.stream().allMatch(a -> a.equals("any") || a.equals("all"))) {
-					Main.error("When 'any' is present in a list, the only other value allowed is 'all': " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#architecture", s.lineNumber());
+					Main.report(null, References.ARCHITECTURE_FIELD, s.lineNumber(), "When 'any' is present in a list, the only other value allowed is 'all': {}", s);
 				}
 			} else {
 				ARCHITECTURE_LINTER.accept(new Line(String.join(" ", arches.stream().filter(a -> !a.equals("all")).toList()), s.lineNumber()), config);
@@ -137,25 +158,29 @@ public class Linters {
 			HashSet<String> archSet = new HashSet<>(arches);
 			archSet.remove("source");
 			if(archSet.contains("any") || archSet.stream().anyMatch(a -> a.startsWith("any-") || a.endsWith("-any"))) {
-				Main.error("Architecture wildcards are not allowed in .changes files: " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#architecture", s.lineNumber());
+				Main.report(null, References.ARCHITECTURE_FIELD, s.lineNumber(), "Architecture wildcards are not allowed in .changes files: {}", s);
 			} else {
 				if(!archSet.isEmpty()) {
 					ARCHITECTURE_LINTER.accept(new Line(String.join(" ", archSet), s.lineNumber()), config);
 				}
 			}
+		} else if(config.checkedType == ControlType.PACKAGES_INDEX) {
+			if(!s.text().equals("all")) {
+				ARCHITECTURE_LINTER.accept(s, config);
+			}
 		} else {
 			ARCHITECTURE_LINTER.accept(s, config);
 		}
 	};
 	protected static final FieldLinter BINARY_LIST_LINTER = (s, config) -> {
 		HashSet<String> files = new HashSet<>();
-		if(config.checkedType == ControlType.SOURCE_CONTROL) {
+		if(config.checkedType == ControlType.SOURCE_CONTROL || config.checkedType == ControlType.SOURCES_INDEX) {
 			for(String string : s.text().split(",")) {
 				string = string.strip();
 				if(string.isEmpty()) {
-					Main.error("Empty file name: " + s, s.lineNumber());
+					Main.report(null, null, s.lineNumber(), "Empty file name: {}", s);
 				} else if(config.duplicateFiles && files.contains(string)) {
-					Main.error("Duplicated file in list: " + s, "duplicateFiles", s.lineNumber());
+					Main.report("duplicateFiles", null, s.lineNumber(), "Duplicated file in list: {}", s);
 				} else {
 					files.add(string);
 				}
@@ -164,9 +189,9 @@ public class Linters {
 			for(String string : s.text().split(" ")) {
 				string = string.strip();
 				if(string.isEmpty()) {
-					Main.error("Empty file name: " + s, s.lineNumber());
+					Main.report(null, null, s.lineNumber(), "Empty file name: {}", s);
 				} else if(config.duplicateFiles && files.contains(string)) {
-					Main.error("Duplicated file in list: " + s, "duplicateFiles", s.lineNumber());
+					Main.report("duplicateFiles", null, s.lineNumber(), "Duplicated file in list: {}", s);
 				} else {
 					files.add(string);
 				}
@@ -175,41 +200,42 @@ public class Linters {
 	};
 	protected static final FieldLinter BOOLEAN_LINTER = (s, config) -> {
 		if(!s.text().equals("yes") && !s.text().equals("no")) {
-			Main.error("Invalid boolean value; should be 'yes' or 'no': " + s, null, "https://www.debian.org/doc/debian-policy/ch-customized-programs.html#s-arch-wildcard-spec", s.lineNumber());
+			Main.report(null, References.ARCHITECTURE_WILDCARDS, s.lineNumber(), "Invalid boolean value; should be 'yes' or 'no': {}", s);
 		}
 	};
 	protected static final FieldLinter CHANGE_LIST_LINTER = (s, config) -> {
-		String[] lines = s.text().split("\\n", -1);
-		if(config.leadingEmptyLine && !lines[0].isBlank()) {
-			Main.error("The first line of changes should be empty", "leadingEmptyLine", "https://www.debian.org/doc/debian-policy/ch-controlfields#changes", s.lineNumber());
+		if(config.leadingEmptyLine && !s.firstLine().isBlank()) {
+			Main.error("The first line of changes should be empty", "leadingEmptyLine", References.CHANGES_FIELD, s.lineNumber());
 		}
 		//todo: check all title requirements from https://www.debian.org/doc/debian-policy/ch-controlfields#changes
 	};
 	protected static final FieldLinter COPYRIGHT_FILE_LIST_LINTER = (s, config) -> {
-		String[] patterns = s.text().split("\\n", -1);
-		for(String pattern : patterns) {
-			pattern = pattern.strip();
+		for(LineView line : s.lines()) {
+			LineView pattern = line.strip();
 			if(Pattern.matches(".*\\\\[^\\\\*?].*", pattern)) {
-				Main.error("Illegal escape sequence: " + pattern, null, "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#files-field", s.lineNumber());
+				Main.report(null, References.COPYRIGHT_FILES_FIELD, line.lineNumber(), "Illegal escape sequence: {}", pattern);
 			}
 			if(Pattern.matches(".*\\s.*", pattern)) {
-				Main.error("Illegal whitespace in pattern: " + pattern, null, "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#files-field", s.lineNumber());
+				Main.report(null, References.COPYRIGHT_FILES_FIELD, line.lineNumber(), "Illegal whitespace in pattern: {}", pattern);
 			}
 		}
 	};
 	protected static final FieldLinter DATE_LINTER = (s, config) -> {
 		// day-of-week, dd month yyyy hh:mm:ss +zzzz
 		if(!Pattern.matches("^(Mon|Tue|Wed|Thu|Fri|Sat|Sun), \\d\\d? (Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec) \\d{4} \\d{2}:\\d{2}:\\d{2} [+-]\\d{4}$", s.text())) {
-			Main.error("Invalid date: " + s, s.lineNumber());
+			Main.report(null, null, s.lineNumber(), "Invalid date: {}", s);
 		} else {
 			try {
 				DateTimeFormatter formatter = DateTimeFormatter.ofPattern("EEE, dd LLL yyyy HH:mm:ss Z");
 				ZonedDateTime parsed = ZonedDateTime.parse(s.text(), formatter);
+				if(config.futureDate) {
+					Main.uncacheable();
+				}
 				if(config.futureDate && ZonedDateTime.now().isBefore(parsed)) {
-					Main.error("Future date specified: " + s, s.lineNumber());
+					Main.report(null, null, s.lineNumber(), "Future date specified: {}", s);
 				}
 			} catch(DateTimeException e) {
-				Main.error("Invalid date: " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#date", s.lineNumber());
+				Main.report(null, References.DATE_FIELD, s.lineNumber(), "Invalid date: {}", s);
 			}
 		}
 	};
@@ -219,14 +245,15 @@ public class Linters {
 	protected static final FieldLinter DEFAULT_LINTER = (s, config) -> {
 	};
 	protected static final FieldLinter DESCRIPTION_LINTER = (s, config) -> {
-		String[] lines = s.text().split("\n");
-		if(lines[0].isBlank()) {
-			Main.error("Missing synopsys: ", null, "https://www.debian.org/doc/debian-policy/ch-controlfields#description", s.lineNumber());
+		Iterator<LineView> lines = s.lines().iterator();
+		if(lines.next().isBlank()) {
+			Main.error("Missing synopsys: ", null, References.DESCRIPTION_FIELD, s.lineNumber());
 		}
 		if(config.descriptionReservedSyntax) {
-			for(int i = 1; i < lines.length; i++) {
-				if(lines[i].startsWith(" .") && !" .".equals(lines[i])) {
-					Main.error("Use of reserved syntax: " + lines[i], "descriptionReservedSyntax", "https://www.debian.org/doc/debian-policy/ch-controlfields#description", s.lineNumber());
+			while(lines.hasNext()) {
+				LineView line = lines.next();
+				if(line.startsWith(" .") && !" .".contentEquals(line)) {
+					Main.report("descriptionReservedSyntax", References.DESCRIPTION_FIELD, line.lineNumber(), "Use of reserved syntax: {}", line);
 				}
 			}
 		}
@@ -234,42 +261,44 @@ public class Linters {
 	protected static final FieldLinter DGIT_LINTER = (s, config) -> {
 		String[] parts = s.text().split(" ");
 		if(config.dgitExtraData && parts.length > 1) {
-			Main.error("Extra data after the commit hash is reserved for future expansion; do not use: " + s, "dgitExtraData", "https://www.debian.org/doc/debian-policy/ch-controlfields#dgit", s.lineNumber());
+			Main.report("dgitExtraData", References.DGIT_FIELD, s.lineNumber(), "Extra data after the commit hash is reserved for future expansion; do not use: {}", s);
 		}
 		if(!Pattern.matches("^[a-f0-9]{40}$", parts[0])) {
-			Main.error("Invalid git hash: " + parts[0], s.lineNumber());
+			Main.report(null, null, s.lineNumber(), "Invalid git hash: {}", parts[0]);
 		}
 	};
 	protected static final FieldLinter DISTRIBUTION_LINTER = (s, config) -> {
 		if(config.multipleDistributions && s.text().contains(" ")) {
-			Main.error("Please only use a single distribution: " + s, "multipleDistributions", "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-distribution", s.lineNumber());
+			Main.report("multipleDistributions", References.DISTRIBUTION_FIELD, s.lineNumber(), "Please only use a single distribution: {}", s);
 		}
 	};
 	protected static final FieldLinter LICENSE_LINTER = (s, config) -> {
-		String[] parts = s.text().split("\\n");
-		if(s.text().split("\\n")[0].isBlank()) {
-			Main.error("License must have a short name in the first line: ", null, "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#license-field", s.lineNumber());
+		LineView first = s.firstLine();
+		if(first.isBlank()) {
+			Main.error("License must have a short name in the first line: ", null, References.COPYRIGHT_LICENSE_FIELD, s.lineNumber());
 		} else {
 			if(config.licenseName) {
-				String shortNames = parts[0].strip().replace(",", "");
+				String shortNames = first.strip().toString().replace(",", "");
+				// whether there is any text after the short names
+				boolean explained = s.text().chars().skip(first.length()).anyMatch(c -> c != '\n');
 				for(String name : shortNames.split(" (or|and) ")) {
 					if(name.contains(" ")) {
 						String[] nameParts = name.split(" ");
 						if(nameParts.length != 4) {
-							Main.error("Invalid license exception: " + name, "licenseName", "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#license-short-name", s.lineNumber());
+							Main.report("licenseName", References.COPYRIGHT_LICENSE_NAMES, s.lineNumber(), "Invalid license exception: {}", name);
 						} else {
 							if(!nameParts[1].equals("with") || !nameParts[3].equals("exception")) {
-								Main.error("Invalid license exception: " + name, "licenseName", "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#license-short-name", s.lineNumber());
+								Main.report("licenseName", References.COPYRIGHT_LICENSE_NAMES, s.lineNumber(), "Invalid license exception: {}", name);
 							}
 							if(config.customLicenseException) {
 								String[] exceptions = {"Font", "OpenSSL"};
 								if(Arrays.stream(exceptions).noneMatch(e -> e.equals(nameParts[2]))) {
-									Main.error("Unknown license exception: " + nameParts[2], "customLicenseException", s.lineNumber());
+									Main.report("customLicenseException", null, s.lineNumber(), "Unknown license exception: {}", nameParts[2]);
 								}
 							}
 						}
-					} else if(name.equals("public-domain") && parts.length == 1) {
-						Main.error("Licensing to public domain must be followed by an explanation", "licenseName", "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#license-short-name", s.lineNumber());
+					} else if(name.equals("public-domain") && !explained) {
+						Main.error("Licensing to public domain must be followed by an explanation", "licenseName", References.COPYRIGHT_LICENSE_NAMES, s.lineNumber());
 					}
 				}
 			}
@@ -277,7 +306,17 @@ public class Linters {
 	};
 	protected static final FieldLinter MD5_LINTER = (s, config) -> {
 		if(!Pattern.matches("^[a-fA-F0-9]{32}$", s.text())) {
-			Main.error("Invalid MD5 hash: " + s, s.lineNumber());
+			Main.report(null, null, s.lineNumber(), "Invalid MD5 hash: {}", s);
+		}
+	};
+	protected static final FieldLinter SHA1_HASH_LINTER = (s, config) -> {
+		if(!Pattern.matches("^[a-fA-F0-9]{40}$", s.text())) {
+			Main.report(null, null, s.lineNumber(), "Invalid SHA hash: {}", s);
+		}
+	};
+	protected static final FieldLinter SHA256_HASH_LINTER = (s, config) -> {
+		if(!Pattern.matches("^[a-fA-F0-9]{64}$", s.text())) {
+			Main.report(null, null, s.lineNumber(), "Invalid SHA hash: {}", s);
 		}
 	};
 	protected static final FieldLinter NUMBER_LIST_LINTER = (s, config) -> {
@@ -287,43 +326,43 @@ public class Linters {
 			try {
 				int i = Integer.parseInt(part);
 				if(part.startsWith("+")) {
-					Main.error("Numbers should be unsigned: " + part, s.lineNumber());
+					Main.report(null, null, s.lineNumber(), "Numbers should be unsigned: {}", part);
 				} else if(i <= 0) {
-					Main.error("Numbers should not be negative: " + part, s.lineNumber());
+					Main.report(null, null, s.lineNumber(), "Numbers should not be negative: {}", part);
 				} else {
 					if(config.duplicateIssueNumbers && numbers.contains(i)) {
-						Main.error("Duplicate number: " + part, "duplicateIssueNumbers", s.lineNumber());
+						Main.report("duplicateIssueNumbers", null, s.lineNumber(), "Duplicate number: {}", part);
 					} else {
 						numbers.add(i);
 					}
 				}
 			} catch(NumberFormatException e) {
-				Main.error("Invalid number: " + part, s.lineNumber());
+				Main.report(null, null, s.lineNumber(), "Invalid number: {}", part);
 			}
 		}
 	};
 	protected static final FieldLinter PACKAGE_NAME_LINTER = (s, config) -> {
 		if(!Pattern.matches("^[a-z0-9][a-z0-9+.\\-]+$", s.text())) {
-			Main.error("Invalid package name: " + s, s.lineNumber());
+			Main.report(null, null, s.lineNumber(), "Invalid package name: {}", s);
 		}
 	};
 	protected static final FieldLinter PACKAGE_TYPE_LINTER = (s, config) -> {
 		if(config.unknownPackageType && !s.text().equals("deb") && !s.text().equals("udeb")) {
-			Main.error("Unknown package type: " + s, "unknownPackageType", s.lineNumber());
+			Main.report("unknownPackageType", null, s.lineNumber(), "Unknown package type: {}", s);
 		}
 		if(config.redundantPackageType && s.text().equals("deb") && config.checkedType == ControlType.SOURCE_PACKAGE_CONTROL) {
-			Main.error("Package-Type should be omitted when using the default value: " + s, "redundantPackageType", "https://www.debian.org/doc/debian-policy/ch-controlfields#package-type", s.lineNumber());
+			Main.report("redundantPackageType", References.PACKAGE_TYPE_FIELD, s.lineNumber(), "Package-Type should be omitted when using the default value: {}", s);
 		}
 	};
 	protected static final FieldLinter PRIORITY_LINTER = (s, config) -> {
 		if(config.unknownPriority) {
 			String[] priorities = {"required", "important", "standard", "optional", "extra"};
 			if(Arrays.stream(priorities).noneMatch(p -> p.equals(s.text()))) {
-				Main.error("Unknown priority: " + s, "unknownPriority", "https://www.debian.org/doc/debian-policy/ch-archive.html#s-priorities", s.lineNumber());
+				Main.report("unknownPriority", References.PRIORITIES, s.lineNumber(), "Unknown priority: {}", s);
 			}
 		}
 		if(config.extraPriority && s.text().equals("extra")) {
-			Main.error("The 'extra' priority is deprecated, use 'optional' instead", "extraPriority", "https://www.debian.org/doc/debian-policy/ch-archive.html#s-priorities", s.lineNumber());
+			Main.error("The 'extra' priority is deprecated, use 'optional' instead", "extraPriority", References.PRIORITIES, s.lineNumber());
 		}
 	};
 	protected static final FieldLinter REQUIRES_ROOT_LINTER = (s, config) -> {
@@ -335,7 +374,7 @@ public class Linters {
 		Pattern pattern = Pattern.compile("^[" + ascii_printable + "]{2,}/[" + ascii_printable + "/]{2,}$");
 		for(String keyword : keywords) {
 			if(!pattern.matcher(keyword).matches()) {
-				Main.error("Invalid keyword for Rules-Requires-Root: " + keyword, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-rules-requires-root", s.lineNumber());
+				Main.report(null, References.RULES_REQUIRES_ROOT_FIELD, s.lineNumber(), "Invalid keyword for Rules-Requires-Root: {}", keyword);
 			}
 		}
 	};
@@ -345,7 +384,7 @@ public class Linters {
 				InternetAddress emailAddr = new InternetAddress(s.text());
 				emailAddr.validate();
 			} catch(AddressException e) {
-				Main.error("Invalid email address: " + s, "email", "https://www.w3.org/Protocols/rfc822/", s.lineNumber());
+				Main.report("email", References.RFC822, s.lineNumber(), "Invalid email address: {}", s);
 			}
 		}
 	};
@@ -354,18 +393,18 @@ public class Linters {
 			int begin = s.text().indexOf('<');
 			int end = s.text().lastIndexOf('>');
 			if(begin == -1 || end == -1 || end < begin) {
-				Main.error("Missing email address: " + s, "addressStyle", "https://www.debian.org/doc/debian-policy/ch-controlfields#maintainer", s.lineNumber());
+				Main.report("addressStyle", References.MAINTAINER_FIELD, s.lineNumber(), "Missing email address: {}", s);
 			} else {
 				RFC_822_LINTER.accept(new Line(s.text().substring(begin + 1, end), s.lineNumber()), config);
 			}
 			if(end != s.text().length() - 1) {
-				Main.error("Extra content after email address: " + s, "addressStyle", "https://www.debian.org/doc/debian-policy/ch-controlfields#maintainer", s.lineNumber());
+				Main.report("addressStyle", References.MAINTAINER_FIELD, s.lineNumber(), "Extra content after email address: {}", s);
 			}
 			if(config.maintainerNameFullStop && s.text().substring(0, begin).contains(".")) {
-				Main.error("Name contains full stop: " + s.text().substring(0, begin), "maintainerNameFullStop", "https://www.debian.org/doc/debian-policy/ch-controlfields#maintainer", s.lineNumber());
+				Main.report("maintainerNameFullStop", References.MAINTAINER_FIELD, s.lineNumber(), "Name contains full stop: {}", s.text().substring(0, begin));
 			}
 			if(begin == 0) {
-				Main.error("Missing name: " + s, "addressStyle", "https://www.debian.org/doc/debian-policy/ch-controlfields#maintainer", s.lineNumber());
+				Main.report("addressStyle", References.MAINTAINER_FIELD, s.lineNumber(), "Missing name: {}", s);
 			}
 		}
 	};
@@ -391,37 +430,39 @@ public class Linters {
 		if(s.text().contains("/")) {
 			String[] parts = s.text().split("/", 2);
 			if(config.strictSection && Arrays.stream(areas).noneMatch(a -> a.equals(parts[0]))) {
-				Main.error("Unknown area: " + s, "strictSection", "https://www.debian.org/doc/debian-policy/ch-archive.html#s-subsections", s.lineNumber());
+				Main.report("strictSection", References.SECTIONS, s.lineNumber(), "Unknown area: {}", s);
 			}
 			section = parts[1];
 		} else {
 			section = s.text();
 		}
 		if(config.strictSection && Arrays.stream(sections).noneMatch(a -> a.equals(section))) {
-			Main.error("Unknown section: " + s, "strictSection", "https://www.debian.org/doc/debian-policy/ch-archive.html#s-subsections", s.lineNumber());
+			Main.report("strictSection", References.SECTIONS, s.lineNumber(), "Unknown section: {}", s);
 		}
 		if(config.debianInstallerSection && section.equals("debian-installer")) {
-			Main.error("debian-installer section should not be used here: " + s, "debianInstallerSection", "https://www.debian.org/doc/debian-policy/ch-archive.html#s-subsections", s.lineNumber());
+			Main.report("debianInstallerSection", References.SECTIONS, s.lineNumber(), "debian-installer section should not be used here: {}", s);
 		}
 	};
 	protected static final FieldLinter PACKAGE_LIST_LINTER = (s, config) -> {
-		String[] lines = s.text().split("\\n", -1);
-		if(config.leadingEmptyLine && !lines[0].isBlank()) {
-			Main.error("Package-List must begin with an empty line: " + s, "leadingEmptyLine", "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-package-list", s.lineNumber());
+		Iterator<LineView> lines = s.lines().iterator();
+		LineView first = lines.next();
+		if(config.leadingEmptyLine && !first.isBlank()) {
+			Main.report("leadingEmptyLine", References.PACKAGE_LIST_FIELD, s.lineNumber(), "Package-List must begin with an empty line: {}", s);
 		}
 		HashSet<String> binaries = new HashSet<>();
-		for(int i = 1; i < lines.length; i++) {
-			String[] parts = lines[i].strip().split(" ");
+		while(lines.hasNext()) {
+			LineView line = lines.next();
+			String[] parts = line.strip().toString().split(" ");
 			// name, type, section, priority
 			if(parts.length < 4) {
-				Main.error("Missing values from package; 4 values are required: " + lines[i].strip(), null, "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-package-list", s.lineNumber());
+				Main.report(null, References.PACKAGE_LIST_FIELD, line.lineNumber(), "Missing values from package; 4 values are required: {}", line.strip());
 			} else {
-				PACKAGE_NAME_LINTER.accept(new Line(parts[0], s.lineNumber()), config);
-				PACKAGE_TYPE_LINTER.accept(new Line(parts[1], s.lineNumber()), config);
-				SECTION_LINTER.accept(new Line(parts[2], s.lineNumber()), config);
-				PRIORITY_LINTER.accept(new Line(parts[3], s.lineNumber()), config);
+				PACKAGE_NAME_LINTER.accept(new Line(parts[0], line.lineNumber()), config);
+				PACKAGE_TYPE_LINTER.accept(new Line(parts[1], line.lineNumber()), config);
+				SECTION_LINTER.accept(new Line(parts[2], line.lineNumber()), config);
+				PRIORITY_LINTER.accept(new Line(parts[3], line.lineNumber()), config);
 				if(config.duplicatePackages && binaries.contains(parts[0])) {
-					Main.error("Duplicate package in list: " + parts[0], "duplicatePackages", s.lineNumber());
+					Main.report("duplicatePackages", null, line.lineNumber(), "Duplicate package in list: {}", parts[0]);
 				} else {
 					binaries.add(parts[0]);
 				}
@@ -432,66 +473,76 @@ public class Linters {
 		try {
 			Long l = Long.parseLong(s.text());
 			if(l < 0) {
-				Main.error("Size cannot be negative: " + s, s.lineNumber());
+				Main.report(null, null, s.lineNumber(), "Size cannot be negative: {}", s);
 			} else if(s.text().startsWith("+")) {
-				Main.error("Size must be unsigned: " + s, s.lineNumber());
+				Main.report(null, null, s.lineNumber(), "Size must be unsigned: {}", s);
 			}
 		} catch(NumberFormatException e) {
-			Main.error("Invalid size: " + s, s.lineNumber());
+			Main.report(null, null, s.lineNumber(), "Invalid size: {}", s);
 		}
 	};
 	protected static final FieldLinter FILE_LIST_LINTER = (s, config) -> {
-		String[] lines = s.text().split("\\n");
-		if(config.leadingEmptyLine && !lines[0].isBlank()) {
-			Main.error("The first line of 'Files' should be empty: " + s, "leadingEmptyLine", "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-files", s.lineNumber());
+		if(config.leadingEmptyLine && !s.firstLine().isBlank()) {
+			Main.report("leadingEmptyLine", References.FILES_FIELD, s.lineNumber(), "The first line of 'Files' should be empty: {}", s);
 		}
 		if(config.fileListIndent) {
 			Pattern indent = Pattern.compile("^ \\w.*");
-			for(int i = 1; i < lines.length; i++) {
-				if(!indent.matcher(lines[i]).matches()) {
-					Main.error("Lines should be indented with only one space: " + lines[i], "fileListIndent", "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-files", s.lineNumber());
+			Iterator<LineView> lines = s.lines().iterator();
+			lines.next();
+			while(lines.hasNext()) {
+				LineView line = lines.next();
+				if(line.length() > 0 && !indent.matcher(line).matches()) {
+					Main.report("fileListIndent", References.FILES_FIELD, line.lineNumber(), "Lines should be indented with only one space: {}", line);
 				}
 			}
 		}
-		String[][] words = Arrays.stream(lines).map(a -> a.strip().split(" ", config.checkedType == ControlType.SOURCE_CONTROL ? 3 : 5)).toArray(String[][]::new);
+		boolean source = config.checkedType == ControlType.SOURCE_CONTROL || config.checkedType == ControlType.SOURCES_INDEX;
+		int limit = source ? 3 : 5;
 		HashSet<String> filenames = new HashSet<>();
-		for(int i = 1; i < words.length; i++) {
-			String[] stuffs = words[i];
-			if(config.checkedType == ControlType.SOURCE_CONTROL) {
+		Iterator<LineView> lines = s.lines().iterator();
+		lines.next();
+		while(lines.hasNext()) {
+			LineView line = lines.next();
+			if(line.length() == 0) {
+				continue;
+			}
+			String[] stuffs = line.strip().toString().split(" ", limit);
+			int lineNumber = line.lineNumber();
+			if(source) {
 				if(stuffs.length < 3) {
-					Main.error("Missing parameter: 3 values required: " + lines[i], null, "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-files", s.lineNumber());
+					Main.report(null, References.FILES_FIELD, lineNumber, "Missing parameter: 3 values required: {}", line);
 				} else {
-					MD5_LINTER.accept(new Line(stuffs[0], s.lineNumber()), config);
-					SIZE_LINTER.accept(new Line(stuffs[1], s.lineNumber()), config);
+					MD5_LINTER.accept(new Line(stuffs[0], lineNumber), config);
+					SIZE_LINTER.accept(new Line(stuffs[1], lineNumber), config);
 					if(config.duplicateFiles && filenames.contains(stuffs[2])) {
-						Main.error("Duplicated file in list: " + stuffs[2], s.lineNumber());
+						Main.report(null, null, lineNumber, "Duplicated file in list: {}", stuffs[2]);
 					} else {
 						filenames.add(stuffs[2]);
 					}
 				}
 			} else if(config.checkedType == ControlType.CHANGES) {
 				if(stuffs.length < 3) {
-					Main.error("Missing parameter: 5 values required: " + lines[i], null, "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-files", s.lineNumber());
+					Main.report(null, References.FILES_FIELD, lineNumber, "Missing parameter: 5 values required: {}", line);
 				} else {
-					MD5_LINTER.accept(new Line(stuffs[0], s.lineNumber()), config);
-					SIZE_LINTER.accept(new Line(stuffs[1], s.lineNumber()), config);
+					MD5_LINTER.accept(new Line(stuffs[0], lineNumber), config);
+					SIZE_LINTER.accept(new Line(stuffs[1], lineNumber), config);
 					if(stuffs[2].equals("-")) {
 						if(config.missingSectionOrPriority) {
-							Main.error("Section must be defined: " + stuffs[2], "missingSectionOrPriority", "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-files", s.lineNumber());
+							Main.report("missingSectionOrPriority", References.FILES_FIELD, lineNumber, "Section must be defined: {}", stuffs[2]);
 						}
 					} else if(stuffs[2].equals("byhand")) {
 						if(!stuffs[3].equals("-")) {
-							Main.error("Priority must be '-' if section is 'byhand': " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-files", s.lineNumber());
+							Main.report(null, References.FILES_FIELD, lineNumber, "Priority must be '-' if section is 'byhand': {}", s);
 						}
 					} else {
-						SECTION_LINTER.accept(new Line(stuffs[2], s.lineNumber()), config);
-						PRIORITY_LINTER.accept(new Line(stuffs[3], s.lineNumber()), config);
+						SECTION_LINTER.accept(new Line(stuffs[2], lineNumber), config);
+						PRIORITY_LINTER.accept(new Line(stuffs[3], lineNumber), config);
 						if(config.missingSectionOrPriority && stuffs[3].equals("-")) {
-							Main.error("Priority must be defined: " + stuffs[2], "missingPriority", "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-files", s.lineNumber());
+							Main.report("missingPriority", References.FILES_FIELD, lineNumber, "Priority must be defined: {}", stuffs[2]);
 						}
 					}
 					if(config.duplicateFiles && filenames.contains(stuffs[4])) {
-						Main.error("Duplicated file in list: " + stuffs[4], "duplicateFiles", s.lineNumber());
+						Main.report("duplicateFiles", null, lineNumber, "Duplicated file in list: {}", stuffs[4]);
 					} else {
 						filenames.add(stuffs[4]);
 					}
@@ -500,58 +551,64 @@ public class Linters {
 		}
 	};
 	protected static final FieldLinter SHA1_LINTER = (s, config) -> {
-		String[] lines = s.text().split("\\n");
-		if(config.leadingEmptyLine && !lines[0].isBlank()) {
+		if(config.leadingEmptyLine && !s.firstLine().isBlank()) {
 			Main.error("The first line of checksums should be empty", "leadingEmptyLine", s.lineNumber());
 		}
-		Arrays.stream(lines).filter(s1 -> !s1.isBlank()).map(String::strip).forEachOrdered(l -> {
-			String[] parts = l.split(" ", 3);
+		for(LineView line : s.lines()) {
+			if(line.isBlank()) {
+				continue;
+			}
+			LineView l = line.strip();
+			String[] parts = l.toString().split(" ", 3);
 			if(parts.length < 3) {
-				Main.error("Missing parameter; 3 values required: " + l, s.lineNumber());
-				return;
+				Main.report(null, null, l.lineNumber(), "Missing parameter; 3 values required: {}", l);
+				continue;
 			}
 			if(!Pattern.matches("^[a-fA-F0-9]{40}$", parts[0])) {
-				Main.error("Invalid SHA hash: " + parts[0], s.lineNumber());
+				Main.report(null, null, l.lineNumber(), "Invalid SHA hash: {}", parts[0]);
 			}
-			SIZE_LINTER.accept(new Line(parts[1], s.lineNumber()), config);
-		});
+			SIZE_LINTER.accept(new Line(parts[1], l.lineNumber()), config);
+		}
 	};
 	protected static final FieldLinter SHA256_LINTER = (s, config) -> {
-		String[] lines = s.text().split("\n");
-		if(config.leadingEmptyLine && !lines[0].isBlank()) {
+		if(config.leadingEmptyLine && !s.firstLine().isBlank()) {
 			Main.error("The first line of checksums should be empty", "leadingEmptyLine", s.lineNumber());
 		}
-		Arrays.stream(lines).filter(s1 -> !s1.isBlank()).map(String::strip).forEachOrdered(l -> {
-			String[] parts = l.split(" ", 3);
+		for(LineView line : s.lines()) {
+			if(line.isBlank()) {
+				continue;
+			}
+			LineView l = line.strip();
+			String[] parts = l.toString().split(" ", 3);
 			if(parts.length < 3) {
-				Main.error("Missing parameter; 3 values required: " + l, s.lineNumber());
-				return;
+				Main.report(null, null, l.lineNumber(), "Missing parameter; 3 values required: {}", l);
+				continue;
 			}
 			if(!Pattern.matches("^[a-fA-F0-9]{64}$", parts[0])) {
-				Main.error("Invalid SHA hash: " + parts[0], s.lineNumber());
+				Main.report(null, null, l.lineNumber(), "Invalid SHA hash: {}", parts[0]);
 			}
-			SIZE_LINTER.accept(new Line(parts[1], s.lineNumber()), config);
-		});
+			SIZE_LINTER.accept(new Line(parts[1], l.lineNumber()), config);
+		}
 	};
 	protected static final FieldLinter STANDARDS_VERSION_LINTER = (s, config) -> {
 		String[] parts = s.text().split("\\.");
 		int[] latest = {4, 7, 0, 0};
 		if(parts.length < 3 || parts.length > 4) {
-			Main.error("Invalid standards version: " + s, s.lineNumber());
+			Main.report(null, null, s.lineNumber(), "Invalid standards version: {}", s);
 		} else {
 			try {
 				int[] values = Arrays.stream(parts).mapToInt(Integer::parseInt).toArray();
 				if(config.strictStandardsVersion) {
 					for(int i = 0; i < values.length; i++) {
 						if(values[i] > latest[i]) {
-							Main.error("Invalid standards version: " + s, "strictStandardsVersion", s.lineNumber());
+							Main.report("strictStandardsVersion", null, s.lineNumber(), "Invalid standards version: {}", s);
 						} else if(values[i] < latest[i]) {
 							break;
 						}
 					}
 				}
 			} catch(NumberFormatException e) {
-				Main.error("Invalid standards version: " + s, s.lineNumber());
+				Main.report(null, null, s.lineNumber(), "Invalid standards version: {}", s);
 			}
 		}
 	};
@@ -562,23 +619,36 @@ public class Linters {
 		if(fileField == null) {
 			return;
 		}
-		Arrays.stream(fileField.data().split("\\n")).map(String::strip).filter(f -> !f.isEmpty()).map(f -> List.of(f.split(" ")).getLast()).forEach(files::add);
+		for(LineView line : fileField.lines()) {
+			LineView f = line.strip();
+			if(f.length() > 0) {
+				files.add(lastWord(f));
+			}
+		}
 		//
 		for(String hashType : hashes) {
 			DataField field = s.getField(hashType);
 			if(field != null) {
 				HashSet<String> localHashes = new HashSet<>(files);
-				Arrays.stream(field.data().split("\\n")).map(String::strip).filter(f -> !f.isEmpty()).map(f -> List.of(f.split(" ")).getLast()).forEachOrdered(f -> {
+				for(LineView line : field.lines()) {
+					LineView stripped = line.strip();
+					if(stripped.length() == 0) {
+						continue;
+					}
+					String f = lastWord(stripped);
 					if(!localHashes.contains(f)) {
-						Main.error("Checksummed file is not in file list, or is already checksummed: " + f, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#checksums-sha1-and-checksums-sha256", field.line());
+						Main.report(null, References.CHECKSUMS_FIELDS, line.lineNumber(), "Checksummed file is not in file list, or is already checksummed: {}", f);
 					}
 					localHashes.remove(f);
-				});
+				}
 				if(!localHashes.isEmpty()) {
-					Main.error("File is not in checksum list: " + String.join(", ", localHashes), field.line());
+					Main.report(null, null, field.line(), "File is not in checksum list: {}", String.join(", ", localHashes));
 				}
 			}
 		}
+		if(config.verifyFiles != null && (config.checkedType == ControlType.SOURCE_CONTROL || config.checkedType == ControlType.CHANGES)) {
+			FileVerifier.verify(s, config);
+		}
 	};
 	protected static final StanzaLinter STANZA_DEFAULT_LINTER = (s, config) -> {
 	};
@@ -592,7 +662,7 @@ public class Linters {
 					if(parts[1].contains(")")) {
 						String sourceVersion = parts[1].split("\\)", 2)[0];
 						if(sourceVersion.equals(version.data())) {
-							Main.error("Please omit the source version when the Version field is used with the same value: " + source.data(), "sourceRedundantVersion", "https://www.debian.org/doc/debian-policy/ch-controlfields#source", source.line());
+							Main.report("sourceRedundantVersion", References.SOURCE_FIELD, source.line(), "Please omit the source version when the Version field is used with the same value: {}", source.data());
 						}
 					}
 				}
@@ -610,7 +680,7 @@ public class Linters {
 			for(String vcsField : vcsFields) {
 				if(s.getField(vcsField) != null) {
 					if(found) {
-						Main.error("Multiple VCS fields are declared: " + vcsField, "duplicateVcs", "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-vcs-fields", s.getField(vcsField).line());
+						Main.report("duplicateVcs", References.VCS_FIELDS, s.getField(vcsField).line(), "Multiple VCS fields are declared: {}", vcsField);
 					} else {
 						found = true;
 					}
@@ -631,7 +701,7 @@ public class Linters {
 		if(config.upstreamVersionStyle) {
 			Pattern upstream = Pattern.compile("^[0-9][A-Za-z0-9.+~\\-]*$");
 			if(!upstream.matcher(s.text()).matches()) {
-				Main.error("Upstream version uses an invalid format: " + s, "upstreamVersionStyle", "https://www.debian.org/doc/debian-policy/ch-controlfields#version", s.lineNumber());
+				Main.report("upstreamVersionStyle", References.VERSION_FIELD, s.lineNumber(), "Upstream version uses an invalid format: {}", s);
 			}
 		}
 	};
@@ -639,16 +709,16 @@ public class Linters {
 		if(config.checkedType == ControlType.CHANGES) {
 			UPSTREAM_VERSION_LINTER.accept(s, config);
 			if(config.exactFormatVersion && !s.text().equals("1.8")) {
-				Main.error("Please use format version 1.8: " + s, "exactFormatVersion", "https://www.debian.org/doc/debian-policy/ch-controlfields#format", s.lineNumber());
+				Main.report("exactFormatVersion", References.FORMAT_FIELD, s.lineNumber(), "Please use format version 1.8: {}", s);
 			}
-		} else if(config.checkedType == ControlType.SOURCE_CONTROL) {
+		} else if(config.checkedType == ControlType.SOURCE_CONTROL || config.checkedType == ControlType.SOURCES_INDEX) {
 			String[] supported = {"1.0", "3.0 (native)", "3.0 (quilt)"};
 			if(!Pattern.matches("^\\d+\\.\\d+( \\([a-zA-Z0-9]+\\))?$", s.text())) {
-				Main.error("Invalid format version: " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#format", s.lineNumber());
+				Main.report(null, References.FORMAT_FIELD, s.lineNumber(), "Invalid format version: {}", s);
 			}
 			if(config.exactFormatVersion) {
 				if(Arrays.stream(supported).noneMatch(a -> a.equals(s.text()))) {
-					Main.error("Unsupported format version: " + s, "exactFormatVersion", "https://www.debian.org/doc/debian-policy/ch-controlfields#format", s.lineNumber());
+					Main.report("exactFormatVersion", References.FORMAT_FIELD, s.lineNumber(), "Unsupported format version: {}", s);
 				}
 			}
 		}
@@ -657,11 +727,11 @@ public class Linters {
 		String[] urgencies = {"low", "medium", "high", "emergency", "critical"};
 		String[] parts = s.text().split(" ", 2);
 		if(config.customUrgencies && Arrays.stream(urgencies).noneMatch(a -> a.equalsIgnoreCase(parts[0]))) {
-			Main.error("Unknown urgency level: " + parts[0], "customUrgencies", "https://www.debian.org/doc/debian-policy/ch-controlfields#urgency", s.lineNumber());
+			Main.report("customUrgencies", References.URGENCY_FIELD, s.lineNumber(), "Unknown urgency level: {}", parts[0]);
 		}
 		if(parts.length > 1) {
 			if(config.urgencyDescriptionParentheses && (!parts[1].startsWith("(") || !parts[1].endsWith(")"))) {
-				Main.error("Urgency commentary should be wrapped in parentheses: " + s, "urgencyDescriptionParentheses", "https://www.debian.org/doc/debian-policy/ch-controlfields#urgency", s.lineNumber());
+				Main.report("urgencyDescriptionParentheses", References.URGENCY_FIELD, s.lineNumber(), "Urgency commentary should be wrapped in parentheses: {}", s);
 			}
 		}
 	};
@@ -671,7 +741,7 @@ public class Linters {
 			checkUrl(u, s.lineNumber(), config);
 		} catch(URISyntaxException | MalformedURLException | IllegalArgumentException e) {
 			if(config.url) {
-				Main.error("Invalid URL: " + s, "url", s.lineNumber());
+				Main.report("url", null, s.lineNumber(), "Invalid URL: {}", s);
 			}
 		}
 	};
@@ -684,31 +754,31 @@ public class Linters {
 			if(parts[1].startsWith("-b")) {
 				String[] params = parts[1].split(" ", 3);
 				if(params.length < 2) {
-					Main.error("Incomplete branch definition for Git: " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-vcs-fields", s.lineNumber());
+					Main.report(null, References.VCS_FIELDS, s.lineNumber(), "Incomplete branch definition for Git: {}", s);
 				} else {
 					// params[0] == -b
 					// params[1] == <branch-name>
 					// params[2] == [path] | missing
 					if(params[1].isEmpty()) {
-						Main.error("Empty branch name: " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-vcs-fields", s.lineNumber());
+						Main.report(null, References.VCS_FIELDS, s.lineNumber(), "Empty branch name: {}", s);
 					}
 					if(params.length == 3) {
 						String path = params[2].strip();
 						if(!path.startsWith("[") || !path.endsWith("]")) {
-							Main.error("Invalid path definition for Git: " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-vcs-fields", s.lineNumber());
+							Main.report(null, References.VCS_FIELDS, s.lineNumber(), "Invalid path definition for Git: {}", s);
 						}
 					}
 				}
 			} else if(parts[1].startsWith("[")) {
 				// otherwise, check for path
 				if(!parts[1].endsWith("]")) {
-					Main.error("Invalid path definition for Git: " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-vcs-fields", s.lineNumber());
+					Main.report(null, References.VCS_FIELDS, s.lineNumber(), "Invalid path definition for Git: {}", s);
 				}
 			} else {
-				Main.error("Invalid git data: " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-vcs-fields", s.lineNumber());
+				Main.report(null, References.VCS_FIELDS, s.lineNumber(), "Invalid git data: {}", s);
 			}
 		} else if(config.vcsBranch) {
-			Main.error("Missing branch definition for Git: " + s, "vcsBranch", "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-vcs-fields", s.lineNumber());
+			Main.report("vcsBranch", References.VCS_FIELDS, s.lineNumber(), "Missing branch definition for Git: {}", s);
 		}
 	};
 	protected static final FieldLinter MERCURIAL_VCS_LINTER = (s, config) -> {
@@ -720,18 +790,18 @@ public class Linters {
 			if(parts[1].startsWith("-b")) {
 				String[] params = parts[1].split(" ");
 				if(params.length != 2) {
-					Main.error("Incomplete branch definition for Mercurial: " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-vcs-fields", s.lineNumber());
+					Main.report(null, References.VCS_FIELDS, s.lineNumber(), "Incomplete branch definition for Mercurial: {}", s);
 				}
 			}
 		} else if(config.vcsBranch) {
-			Main.error("Missing branch definition for Mercurial: " + s, "vcsBranch", "https://www.debian.org/doc/debian-policy/ch-controlfields#s-f-vcs-fields", s.lineNumber());
+			Main.report("vcsBranch", References.VCS_FIELDS, s.lineNumber(), "Missing branch definition for Mercurial: {}", s);
 		}
 	};
 	protected static final FieldLinter COPYRIGHT_FORMAT_LINTER = (s, config) -> {
 		URL_LINTER.accept(s, config);
 		if(config.strictCopyrightFormatVersion) {
 			if(!s.text().equals("https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/")) {
-				Main.error("Unknown copyright format: " + s, "strictCopyrightFormatVersion", "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#format-field", s.lineNumber());
+				Main.report("strictCopyrightFormatVersion", References.COPYRIGHT_FORMAT_FIELD, s.lineNumber(), "Unknown copyright format: {}", s);
 			}
 		}
 	};
@@ -740,7 +810,7 @@ public class Linters {
 			try {
 				URL_LINTER.accept(s, config);
 			} catch(IllegalArgumentException e) {
-				Main.error("Invalid copyright source URL: " + s, "copyrightSourceStyle", "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#source-field", s.lineNumber());
+				Main.report("copyrightSourceStyle", References.COPYRIGHT_SOURCE_FIELD, s.lineNumber(), "Invalid copyright source URL: {}", s);
 			}
 		}
 	};
@@ -754,19 +824,19 @@ public class Linters {
 			String debianRevision = revisionSplit.length == 2 ? revisionSplit[1] : "0";
 			if(epoch != null) {
 				if(epoch.startsWith("+")) {
-					Main.error("Epoch must not have a sign: " + s, "versionStyle", "https://www.debian.org/doc/debian-policy/ch-controlfields#version", s.lineNumber());
+					Main.report("versionStyle", References.VERSION_FIELD, s.lineNumber(), "Epoch must not have a sign: {}", s);
 				} else {
 					try {
 						Integer.parseUnsignedInt(epoch);
 					} catch(NumberFormatException e) {
-						Main.error("Epoch must be an unsigned integer: " + s, "versionStyle", "https://www.debian.org/doc/debian-policy/ch-controlfields#version", s.lineNumber());
+						Main.report("versionStyle", References.VERSION_FIELD, s.lineNumber(), "Epoch must be an unsigned integer: {}", s);
 					}
 				}
 			}
 			UPSTREAM_VERSION_LINTER.accept(new Line(upstreamVersion, s.lineNumber()), config);
 			Pattern debian = Pattern.compile("^[A-Za-z0-9.+~]+$");
 			if(!debian.matcher(debianRevision).matches()) {
-				Main.error("Debian version uses an invalid format: " + debianRevision, "versionStyle", "https://www.debian.org/doc/debian-policy/ch-controlfields#version", s.lineNumber());
+				Main.report("versionStyle", References.VERSION_FIELD, s.lineNumber(), "Debian version uses an invalid format: {}", debianRevision);
 			}
 		}
 	};
@@ -781,7 +851,7 @@ public class Linters {
 			if(begin != -1 && end != -1 && begin + 1 < end) {
 				String version = aPackage.substring(begin + 1, end).strip();
 				if(version.isEmpty()) {
-					Main.error("Empty package version string: " + s, null, "https://www.debian.org/doc/debian-policy/ch-relationships.html", s.lineNumber());
+					Main.report(null, References.RELATIONSHIPS, s.lineNumber(), "Empty package version string: {}", s);
 				} else {
 					boolean found = false;
 					for(String operator : operators) {
@@ -792,11 +862,11 @@ public class Linters {
 						}
 					}
 					if(!found) {
-						Main.error("Invalid relation for package version: " + version, null, "https://www.debian.org/doc/debian-policy/ch-relationships.html", s.lineNumber());
+						Main.report(null, References.RELATIONSHIPS, s.lineNumber(), "Invalid relation for package version: {}", version);
 					}
 				}
 			} else if(begin != end) {
-				Main.error("Incomplete package version string: " + s, null, "https://www.debian.org/doc/debian-policy/ch-relationships.html", s.lineNumber());
+				Main.report(null, References.RELATIONSHIPS, s.lineNumber(), "Incomplete package version string: {}", s);
 			} else {
 				// arch config
 				begin = aPackage.indexOf('[');
@@ -804,7 +874,7 @@ public class Linters {
 				if(begin != -1 && end != -1 && begin + 1 < end) {
 					ARCHITECTURE_LINTER.accept(new Line(aPackage.substring(begin + 1, end).strip(), s.lineNumber()), config);
 				} else if(begin != end) {
-					Main.error("Incomplete architecture specification string: " + s, null, "https://www.debian.org/doc/debian-policy/ch-relationships.html", s.lineNumber());
+					Main.report(null, References.RELATIONSHIPS, s.lineNumber(), "Incomplete architecture specification string: {}", s);
 				}
 				// package name
 				String name = aPackage.split("[(\\[\\s]", 2)[0].strip();
@@ -816,17 +886,35 @@ public class Linters {
 		String[] forbidden_operators = {"<<", "<=", ">=", ">>"};
 		for(String op : forbidden_operators) {
 			if(s.text().contains(op)) {
-				Main.error("Only exact package versions can be provided: " + s, s.lineNumber());
+				Main.report(null, null, s.lineNumber(), "Only exact package versions can be provided: {}", s);
 			}
 		}
 		DEPENDENCY_LINTER.accept(s, config);
 	};
+	/**
+	 * The index files that could not be loaded for {@link Configuration#packagesIndex}, so that the error is only reported once.
+	 */
+	private static final Set<File> UNREADABLE_PACKAGE_INDICES = ConcurrentHashMap.newKeySet();
+	protected static final FieldLinter RESOLVABLE_DEPENDENCY_LINTER = (s, config) -> {
+		// the syntax checks are pure, so they can be memoized unlike the lookups in the index
+		FieldLinter syntax = MEMOIZED_LINTERS.get("DEPENDENCY_LINTER");
+		(syntax == null ? DEPENDENCY_LINTER : syntax).accept(s, config);
+		if(config.unsatisfiableDependencies && config.packagesIndex != null) {
+			PackageUniverse universe = getPackageUniverse(config.packagesIndex);
+			if(universe != null) {
+				List<Relation> unsatisfiable = universe.findUnsatisfiable(Relation.parse(s.text()), config.architecture, config.buildProfiles);
+				if(unsatisfiable != null) {
+					Main.report("unsatisfiableDependencies", References.RELATIONSHIPS, s.lineNumber(), "Relation is not satisfied by any package in the packages index: {}", String.join(" | ", unsatisfiable.stream().map(Relation::toString).toList()));
+				}
+			}
+		}
+	};
 	protected static final FieldLinter SOURCE_LINTER = (s, config) -> {
 		String[] parts = s.toString().split("\\(", 2);
 		PACKAGE_NAME_LINTER.accept(new Line(parts[0].stripTrailing(), s.lineNumber()), config);
 		if(parts.length == 2) {
 			if(config.checkedType == ControlType.SOURCE_PACKAGE_CONTROL || config.checkedType == ControlType.SOURCE_CONTROL) {
-				Main.error("debian/control and .dsc files cannot have a version in their source: " + s, null, "https://www.debian.org/doc/debian-policy/ch-controlfields#source", s.lineNumber());
+				Main.report(null, References.SOURCE_FIELD, s.lineNumber(), "debian/control and .dsc files cannot have a version in their source: {}", s);
 			}
 			String version = parts[1].substring(0, parts.length - 1);
 			VERSION_LINTER.accept(new Line(version, s.lineNumber()), config);
@@ -834,7 +922,7 @@ public class Linters {
 	};
 	private static final StanzaLinter STANZA_COPYRIGHT_HEADER_LINTER = (s, config) -> {
 		if(s.getField("Copyright") != null && s.getField("License") == null) {
-			Main.error("A Copyright field alone is not sufficient; please include a License field as well when an explanation is needed: Copyright", null, "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#header-stanza", s.getField("Copyright").line());
+			Main.error("A Copyright field alone is not sufficient; please include a License field as well when an explanation is needed: Copyright", null, References.COPYRIGHT_HEADER_STANZA, s.getField("Copyright").line());
 		}
 	};
 
@@ -846,9 +934,9 @@ public class Linters {
 			general.put("Uploaders", new FieldSpec(OPTIONAL, FOLDED, MULTI_ADDRESS_LINTER));
 			general.put("Section", new FieldSpec(RECOMMENDED, SIMPLE, SECTION_LINTER));
 			general.put("Priority", new FieldSpec(RECOMMENDED, SIMPLE, PRIORITY_LINTER));
-			general.put("Build-Depends", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
-			general.put("Build-Depends-Indep", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
-			general.put("Build-Depends-Arch", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
+			general.put("Build-Depends", new FieldSpec(OPTIONAL, FOLDED, RESOLVABLE_DEPENDENCY_LINTER));
+			general.put("Build-Depends-Indep", new FieldSpec(OPTIONAL, FOLDED, RESOLVABLE_DEPENDENCY_LINTER));
+			general.put("Build-Depends-Arch", new FieldSpec(OPTIONAL, FOLDED, RESOLVABLE_DEPENDENCY_LINTER));
 			general.put("Build-Conflicts", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
 			general.put("Build-Conflicts-Indep", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
 			general.put("Build-Conflicts-Arch", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
@@ -873,8 +961,8 @@ public class Linters {
 			binary.put("Section", new FieldSpec(RECOMMENDED, SIMPLE, SECTION_LINTER));
 			binary.put("Priority", new FieldSpec(RECOMMENDED, SIMPLE, PRIORITY_LINTER));
 			binary.put("Essential", new FieldSpec(OPTIONAL, SIMPLE, BOOLEAN_LINTER));
-			binary.put("Depends", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
-			binary.put("Pre-Depends", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
+			binary.put("Depends", new FieldSpec(OPTIONAL, FOLDED, RESOLVABLE_DEPENDENCY_LINTER));
+			binary.put("Pre-Depends", new FieldSpec(OPTIONAL, FOLDED, RESOLVABLE_DEPENDENCY_LINTER));
 			binary.put("Recommends", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
 			binary.put("Suggests", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
 			binary.put("Enhances", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
@@ -912,6 +1000,25 @@ public class Linters {
 			binary.put("Built-Using", new FieldSpec(OPTIONAL, SIMPLE, EXACT_DEPENDENCY_LINTER));
 			StanzaSpec binaryControl = new StanzaSpec("binary package control stanza", true, false, binary, STANZA_SOURCE_LINTER);
 			PACKAGE_BINARY_CONTROL_STANZAS.add(binaryControl);
+			//
+			HashMap<String, FieldSpec> index = new HashMap<>(binary);
+			index.put("Provides", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
+			index.put("Replaces", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
+			index.put("Static-Built-Using", new FieldSpec(OPTIONAL, FOLDED, EXACT_DEPENDENCY_LINTER));
+			index.put("Multi-Arch", new FieldSpec(OPTIONAL, SIMPLE, DEFAULT_LINTER));
+			index.put("Original-Maintainer", new FieldSpec(OPTIONAL, SIMPLE, ADDRESS_LINTER));
+			index.put("Filename", new FieldSpec(MANDATORY, SIMPLE, DEFAULT_LINTER));
+			index.put("Size", new FieldSpec(MANDATORY, SIMPLE, SIZE_LINTER));
+			index.put("MD5sum", new FieldSpec(OPTIONAL, SIMPLE, MD5_LINTER));
+			index.put("SHA1", new FieldSpec(OPTIONAL, SIMPLE, SHA1_HASH_LINTER));
+			index.put("SHA256", new FieldSpec(RECOMMENDED, SIMPLE, SHA256_HASH_LINTER));
+			index.put("SHA512", new FieldSpec(OPTIONAL, SIMPLE, DEFAULT_LINTER));
+			index.put("Description-md5", new FieldSpec(OPTIONAL, SIMPLE, MD5_LINTER));
+			index.put("Tag", new FieldSpec(OPTIONAL, FOLDED, DEFAULT_LINTER));
+			index.put("Task", new FieldSpec(OPTIONAL, FOLDED, DEFAULT_LINTER));
+			index.put("Phased-Update-Percentage", new FieldSpec(OPTIONAL, SIMPLE, DEFAULT_LINTER));
+			StanzaSpec packages = new StanzaSpec("binary package index stanza", true, true, index, STANZA_SOURCE_LINTER);
+			PACKAGES_INDEX_STANZAS.add(packages);
 		}
 		{
 			HashMap<String, FieldSpec> map = new HashMap<>();
@@ -935,9 +1042,9 @@ public class Linters {
 			map.put("Testsuite", new FieldSpec(OPTIONAL, SIMPLE, DEPENDENCY_LINTER));
 			map.put("Dgit", new FieldSpec(OPTIONAL, FOLDED, DGIT_LINTER));
 			map.put("Standards-Version", new FieldSpec(MANDATORY, SIMPLE, STANDARDS_VERSION_LINTER));
-			map.put("Build-Depends", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
-			map.put("Build-Depends-Indep", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
-			map.put("Build-Depends-Arch", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
+			map.put("Build-Depends", new FieldSpec(OPTIONAL, FOLDED, RESOLVABLE_DEPENDENCY_LINTER));
+			map.put("Build-Depends-Indep", new FieldSpec(OPTIONAL, FOLDED, RESOLVABLE_DEPENDENCY_LINTER));
+			map.put("Build-Depends-Arch", new FieldSpec(OPTIONAL, FOLDED, RESOLVABLE_DEPENDENCY_LINTER));
 			map.put("Build-Conflicts", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
 			map.put("Build-Conflicts-Indep", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
 			map.put("Build-Conflicts-Arch", new FieldSpec(OPTIONAL, FOLDED, DEPENDENCY_LINTER));
@@ -947,6 +1054,19 @@ public class Linters {
 			map.put("Files", new FieldSpec(MANDATORY, MULTILINE, FILE_LIST_LINTER));
 			StanzaSpec sourceControl = new StanzaSpec("source stanza", true, false, map, STANZA_SOURCE_CONTROL_LINTER);
 			SOURCE_CONTROL_STANZAS.add(sourceControl);
+			//
+			HashMap<String, FieldSpec> index = new HashMap<>(map);
+			index.remove("Source");
+			index.put("Package", new FieldSpec(MANDATORY, SIMPLE, PACKAGE_NAME_LINTER));
+			index.put("Directory", new FieldSpec(MANDATORY, SIMPLE, DEFAULT_LINTER));
+			index.put("Section", new FieldSpec(OPTIONAL, SIMPLE, SECTION_LINTER));
+			index.put("Priority", new FieldSpec(OPTIONAL, SIMPLE, PRIORITY_LINTER));
+			index.put("Standards-Version", new FieldSpec(RECOMMENDED, SIMPLE, STANDARDS_VERSION_LINTER));
+			index.put("Checksums-Sha1", new FieldSpec(OPTIONAL, MULTILINE, SHA1_LINTER));
+			index.put("Checksums-Sha512", new FieldSpec(OPTIONAL, MULTILINE, DEFAULT_LINTER));
+			index.put("Extra-Source-Only", new FieldSpec(OPTIONAL, SIMPLE, BOOLEAN_LINTER));
+			StanzaSpec sources = new StanzaSpec("source package index stanza", true, true, index, STANZA_SOURCE_CONTROL_LINTER);
+			SOURCES_INDEX_STANZAS.add(sources);
 		}
 		{
 			HashMap<String, FieldSpec> map = new HashMap<>();
@@ -994,6 +1114,63 @@ public class Linters {
 			StanzaSpec license = new StanzaSpec("stand-alone license stanza", false, true, map, STANZA_DEFAULT_LINTER);
 			COPYRIGHT_STANZAS.add(license);
 		}
+		// initial costs of slow checks, used when stopping at the first errors
+		{
+			for(FieldLinter linter : List.of(URL_LINTER, GIT_VCS_LINTER, MERCURIAL_VCS_LINTER, COPYRIGHT_SOURCE_LINTER)) {
+				CheckCosts.estimate(linter, 10_000_000);
+			}
+			for(FieldLinter linter : List.of(ADDRESS_LINTER, MULTI_ADDRESS_LINTER, RESOLVABLE_DEPENDENCY_LINTER)) {
+				CheckCosts.estimate(linter, 100_000);
+			}
+		}
+	}
+
+	/**
+	 * Caches the errors of the pure linters of frequently repeated values, such as addresses, architectures and dependencies, in the specification presets. Caching is disabled by default; it must be enabled before any file is linted, and cannot be disabled afterwards.
+	 *
+	 * @param capacity The maximum number of values cached per linter
+	 */
+	public static synchronized void memoize(int capacity) {
+		if(!MEMOIZED_LINTERS.isEmpty()) {
+			return;
+		}
+		MEMOIZED_LINTERS.put("ADDRESS_LINTER", new MemoizedFieldLinter(ADDRESS_LINTER, capacity));
+		MEMOIZED_LINTERS.put("MULTI_ADDRESS_LINTER", new MemoizedFieldLinter(MULTI_ADDRESS_LINTER, capacity));
+		MEMOIZED_LINTERS.put("ARCHITECTURE_LINTER", new MemoizedFieldLinter(ARCHITECTURE_LINTER, capacity));
+		MEMOIZED_LINTERS.put("SINGLE_ARCHITECTURE_LINTER", new MemoizedFieldLinter(SINGLE_ARCHITECTURE_LINTER, capacity));
+		MEMOIZED_LINTERS.put("DEPENDENCY_LINTER", new MemoizedFieldLinter(DEPENDENCY_LINTER, capacity));
+		MEMOIZED_LINTERS.put("EXACT_DEPENDENCY_LINTER", new MemoizedFieldLinter(EXACT_DEPENDENCY_LINTER, capacity));
+		MEMOIZED_LINTERS.put("PACKAGE_NAME_LINTER", new MemoizedFieldLinter(PACKAGE_NAME_LINTER, capacity));
+		MEMOIZED_LINTERS.put("PRIORITY_LINTER", new MemoizedFieldLinter(PRIORITY_LINTER, capacity));
+		MEMOIZED_LINTERS.put("SECTION_LINTER", new MemoizedFieldLinter(SECTION_LINTER, capacity));
+		MEMOIZED_LINTERS.put("SOURCE_LINTER", new MemoizedFieldLinter(SOURCE_LINTER, capacity));
+		MEMOIZED_LINTERS.put("VERSION_LINTER", new MemoizedFieldLinter(VERSION_LINTER, capacity));
+		Map<FieldLinter, MemoizedFieldLinter> wrappers = new IdentityHashMap<>();
+		MEMOIZED_LINTERS.values().forEach(linter -> wrappers.put(linter.getLinter(), linter));
+		for(List<StanzaSpec> stanzas : List.of(CHANGES_STANZAS, COPYRIGHT_STANZAS, PACKAGE_BINARY_CONTROL_STANZAS, PACKAGE_SOURCE_CONTROL_STANZAS, SOURCE_CONTROL_STANZAS, PACKAGES_INDEX_STANZAS, SOURCES_INDEX_STANZAS)) {
+			for(StanzaSpec stanza : stanzas) {
+				stanza.fields().replaceAll((name, field) -> wrappers.containsKey(field.linter()) ? new FieldSpec(field.required(), field.type(), wrappers.get(field.linter())) : field);
+			}
+		}
+		CheckCosts.estimate(MEMOIZED_LINTERS.get("ADDRESS_LINTER"), 100_000);
+		CheckCosts.estimate(MEMOIZED_LINTERS.get("MULTI_ADDRESS_LINTER"), 100_000);
+	}
+
+	/**
+	 * Gets the package universe of an index file, loading it on first use.
+	 *
+	 * @param file The index file
+	 * @return The universe, or null if the file cannot be read
+	 */
+	private static PackageUniverse getPackageUniverse(File file) {
+		try {
+			return PackageUniverse.cached(file);
+		} catch(IOException e) {
+			if(UNREADABLE_PACKAGE_INDICES.add(file.getAbsoluteFile())) {
+				Main.report(null, null, -1, "Could not read packages index: {}", e.getMessage());
+			}
+			return null;
+		}
 	}
 
 	/**
@@ -1006,101 +1183,70 @@ public class Linters {
 	private static void checkUrl(URL u, int line, Configuration config) {
 		if(config.urlForceHttps) {
 			if(!"https".equals(u.getProtocol())) {
-				Main.error("URL does not use HTTPS: " + u, "urlForceHttps", line);
+				Main.report("urlForceHttps", null, line, "URL does not use HTTPS: {}", u);
 			}
 		}
 		if(config.urlExists) {
+			Main.uncacheable();
+			UrlProbeEvent event = new UrlProbeEvent();
+			event.begin();
+			int status = 0;
 			try {
 				URLConnection conn = u.openConnection();
-				conn.setConnectTimeout(30000);
+				conn.setConnectTimeout(Deadline.remainingMillis(30000));
+				conn.setReadTimeout(Deadline.remainingMillis(30000));
 				if(conn instanceof HttpURLConnection http) {
 					http.setRequestMethod("HEAD");
 					http.setInstanceFollowRedirects(true);
 					http.connect();
-					if(http.getResponseCode() < 200 || http.getResponseCode() >= 300) {
-						Main.error("URL returned invalid response code (HTTP " + http.getResponseCode() + "): " + u, "urlExists", line);
+					status = http.getResponseCode();
+					if(status < 200 || status >= 300) {
+						Main.report("urlExists", null, line, "URL returned invalid response code (HTTP {}): {}", status, u);
 					}
 				} else {
 					conn.connect();
 				}
 			} catch(IOException e) {
-				Main.error("URL not found: " + u, "urlExists", line);
+				// a timeout caused by the budget is reported as an exceeded budget
+				Deadline.check();
+				status = -1;
+				Main.report("urlExists", null, line, "URL not found: {}", u);
+			}
+			if(event.shouldCommit()) {
+				event.host = u.getHost();
+				event.protocol = u.getProtocol();
+				event.status = status;
+				event.commit();
 			}
 		}
 	}
 
+	/**
+	 * Gets the last space-separated word of a stripped line.
+	 *
+	 * @param line The line
+	 * @return The last word
+	 */
+	private static String lastWord(LineView line) {
+		int i = line.length();
+		while(i > 0 && line.charAt(i - 1) != ' ') {
+			i--;
+		}
+		return line.subSequence(i, line.length()).toString();
+	}
+
 	/**
 	 * A linter fpr {@link ControlType#COPYRIGHT} files.
 	 */
-	public static class TypeCopyrightLinter implements FileLinter {
+	public static class TypeCopyrightLinter implements StreamingFileLinter {
 		/**
 		 * A cache for compiled patters, used in {@link #toRegex(String)}.
 		 */
 		private static final ConcurrentHashMap<String, Pattern> PARSED_PATTERNS = new ConcurrentHashMap<>();
 
 		@Override
-		public void accept(ControlFile file, Configuration config) {
-			lintFileStanzas(file, config);
-			checkCopyrightNames(file, config);
-		}
-
-		/**
-		 * Checks that every used licenses are present in the file, and that all declared licenses are used.
-		 *
-		 * @param file   The file to check
-		 * @param config The configuration
-		 */
-		public void checkCopyrightNames(ControlFile file, Configuration config) {
-			if(config.licenseDeclarations) {
-				HashSet<String> names = new HashSet<>();
-				HashSet<String> optionalNames = new HashSet<>();
-				List<StanzaSpec> specs = file.getSpecs();
-				for(int i = 0; i < specs.size(); i++) {
-					StanzaSpec spec = specs.get(i);
-					if(spec.name().equals("file stanza")) {
-						Stanza s = file.getStanzas().get(i);
-						DataField license = s.getField("License");
-						if(license != null) {
-							String shortNames = license.data().split("\\n")[0].strip();
-							String[] declarations = shortNames.replace(",", "").split(" (and|or) "); // todo: handle duplicate licenses on this line with proper logic expression processing
-							if(!shortNames.equals(license.data().strip())) {
-								// licenses are declared in this field -> no need for standalone stanzas
-								for(String declaration : declarations) {
-									optionalNames.add(simpleLicenseName(declaration));
-								}
-							} else {
-								for(String declaration : declarations) {
-									names.add(simpleLicenseName(declaration));
-								}
-							}
-						}
-					}
-				}
-				optionalNames.removeAll(names);
-				optionalNames.remove("public-domain");
-				for(int i = 0; i < specs.size(); i++) {
-					StanzaSpec spec = specs.get(i);
-					if(spec.name().equals("stand-alone license stanza")) {
-						Stanza s = file.getStanzas().get(i);
-						DataField license = s.getField("License");
-						if(license != null) {
-							String shortName = license.data().split("\\n")[0].strip();
-							shortName = simpleLicenseName(shortName);
-							if(!names.remove(shortName)) {
-								boolean optional = optionalNames.remove(shortName);
-								if(config.licenseDeclaredAfterExplanation && optional) {
-									Main.error("Stand-alone license stanza is not required; this license has an explanation: " + shortName, "licenseDeclaredAfterExplanation", license.line());
-								} else if(!optional) {
-									Main.error("Stand-alone license stanza is not required; maybe the license was already defined: " + shortName, "licenseDeclarations", license.line());
-								}
-							}
-						}
-					}
-				}
-				if(!names.isEmpty()) {
-					names.stream().filter(f -> !f.equals("public-domain")).forEach(s -> Main.error("License text is missing: " + s, "licenseDeclarations"));
-				}
-			}
+		public Session start(Configuration config) {
+			return new CopyrightSession(config);
 		}
 
 		/**
@@ -1117,53 +1263,12 @@ public class Linters {
 			for(char tester : testers) {
 				String filler = new StringBuilder().repeat(tester, first.length() + second.length() + 1).toString();
 				String secondTest = second.replaceAll("(^\\*|(?<!\\\\)\\*)", filler).replaceAll("(^\\?|(?<!\\\\)\\?)", tester + "");
-				firstBetter &= p1.matcher(secondTest).matches();
+				// patterns with many wildcards can backtrack for a long time
+				firstBetter &= p1.matcher(Deadline.watch(secondTest)).matches();
 			}
 			return firstBetter;
 		}
 
-		/**
-		 * Lints file stanzas, checking whether they contain duplicate patterns and whether more generic patterns are listed first.
-		 *
-		 * @param file   The file to check
-		 * @param config The configuration
-		 */
-		public void lintFileStanzas(ControlFile file, Configuration config) {
-			if(config.copyrightFilePatternGenerality) {
-				ArrayList<String> previousPatterns = new ArrayList<>();
-				for(int i = 0; i < file.getSpecs().size(); i++) {
-					StanzaSpec spec = file.getSpecs().get(i);
-					if(spec.name().equals("file stanza")) {
-						Stanza s = file.getStanzas().get(i);
-						DataField field = s.getField("Files");
-						List<String> currentPatterns = Arrays.stream(field.data().split("\\n")).map(String::trim).filter(d -> !d.isEmpty()).toList();
-						if(config.redundantFilePattern || config.duplicateFilePattern) {
-							for(int i1 = 0; i1 < currentPatterns.size(); i1++) {
-								String pat1 = currentPatterns.get(i1);
-								String normalized = normalizePattern(pat1);
-								for(int i2 = i1 + 1; i2 < currentPatterns.size(); i2++) {
-									String pat2 = currentPatterns.get(i2);
-									if(config.duplicateFilePattern && normalizePattern(pat2).equals(normalized)) {
-										Main.error("Duplicate file pattern: " + pat1 + " and " + pat2, "duplicateFilePattern", field.line());
-									} else if(config.redundantFilePattern && (isMoreGeneric(pat1, pat2) || isMoreGeneric(pat2, pat1))) {
-										Main.error("File stanza includes redundant pattern: " + pat1 + " and " + pat2 + " cannot both be needed", "redundantFilePattern", field.line());
-									}
-								}
-							}
-						}
-						previousPatterns.parallelStream().forEach(previous -> {
-							for(String current : currentPatterns) {
-								if(isMoreGeneric(current, previous)) {
-									Main.error("More generic patterns should precede specific ones: " + previous + " and " + current, "copyrightFilePatternGenerality", "https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#files-field", field.line());
-								}
-							}
-						});
-						previousPatterns.addAll(currentPatterns.stream().map(this::normalizePattern).toList());
-					}
-				}
-			}
-		}
-
 		/**
 		 * Normalizes the pattern by removing any leading path elements referring to the current directory.
 		 *
@@ -1236,5 +1341,441 @@ public class Linters {
 			parts[0] = base;
 			return String.join(" ", parts);
 		}
+
+		/**
+		 * The state of linting a single copyright file. Only compact summaries of the stanzas are kept: the normalized file patterns and the short names of licenses. In {@link Configuration#memoryBudget bounded-memory mode}, the patterns are moved to a temporary file when they exceed half of the budget.
+		 */
+		private class CopyrightSession implements Session {
+			/**
+			 * The configuration of the file.
+			 */
+			private final Configuration config;
+			/**
+			 * Whether the patterns are checked against {@link Configuration#sourceTree}.
+			 */
+			private final boolean coverage;
+			/**
+			 * The stand-alone license stanzas, as their short license name and the line of their {@code License} field.
+			 */
+			private final List<Map.Entry<String, Integer>> licenses = new ArrayList<>();
+			/**
+			 * The short names of the licenses used in file stanzas without an explanation.
+			 */
+			private final Set<String> names = new HashSet<>();
+			/**
+			 * The short names of the licenses used in file stanzas with an explanation, which don't need a stand-alone license stanza.
+			 */
+			private final Set<String> optionalNames = new HashSet<>();
+			/**
+			 * The normalized patterns of the file stanzas read so far, or null if they are not needed.
+			 */
+			private final SpillingStringList patterns;
+			/**
+			 * The line of the {@code Files} field of each pattern, if the source tree is checked.
+			 */
+			private int[] lines = new int[16];
+
+			/**
+			 * Creates a new session.
+			 *
+			 * @param config The configuration of the file
+			 */
+			private CopyrightSession(Configuration config) {
+				this.config = config;
+				this.coverage = config.sourceTree != null && (config.unusedFilePattern || config.catchAllFiles);
+				this.patterns = config.copyrightFilePatternGenerality || coverage ? new SpillingStringList(config.memoryBudget == 0 ? Long.MAX_VALUE : config.memoryBudget / 2) : null;
+			}
+
+			@Override
+			public void accept(Stanza stanza, StanzaSpec spec) {
+				if(spec.name().equals("file stanza")) {
+					DataField files = stanza.getField("Files");
+					if(files != null && patterns != null) {
+						lintPatterns(files);
+					}
+					DataField license = stanza.getField("License");
+					if(config.licenseDeclarations && license != null) {
+						String shortNames = license.firstLine().strip().toString();
+						String[] declarations = shortNames.replace(",", "").split(" (and|or) "); // todo: handle duplicate licenses on this line with proper logic expression processing
+						if(!shortNames.equals(license.data().strip())) {
+							// licenses are declared in this field -> no need for standalone stanzas
+							for(String declaration : declarations) {
+								optionalNames.add(simpleLicenseName(declaration));
+							}
+						} else {
+							for(String declaration : declarations) {
+								names.add(simpleLicenseName(declaration));
+							}
+						}
+					}
+				} else if(config.licenseDeclarations && spec.name().equals("stand-alone license stanza")) {
+					DataField license = stanza.getField("License");
+					if(license != null) {
+						licenses.add(Map.entry(simpleLicenseName(license.firstLine().strip().toString()), license.line()));
+					}
+				}
+			}
+
+			@Override
+			public void finish() {
+				try {
+					if(config.licenseDeclarations) {
+						checkCopyrightNames();
+					}
+					if(coverage) {
+						// the coverage check needs every pattern at once, so it does not honor the memory budget
+						List<String> all = new ArrayList<>(patterns.size());
+						patterns.forEachBatch(all::addAll);
+						SourceTreeCoverage.check(all, Arrays.copyOf(lines, all.size()), config);
+					}
+				} finally {
+					if(patterns != null) {
+						patterns.close();
+					}
+				}
+			}
+
+			/**
+			 * Checks that every used licenses are present in the file, and that all declared licenses are used.
+			 */
+			private void checkCopyrightNames() {
+				optionalNames.removeAll(names);
+				optionalNames.remove("public-domain");
+				for(Map.Entry<String, Integer> license : licenses) {
+					String shortName = license.getKey();
+					if(!names.remove(shortName)) {
+						boolean optional = optionalNames.remove(shortName);
+						if(config.licenseDeclaredAfterExplanation && optional) {
+							Main.report("licenseDeclaredAfterExplanation", null, license.getValue(), "Stand-alone license stanza is not required; this license has an explanation: {}", shortName);
+						} else if(!optional) {
+							Main.report("licenseDeclarations", null, license.getValue(), "Stand-alone license stanza is not required; maybe the license was already defined: {}", shortName);
+						}
+					}
+				}
+				if(!names.isEmpty()) {
+					names.stream().filter(f -> !f.equals("public-domain")).forEach(s -> Main.report("licenseDeclarations", null, -1, "License text is missing: {}", s));
+				}
+			}
+
+			/**
+			 * Lints the patterns of a file stanza, checking whether they contain duplicate patterns and whether more generic patterns are listed first, then adds them to {@link #patterns}.
+			 *
+			 * @param field The {@code Files} field of the stanza
+			 */
+			private void lintPatterns(DataField field) {
+				List<String> currentPatterns = Arrays.stream(field.data().split("\\n")).map(String::trim).filter(d -> !d.isEmpty()).toList();
+				if(config.copyrightFilePatternGenerality) {
+					if(config.redundantFilePattern || config.duplicateFilePattern) {
+						for(int i1 = 0; i1 < currentPatterns.size(); i1++) {
+							String pat1 = currentPatterns.get(i1);
+							String normalized = normalizePattern(pat1);
+							for(int i2 = i1 + 1; i2 < currentPatterns.size(); i2++) {
+								Deadline.check();
+								String pat2 = currentPatterns.get(i2);
+								if(config.duplicateFilePattern && normalizePattern(pat2).equals(normalized)) {
+									Main.report("duplicateFilePattern", null, field.line(), "Duplicate file pattern: {} and {}", pat1, pat2);
+								} else if(config.redundantFilePattern && (isMoreGeneric(pat1, pat2) || isMoreGeneric(pat2, pat1))) {
+									Main.report("redundantFilePattern", null, field.line(), "File stanza includes redundant pattern: {} and {} cannot both be needed", pat1, pat2);
+								}
+							}
+						}
+					}
+					Deadline deadline = Deadline.current();
+					patterns.forEachBatch(batch -> {
+						// matched on worker threads, but reported on this one, which has the recordings and the context of the file
+						List<List<String>> generic = batch.parallelStream().map(previous -> {
+							List<String> matches = new ArrayList<>();
+							Deadline.run(deadline, () -> {
+								for(String current : currentPatterns) {
+									if(isMoreGeneric(current, previous)) {
+										matches.add(current);
+									}
+								}
+							});
+							return matches;
+						}).toList();
+						for(int i = 0; i < batch.size(); i++) {
+							for(String current : generic.get(i)) {
+								Main.report("copyrightFilePatternGenerality", References.COPYRIGHT_FILES_FIELD, field.line(), "More generic patterns should precede specific ones: {} and {}", batch.get(i), current);
+							}
+						}
+					});
+				}
+				for(String pattern : currentPatterns) {
+					if(coverage) {
+						if(patterns.size() == lines.length) {
+							lines = Arrays.copyOf(lines, lines.length * 2);
+						}
+						lines[patterns.size()] = field.line();
+					}
+					patterns.add(normalizePattern(pattern));
+				}
+			}
+		}
+	}
+
+	/**
+	 * A linter for {@link ControlType#PACKAGES_INDEX} and {@link ControlType#SOURCES_INDEX} files, checking the consistency of their stanzas.
+	 * <p>
+	 * Archive indices can contain hundreds of thousands of stanzas, so only a few integers are kept for each of them: names, versions, file names and hashes are replaced by {@link SymbolTable} ids, and the tables are keyed by pairs of these ids.
+	 */
+	public static class TypeIndexLinter implements StreamingFileLinter {
+		@Override
+		public Session start(Configuration config) {
+			return new IndexSession(config);
+		}
+
+		/**
+		 * The state of linting a single index.
+		 */
+		private static class IndexSession implements Session {
+			/**
+			 * The value of a source package in {@link #sources} after it was found in the sources index.
+			 */
+			private static final int FOUND = 0;
+			/**
+			 * The ids of architecture names.
+			 */
+			private final SymbolTable architectures = new SymbolTable();
+			/**
+			 * The configuration of the index.
+			 */
+			private final Configuration config;
+			/**
+			 * The line of the first stanza declaring each package, keyed by package id and architecture id.
+			 */
+			private final LongIntHashMap entries = new LongIntHashMap();
+			/**
+			 * The ids of file names in the pool.
+			 */
+			private final SymbolTable files = new SymbolTable();
+			/**
+			 * The ids of file hashes.
+			 */
+			private final SymbolTable hashes = new SymbolTable();
+			/**
+			 * The ids of package names, including source packages.
+			 */
+			private final SymbolTable names = new SymbolTable();
+			/**
+			 * The ids of packages, keyed by name id and version id.
+			 */
+			private final LongIntHashMap packages = new LongIntHashMap();
+			/**
+			 * The line of the first binary package referencing each source package, keyed by name id and version id, or {@link #FOUND}.
+			 */
+			private final LongIntHashMap sources = new LongIntHashMap();
+			/**
+			 * The ids of versions.
+			 */
+			private final SymbolTable versions = new SymbolTable();
+			/**
+			 * The id of the hash of each file, or -1 if unknown.
+			 */
+			private int[] fileHashes = new int[16];
+			/**
+			 * The line of the first stanza listing each file.
+			 */
+			private int[] fileLines = new int[16];
+			/**
+			 * The size of each file, or -1 if unknown.
+			 */
+			private long[] fileSizes = new long[16];
+			/**
+			 * The size of the file with each hash.
+			 */
+			private long[] hashSizes = new long[16];
+
+			/**
+			 * Creates a new session.
+			 *
+			 * @param config The configuration of the index
+			 */
+			public IndexSession(Configuration config) {
+				this.config = config;
+			}
+
+			/**
+			 * Parses the value of a size field.
+			 *
+			 * @param field The field, or null
+			 * @return The size, or -1 if the field is missing or invalid
+			 */
+			private static long parseSize(DataField field) {
+				if(field != null) {
+					try {
+						return Long.parseLong(field.data());
+					} catch(NumberFormatException e) {
+						// reported by SIZE_LINTER
+					}
+				}
+				return -1;
+			}
+
+			@Override
+			public void accept(Stanza stanza, StanzaSpec spec) {
+				DataField name = stanza.getField("Package");
+				if(name == null) {
+					return;
+				}
+				if(config.duplicateIndexEntries) {
+					checkDuplicate(stanza, name.data());
+				}
+				if(config.checkedType == ControlType.PACKAGES_INDEX) {
+					if(config.indexFileCollisions) {
+						checkFile(stanza);
+					}
+					if(config.missingSourcePackages && config.sourcesIndex != null) {
+						addSource(stanza, name.data());
+					}
+				}
+			}
+
+			@Override
+			public void finish() {
+				if(sources.size() == 0) {
+					return;
+				}
+				Configuration sourcesConfig = Configuration.PRESET_QUIRKS.clone();
+				sourcesConfig.checkedType = ControlType.SOURCES_INDEX;
+				Main.setContext(config.sourcesIndex.getPath());
+				try(StanzaReader reader = new StanzaReader(StanzaReader.open(config.sourcesIndex), sourcesConfig)) {
+					for(Stanza stanza = reader.next(); stanza != null; stanza = reader.next()) {
+						DataField name = stanza.getField("Package");
+						DataField version = stanza.getField("Version");
+						if(name != null && version != null) {
+							int nameId = names.find(name.data());
+							int versionId = versions.find(version.data());
+							if(nameId != -1 && versionId != -1) {
+								long key = LongIntHashMap.key(nameId, versionId);
+								if(sources.get(key, FOUND) != FOUND) {
+									sources.put(key, FOUND);
+								}
+							}
+						}
+					}
+				} catch(IOException e) {
+					Main.report(null, null, -1, "Could not read sources index: {}", e.getMessage());
+					return;
+				} finally {
+					Main.setContext(null);
+				}
+				List<long[]> missing = new ArrayList<>();
+				sources.forEach((key, line) -> {
+					if(line != FOUND) {
+						missing.add(new long[]{line, key});
+					}
+				});
+				missing.sort(Comparator.comparingLong(entry -> entry[0]));
+				for(long[] entry : missing) {
+					String source = names.get(LongIntHashMap.first(entry[1])) + "_" + versions.get(LongIntHashMap.second(entry[1]));
+					Main.setContext(source);
+					try {
+						Main.report("missingSourcePackages", null, (int) entry[0], "Source package is not in the sources index: {}", source);
+					} finally {
+						Main.setContext(null);
+					}
+				}
+			}
+
+			/**
+			 * Records the source package of a binary package, to be looked up in the sources index in {@link #finish()}.
+			 *
+			 * @param stanza The stanza of the binary package
+			 * @param name   The name of the binary package
+			 */
+			private void addSource(Stanza stanza, String name) {
+				DataField source = stanza.getField("Source");
+				DataField version = stanza.getField("Version");
+				String sourceName = name;
+				String sourceVersion = version == null ? null : version.data();
+				if(source != null) {
+					String text = source.data();
+					int open = text.indexOf('(');
+					if(open == -1) {
+						sourceName = text.strip();
+					} else {
+						int close = text.indexOf(')', open);
+						sourceName = text.substring(0, open).strip();
+						sourceVersion = text.substring(open + 1, close == -1 ? text.length() : close).strip();
+					}
+				}
+				if(sourceVersion == null) {
+					return;
+				}
+				long key = LongIntHashMap.key(names.intern(sourceName), versions.intern(sourceVersion));
+				if(sources.get(key, FOUND) == FOUND) {
+					sources.put(key, stanza.getFirstLine());
+				}
+			}
+
+			/**
+			 * Checks that no other stanza declared the same package with the same version and architecture.
+			 *
+			 * @param stanza The stanza of the package
+			 * @param name   The name of the package
+			 */
+			private void checkDuplicate(Stanza stanza, String name) {
+				DataField versionField = stanza.getField("Version");
+				DataField architectureField = stanza.getField("Architecture");
+				String version = versionField == null ? "" : versionField.data();
+				// a source package is built for all of its architectures at once
+				String architecture = config.checkedType == ControlType.SOURCES_INDEX || architectureField == null ? "source" : architectureField.data();
+				long packageKey = LongIntHashMap.key(names.intern(name), versions.intern(version));
+				int packageId = packages.get(packageKey, -1);
+				if(packageId == -1) {
+					packageId = packages.size();
+					packages.put(packageKey, packageId);
+				}
+				long entryKey = LongIntHashMap.key(packageId, architectures.intern(architecture));
+				int first = entries.get(entryKey, -1);
+				if(first == -1) {
+					entries.put(entryKey, stanza.getFirstLine());
+				} else {
+					Main.report("duplicateIndexEntries", null, stanza.getFirstLine(), "Package is already declared in the index on line {}: {} {} {}", first, name, version, architecture);
+				}
+			}
+
+			/**
+			 * Checks that the file of a package is not listed with a different size or hash elsewhere, and that its hash doesn't belong to a file of a different size.
+			 *
+			 * @param stanza The stanza of the package
+			 */
+			private void checkFile(Stanza stanza) {
+				DataField filename = stanza.getField("Filename");
+				if(filename == null) {
+					return;
+				}
+				DataField hashField = stanza.getField("SHA256");
+				long size = parseSize(stanza.getField("Size"));
+				int hash = -1;
+				if(hashField != null) {
+					int count = hashes.size();
+					hash = hashes.intern(hashField.data());
+					if(hash == count) {
+						if(hash == hashSizes.length) {
+							hashSizes = Arrays.copyOf(hashSizes, hash * 2);
+						}
+						hashSizes[hash] = size;
+					} else if(size != -1 && hashSizes[hash] != -1 && hashSizes[hash] != size) {
+						Main.report("indexFileCollisions", null, hashField.firstLine().lineNumber(), "SHA256 hash is shared by files of different sizes: {}", hashField.data());
+					}
+				}
+				int count = files.size();
+				int file = files.intern(filename.data());
+				if(file == count) {
+					if(file == fileSizes.length) {
+						fileSizes = Arrays.copyOf(fileSizes, file * 2);
+						fileHashes = Arrays.copyOf(fileHashes, file * 2);
+						fileLines = Arrays.copyOf(fileLines, file * 2);
+					}
+					fileSizes[file] = size;
+					fileHashes[file] = hash;
+					fileLines[file] = stanza.getFirstLine();
+				} else if(fileSizes[file] != size || fileHashes[file] != hash) {
+					Main.report("indexFileCollisions", null, filename.firstLine().lineNumber(), "File is already listed with a different size or hash on line {}: {}", fileLines[file], filename.data());
+				}
+			}
+		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Diagnostic;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.events.CacheEvent;
+import com.tibetiroka.deblint.parser.ControlType;
+import com.tibetiroka.deblint.parser.Line;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A field linter that caches the errors reported for each value, and replays them when the same value is checked again.
+ * <p>
+ * Only linters whose result is a pure function of the checked value and the configuration can be memoized. Linters that depend on anything else, such as the current time or the network, must call {@link Main#uncacheable()}, so that their results are never cached. The cache is keyed on the checks and the checked type of the configuration, and on the other options the linter is declared to read; the cache is cleared whenever any of these change, and they must not be modified while the configuration is used. Options that are not part of the key, such as the target file, do not clear the cache, so results are reused across files.
+ */
+public final class MemoizedFieldLinter implements FieldLinter {
+	/**
+	 * The default maximum number of values cached per linter.
+	 */
+	public static final int DEFAULT_CAPACITY = 4096;
+	/**
+	 * The checks of the configuration, in a fixed order.
+	 */
+	private static final List<Field> CHECKS = Configuration.getChecks().stream().sorted(Comparator.comparing(Field::getName)).toList();
+	/**
+	 * The maximum number of values cached.
+	 */
+	private final int capacity;
+	/**
+	 * The number of values whose errors were replayed from the cache.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+	/**
+	 * The linter whose results are cached.
+	 */
+	private final FieldLinter linter;
+	/**
+	 * The number of values that had to be checked by the linter.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+	/**
+	 * The options of the configuration read by the linter, other than the checks and the checked type.
+	 */
+	private final List<Field> options;
+	/**
+	 * The cached results for the last used configuration.
+	 */
+	private volatile Cache cache;
+
+	/**
+	 * Creates a memoizing wrapper with the default capacity.
+	 *
+	 * @param linter The linter whose results are cached
+	 */
+	public MemoizedFieldLinter(FieldLinter linter) {
+		this(linter, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a memoizing wrapper.
+	 *
+	 * @param linter   The linter whose results are cached
+	 * @param capacity The maximum number of values cached
+	 * @param options  The names of the {@link Configuration} fields read by the linter, other than the checks and the checked type
+	 * @throws IllegalArgumentException If an option does not exist
+	 */
+	public MemoizedFieldLinter(FieldLinter linter, int capacity, String... options) {
+		this.linter = linter;
+		this.capacity = capacity;
+		this.options = new ArrayList<>(options.length);
+		for(String option : options) {
+			try {
+				this.options.add(Configuration.class.getField(option));
+			} catch(NoSuchFieldException e) {
+				throw new IllegalArgumentException("Unknown configuration option: " + option, e);
+			}
+		}
+	}
+
+	/**
+	 * Gets the values of the configuration that can affect the result of the linter.
+	 *
+	 * @param config The configuration
+	 * @return The set of the indices of enabled checks in {@link #CHECKS}, followed by the values of the {@link #options}
+	 */
+	private List<Object> fingerprint(Configuration config) {
+		BitSet checks = new BitSet(CHECKS.size());
+		List<Object> values = new ArrayList<>(options.size() + 1);
+		try {
+			for(int i = 0; i < CHECKS.size(); i++) {
+				if(CHECKS.get(i).getBoolean(config)) {
+					checks.set(i);
+				}
+			}
+			values.add(checks);
+			for(Field option : options) {
+				values.add(option.get(config));
+			}
+		} catch(IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+		return values;
+	}
+
+	@Override
+	public void accept(Line line, Configuration config) {
+		if(line.lineNumbers() != null) {
+			// the relative line numbers of errors may differ between identical values
+			linter.accept(line, config);
+			return;
+		}
+		CacheEvent event = new CacheEvent();
+		event.begin();
+		Cache cache = cacheFor(config);
+		Entry cached = cache.entries().get(line.text());
+		if(cached != null) {
+			hits.incrementAndGet();
+			for(Diagnostic diagnostic : cached.diagnostics()) {
+				Main.report(diagnostic.line() == -1 ? diagnostic : diagnostic.withLine(diagnostic.line() - cached.line() + line.lineNumber()));
+			}
+			if(event.shouldCommit()) {
+				event.hit = true;
+				event.errors = cached.diagnostics().size();
+				event.commit();
+			}
+			return;
+		}
+		misses.incrementAndGet();
+		List<Diagnostic> recorded = Main.record(() -> linter.accept(line, config));
+		if(recorded != null && cache.entries().size() < capacity) {
+			cache.entries().put(line.text(), new Entry(line.lineNumber(), recorded));
+		}
+		if(event.shouldCommit()) {
+			event.hit = false;
+			event.errors = recorded == null ? 0 : recorded.size();
+			event.commit();
+		}
+	}
+
+	/**
+	 * Gets the number of values whose errors were replayed from the cache.
+	 *
+	 * @return The number of cache hits
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Gets the linter whose results are cached.
+	 *
+	 * @return {@link #linter}
+	 */
+	public FieldLinter getLinter() {
+		return linter;
+	}
+
+	/**
+	 * Gets the number of values that had to be checked by the linter.
+	 *
+	 * @return The number of cache misses
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Gets the cache for the specified configuration, clearing the cached values if the configuration has different settings than the previous one.
+	 *
+	 * @param config The configuration
+	 * @return The cache
+	 */
+	private Cache cacheFor(Configuration config) {
+		Cache current = cache;
+		if(current != null && current.config() == config && current.type() == config.checkedType) {
+			return current;
+		}
+		List<Object> key = fingerprint(config);
+		if(current != null && current.key().equals(key) && current.type() == config.checkedType) {
+			current = new Cache(config, key, config.checkedType, current.entries());
+		} else {
+			current = new Cache(config, key, config.checkedType, new ConcurrentHashMap<>());
+		}
+		cache = current;
+		return current;
+	}
+
+	/**
+	 * The cached results of a linter for a configuration.
+	 *
+	 * @param config  The last configuration the cache was used with
+	 * @param key     The {@link #fingerprint(Configuration) values} of the configuration that can affect the result of the linter
+	 * @param type    The checked type of the configuration
+	 * @param entries The cached errors of each value
+	 */
+	private record Cache(Configuration config, List<Object> key, ControlType type, Map<String, Entry> entries) {
+	}
+
+	/**
+	 * The errors reported for a value.
+	 *
+	 * @param line        The line number of the value when it was checked
+	 * @param diagnostics The reported errors, in order
+	 */
+	private record Entry(int line, List<Diagnostic> diagnostics) {
+	}
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.References;
+import com.tibetiroka.deblint.parser.*;
+import com.tibetiroka.deblint.util.SymbolTable;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lints the control files of a single source package together, as found in a {@link Configuration#packageDirectory package directory}: {@code debian/control} and {@code debian/copyright} inside it, and the {@code .dsc} and {@code .changes} files directly in it.
+ * <p>
+ * The files are parsed concurrently, then linted one by one in a fixed order, so the output is stable. Finally, the files are joined and compared for {@code packageConsistency}. Every file is only parsed once. Binary package names are interned into a single {@link SymbolTable}, so the package lists of the files are compared as bitsets of package ids.
+ */
+public final class PackageConsistency {
+	/**
+	 * The names of the binary packages of all files.
+	 */
+	private final SymbolTable names = new SymbolTable();
+
+	/**
+	 * Creates a new consistency check.
+	 */
+	private PackageConsistency() {
+	}
+
+	/**
+	 * Lints the control files of the {@link Configuration#packageDirectory package directory}, then checks that they describe the same source package.
+	 *
+	 * @param config The configuration
+	 */
+	public static void lint(Configuration config) {
+		File directory = config.packageDirectory;
+		List<File> files = new ArrayList<>();
+		List<ControlType> types = new ArrayList<>();
+		for(String name : List.of("debian/control", "debian/copyright")) {
+			File file = new File(directory, name);
+			if(file.isFile()) {
+				files.add(file);
+				types.add(name.equals("debian/control") ? ControlType.SOURCE_PACKAGE_CONTROL : ControlType.COPYRIGHT);
+			}
+		}
+		File[] uploads = directory.listFiles((dir, name) -> name.endsWith(".dsc") || name.endsWith(".changes"));
+		if(uploads != null) {
+			Arrays.sort(uploads);
+			for(File file : uploads) {
+				files.add(file);
+				types.add(file.getName().endsWith(".dsc") ? ControlType.SOURCE_CONTROL : ControlType.CHANGES);
+			}
+		}
+		if(files.isEmpty()) {
+			Main.report(null, null, -1, "No control files in package directory: {}", directory);
+			return;
+		}
+		List<ControlFile> parsed = parse(files, types, config);
+		if(parsed == null) {
+			return;
+		}
+		ControlFile control = null;
+		ControlFile dsc = null;
+		List<ControlFile> changes = new ArrayList<>();
+		for(int i = 0; i < parsed.size(); i++) {
+			if(Main.isCancelled()) {
+				return;
+			}
+			ControlFile file = parsed.get(i);
+			Main.setContext(context(directory, files.get(i)), types.get(i));
+			try {
+				file.matchStanzas();
+				file.lintStanzas();
+			} finally {
+				Main.setContext(null);
+			}
+			switch(types.get(i)) {
+				case SOURCE_PACKAGE_CONTROL -> control = file;
+				case SOURCE_CONTROL -> dsc = dsc == null ? file : dsc;
+				case CHANGES -> changes.add(file);
+				default -> {
+				}
+			}
+		}
+		if(config.packageConsistency) {
+			PackageConsistency consistency = new PackageConsistency();
+			if(control != null && dsc != null) {
+				Main.setContext(context(directory, files.get(parsed.indexOf(dsc))), ControlType.SOURCE_CONTROL);
+				try {
+					consistency.compareSourceControl(control, dsc);
+				} finally {
+					Main.setContext(null);
+				}
+			}
+			for(ControlFile upload : changes) {
+				Main.setContext(context(directory, files.get(parsed.indexOf(upload))), ControlType.CHANGES);
+				try {
+					consistency.compareChanges(upload, dsc, control);
+				} finally {
+					Main.setContext(null);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the context of the errors of a file.
+	 *
+	 * @param directory The package directory
+	 * @param file      The file
+	 * @return The path of the file relative to the package directory
+	 */
+	private static String context(File directory, File file) {
+		return directory.toPath().relativize(file.toPath()).toString();
+	}
+
+	/**
+	 * Gets the first whitespace-separated word of a field.
+	 *
+	 * @param field The field, or null
+	 * @return The first word, or null if the field is missing or empty
+	 */
+	private static String firstWord(DataField field) {
+		if(field == null) {
+			return null;
+		}
+		String[] parts = field.data().strip().split("\\s+");
+		return parts[0].isEmpty() ? null : parts[0];
+	}
+
+	/**
+	 * Parses the files concurrently.
+	 *
+	 * @param files  The files
+	 * @param types  The type of each file
+	 * @param config The configuration
+	 * @return The parsed files, in the same order, or null if a file could not be parsed
+	 */
+	private static List<ControlFile> parse(List<File> files, List<ControlType> types, Configuration config) {
+		List<Future<ControlFile>> futures = new ArrayList<>();
+		try(ExecutorService executor = Executors.newFixedThreadPool(Math.min(files.size(), Runtime.getRuntime().availableProcessors()))) {
+			for(int i = 0; i < files.size(); i++) {
+				Configuration fileConfig = config.clone();
+				fileConfig.targetFile = files.get(i);
+				fileConfig.checkedType = types.get(i);
+				String context = context(config.packageDirectory, files.get(i));
+				futures.add(executor.submit(() -> {
+					Main.setContext(context, fileConfig.checkedType);
+					try {
+						ControlFile file = new ControlFile(fileConfig);
+						file.parse();
+						return file;
+					} finally {
+						Main.setContext(null);
+					}
+				}));
+			}
+			List<ControlFile> parsed = new ArrayList<>();
+			for(Future<ControlFile> future : futures) {
+				parsed.add(future.get());
+			}
+			return parsed;
+		} catch(ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/**
+	 * Compares an upload control file to the source package.
+	 *
+	 * @param changes The upload control file
+	 * @param dsc     The source control file, or null if missing
+	 * @param control The debian/control file, or null if missing
+	 */
+	private void compareChanges(ControlFile changes, ControlFile dsc, ControlFile control) {
+		if(changes.getStanzas().isEmpty()) {
+			return;
+		}
+		Stanza stanza = changes.getStanzas().getFirst();
+		if(dsc != null && !dsc.getStanzas().isEmpty()) {
+			Stanza source = dsc.getStanzas().getFirst();
+			compareField(stanza, source, "Source", ".dsc", References.CHANGES_FILES);
+			compareField(stanza, source, "Version", ".dsc", References.CHANGES_FILES);
+		} else if(control != null && !control.getStanzas().isEmpty()) {
+			compareField(stanza, control.getStanzas().getFirst(), "Source", "debian/control", References.CHANGES_FILES);
+		}
+		DataField binary = stanza.getField("Binary");
+		if(binary == null) {
+			return;
+		}
+		BitSet built;
+		String builder;
+		if(dsc != null && !dsc.getStanzas().isEmpty() && dsc.getStanzas().getFirst().getField("Binary") != null) {
+			built = internList(dsc.getStanzas().getFirst().getField("Binary").data(), ",");
+			builder = ".dsc";
+		} else if(control != null) {
+			built = controlPackages(control).keySet().stream().collect(BitSet::new, BitSet::set, BitSet::or);
+			builder = "debian/control";
+		} else {
+			return;
+		}
+		BitSet listed = internList(binary.data(), "\\s+");
+		listed.andNot(built);
+		// debug symbol packages are generated automatically for the built packages
+		BitSet debugSymbols = new BitSet();
+		listed.stream().filter(id -> isDebugSymbols(names.get(id), built)).forEach(debugSymbols::set);
+		listed.andNot(debugSymbols);
+		listed.stream().forEach(id -> Main.report("packageConsistency", References.CHANGES_FILES, binary.line(), "Binary package is not built by the source package in the {} file: {}", builder, names.get(id)));
+	}
+
+	/**
+	 * Checks that a field has the same value in two files.
+	 *
+	 * @param checked   The stanza whose field is reported
+	 * @param reference The stanza of the other file
+	 * @param name      The name of the field
+	 * @param file      The name of the other file
+	 * @param link      The reference of the error
+	 */
+	private void compareField(Stanza checked, Stanza reference, String name, String file, String link) {
+		DataField field = checked.getField(name);
+		String value = firstWord(field);
+		String expected = firstWord(reference.getField(name));
+		if(value != null && expected != null && !value.equals(expected)) {
+			Main.report("packageConsistency", link, field.line(), "{} does not match the {} file: {}, expected {}", name, file, value, expected);
+		}
+	}
+
+	/**
+	 * Compares a source control file to the debian/control file it was built from.
+	 *
+	 * @param control The debian/control file
+	 * @param dsc     The source control file
+	 */
+	private void compareSourceControl(ControlFile control, ControlFile dsc) {
+		if(control.getStanzas().isEmpty() || dsc.getStanzas().isEmpty()) {
+			return;
+		}
+		Stanza stanza = dsc.getStanzas().getFirst();
+		compareField(stanza, control.getStanzas().getFirst(), "Source", "debian/control", References.SOURCE_CONTROL_FILES);
+		Map<Integer, BinaryPackage> packages = controlPackages(control);
+		BitSet declared = packages.keySet().stream().collect(BitSet::new, BitSet::set, BitSet::or);
+		DataField binary = stanza.getField("Binary");
+		if(binary != null) {
+			BitSet listed = internList(binary.data(), ",");
+			reportDifference(listed, declared, "Binary package is not declared in debian/control: {}", binary.line());
+			reportDifference(declared, listed, "Binary package of debian/control is missing from the Binary field: {}", binary.line());
+		}
+		DataField packageList = stanza.getField("Package-List");
+		if(packageList != null) {
+			BitSet listed = new BitSet();
+			for(LineView line : packageList.lines()) {
+				String[] parts = line.strip().toString().split("\\s+");
+				if(parts.length < 4) {
+					continue;
+				}
+				int id = names.intern(parts[0]);
+				listed.set(id);
+				BinaryPackage expected = packages.get(id);
+				if(expected == null) {
+					Main.report("packageConsistency", References.SOURCE_CONTROL_FILES, line.lineNumber(), "Package-List entry is not declared in debian/control: {}", parts[0]);
+				} else {
+					BinaryPackage actual = new BinaryPackage(parts[1], parts[2], parts[3]);
+					if(!actual.matches(expected)) {
+						Main.report("packageConsistency", References.SOURCE_CONTROL_FILES, line.lineNumber(), "Package-List entry does not match debian/control: {} {}, expected {}", parts[0], actual, expected);
+					}
+				}
+			}
+			reportDifference(declared, listed, "Binary package of debian/control is missing from the Package-List field: {}", packageList.line());
+		}
+	}
+
+	/**
+	 * Collects the binary packages of a debian/control file.
+	 *
+	 * @param control The debian/control file
+	 * @return The binary packages, by name id, in the order of the file
+	 */
+	private Map<Integer, BinaryPackage> controlPackages(ControlFile control) {
+		Map<Integer, BinaryPackage> packages = new LinkedHashMap<>();
+		List<Stanza> stanzas = control.getStanzas();
+		if(stanzas.isEmpty()) {
+			return packages;
+		}
+		Stanza source = stanzas.getFirst();
+		for(Stanza stanza : stanzas.subList(1, stanzas.size())) {
+			String name = firstWord(stanza.getField("Package"));
+			if(name != null) {
+				DataField typeField = stanza.getField("Package-Type");
+				if(typeField == null) {
+					typeField = stanza.getField("XC-Package-Type");
+				}
+				String type = Objects.requireNonNullElse(firstWord(typeField), "deb");
+				String section = Objects.requireNonNullElse(firstWord(stanza.getField("Section")), Objects.requireNonNullElse(firstWord(source.getField("Section")), "-"));
+				String priority = Objects.requireNonNullElse(firstWord(stanza.getField("Priority")), Objects.requireNonNullElse(firstWord(source.getField("Priority")), "-"));
+				packages.put(names.intern(name), new BinaryPackage(type, section, priority));
+			}
+		}
+		return packages;
+	}
+
+	/**
+	 * Checks whether a package is the automatic debug symbol package of a built package.
+	 *
+	 * @param name  The name of the package
+	 * @param built The ids of the built packages
+	 * @return True if the name is the name of a built package followed by {@code -dbgsym}
+	 */
+	private boolean isDebugSymbols(String name, BitSet built) {
+		if(!name.endsWith("-dbgsym")) {
+			return false;
+		}
+		int id = names.find(name.substring(0, name.length() - "-dbgsym".length()));
+		return id != -1 && built.get(id);
+	}
+
+	/**
+	 * Interns the names of a package list.
+	 *
+	 * @param list      The package list
+	 * @param separator The regex of the separator of the list
+	 * @return The ids of the names
+	 */
+	private BitSet internList(String list, String separator) {
+		BitSet ids = new BitSet();
+		for(String name : list.split(separator)) {
+			name = name.strip();
+			if(!name.isEmpty()) {
+				ids.set(names.intern(name));
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Reports the packages in one set that are missing from another.
+	 *
+	 * @param set      The packages to report
+	 * @param other    The packages not to report
+	 * @param template The template of the error message, with a placeholder for the package name
+	 * @param line     The line of the error
+	 */
+	private void reportDifference(BitSet set, BitSet other, String template, int line) {
+		BitSet difference = (BitSet) set.clone();
+		difference.andNot(other);
+		difference.stream().forEach(id -> Main.report("packageConsistency", References.SOURCE_CONTROL_FILES, line, template, names.get(id)));
+	}
+
+	/**
+	 * The properties of a binary package that are repeated in the Package-List field.
+	 *
+	 * @param type     The package type
+	 * @param section  The section, or {@code -} if not specified
+	 * @param priority The priority, or {@code -} if not specified
+	 */
+	private record BinaryPackage(String type, String section, String priority) {
+		/**
+		 * Checks whether the listed properties match the declared ones. Unspecified properties match anything.
+		 *
+		 * @param declared The properties declared in debian/control
+		 * @return True if the properties match
+		 */
+		public boolean matches(BinaryPackage declared) {
+			return type.equals(declared.type) && (declared.section.equals("-") || section.equals(declared.section)) && (declared.priority.equals("-") || priority.equals(declared.priority));
+		}
+
+		@Override
+		public String toString() {
+			return type + " " + section + " " + priority;
+		}
+	}
+}
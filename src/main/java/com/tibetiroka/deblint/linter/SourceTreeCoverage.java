@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.References;
+import com.tibetiroka.deblint.linter.Linters.TypeCopyrightLinter;
+import com.tibetiroka.deblint.util.GlobSet;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Checks the file patterns of a debian/copyright file against the {@link Configuration#sourceTree unpacked source tree} they describe.
+ * <p>
+ * Every file is assigned to the last file stanza with a matching pattern. Patterns that match no file are reported for {@code unusedFilePattern}, and files only covered by a {@code Files: *} stanza, or not covered at all, for {@code catchAllFiles}.
+ * <p>
+ * The tree is walked in parallel, one task per directory. All patterns are matched in a single pass by a {@link GlobSet}, and the matcher state of each directory is shared by everything inside it, so the directory part of a path is only read once.
+ */
+public final class SourceTreeCoverage {
+	/**
+	 * The names of directories that are not part of the source tree, such as version control metadata and quilt's state.
+	 */
+	private static final Set<String> IGNORED_DIRECTORIES = Set.of(".git", ".hg", ".svn", ".bzr", ".pc");
+	/**
+	 * The files only covered by a catch-all pattern.
+	 */
+	private final Queue<String> catchAllFiles = new ConcurrentLinkedQueue<>();
+	/**
+	 * The configuration.
+	 */
+	private final Configuration config;
+	/**
+	 * The errors encountered while reading the source tree.
+	 */
+	private final Queue<IOException> errors = new ConcurrentLinkedQueue<>();
+	/**
+	 * The line of the {@code Files} field of each pattern.
+	 */
+	private final int[] lines;
+	/**
+	 * The combined matcher of all patterns.
+	 */
+	private final GlobSet matcher;
+	/**
+	 * The patterns, in the order of the file.
+	 */
+	private final List<String> patterns;
+	/**
+	 * The files not covered by any pattern.
+	 */
+	private final Queue<String> uncoveredFiles = new ConcurrentLinkedQueue<>();
+	/**
+	 * The patterns that matched at least one file, as a bitset.
+	 */
+	private final AtomicLongArray used;
+
+	/**
+	 * Creates a new coverage check.
+	 *
+	 * @param patterns The normalized patterns, in the order of the file
+	 * @param lines    The line of the {@code Files} field of each pattern
+	 * @param config   The configuration
+	 */
+	private SourceTreeCoverage(List<String> patterns, int[] lines, Configuration config) {
+		this.patterns = patterns;
+		this.lines = lines;
+		this.config = config;
+		this.matcher = new GlobSet(patterns);
+		this.used = new AtomicLongArray((patterns.size() + 63) >>> 6);
+	}
+
+	/**
+	 * Checks the file patterns of a copyright file against {@link Configuration#sourceTree}.
+	 *
+	 * @param patterns The {@link TypeCopyrightLinter#normalizePattern(String) normalized} patterns of the file stanzas, in the order of the file
+	 * @param lines    The line of the {@code Files} field of each pattern
+	 * @param config   The configuration
+	 */
+	public static void check(List<String> patterns, int[] lines, Configuration config) {
+		if(!config.unusedFilePattern && !config.catchAllFiles) {
+			return;
+		}
+		SourceTreeCoverage coverage = new SourceTreeCoverage(patterns, lines, config);
+		ForkJoinPool.commonPool().invoke(coverage.new DirectoryTask(config.sourceTree.toPath(), "", coverage.matcher.start()));
+		if(!coverage.errors.isEmpty()) {
+			Main.report(null, null, -1, "Could not read source tree: {}", coverage.errors.peek().getMessage());
+			return;
+		}
+		coverage.report();
+	}
+
+	/**
+	 * Assigns a file to the last matching pattern, and records the result.
+	 *
+	 * @param path  The path of the file, relative to the source tree
+	 * @param state The matcher state after reading the path
+	 */
+	private void accept(String path, long[] state) {
+		int last = matcher.lastMatch(state);
+		if(last == -1) {
+			uncoveredFiles.add(path);
+			return;
+		}
+		if(patterns.get(last).equals("*")) {
+			catchAllFiles.add(path);
+		}
+		matcher.forEachMatch(state, pattern -> {
+			long bit = 1L << pattern;
+			if((used.get(pattern >>> 6) & bit) == 0) {
+				used.getAndAccumulate(pattern >>> 6, bit, (a, b) -> a | b);
+			}
+		});
+	}
+
+	/**
+	 * Reports the results of the walk, in the order of the file and of the paths.
+	 */
+	private void report() {
+		if(config.unusedFilePattern) {
+			for(int i = 0; i < patterns.size(); i++) {
+				if((used.get(i >>> 6) & (1L << i)) == 0) {
+					Main.report("unusedFilePattern", References.COPYRIGHT_FILES_FIELD, lines[i], "File pattern does not match any file in the source tree: {}", patterns.get(i));
+				}
+			}
+		}
+		if(config.catchAllFiles) {
+			uncoveredFiles.stream().sorted().forEach(path -> Main.report("catchAllFiles", null, -1, "File is not covered by any file stanza: {}", path));
+			if(!catchAllFiles.isEmpty()) {
+				int line = lines[patterns.lastIndexOf("*")];
+				catchAllFiles.stream().sorted().forEach(path -> Main.report("catchAllFiles", null, line, "File is only covered by the catch-all pattern: {}", path));
+			}
+		}
+	}
+
+	/**
+	 * Matches the contents of a directory, forking a new task for each subdirectory.
+	 */
+	private final class DirectoryTask extends RecursiveAction {
+		/**
+		 * The serialization version of this class. Tasks are never serialized, so their fields are transient.
+		 */
+		private static final long serialVersionUID = 1L;
+		/**
+		 * The directory.
+		 */
+		private final transient Path directory;
+		/**
+		 * The path of the directory relative to the source tree, with a trailing slash, or an empty string for the root.
+		 */
+		private final transient String prefix;
+		/**
+		 * The matcher state after reading {@link #prefix}.
+		 */
+		private final transient long[] state;
+
+		/**
+		 * Creates a new directory task.
+		 *
+		 * @param directory The directory
+		 * @param prefix    The path of the directory relative to the source tree
+		 * @param state     The matcher state after reading the prefix
+		 */
+		private DirectoryTask(Path directory, String prefix, long[] state) {
+			this.directory = directory;
+			this.prefix = prefix;
+			this.state = state;
+		}
+
+		@Override
+		protected void compute() {
+			List<DirectoryTask> subdirectories = new ArrayList<>();
+			try(DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+				for(Path path : stream) {
+					String name = path.getFileName().toString();
+					if(Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+						if(!IGNORED_DIRECTORIES.contains(name)) {
+							subdirectories.add(new DirectoryTask(path, prefix + name + "/", matcher.advance(state, name + "/")));
+						}
+					} else {
+						accept(prefix + name, matcher.advance(state, name));
+					}
+				}
+			} catch(IOException e) {
+				errors.add(e);
+				return;
+			}
+			invokeAll(subdirectories);
+		}
+	}
+}
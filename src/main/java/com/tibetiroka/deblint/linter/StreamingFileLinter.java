@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.parser.ControlFile;
+import com.tibetiroka.deblint.parser.Stanza;
+import com.tibetiroka.deblint.parser.StanzaSpec;
+
+import java.util.List;
+
+/**
+ * A file linter that sees the stanzas of a file one at a time, so that it can be used for {@link ControlFile#lintStreamed() streamed} files that are never fully loaded into memory.
+ */
+public interface StreamingFileLinter extends FileLinter {
+	@Override
+	default void accept(ControlFile file, Configuration config) {
+		Session session = start(config);
+		List<Stanza> stanzas = file.getStanzas();
+		List<StanzaSpec> specs = file.getSpecs();
+		for(int i = 0; i < specs.size(); i++) {
+			session.accept(stanzas.get(i), specs.get(i));
+		}
+		session.finish();
+	}
+
+	/**
+	 * Starts linting a new file.
+	 *
+	 * @param config The configuration
+	 * @return The state of linting the file
+	 */
+	Session start(Configuration config);
+
+	/**
+	 * The state of linting a single file.
+	 */
+	interface Session {
+		/**
+		 * Lints the next stanza of the file.
+		 *
+		 * @param stanza The stanza
+		 * @param spec   The specification the stanza was matched to
+		 */
+		void accept(Stanza stanza, StanzaSpec spec);
+
+		/**
+		 * Runs the checks that need every stanza of the file. Called after the last stanza.
+		 */
+		void finish();
+	}
+}
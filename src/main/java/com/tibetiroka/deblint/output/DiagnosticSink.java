@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.output;
+
+import com.tibetiroka.deblint.Diagnostic;
+import com.tibetiroka.deblint.parser.ControlType;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes the reported errors in one of the output formats. Errors are written to a buffered writer as they are reported, and the writer is flushed after every {@link #FLUSH_INTERVAL} errors instead of after every line. {@link #finish()} writes the summary that closes the output.
+ */
+public abstract class DiagnosticSink {
+	/**
+	 * The number of errors written between flushes of the writer.
+	 */
+	public static final int FLUSH_INTERVAL = 256;
+	/**
+	 * The writer the output is written to.
+	 */
+	protected final Writer out;
+	/**
+	 * The number of errors of each check, by check name. Errors without a check are counted under the empty name.
+	 */
+	protected final Map<String, Integer> checkCounts = new TreeMap<>();
+	/**
+	 * The number of written errors.
+	 */
+	protected int errorCount = 0;
+	/**
+	 * The number of errors written since the last flush.
+	 */
+	private int pending = 0;
+
+	/**
+	 * Creates a new sink.
+	 *
+	 * @param out The writer the output is written to; should be buffered
+	 */
+	protected DiagnosticSink(Writer out) {
+		this.out = out;
+	}
+
+	/**
+	 * Creates a sink for a format.
+	 *
+	 * @param format           The name of the format: {@code text}, {@code json}, {@code jsonl} or {@code sarif}
+	 * @param out              The writer the output is written to; should be buffered
+	 * @param displayCheck     Whether text output displays the check of each error
+	 * @param displayLine      Whether text output displays the line number of each error
+	 * @param displayReference Whether text output displays the reference of each error
+	 * @return The sink
+	 * @throws IllegalArgumentException If the format is unknown
+	 */
+	public static DiagnosticSink create(String format, Writer out, boolean displayCheck, boolean displayLine, boolean displayReference) {
+		return switch(format) {
+			case "text" -> new TextSink(out, displayCheck, displayLine, displayReference);
+			case "json" -> new JsonSink(out, false);
+			case "jsonl" -> new JsonSink(out, true);
+			case "sarif" -> new SarifSink(out);
+			default -> throw new IllegalArgumentException("Unknown output format: " + format);
+		};
+	}
+
+	/**
+	 * Writes an error.
+	 *
+	 * @param diagnostic The error, with its context applied
+	 * @param file       The linted file, or null
+	 * @param type       The type of the control file the error was found in, or null
+	 * @throws IOException If the output cannot be written
+	 */
+	public final void accept(Diagnostic diagnostic, String file, ControlType type) throws IOException {
+		write(diagnostic, file, type);
+		errorCount++;
+		checkCounts.merge(diagnostic.check() == null ? "" : diagnostic.check(), 1, Integer::sum);
+		if(++pending == FLUSH_INTERVAL) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes the summary that closes the output, and flushes the writer. The underlying stream is not closed. No errors can be written afterwards.
+	 *
+	 * @throws IOException If the output cannot be written
+	 */
+	public void finish() throws IOException {
+		writeSummary();
+		flush();
+	}
+
+	/**
+	 * Flushes the errors written so far.
+	 *
+	 * @throws IOException If the output cannot be written
+	 */
+	public void flush() throws IOException {
+		pending = 0;
+		out.flush();
+	}
+
+	/**
+	 * Writes a single error.
+	 *
+	 * @param diagnostic The error, with its context applied
+	 * @param file       The linted file, or null
+	 * @param type       The type of the control file the error was found in, or null
+	 * @throws IOException If the output cannot be written
+	 */
+	protected abstract void write(Diagnostic diagnostic, String file, ControlType type) throws IOException;
+
+	/**
+	 * Writes the summary of the errors, using {@link #errorCount} and {@link #checkCounts}.
+	 *
+	 * @throws IOException If the output cannot be written
+	 */
+	protected abstract void writeSummary() throws IOException;
+
+	/**
+	 * Writes the summary of the errors as the members of an object: the number of errors, and the number of errors of each check.
+	 *
+	 * @param json The writer of the object
+	 * @throws IOException If the output cannot be written
+	 */
+	protected void writeCounts(JsonWriter json) throws IOException {
+		json.name("errors").value(errorCount);
+		json.name("checks").beginObject();
+		for(Map.Entry<String, Integer> entry : checkCounts.entrySet()) {
+			if(!entry.getKey().isEmpty()) {
+				json.name(entry.getKey()).value(entry.getValue());
+			}
+		}
+		json.endObject();
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.output;
+
+import com.tibetiroka.deblint.Diagnostic;
+import com.tibetiroka.deblint.parser.ControlType;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes errors as JSON objects, either as the members of a {@code diagnostics} array followed by a {@code summary} object, or as <a href="https://jsonlines.org/">JSON Lines</a> with one error per line and the summary on the last line.
+ */
+final class JsonSink extends DiagnosticSink {
+	/**
+	 * The JSON encoder.
+	 */
+	private final JsonWriter json;
+	/**
+	 * Whether to write JSON Lines instead of a single JSON document.
+	 */
+	private final boolean lines;
+
+	/**
+	 * Creates a new JSON sink.
+	 *
+	 * @param out   The writer the output is written to
+	 * @param lines Whether to write JSON Lines instead of a single JSON document
+	 */
+	JsonSink(Writer out, boolean lines) {
+		super(out);
+		this.json = new JsonWriter(out);
+		this.lines = lines;
+	}
+
+	@Override
+	protected void write(Diagnostic diagnostic, String file, ControlType type) throws IOException {
+		if(!lines && errorCount == 0) {
+			json.beginObject().name("diagnostics").beginArray();
+		}
+		json.beginObject();
+		json.name("message").value(diagnostic.message());
+		json.name("check").value(diagnostic.check());
+		json.name("reference").value(diagnostic.reference());
+		json.name("line");
+		if(diagnostic.line() == -1) {
+			json.value((String) null);
+		} else {
+			json.value(diagnostic.line());
+		}
+		json.name("file").value(file);
+		json.name("context").value(diagnostic.context());
+		json.name("type").value(type == null ? null : type.getTypeName());
+		json.endObject();
+		if(lines) {
+			json.newLine();
+		}
+	}
+
+	@Override
+	protected void writeSummary() throws IOException {
+		if(lines) {
+			json.beginObject().name("summary").beginObject();
+			writeCounts(json);
+			json.endObject().endObject().newLine();
+		} else {
+			if(errorCount == 0) {
+				json.beginObject().name("diagnostics").beginArray();
+			}
+			json.endArray().name("summary").beginObject();
+			writeCounts(json);
+			json.endObject().endObject().newLine();
+		}
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.output;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.BitSet;
+
+/**
+ * A minimal streaming JSON encoder. Values are written to the underlying writer as soon as they are added; nothing is kept in memory except which of the open objects and arrays already have members.
+ */
+public final class JsonWriter {
+	/**
+	 * The writer the JSON text is written to.
+	 */
+	private final Writer out;
+	/**
+	 * Whether the object or array at each nesting level already has a member, and needs a comma before the next one.
+	 */
+	private final BitSet hasMembers = new BitSet();
+	/**
+	 * The number of open objects and arrays.
+	 */
+	private int depth = 0;
+	/**
+	 * Whether the last written token is the name of an object member, which is directly followed by its value.
+	 */
+	private boolean afterName = false;
+
+	/**
+	 * Creates a new JSON writer.
+	 *
+	 * @param out The writer the JSON text is written to
+	 */
+	public JsonWriter(Writer out) {
+		this.out = out;
+	}
+
+	/**
+	 * Starts an array.
+	 *
+	 * @return This writer
+	 * @throws IOException If the text cannot be written
+	 */
+	public JsonWriter beginArray() throws IOException {
+		return open('[');
+	}
+
+	/**
+	 * Starts an object.
+	 *
+	 * @return This writer
+	 * @throws IOException If the text cannot be written
+	 */
+	public JsonWriter beginObject() throws IOException {
+		return open('{');
+	}
+
+	/**
+	 * Ends the innermost array.
+	 *
+	 * @return This writer
+	 * @throws IOException If the text cannot be written
+	 */
+	public JsonWriter endArray() throws IOException {
+		return close(']');
+	}
+
+	/**
+	 * Ends the innermost object.
+	 *
+	 * @return This writer
+	 * @throws IOException If the text cannot be written
+	 */
+	public JsonWriter endObject() throws IOException {
+		return close('}');
+	}
+
+	/**
+	 * Writes the name of the next member of the innermost object.
+	 *
+	 * @param name The name
+	 * @return This writer
+	 * @throws IOException If the text cannot be written
+	 */
+	public JsonWriter name(String name) throws IOException {
+		separate();
+		string(name);
+		out.write(':');
+		afterName = true;
+		return this;
+	}
+
+	/**
+	 * Writes a line break between top-level values, such as the records of JSON Lines output.
+	 *
+	 * @return This writer
+	 * @throws IOException If the text cannot be written
+	 */
+	public JsonWriter newLine() throws IOException {
+		out.write('\n');
+		return this;
+	}
+
+	/**
+	 * Writes a string value.
+	 *
+	 * @param value The value, or null
+	 * @return This writer
+	 * @throws IOException If the text cannot be written
+	 */
+	public JsonWriter value(String value) throws IOException {
+		separate();
+		if(value == null) {
+			out.write("null");
+		} else {
+			string(value);
+		}
+		return this;
+	}
+
+	/**
+	 * Writes a number value.
+	 *
+	 * @param value The value
+	 * @return This writer
+	 * @throws IOException If the text cannot be written
+	 */
+	public JsonWriter value(long value) throws IOException {
+		separate();
+		out.write(Long.toString(value));
+		return this;
+	}
+
+	/**
+	 * Writes a boolean value.
+	 *
+	 * @param value The value
+	 * @return This writer
+	 * @throws IOException If the text cannot be written
+	 */
+	public JsonWriter value(boolean value) throws IOException {
+		separate();
+		out.write(value ? "true" : "false");
+		return this;
+	}
+
+	/**
+	 * Ends the innermost object or array.
+	 *
+	 * @param bracket The closing bracket
+	 * @return This writer
+	 * @throws IOException If the text cannot be written
+	 */
+	private JsonWriter close(char bracket) throws IOException {
+		hasMembers.clear(depth--);
+		out.write(bracket);
+		return this;
+	}
+
+	/**
+	 * Starts an object or array.
+	 *
+	 * @param bracket The opening bracket
+	 * @return This writer
+	 * @throws IOException If the text cannot be written
+	 */
+	private JsonWriter open(char bracket) throws IOException {
+		separate();
+		out.write(bracket);
+		depth++;
+		return this;
+	}
+
+	/**
+	 * Writes the comma before the next member of the innermost object or array, if it is not the first one. Values directly after the name of an object member are not separated.
+	 *
+	 * @throws IOException If the text cannot be written
+	 */
+	private void separate() throws IOException {
+		if(afterName) {
+			afterName = false;
+		} else if(depth > 0) {
+			if(hasMembers.get(depth)) {
+				out.write(',');
+			} else {
+				hasMembers.set(depth);
+			}
+		}
+	}
+
+	/**
+	 * Writes a quoted and escaped string. Characters that need no escaping are written in runs.
+	 *
+	 * @param value The string
+	 * @throws IOException If the text cannot be written
+	 */
+	private void string(String value) throws IOException {
+		out.write('"');
+		int start = 0;
+		for(int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			String escape;
+			if(c == '"') {
+				escape = "\\\"";
+			} else if(c == '\\') {
+				escape = "\\\\";
+			} else if(c == '\n') {
+				escape = "\\n";
+			} else if(c == '\t') {
+				escape = "\\t";
+			} else if(c == '\r') {
+				escape = "\\r";
+			} else if(c < 0x20) {
+				escape = String.format("\\u%04x", (int) c);
+			} else {
+				continue;
+			}
+			out.write(value, start, i - start);
+			out.write(escape);
+			start = i + 1;
+		}
+		out.write(value, start, value.length() - start);
+		out.write('"');
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.output;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Diagnostic;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.parser.ControlType;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes errors as a <a href="https://docs.oasis-open.org/sarif/sarif/v2.1.0/sarif-v2.1.0.html">SARIF 2.1.0</a> log with a single run. The results are streamed first; the tool description, with a rule for each reported check, and the summary follow them, since JSON objects are unordered.
+ */
+final class SarifSink extends DiagnosticSink {
+	/**
+	 * The JSON encoder.
+	 */
+	private final JsonWriter json;
+
+	/**
+	 * Creates a new SARIF sink.
+	 *
+	 * @param out The writer the output is written to
+	 */
+	SarifSink(Writer out) {
+		super(out);
+		this.json = new JsonWriter(out);
+	}
+
+	@Override
+	protected void write(Diagnostic diagnostic, String file, ControlType type) throws IOException {
+		if(errorCount == 0) {
+			begin();
+		}
+		json.beginObject();
+		if(diagnostic.check() != null) {
+			json.name("ruleId").value(diagnostic.check());
+		}
+		json.name("level").value("error");
+		json.name("message").beginObject().name("text").value(diagnostic.message()).endObject();
+		if(file != null) {
+			json.name("locations").beginArray().beginObject();
+			json.name("physicalLocation").beginObject();
+			json.name("artifactLocation").beginObject().name("uri").value(file).endObject();
+			if(diagnostic.line() != -1) {
+				json.name("region").beginObject().name("startLine").value(diagnostic.line()).endObject();
+			}
+			json.endObject();
+			if(diagnostic.context() != null) {
+				json.name("logicalLocations").beginArray().beginObject().name("name").value(diagnostic.context()).endObject().endArray();
+			}
+			json.endObject().endArray();
+		}
+		json.name("properties").beginObject();
+		json.name("reference").value(diagnostic.reference());
+		json.name("type").value(type == null ? null : type.getTypeName());
+		json.endObject();
+		json.endObject();
+	}
+
+	@Override
+	protected void writeSummary() throws IOException {
+		if(errorCount == 0) {
+			begin();
+		}
+		json.endArray();
+		json.name("tool").beginObject().name("driver").beginObject();
+		json.name("name").value("debian-control-linter");
+		json.name("version").value(Main.VERSION);
+		json.name("rules").beginArray();
+		for(String check : checkCounts.keySet()) {
+			if(!check.isEmpty()) {
+				json.beginObject().name("id").value(check);
+				String description = describe(check);
+				if(description != null) {
+					json.name("shortDescription").beginObject().name("text").value(description).endObject();
+				}
+				json.endObject();
+			}
+		}
+		json.endArray().endObject().endObject();
+		json.name("invocations").beginArray().beginObject().name("executionSuccessful").value(true).endObject().endArray();
+		json.name("properties").beginObject();
+		writeCounts(json);
+		json.endObject();
+		json.endObject().endArray().endObject().newLine();
+	}
+
+	/**
+	 * Starts the log, up to the results array of the run.
+	 *
+	 * @throws IOException If the output cannot be written
+	 */
+	private void begin() throws IOException {
+		json.beginObject();
+		json.name("$schema").value("https://json.schemastore.org/sarif-2.1.0.json");
+		json.name("version").value("2.1.0");
+		json.name("runs").beginArray().beginObject();
+		json.name("results").beginArray();
+	}
+
+	/**
+	 * Gets the description of a check.
+	 *
+	 * @param check The name of the check
+	 * @return The description from {@link Configuration.ConfigOptionDetails}, or null if there is none
+	 */
+	private static String describe(String check) {
+		try {
+			return (String) Configuration.ConfigOptionDetails.class.getField(check).get(null);
+		} catch(ReflectiveOperationException | ClassCastException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.output;
+
+import com.tibetiroka.deblint.Diagnostic;
+import com.tibetiroka.deblint.parser.ControlType;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes errors as plain text, one line per error. The file and type of the errors are not displayed, and there is no summary.
+ */
+final class TextSink extends DiagnosticSink {
+	/**
+	 * Whether to display the check that generated an error.
+	 */
+	private final boolean displayCheck;
+	/**
+	 * Whether to display the line number where the error occurred.
+	 */
+	private final boolean displayLine;
+	/**
+	 * Whether to display a reference to the standard that describes the error.
+	 */
+	private final boolean displayReference;
+
+	/**
+	 * Creates a new text sink.
+	 *
+	 * @param out              The writer the output is written to
+	 * @param displayCheck     Whether to display the check of each error
+	 * @param displayLine      Whether to display the line number of each error
+	 * @param displayReference Whether to display the reference of each error
+	 */
+	TextSink(Writer out, boolean displayCheck, boolean displayLine, boolean displayReference) {
+		super(out);
+		this.displayCheck = displayCheck;
+		this.displayLine = displayLine;
+		this.displayReference = displayReference;
+	}
+
+	@Override
+	protected void write(Diagnostic diagnostic, String file, ControlType type) throws IOException {
+		StringBuilder sb = new StringBuilder("Error: ");
+		if(displayCheck && diagnostic.check() != null) {
+			sb.append('[').append(diagnostic.check()).append("] ");
+		}
+		sb.append(diagnostic.message());
+		if(diagnostic.context() != null) {
+			sb.append(" (in ").append(diagnostic.context()).append(')');
+		}
+		if(displayLine && diagnostic.line() != -1) {
+			sb.append(" {").append("around line ").append(diagnostic.line()).append('}');
+		}
+		if(displayReference && diagnostic.reference() != null) {
+			sb.append(" <").append(diagnostic.reference()).append('>');
+		}
+		out.write(sb.append(System.lineSeparator()).toString());
+	}
+
+	@Override
+	protected void writeSummary() {
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Diagnostic;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.parser.Utf8Validator.InvalidSequence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Parses a UTF-8 control file in parallel. The file is split into chunks at stanza boundaries, and the chunks are decoded and parsed concurrently. The errors of each chunk are {@link Main#defer(Runnable) deferred}, so that they can be reported in the same order as by the sequential parser.
+ * <p>
+ * A chunk only starts at a field line right after an empty line. Such a line always starts a new stanza in the sequential parser too: the empty line ends any field and stanza before it, and the blank lines after a stanza are skipped without errors. Comments and whitespace-only lines are never chunk starts. Files signed with OpenPGP are not split, since their armor is validated as a whole.
+ */
+final class ChunkedParser {
+	/**
+	 * The first line of files signed with OpenPGP.
+	 */
+	private static final byte[] PGP_HEADER = "-----BEGIN PGP SIGNED MESSAGE-----".getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * Splits, decodes and parses a file.
+	 *
+	 * @param data   The contents of the file; its position and limit are not changed
+	 * @param count  The maximum number of chunks
+	 * @param config The configuration
+	 * @return The parsed chunks in the order of the file, or null if the file is empty or signed
+	 */
+	static List<ParsedChunk> parse(ByteBuffer data, int count, Configuration config) {
+		if(data.remaining() == 0 || config.checkedType.isSupportsPgp() && startsWith(data, PGP_HEADER)) {
+			return null;
+		}
+		ByteBuffer contents = data.slice();
+		int[] bounds = split(contents, count);
+		List<DecodedChunk> decoded = IntStream.range(0, bounds.length - 1).parallel().mapToObj(i -> {
+			List<InvalidSequence> invalid = new ArrayList<>();
+			return new DecodedChunk(LineScanner.readLines(contents, bounds[i], bounds[i + 1], invalid), invalid);
+		}).toList();
+		int[] firstLines = new int[decoded.size()];
+		int line = 1;
+		for(int i = 0; i < decoded.size(); i++) {
+			firstLines[i] = line;
+			line += decoded.get(i).lines().size();
+		}
+		return IntStream.range(0, decoded.size()).parallel().mapToObj(i -> parseChunk(decoded.get(i), firstLines[i], config)).toList();
+	}
+
+	/**
+	 * Finds the chunk boundaries of a file. The boundaries are near equal fractions of the file, moved forward to the next {@link #nextBoundary(ByteBuffer, int) stanza boundary}.
+	 *
+	 * @param data  The contents of the file
+	 * @param count The maximum number of chunks
+	 * @return The offsets of the chunks, followed by the end of the last chunk
+	 */
+	static int[] split(ByteBuffer data, int count) {
+		int size = data.limit();
+		int[] bounds = new int[count + 1];
+		int found = 1;
+		for(int i = 1; i < count; i++) {
+			int boundary = nextBoundary(data, Math.max((int) ((long) size * i / count), bounds[found - 1] + 1));
+			if(boundary == -1) {
+				break;
+			}
+			bounds[found++] = boundary;
+		}
+		bounds[found++] = size;
+		return Arrays.copyOf(bounds, found);
+	}
+
+	/**
+	 * Finds the first line at or after an offset that starts a field, and directly follows an empty line.
+	 *
+	 * @param data The contents of the file
+	 * @param from The offset to start searching at
+	 * @return The offset of the line, or -1 if there is none
+	 */
+	private static int nextBoundary(ByteBuffer data, int from) {
+		int size = data.limit();
+		for(int newline = LineScanner.indexOfNewline(data, Math.max(from, 2) - 1, size); newline != -1 && newline + 1 < size; newline = LineScanner.indexOfNewline(data, newline + 1, size)) {
+			int i = newline + 1;
+			byte before = data.get(i - 2);
+			boolean empty = before == '\n' || before == '\r' && i >= 3 && data.get(i - 3) == '\n';
+			byte first = data.get(i);
+			if(empty && first != ' ' && first != '\t' && first != '#' && first != '\n' && first != '\r') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Parses the lines of a chunk, deferring the errors of each parsing step.
+	 *
+	 * @param chunk     The decoded chunk
+	 * @param firstLine The line number of the first line
+	 * @param config    The configuration
+	 * @return The parsed chunk
+	 */
+	private static ParsedChunk parseChunk(DecodedChunk chunk, int firstLine, Configuration config) {
+		List<String> text = chunk.lines();
+		List<Diagnostic> encoding = Main.defer(() -> chunk.invalid().forEach(sequence -> sequence.report(firstLine)));
+		List<Line> lines = new LinkedList<>();
+		for(int i = 0; i < text.size(); i++) {
+			lines.add(new Line(text.get(i), firstLine + i));
+		}
+		List<Diagnostic> comments = Main.defer(() -> ControlFile.removeComments(lines, config));
+		List<Diagnostic> trailingSpace = Main.defer(() -> ControlFile.checkTrailingSpace(lines, config));
+		List<Stanza> stanzas = new ArrayList<>();
+		boolean[] complete = new boolean[1];
+		List<Diagnostic> parsing = Main.defer(() -> complete[0] = ControlFile.parseStanzas(lines, config, StringPool.forSpecs(config.checkedType.getStanzas()), stanzas));
+		return new ParsedChunk(text.size(), stanzas, encoding, comments, trailingSpace, parsing, complete[0]);
+	}
+
+	/**
+	 * Checks whether the contents of a buffer start with a prefix.
+	 *
+	 * @param data   The buffer
+	 * @param prefix The prefix
+	 * @return True if the buffer starts with the prefix
+	 */
+	private static boolean startsWith(ByteBuffer data, byte[] prefix) {
+		if(data.remaining() < prefix.length) {
+			return false;
+		}
+		for(int i = 0; i < prefix.length; i++) {
+			if(data.get(data.position() + i) != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The decoded lines of a chunk.
+	 *
+	 * @param lines   The lines of the chunk
+	 * @param invalid The invalid UTF-8 sequences of the chunk, with the index of their line in the chunk
+	 */
+	private record DecodedChunk(List<String> lines, List<InvalidSequence> invalid) {
+	}
+
+	/**
+	 * A parsed chunk of a file.
+	 *
+	 * @param lines         The number of lines in the chunk
+	 * @param stanzas       The parsed stanzas
+	 * @param encoding      The {@link Utf8Validator invalid UTF-8 sequences} of the chunk
+	 * @param comments      The errors of {@link ControlFile#removeComments(List, Configuration) removing comments}
+	 * @param trailingSpace The errors of {@link ControlFile#checkTrailingSpace(List, Configuration) checking trailing spaces}
+	 * @param parsing       The errors of {@link ControlFile#parseStanzas(List, Configuration, StringPool, List) parsing the stanzas}
+	 * @param complete      Whether every line of the chunk was parsed; otherwise the sequential parser would stop in this chunk
+	 */
+	record ParsedChunk(int lines, List<Stanza> stanzas, List<Diagnostic> encoding, List<Diagnostic> comments, List<Diagnostic> trailingSpace, List<Diagnostic> parsing, boolean complete) {
+	}
+}
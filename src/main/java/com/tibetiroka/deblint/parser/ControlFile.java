@@ -12,14 +12,30 @@ package com.tibetiroka.deblint.parser;
 
 import com.tibetiroka.deblint.Configuration;
 import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.Profiler;
+import com.tibetiroka.deblint.Profiler.Kind;
+import com.tibetiroka.deblint.References;
+import com.tibetiroka.deblint.archive.DebArchive;
+import com.tibetiroka.deblint.events.CheckEvent;
+import com.tibetiroka.deblint.events.ParseEvent;
+import com.tibetiroka.deblint.linter.CheckCosts;
+import com.tibetiroka.deblint.linter.Deadline;
+import com.tibetiroka.deblint.linter.FieldLinter;
+import com.tibetiroka.deblint.linter.FileLinter;
+import com.tibetiroka.deblint.linter.StreamingFileLinter;
+import com.tibetiroka.deblint.parser.Utf8Validator.InvalidSequence;
+import com.tibetiroka.deblint.universe.PackageUniverse;
+import com.tibetiroka.deblint.universe.Relation;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
 
 /**
@@ -28,6 +44,14 @@ import java.util.regex.Pattern;
  * Control files are linted individually. This class is responsible for handling the parsing of control files in general and organizing how stanzas are matched to the specification within it.
  */
 public class ControlFile {
+	/**
+	 * The size of the smallest file that is {@link #parse(ByteBuffer, int) parsed in parallel}, in bytes.
+	 */
+	private static final long PARALLEL_THRESHOLD = 8 << 20;
+	/**
+	 * The pattern of lines reported for trailing whitespace.
+	 */
+	private static final Pattern TRAILING_SPACE = Pattern.compile("[ \\t]$");
 	/**
 	 * The configuration used for linting this control file.
 	 */
@@ -68,112 +92,213 @@ public class ControlFile {
 		return Collections.unmodifiableList(stanzas);
 	}
 
+	/**
+	 * Checks whether the build dependencies of the source package can be installed from a package universe, for the {@link Configuration#architecture} and {@link Configuration#buildProfiles} of the configuration. Only the first unsatisfiable group of alternatives is reported. This method must be called after {@link #parse()}.
+	 *
+	 * @param universe The packages available for installation
+	 */
+	public void checkBuildDependencies(PackageUniverse universe) {
+		if(stanzas.isEmpty()) {
+			return;
+		}
+		Stanza source = stanzas.getFirst();
+		for(String name : List.of("Build-Depends", "Build-Depends-Arch", "Build-Depends-Indep")) {
+			DataField field = source.getField(name);
+			if(field != null) {
+				List<Relation> group = universe.findUnsatisfiable(Relation.parse(field.data()), config.architecture, config.buildProfiles);
+				if(group != null) {
+					String target = config.architecture == null ? "" : " on " + config.architecture;
+					Main.report("unsatisfiableDependencies", References.BUILD_RELATIONSHIPS, field.line(), "Build dependency cannot be installed{}: {}", target, String.join(" | ", group.stream().map(Relation::toString).toList()));
+					return;
+				}
+			}
+		}
+	}
+
 	/**
 	 * Lints all matched stanzas in this file. This method must be called after {@link #matchStanzas()}.
 	 */
 	public void lintStanzas() {
-		for(int i = 0; i < specs.size(); i++) {
-			Stanza stanza = stanzas.get(i);
-			StanzaSpec spec = specs.get(i);
-			spec.fields().forEach((name, fieldSpec) -> {
-				DataField field = stanza.getField(name);
-				if(field != null) {
-					if(config.fieldNameCapitalization && !name.equals(field.name())) {
-						Main.error("Field name is not properly capitalized: " + field.name(), "fieldNameCapitalization");
-					}
-					fieldSpec.linter().accept(new Line(field.data(), field.line()), config);
+		long phase = Profiler.enter(Kind.PHASE, "lintStanzas");
+		try {
+			for(int i = 0; i < specs.size() && !Main.isCancelled(); i++) {
+				lintStanza(stanzas.get(i), specs.get(i));
+			}
+			if(!Main.isCancelled()) {
+				long start = Profiler.enter(Kind.FILE, config.checkedType.getTypeName());
+				Deadline previous = Deadline.enter(config.checkBudget, false);
+				try {
+					config.checkedType.getLinter().accept(this, config);
+				} catch(Deadline.Exceeded e) {
+					reportExceeded(e, "file", config.checkedType.getTypeName(), -1);
+				} finally {
+					Deadline.exit(previous);
+					Profiler.exit(start);
 				}
-			});
-			spec.linter().accept(stanza, config);
+			}
+		} finally {
+			Profiler.exit(phase);
 		}
-		config.checkedType.getLinter().accept(this, config);
 	}
 
 	/**
-	 * Matches the stanzas of this control file to the expected stanzas, removing erroneous stanzas in the process. Some data fields may have their types changed to fit the standard types. This method must be called after {@link #parse()}.
+	 * Parses, matches and lints the stanzas of the {@link #config stored configuration}'s {@link Configuration#targetFile target file} one at a time, as they are read. Stanzas are not kept in memory, so {@link #getStanzas()} and {@link #getSpecs()} stay empty. Compressed files are decompressed transparently.
 	 */
-	public void matchStanzas() {
-		if(!this.specs.isEmpty()) {
-			throw new IllegalStateException("Cannot match stanzas: already matched");
+	public void lintStreamed() {
+		if(!isTargetValid()) {
+			Main.error("Invalid or missing target file");
+		} else {
+			try(StanzaReader reader = new StanzaReader(StanzaReader.open(config.targetFile), config)) {
+				lintStreamed(reader);
+			} catch(IOException e) {
+				Main.report(null, null, -1, "Could not read input file: {}", e.getMessage());
+			}
 		}
-		List<StanzaSpec> specs = new ArrayList<>(config.checkedType.getStanzas());
-		List<StanzaSpec> usedSpecs = new ArrayList<>();
-		for(Stanza stanza : stanzas) {
-			ArrayList<StanzaSpec> matching = new ArrayList<>();
-			List<StanzaSpec> attempted = new ArrayList<>();
-			for(StanzaSpec spec : specs) {
-				attempted.add(spec);
-				if(spec.mandatory()) {
-					if(spec.canMatch(stanza, config)) {
-						matching.add(spec);
-						break;
-					}
-					if(usedSpecs.isEmpty() || !usedSpecs.getLast().equals(spec)) {
-						break;
-					}
-				} else {
-					if(spec.canMatch(stanza, config)) {
-						matching.add(spec);
+	}
+
+	/**
+	 * Parses, matches and lints the stanzas supplied by a reader one at a time. Errors reported for a stanza are annotated with the name and version of its package, if present. A {@link StreamingFileLinter} of the file type sees each stanza right after it is linted. Most users should use {@link #lintStreamed()} instead.
+	 *
+	 * @param reader The source of the stanzas
+	 * @throws IOException If the stanzas cannot be read
+	 */
+	public void lintStreamed(StanzaReader reader) throws IOException {
+		long phase = Profiler.enter(Kind.PHASE, "lintStreamed");
+		try {
+			StanzaAutomaton.Matcher matcher = config.checkedType.getAutomaton().matcher();
+			FileLinter linter = config.checkedType.getLinter();
+			StreamingFileLinter.Session session = linter instanceof StreamingFileLinter streaming ? streaming.start(config) : null;
+			int count = 0;
+			for(Stanza stanza = reader.next(); stanza != null; stanza = reader.next()) {
+				if(Main.isCancelled()) {
+					return;
+				}
+				count++;
+				Main.setContext(getContext(stanza));
+				try {
+					StanzaSpec spec = matchStanza(matcher, stanza, count);
+					lintStanza(stanza, spec);
+					if(session != null) {
+						long start = Profiler.enter(Kind.FILE, config.checkedType.getTypeName());
+						Deadline previous = Deadline.enter(config.checkBudget, false);
+						try {
+							session.accept(stanza, spec);
+						} catch(Deadline.Exceeded e) {
+							reportExceeded(e, "file", config.checkedType.getTypeName(), stanza.getFirstLine());
+						} finally {
+							Deadline.exit(previous);
+							Profiler.exit(start);
+						}
 					}
+				} finally {
+					Main.setContext(null);
 				}
 			}
-			if(matching.isEmpty()) {
-				String text = "Cannot match stanza; possibly missing fields or incorrect stanza order: no. " + (usedSpecs.size() + 1);
-				if(attempted.isEmpty()) {
-					text += " (no stanzas were left to match; maybe the error is in an earlier stanza)";
+			if(Main.isCancelled()) {
+				return;
+			}
+			for(StanzaSpec spec : matcher.getMissing()) {
+				Main.report(null, null, -1, "Missing mandatory stanza: {}", spec.name());
+			}
+			long start = Profiler.enter(Kind.FILE, config.checkedType.getTypeName());
+			Deadline previous = Deadline.enter(config.checkBudget, false);
+			try {
+				if(session != null) {
+					session.finish();
 				} else {
-					text += " (attempted matching with: " + String.join(", ", attempted.stream().map(StanzaSpec::name).toList()) + ")";
-				}
-				Main.error(text, stanza.getFirstLine());
-				StanzaSpec spec = new StanzaSpec("blank stanza", false, false, new HashMap<>(), (a, b) -> {
-				});
-				usedSpecs.add(spec);
-				spec.match(stanza, config);
-			} else {
-				usedSpecs.add(matching.getLast());
-				matching.getLast().match(stanza, config);
-				int last = specs.indexOf(matching.getLast());
-				for(int i = 0; i < last; i++) {
-					specs.removeFirst();
-				}
-				if(!matching.getLast().repeatable()) {
-					specs.removeFirst();
+					linter.accept(this, config);
 				}
+			} catch(Deadline.Exceeded e) {
+				reportExceeded(e, "file", config.checkedType.getTypeName(), -1);
+			} finally {
+				Deadline.exit(previous);
+				Profiler.exit(start);
 			}
+		} finally {
+			Profiler.exit(phase);
+		}
+	}
+
+	/**
+	 * Matches the stanzas of this control file to the expected stanzas, removing erroneous stanzas in the process. Some data fields may have their types changed to fit the standard types. This method must be called after {@link #parse()}.
+	 */
+	public void matchStanzas() {
+		if(!this.specs.isEmpty()) {
+			throw new IllegalStateException("Cannot match stanzas: already matched");
 		}
-		this.specs.addAll(usedSpecs);
-		for(StanzaSpec spec : config.checkedType.getStanzas()) {
-			if(spec.mandatory() && !usedSpecs.contains(spec)) {
-				Main.error("Missing mandatory stanza: " + spec.name());
+		long phase = Profiler.enter(Kind.PHASE, "matchStanzas");
+		try {
+			StanzaAutomaton.Matcher matcher = config.checkedType.getAutomaton().matcher();
+			for(Stanza stanza : stanzas) {
+				if(Main.isCancelled()) {
+					return;
+				}
+				Deadline.check();
+				specs.add(matchStanza(matcher, stanza, specs.size() + 1));
+			}
+			for(StanzaSpec spec : matcher.getMissing()) {
+				Main.report(null, null, -1, "Missing mandatory stanza: {}", spec.name());
 			}
+		} finally {
+			Profiler.exit(phase);
 		}
 	}
 
 	/**
-	 * Parses data from the {@link #config stored configuration}'s {@link Configuration#targetFile target file}. Must not be called if the control file was already loaded.
+	 * Parses data from the {@link #config stored configuration}'s {@link Configuration#targetFile target file}. The control file of {@link DebArchive#isPackage(File) binary packages} is read from the package. Invalid UTF-8 sequences are reported with their line and column, and replaced. Must not be called if the control file was already loaded.
 	 */
 	public void parse() {
-		if(config.targetFile == null || (!config.targetFile.equals(new File("-")) && (!config.targetFile.exists() || !config.targetFile.isFile()))) {
+		if(!isTargetValid()) {
 			Main.error("Invalid or missing target file");
 		} else {
 			try {
-				ArrayList<String> lines = new ArrayList<>();
+				List<String> lines;
 				if(config.targetFile.equals(new File("-")) && !config.targetFile.exists()) {
-					try(BufferedReader reader = new BufferedReader(new InputStreamReader(System.in))) {
-						for(String line = reader.readLine(); line != null; line = reader.readLine()) {
-							lines.add(line);
+					lines = readLines(ByteBuffer.wrap(System.in.readAllBytes()));
+				} else if(DebArchive.isPackage(config.targetFile)) {
+					lines = DebArchive.readControl(config.targetFile);
+				} else if(isParallel(config.targetFile)) {
+					try(FileChannel channel = FileChannel.open(config.targetFile.toPath(), StandardOpenOption.READ)) {
+						ByteBuffer data = channel.map(MapMode.READ_ONLY, 0, channel.size());
+						if(parse(data, ForkJoinPool.getCommonPoolParallelism() * 4)) {
+							return;
 						}
+						lines = readLines(data);
 					}
 				} else {
-					lines.addAll(Files.readAllLines(config.targetFile.toPath(), StandardCharsets.UTF_8));
+					lines = readLines(ByteBuffer.wrap(Files.readAllBytes(config.targetFile.toPath())));
 				}
 				parse(lines);
 			} catch(IOException e) {
-				Main.error("Could not read input file: " + e.getMessage());
+				Main.report(null, null, -1, "Could not read input file: {}", e.getMessage());
 			}
 		}
 	}
 
+	/**
+	 * Reads the lines of a file, reporting its invalid UTF-8 sequences.
+	 *
+	 * @param data The contents of the file
+	 * @return The lines of the file
+	 */
+	private static List<String> readLines(ByteBuffer data) {
+		List<InvalidSequence> invalid = new ArrayList<>();
+		List<String> lines = LineScanner.readLines(data, 0, data.limit(), invalid);
+		invalid.forEach(sequence -> sequence.report(1));
+		return lines;
+	}
+
+	/**
+	 * Checks whether a file is large enough to be {@link #parse(ByteBuffer, int) parsed in parallel}. Smaller files are parsed faster by a single thread.
+	 *
+	 * @param file The file
+	 * @return True for regular files of at least {@link #PARALLEL_THRESHOLD} bytes that can be memory-mapped, if there are multiple processors
+	 */
+	private static boolean isParallel(File file) {
+		long size = file.length();
+		return ForkJoinPool.getCommonPoolParallelism() > 1 && file.isFile() && size >= PARALLEL_THRESHOLD && size <= Integer.MAX_VALUE;
+	}
+
 	@Override
 	public String toString() {
 		return "ControlFile{" + "stanzas=" + stanzas + ", config=" + config + '}';
@@ -185,13 +310,80 @@ public class ControlFile {
 	 * @param text The lines to parse
 	 */
 	public void parse(List<String> text) {
+		long phase = Profiler.enter(Kind.PHASE, "parse");
+		ParseEvent event = new ParseEvent();
+		event.begin();
+		try {
+			parseLines(text);
+		} finally {
+			Profiler.exit(phase);
+		}
+		if(event.shouldCommit()) {
+			event.type = config.checkedType.getTypeName();
+			event.lines = text.size();
+			event.stanzas = stanzas.size();
+			event.commit();
+		}
+	}
+
+	/**
+	 * Parses the data from the contents of the target file in parallel. The file is split into chunks at stanza boundaries, which are parsed concurrently; the parsed stanzas and the errors are the same as those of {@link #parse()}, and are reported in the same order. Invalid UTF-8 sequences are reported and replaced. Must not be called if the control file was already loaded.
+	 *
+	 * @param data   The UTF-8 contents of the file
+	 * @param chunks The maximum number of chunks
+	 * @return False if the file cannot be parsed in parallel, such as signed files; nothing is parsed or reported in this case
+	 */
+	public boolean parse(ByteBuffer data, int chunks) {
+		if(!stanzas.isEmpty()) {
+			throw new IllegalStateException("Cannot parse control file: there is already content parsed");
+		}
+		long phase = Profiler.enter(Kind.PHASE, "parse");
+		ParseEvent event = new ParseEvent();
+		event.begin();
+		List<ChunkedParser.ParsedChunk> parsed;
+		try {
+			parsed = ChunkedParser.parse(data, chunks, config);
+			if(parsed == null) {
+				return false;
+			}
+			// replayed in the order of the sequential parser, which decodes the whole file and removes every comment before parsing
+			parsed.forEach(chunk -> chunk.encoding().forEach(Main::report));
+			parsed.forEach(chunk -> chunk.comments().forEach(Main::report));
+			parsed.forEach(chunk -> chunk.trailingSpace().forEach(Main::report));
+			for(ChunkedParser.ParsedChunk chunk : parsed) {
+				chunk.parsing().forEach(Main::report);
+				stanzas.addAll(chunk.stanzas());
+				if(!chunk.complete()) {
+					break;
+				}
+			}
+		} finally {
+			Profiler.exit(phase);
+		}
+		if(event.shouldCommit()) {
+			event.type = config.checkedType.getTypeName();
+			event.lines = parsed.stream().mapToInt(ChunkedParser.ParsedChunk::lines).sum();
+			event.stanzas = stanzas.size();
+			event.commit();
+		}
+		return true;
+	}
+
+	/**
+	 * Parses the data from the lines of the target file.
+	 *
+	 * @param text The lines to parse
+	 */
+	private void parseLines(List<String> text) {
 		if(!stanzas.isEmpty()) {
 			throw new IllegalStateException("Cannot parse control file: there is already content parsed");
 		}
 		if(text.isEmpty()) {
 			throw new IllegalArgumentException("Control file is empty");
 		}
-		List<Line> lines = new ArrayList<>();
+		StringPool pool = StringPool.forSpecs(config.checkedType.getStanzas());
+		// lines are removed from the front while parsing
+		List<Line> lines = new LinkedList<>();
 		for(int i = 0; i < text.size(); i++) {
 			lines.add(new Line(text.get(i), i + 1));
 		}
@@ -199,7 +391,7 @@ public class ControlFile {
 		if(config.checkedType.isSupportsPgp()) {
 			if(lines.getFirst().text().equals("-----BEGIN PGP SIGNED MESSAGE-----")) {
 				lines.removeFirst();
-				DataField field = DataField.parseNext(lines, config);
+				DataField field = DataField.parseNext(lines, config, pool);
 				if(field == null || !field.name().equalsIgnoreCase("Hash")) {
 					throw new IllegalArgumentException("Unrecognized PGP signature format");
 				}
@@ -207,9 +399,9 @@ public class ControlFile {
 					lines.removeFirst();
 				}
 				int end = -1;
-				for(int i = 0; i < lines.size(); i++) {
-					if(lines.get(i).text().equals("-----BEGIN PGP SIGNATURE-----")) {
-						end = i;
+				for(ListIterator<Line> iterator = lines.listIterator(); iterator.hasNext(); ) {
+					if(iterator.next().text().equals("-----BEGIN PGP SIGNATURE-----")) {
+						end = iterator.previousIndex();
 						break;
 					}
 				}
@@ -223,45 +415,221 @@ public class ControlFile {
 		if(lines.isEmpty()) {
 			throw new IllegalArgumentException("Control file only contains a PGP signature");
 		}
-		// remove comments
-		{
-			ListIterator<Line> iterator = lines.listIterator();
-			while(iterator.hasNext()) {
-				Line line = iterator.next();
-				if(line.text().startsWith("#")) {
-					iterator.remove();
-					if(config.comments && config.checkedType != ControlType.SOURCE_PACKAGE_CONTROL) {
-						Main.error("Comments are only allowed in debian/control files", "comments", "https://www.debian.org/doc/debian-policy/ch-controlfields#syntax-of-control-files", line.lineNumber());
-					}
+		removeComments(lines, config);
+		checkTrailingSpace(lines, config);
+		parseStanzas(lines, config, pool, stanzas);
+	}
+
+	/**
+	 * Removes the comments from the lines of a file.
+	 *
+	 * @param lines  The lines of the file
+	 * @param config The configuration
+	 */
+	static void removeComments(List<Line> lines, Configuration config) {
+		ListIterator<Line> iterator = lines.listIterator();
+		while(iterator.hasNext()) {
+			Line line = iterator.next();
+			if(line.text().startsWith("#")) {
+				iterator.remove();
+				if(config.comments && config.checkedType != ControlType.SOURCE_PACKAGE_CONTROL) {
+					Main.error("Comments are only allowed in debian/control files", "comments", References.CONTROL_FILE_SYNTAX, line.lineNumber());
 				}
 			}
 		}
-		// remove trailing spaces
+	}
+
+	/**
+	 * Checks the lines of a file for trailing spaces.
+	 *
+	 * @param lines  The lines of the file, without comments
+	 * @param config The configuration
+	 */
+	static void checkTrailingSpace(List<Line> lines, Configuration config) {
 		if(config.trailingSpace) {
-			Pattern trailingSpace = Pattern.compile("[ \\t]$");
-			lines.forEach(s -> {
-				if(trailingSpace.matcher(s.text()).matches()) {
-					Main.error("Line has trailing whitespace: " + s.text().strip(), s.lineNumber());
-				}
-			});
+			lines.forEach(line -> checkTrailingSpace(line, config));
 		}
-		// parse stanzas
-		Pattern empty = Pattern.compile("^[ \\t]+$");
-		while(!lines.isEmpty()) {
-			while(!lines.isEmpty() && empty.matcher(lines.getFirst().text()).matches()) {
-				Line separator = lines.removeFirst();
-				if(!separator.text().isEmpty() && config.emptyStanzaSeparators) {
-					Main.error("Stanza separator contains whitespaces: should be empty", "emptyStanzaSeparators", "https://www.debian.org/doc/debian-policy/ch-controlfields#syntax-of-control-files", separator.lineNumber());
-				}
+	}
+
+	/**
+	 * Checks a line for trailing spaces. Used by both the parsed and the {@link StanzaReader streamed} files, so that they report the same errors.
+	 *
+	 * @param line   The line, not a comment
+	 * @param config The configuration
+	 */
+	static void checkTrailingSpace(Line line, Configuration config) {
+		if(config.trailingSpace && TRAILING_SPACE.matcher(line.text()).matches()) {
+			Main.report(null, null, line.lineNumber(), "Line has trailing whitespace: {}", line.text().strip());
+		}
+	}
+
+	/**
+	 * Checks a stanza separator for whitespaces. Used by both the parsed and the {@link StanzaReader streamed} files.
+	 *
+	 * @param separator The separator line, which only contains whitespace
+	 * @param config    The configuration
+	 */
+	static void checkSeparator(Line separator, Configuration config) {
+		if(!separator.text().isEmpty() && config.emptyStanzaSeparators) {
+			Main.error("Stanza separator contains whitespaces: should be empty", "emptyStanzaSeparators", References.CONTROL_FILE_SYNTAX, separator.lineNumber());
+		}
+	}
+
+	/**
+	 * Parses the stanzas from the lines of a file, removing the parsed lines. Parsing stops at the first stanza that cannot be parsed.
+	 *
+	 * @param lines    The lines of the file, without comments
+	 * @param config   The configuration
+	 * @param pool     The pool used for deduplicating field names and values
+	 * @param stanzas  The list the parsed stanzas are added to
+	 * @return True if every line was parsed
+	 */
+	static boolean parseStanzas(List<Line> lines, Configuration config, StringPool pool, List<Stanza> stanzas) {
+		while(!lines.isEmpty() && !Main.isCancelled()) {
+			while(!lines.isEmpty() && !lines.getFirst().text().isEmpty() && LineScanner.isBlank(lines.getFirst().text())) {
+				checkSeparator(lines.removeFirst(), config);
 			}
 			if(!lines.isEmpty()) {
-				Stanza s = Stanza.parseNext(lines, config);
+				Stanza s = Stanza.parseNext(lines, config, pool);
 				if(s != null) {
 					stanzas.add(s);
 				} else {
-					break;
+					return false;
+				}
+			}
+		}
+		return lines.isEmpty();
+	}
+
+	/**
+	 * Gets the name and version of the package described by a stanza, for annotating errors.
+	 *
+	 * @param stanza The stanza
+	 * @return The package name and version separated by an underscore, or null if the stanza has no package name
+	 */
+	private static String getContext(Stanza stanza) {
+		DataField name = stanza.getField("Package");
+		if(name == null) {
+			name = stanza.getField("Source");
+		}
+		if(name == null) {
+			return null;
+		}
+		DataField version = stanza.getField("Version");
+		return version == null ? name.data() : name.data() + "_" + version.data();
+	}
+
+	/**
+	 * Checks whether the target file exists, or refers to standard input.
+	 *
+	 * @return True if the target file can be read
+	 */
+	private boolean isTargetValid() {
+		return config.targetFile != null && (config.targetFile.equals(new File("-")) || (config.targetFile.exists() && config.targetFile.isFile()));
+	}
+
+	/**
+	 * Lints the fields of a matched stanza, then the stanza itself. When {@link Main#isFailFast() stopping at the first errors}, the fields are linted in the order of the {@link CheckCosts cost} of their linters, and linting stops as soon as it is {@link Main#isCancelled() cancelled}.
+	 *
+	 * @param stanza The stanza
+	 * @param spec   The specification matched to the stanza
+	 */
+	private void lintStanza(Stanza stanza, StanzaSpec spec) {
+		boolean failFast = Main.isFailFast();
+		for(Map.Entry<String, FieldSpec> entry : failFast ? CheckCosts.order(spec.fields()) : spec.fields().entrySet()) {
+			if(Main.isCancelled()) {
+				return;
+			}
+			Deadline.check();
+			String name = entry.getKey();
+			DataField field = stanza.getField(name);
+			if(field != null) {
+				if(config.fieldNameCapitalization && !name.equals(field.name())) {
+					Main.report("fieldNameCapitalization", null, -1, "Field name is not properly capitalized: {}", field.name());
+				}
+				FieldLinter linter = entry.getValue().linter();
+				long profile = Profiler.enter(Kind.FIELD, name);
+				CheckEvent event = new CheckEvent();
+				event.begin();
+				Deadline previous = Deadline.enter(config.checkBudget, false);
+				try {
+					if(failFast) {
+						long start = System.nanoTime();
+						linter.accept(field.toLine(), config);
+						CheckCosts.measure(linter, System.nanoTime() - start);
+					} else {
+						linter.accept(field.toLine(), config);
+					}
+				} catch(Deadline.Exceeded e) {
+					reportExceeded(e, "field", name, field.line());
+				} finally {
+					Deadline.exit(previous);
+					Profiler.exit(profile);
 				}
+				if(event.shouldCommit()) {
+					event.field = name;
+					event.line = field.line();
+					event.stanza = spec.name();
+					event.type = config.checkedType.getTypeName();
+					event.commit();
+				}
+			}
+		}
+		if(!Main.isCancelled()) {
+			long profile = Profiler.enter(Kind.STANZA, spec.name());
+			Deadline previous = Deadline.enter(config.checkBudget, false);
+			try {
+				spec.linter().accept(stanza, config);
+			} catch(Deadline.Exceeded e) {
+				reportExceeded(e, "stanza", spec.name(), stanza.getFirstLine());
+			} finally {
+				Deadline.exit(previous);
+				Profiler.exit(profile);
+			}
+		}
+	}
+
+	/**
+	 * Reports a check that exceeded its {@link Configuration#checkBudget time budget}. If the budget of the whole file is exceeded instead, the exception is rethrown, so that linting stops.
+	 *
+	 * @param e    The exception of the exceeded budget
+	 * @param kind The kind of the linter, such as {@code field}
+	 * @param name The name of the linted item
+	 * @param line The line of the linted item, or -1
+	 */
+	private void reportExceeded(Deadline.Exceeded e, String kind, String name, int line) {
+		if(e.isFile()) {
+			throw e;
+		}
+		Main.report(null, null, line, "Check of {} {} exceeded its time budget of {} ms", kind, name, e.getBudget());
+	}
+
+	/**
+	 * Matches the next stanza of this file to its specification, changing the types of its fields if required.
+	 *
+	 * @param matcher The state of matching the stanzas of this file
+	 * @param stanza  The stanza to match
+	 * @param number  The number of the stanza in the file, starting from 1
+	 * @return The matched specification, or a blank specification if none match
+	 */
+	private StanzaSpec matchStanza(StanzaAutomaton.Matcher matcher, Stanza stanza, int number) {
+		int matched = matcher.next(stanza);
+		StanzaSpec spec;
+		if(matched == -1) {
+			String text = "Cannot match stanza; possibly missing fields or incorrect stanza order: no. " + number;
+			List<StanzaSpec> attempted = matcher.getAttempted();
+			if(attempted.isEmpty()) {
+				text += " (no stanzas were left to match; maybe the error is in an earlier stanza)";
+			} else {
+				text += " (attempted matching with: " + String.join(", ", attempted.stream().map(StanzaSpec::name).toList()) + ")";
 			}
+			Main.error(text, stanza.getFirstLine());
+			spec = new StanzaSpec("blank stanza", false, false, new HashMap<>(), (a, b) -> {
+			});
+		} else {
+			spec = matcher.getSpec(matched);
 		}
+		spec.match(stanza, config);
+		return spec;
 	}
-}
\ No newline at end of file
+}
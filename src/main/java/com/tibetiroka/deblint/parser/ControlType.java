@@ -12,6 +12,7 @@ package com.tibetiroka.deblint.parser;
 
 import com.tibetiroka.deblint.linter.FileLinter;
 import com.tibetiroka.deblint.linter.Linters;
+import com.tibetiroka.deblint.linter.StreamingFileLinter;
 
 import java.util.List;
 
@@ -19,7 +20,11 @@ import java.util.List;
  * The types of supported control files. THey each have a description for use with {@code --type-info}, and their own linter configurations.
  */
 public enum ControlType {
-	SOURCE_PACKAGE_CONTROL("debian/control", "control", "source package control file", Linters.PACKAGE_SOURCE_CONTROL_STANZAS, null, false), BINARY_PACKAGE_CONTROL("DEBIAN/control", "control", "binary package control file", Linters.PACKAGE_BINARY_CONTROL_STANZAS, null, false), COPYRIGHT("debian/copyright", "copyright", "copyright file", Linters.COPYRIGHT_STANZAS, Linters.TYPE_COPYRIGHT_LINTER, false), SOURCE_CONTROL(".dsc", ".dsc", "source control file", Linters.SOURCE_CONTROL_STANZAS, null, true), CHANGES(".changes", ".changes", "upload control file", Linters.CHANGES_STANZAS, null, true);
+	SOURCE_PACKAGE_CONTROL("debian/control", "control", "source package control file", Linters.PACKAGE_SOURCE_CONTROL_STANZAS, null, false, false), BINARY_PACKAGE_CONTROL("DEBIAN/control", "control", "binary package control file", Linters.PACKAGE_BINARY_CONTROL_STANZAS, null, false, false), COPYRIGHT("debian/copyright", "copyright", "copyright file", Linters.COPYRIGHT_STANZAS, Linters.TYPE_COPYRIGHT_LINTER, false, false), SOURCE_CONTROL(".dsc", ".dsc", "source control file", Linters.SOURCE_CONTROL_STANZAS, null, true, false), CHANGES(".changes", ".changes", "upload control file", Linters.CHANGES_STANZAS, null, true, false), PACKAGES_INDEX("Packages", "Packages", "binary package index of an archive, optionally gzip-compressed", Linters.PACKAGES_INDEX_STANZAS, Linters.TYPE_INDEX_LINTER, false, true), SOURCES_INDEX("Sources", "Sources", "source package index of an archive, optionally gzip-compressed", Linters.SOURCES_INDEX_STANZAS, Linters.TYPE_INDEX_LINTER, false, true);
+	/**
+	 * The compiled form of {@link #stanzas}, used for matching.
+	 */
+	private final StanzaAutomaton automaton;
 	/**
 	 * The default location/name of control files in this type.
 	 */
@@ -36,6 +41,10 @@ public enum ControlType {
 	 * The list of stanzas that can appear in this type, in their expected order.
 	 */
 	private final List<StanzaSpec> stanzas;
+	/**
+	 * Whether the file is linted one stanza at a time as it is read, instead of being loaded into memory.
+	 */
+	private final boolean streamed;
 	/**
 	 * Whether the file supports OpenPGP signatures.
 	 */
@@ -45,7 +54,7 @@ public enum ControlType {
 	 */
 	private final String typeName;
 
-	private ControlType(String typeName, String defaultFile, String description, List<StanzaSpec> stanzas, FileLinter linter, boolean supportsPgp) {
+	private ControlType(String typeName, String defaultFile, String description, List<StanzaSpec> stanzas, FileLinter linter, boolean supportsPgp, boolean streamed) {
 		this.typeName = typeName;
 		this.defaultFile = defaultFile;
 		this.description = description;
@@ -53,6 +62,17 @@ public enum ControlType {
 		this.linter = linter == null ? (a, b) -> {
 		} : linter;
 		this.supportsPgp = supportsPgp;
+		this.streamed = streamed;
+		this.automaton = new StanzaAutomaton(stanzas);
+	}
+
+	/**
+	 * The compiled form of the stanza specifications, used for matching.
+	 *
+	 * @return {@link #automaton}
+	 */
+	public StanzaAutomaton getAutomaton() {
+		return automaton;
 	}
 
 	/**
@@ -100,6 +120,24 @@ public enum ControlType {
 		return typeName;
 	}
 
+	/**
+	 * Whether the file is linted one stanza at a time as it is read, instead of being loaded into memory.
+	 *
+	 * @return {@link #streamed}
+	 */
+	public boolean isStreamed() {
+		return streamed;
+	}
+
+	/**
+	 * Whether the file can be linted one stanza at a time, because its file-wide linter is a {@link StreamingFileLinter}. Files that are not {@link #isStreamed() always streamed} are only streamed with a {@link com.tibetiroka.deblint.Configuration#memoryBudget memory budget}.
+	 *
+	 * @return True if the file can be streamed
+	 */
+	public boolean isStreamable() {
+		return streamed || linter instanceof StreamingFileLinter;
+	}
+
 	/**
 	 * Whether the file supports OpenPGP signatures.
 	 *
@@ -12,9 +12,12 @@ package com.tibetiroka.deblint.parser;
 
 import com.tibetiroka.deblint.Configuration;
 import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.References;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Objects;
 
 /**
  * A data field is a single key-value mapping inside a stanza.
@@ -23,22 +26,38 @@ import java.util.ListIterator;
  * @param data The data stored in this field, with surrounding whitespaces trimmed
  * @param line The first line this field occupies
  * @param type The type of this field, as parsed
+ * @param lineNumbers The physical line number of each line of the data, or null if the lines are consecutive
  */
-public record DataField(String name, String data, int line, FieldType type) {
-	public DataField(String name, String data, int line, FieldType type) {
+public record DataField(String name, String data, int line, FieldType type, int[] lineNumbers) {
+	public DataField(String name, String data, int line, FieldType type, int[] lineNumbers) {
 		this.name = name;
-		this.data = data.stripTrailing().replaceAll("^[ \t]*", "");
+		this.data = trim(data);
 		this.line = line;
 		this.type = type;
+		this.lineNumbers = lineNumbers;
+	}
+
+	/**
+	 * Creates a data field whose lines, if any, are consecutive.
+	 *
+	 * @param name The name of this field
+	 * @param data The data stored in this field
+	 * @param line The first line this field occupies
+	 * @param type The type of this field
+	 */
+	public DataField(String name, String data, int line, FieldType type) {
+		this(name, data, line, type, null);
 	}
 
 	/**
 	 * Parses the next data field, removing its lines from the input list. Please note that this method handles {@link FieldType#MULTILINE multiline} and {@link FieldType#FOLDED folded} fields the same; multiline fields can be converted to folded fields later using {@link #changeType(FieldType, boolean)}.
 	 *
-	 * @param lines The data field and any content following it in the control file
+	 * @param lines  The data field and any content following it in the control file
+	 * @param config The configuration
+	 * @param pool   The pool used for deduplicating the field name and single-line values
 	 * @return The data field, or null if it could not be parsed
 	 */
-	public static DataField parseNext(List<Line> lines, Configuration config) {
+	public static DataField parseNext(List<Line> lines, Configuration config, StringPool pool) {
 		if(lines.isEmpty()) {
 			Main.error("Missing expected data field: no lines left");
 			return null;
@@ -46,33 +65,56 @@ public record DataField(String name, String data, int line, FieldType type) {
 		int index = lines.getFirst().lineNumber();
 		String first = lines.getFirst().text();
 		String[] parts = first.split(":", 2);
-		String fieldName = parts[0];
+		String fieldName = pool.intern(parts[0]);
 		if(parts.length == 1) {
-			Main.error("Data field declaration is missing colon: " + first, lines.getFirst().lineNumber());
+			Main.report(null, null, lines.getFirst().lineNumber(), "Data field declaration is missing colon: {}", first);
 			return null;
 		}
 		if(config.fieldName && !fieldName.matches("[!-\"$-,.-9;-~][!-9;-~]*")) {
-			Main.error("Invalid field name: " + fieldName, "fieldName", "https://www.debian.org/doc/debian-policy/ch-controlfields#syntax-of-control-files", lines.getFirst().lineNumber());
+			Main.report("fieldName", References.CONTROL_FILE_SYNTAX, lines.getFirst().lineNumber(), "Invalid field name: {}", fieldName);
 		}
 		if(config.spaceAfterColon && (!parts[1].startsWith(" ") && !parts[1].isEmpty())) {
-			Main.error("Missing space after colon: " + fieldName, "spaceAfterColon", "https://www.debian.org/doc/debian-policy/ch-controlfields#syntax-of-control-files", lines.getFirst().lineNumber());
+			Main.report("spaceAfterColon", References.CONTROL_FILE_SYNTAX, lines.getFirst().lineNumber(), "Missing space after colon: {}", fieldName);
 		}
 		StringBuilder contents = new StringBuilder(parts[1]);
 		lines.removeFirst();
 		ListIterator<Line> it = lines.listIterator();
 		boolean multiline = false;
+		int[] lineNumbers = null;
+		int count = 1;
 		while(it.hasNext()) {
-			String s = it.next().text();
+			Line line = it.next();
+			String s = line.text();
 			if(s.startsWith(" ") || s.startsWith("\t")) {
 				contents.append("\n");
 				contents.append(s);
 				it.remove();
 				multiline = true;
+				// lines removed before parsing (such as comments) leave gaps in the numbering
+				if(lineNumbers == null && line.lineNumber() != index + count) {
+					lineNumbers = new int[Math.max(count * 2, 8)];
+					for(int i = 0; i < count; i++) {
+						lineNumbers[i] = index + i;
+					}
+				}
+				if(lineNumbers != null) {
+					if(count == lineNumbers.length) {
+						lineNumbers = Arrays.copyOf(lineNumbers, count * 2);
+					}
+					lineNumbers[count] = line.lineNumber();
+				}
+				count++;
 			} else {
 				break;
 			}
 		}
-		return new DataField(fieldName, contents.toString(), index, multiline ? FieldType.MULTILINE : FieldType.SIMPLE);
+		if(lineNumbers != null) {
+			lineNumbers = Arrays.copyOf(lineNumbers, count);
+		}
+		if(multiline) {
+			return new DataField(fieldName, contents.toString(), index, FieldType.MULTILINE, lineNumbers);
+		}
+		return new DataField(fieldName, pool.internValue(fieldName, trim(contents.toString())), index, FieldType.SIMPLE, null);
 	}
 
 	/**
@@ -88,20 +130,134 @@ public record DataField(String name, String data, int line, FieldType type) {
 		if(type == this.type) {
 			return this;
 		} else if(this.type == FieldType.MULTILINE && type == FieldType.FOLDED) {
-			return new DataField(name, data.replaceAll("\\s*\\n\\s*", ""), line(), type);
+			return new DataField(name, fold(data), line(), type);
 		} else if(this.type == FieldType.SIMPLE) {
-			return new DataField(name, data, line(), type);
+			return new DataField(name, data, line(), type, lineNumbers);
 		} else if(force) {
 			if(type == FieldType.SIMPLE) {
-				return new DataField(name, data.split("\\n", 2)[0], line(), type);
+				return new DataField(name, truncate(data), line(), type);
 			} else {
-				return new DataField(name, data, line(), type);
+				return new DataField(name, data, line(), type, lineNumbers);
 			}
 		} else {
 			return null;
 		}
 	}
 
+	/**
+	 * Gets the first line of the data.
+	 *
+	 * @return A view of the first line
+	 */
+	public LineView firstLine() {
+		return LineView.first(data, line);
+	}
+
+	/**
+	 * Iterates over the lines of the data, with their physical line numbers. The lines are views of the data, so no text is copied. See {@link LineView#split(String, int, int[])}.
+	 *
+	 * @return Views of the lines of the data
+	 */
+	public Iterable<LineView> lines() {
+		return LineView.split(data, line, lineNumbers);
+	}
+
+	/**
+	 * Creates a {@link Line} from the data of this field, for use by {@link com.tibetiroka.deblint.linter.FieldLinter field linters}.
+	 *
+	 * @return The line
+	 */
+	public Line toLine() {
+		return new Line(data, line, lineNumbers);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof DataField other && line == other.line && Objects.equals(name, other.name) && Objects.equals(data, other.data) && type == other.type && Arrays.equals(lineNumbers, other.lineNumbers);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(name, data, line, type, Arrays.hashCode(lineNumbers));
+	}
+
+	/**
+	 * Removes all whitespace, as determined by {@link Character#isWhitespace(char)}, from the end of the text, and all spaces and tabs from its start. This is equivalent to {@code data.stripTrailing().replaceAll("^[ \t]*", "")}.
+	 *
+	 * @param data The text to trim
+	 * @return The trimmed text, or the same instance if nothing was removed
+	 */
+	static String trim(String data) {
+		int end = data.length();
+		while(end > 0 && Character.isWhitespace(data.charAt(end - 1))) {
+			end--;
+		}
+		int start = 0;
+		while(start < end && (data.charAt(start) == ' ' || data.charAt(start) == '\t')) {
+			start++;
+		}
+		return start == 0 && end == data.length() ? data : data.substring(start, end);
+	}
+
+	/**
+	 * Joins the lines of a folded value by removing every run of whitespace that contains a line break. This is equivalent to {@code data.replaceAll("\\s*\\n\\s*", "")}.
+	 *
+	 * @param data The text to fold
+	 * @return The folded text, or the same instance if it has no line breaks
+	 */
+	static String fold(String data) {
+		int first = data.indexOf('\n');
+		if(first == -1) {
+			return data;
+		}
+		int i = first;
+		while(i > 0 && isFoldingSpace(data.charAt(i - 1))) {
+			i--;
+		}
+		char[] folded = new char[data.length()];
+		data.getChars(0, i, folded, 0);
+		int length = i;
+		while(i < data.length()) {
+			if(!isFoldingSpace(data.charAt(i))) {
+				folded[length++] = data.charAt(i++);
+				continue;
+			}
+			int end = i;
+			boolean lineBreak = false;
+			while(end < data.length() && isFoldingSpace(data.charAt(end))) {
+				lineBreak |= data.charAt(end) == '\n';
+				end++;
+			}
+			if(!lineBreak) {
+				data.getChars(i, end, folded, length);
+				length += end - i;
+			}
+			i = end;
+		}
+		return new String(folded, 0, length);
+	}
+
+	/**
+	 * Gets the first line of a value. This is equivalent to {@code data.split("\\n", 2)[0]}.
+	 *
+	 * @param data The text to truncate
+	 * @return The first line, or the same instance if it has no line breaks
+	 */
+	static String truncate(String data) {
+		int end = data.indexOf('\n');
+		return end == -1 ? data : data.substring(0, end);
+	}
+
+	/**
+	 * Checks whether a character is matched by {@code \\s} in regular expressions.
+	 *
+	 * @param c The character
+	 * @return True if the character is a space, tab, line break, vertical tab, form feed or carriage return
+	 */
+	private static boolean isFoldingSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
 	@Override
 	public String toString() {
 		return "DataField{" + "name='" + name + '\'' + ", data='" + data + '\'' + ", type=" + type + '}';
@@ -10,7 +10,55 @@
 
 package com.tibetiroka.deblint.parser;
 
-public record Line(String text, int lineNumber) {
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A line of text, or the value of a data field, with the line number it begins at.
+ *
+ * @param text        The text of the line
+ * @param lineNumber  The line number of the first line of the text
+ * @param lineNumbers The physical line number of each line in a multiline text, or null if the lines are consecutive
+ */
+public record Line(String text, int lineNumber, int[] lineNumbers) {
+	/**
+	 * Creates a line whose lines, if any, are consecutive.
+	 *
+	 * @param text       The text of the line
+	 * @param lineNumber The line number of the first line of the text
+	 */
+	public Line(String text, int lineNumber) {
+		this(text, lineNumber, null);
+	}
+
+	/**
+	 * Gets the first line of the text.
+	 *
+	 * @return A view of the first line
+	 */
+	public LineView firstLine() {
+		return LineView.first(text, lineNumber);
+	}
+
+	/**
+	 * Iterates over the lines of the text, with their physical line numbers. See {@link LineView#split(String, int, int[])}.
+	 *
+	 * @return Views of the lines of the text
+	 */
+	public Iterable<LineView> lines() {
+		return LineView.split(text, lineNumber, lineNumbers);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof Line other && lineNumber == other.lineNumber && Objects.equals(text, other.text) && Arrays.equals(lineNumbers, other.lineNumbers);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(text, lineNumber, Arrays.hashCode(lineNumbers));
+	}
+
 	@Override
 	public String toString() {
 		return text;
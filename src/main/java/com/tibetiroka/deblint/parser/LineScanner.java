@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import com.tibetiroka.deblint.parser.Utf8Validator.InvalidSequence;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits UTF-8 text into lines and classifies them, eight bytes at a time. Lines end with {@code \n}, {@code \r} or {@code \r\n}, as in {@link java.io.BufferedReader#readLine()}.
+ * <p>
+ * Each {@code long} word of the input is checked for line terminators with bitwise operations: a byte of the word is zero after XOR-ing it with the searched byte, and {@code (x - 0x01..01) & ~x & 0x80..80} sets the high bit of the lowest zero byte. Higher bytes may be set spuriously, but only above a real match. Bytes outside of ASCII are found the same way, so ASCII lines can be converted to strings without decoding.
+ */
+final class LineScanner {
+	/**
+	 * The flag of lines that are empty or only contain spaces and tabs.
+	 */
+	static final int BLANK = 1;
+	/**
+	 * The flag of lines that start with a space or a tab.
+	 */
+	static final int CONTINUATION = 2;
+	/**
+	 * The flag of lines that start with {@code #}.
+	 */
+	static final int COMMENT = 4;
+	/**
+	 * The flag of lines that only contain ASCII characters.
+	 */
+	static final int ASCII = 8;
+	/**
+	 * A word with every byte set to 1.
+	 */
+	private static final long ONES = 0x0101010101010101L;
+	/**
+	 * A word with the high bit of every byte set.
+	 */
+	private static final long HIGH_BITS = 0x8080808080808080L;
+	/**
+	 * A word of {@code \n} bytes.
+	 */
+	private static final long NEWLINES = ONES * '\n';
+	/**
+	 * A word of {@code \r} bytes.
+	 */
+	private static final long RETURNS = ONES * '\r';
+	/**
+	 * The scanned bytes, read as little-endian words.
+	 */
+	private final ByteBuffer data;
+	/**
+	 * The end of the scanned bytes.
+	 */
+	private final int limit;
+	/**
+	 * Whether the scanned bytes are the end of the input. Otherwise, a line is only complete once its terminator is found.
+	 */
+	private final boolean last;
+	/**
+	 * The offset of the first byte after the current line and its terminator.
+	 */
+	private int position;
+	/**
+	 * The offset of the current line.
+	 */
+	private int start;
+	/**
+	 * The end of the current line, without its terminator.
+	 */
+	private int end;
+	/**
+	 * The flags of the current line.
+	 */
+	private int flags;
+
+	/**
+	 * Creates a scanner of a range of bytes.
+	 *
+	 * @param data The bytes to scan; the range is relative to the start of the buffer, not its position
+	 * @param from The offset of the first line
+	 * @param to   The end of the scanned bytes
+	 * @param last Whether the input ends at {@code to}; otherwise, the last line is not returned until more of it is {@link #getPosition() rescanned}
+	 */
+	LineScanner(ByteBuffer data, int from, int to, boolean last) {
+		this.data = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		this.position = from;
+		this.limit = to;
+		this.last = last;
+	}
+
+	/**
+	 * Classifies a line that was read as text.
+	 *
+	 * @param text The line
+	 * @return The flags of the line
+	 */
+	static int classify(CharSequence text) {
+		int flags = isBlank(text) ? BLANK : 0;
+		if(!text.isEmpty()) {
+			char first = text.charAt(0);
+			if(first == ' ' || first == '\t') {
+				flags |= CONTINUATION;
+			} else if(first == '#') {
+				flags |= COMMENT;
+			}
+		}
+		for(int i = 0; i < text.length(); i++) {
+			if(text.charAt(i) >= 0x80) {
+				return flags;
+			}
+		}
+		return flags | ASCII;
+	}
+
+	/**
+	 * Finds the first {@code \n} byte in a range.
+	 *
+	 * @param data The bytes to search
+	 * @param from The start of the range
+	 * @param to   The end of the range
+	 * @return The offset of the byte, or -1 if there is none
+	 */
+	static int indexOfNewline(ByteBuffer data, int from, int to) {
+		ByteBuffer words = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		int i = from;
+		for(; i + Long.BYTES <= to; i += Long.BYTES) {
+			long found = zeros(words.getLong(i) ^ NEWLINES);
+			if(found != 0) {
+				return i + (Long.numberOfTrailingZeros(found) >>> 3);
+			}
+		}
+		for(; i < to; i++) {
+			if(words.get(i) == '\n') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Reads the lines of a range of UTF-8 text. Lines that only contain ASCII characters are not decoded; the others are {@link Utf8Validator validated}, and their invalid sequences are replaced.
+	 *
+	 * @param data    The bytes of the text
+	 * @param from    The start of the range
+	 * @param to      The end of the range
+	 * @param invalid The list the invalid sequences are added to, with the index of their line in the range
+	 * @return The lines of the range
+	 */
+	static List<String> readLines(ByteBuffer data, int from, int to, List<InvalidSequence> invalid) {
+		LineScanner scanner = new LineScanner(data, from, to, true);
+		List<String> lines = new ArrayList<>();
+		while(scanner.next()) {
+			if((scanner.flags & ASCII) == 0) {
+				Utf8Validator.validate(scanner.data, scanner.start, scanner.end, lines.size(), invalid);
+			}
+			lines.add(scanner.text());
+		}
+		return lines;
+	}
+
+	/**
+	 * Checks whether a line only contains spaces and tabs.
+	 *
+	 * @param text The line
+	 * @return True if the line is empty, or only contains spaces and tabs
+	 */
+	static boolean isBlank(CharSequence text) {
+		for(int i = 0; i < text.length(); i++) {
+			if(text.charAt(i) != ' ' && text.charAt(i) != '\t') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the zero bytes of a word.
+	 *
+	 * @param word The word
+	 * @return A word with the high bit set in the lowest zero byte, and possibly in the bytes above it
+	 */
+	private static long zeros(long word) {
+		return (word - ONES) & ~word & HIGH_BITS;
+	}
+
+	/**
+	 * Gets the end of the current line, without its terminator.
+	 *
+	 * @return {@link #end}
+	 */
+	int getEnd() {
+		return end;
+	}
+
+	/**
+	 * Gets the flags of the current line.
+	 *
+	 * @return {@link #flags}
+	 */
+	int getFlags() {
+		return flags;
+	}
+
+	/**
+	 * Gets the offset of the first byte that was not scanned yet.
+	 *
+	 * @return {@link #position}
+	 */
+	int getPosition() {
+		return position;
+	}
+
+	/**
+	 * Gets the offset of the current line.
+	 *
+	 * @return {@link #start}
+	 */
+	int getStart() {
+		return start;
+	}
+
+	/**
+	 * Finds the next line.
+	 *
+	 * @return False if there are no complete lines left
+	 */
+	boolean next() {
+		int i = position;
+		long high = 0;
+		int terminator = -1;
+		for(; i + Long.BYTES <= limit; i += Long.BYTES) {
+			long word = data.getLong(i);
+			long found = zeros(word ^ NEWLINES) | zeros(word ^ RETURNS);
+			if(found != 0) {
+				int index = Long.numberOfTrailingZeros(found) >>> 3;
+				high |= word & HIGH_BITS & ((1L << (index << 3)) - 1);
+				terminator = i + index;
+				break;
+			}
+			high |= word & HIGH_BITS;
+		}
+		if(terminator == -1) {
+			for(; i < limit; i++) {
+				byte b = data.get(i);
+				if(b == '\n' || b == '\r') {
+					terminator = i;
+					break;
+				}
+				high |= b & 0x80;
+			}
+		}
+		int next;
+		if(terminator == -1) {
+			if(!last || position == limit) {
+				return false;
+			}
+			terminator = next = limit;
+		} else if(data.get(terminator) == '\r') {
+			if(terminator + 1 < limit) {
+				next = data.get(terminator + 1) == '\n' ? terminator + 2 : terminator + 1;
+			} else if(last) {
+				next = terminator + 1;
+			} else {
+				// the terminator may be \r\n
+				return false;
+			}
+		} else {
+			next = terminator + 1;
+		}
+		start = position;
+		end = terminator;
+		position = next;
+		flags = high == 0 ? ASCII : 0;
+		if(start == end) {
+			flags |= BLANK;
+		} else {
+			byte first = data.get(start);
+			if(first == ' ' || first == '\t') {
+				flags |= CONTINUATION;
+				flags |= BLANK;
+				for(int j = start + 1; j < end; j++) {
+					byte b = data.get(j);
+					if(b != ' ' && b != '\t') {
+						flags &= ~BLANK;
+						break;
+					}
+				}
+			} else if(first == '#') {
+				flags |= COMMENT;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Converts the current line to a string. Malformed input is replaced, as by {@link java.io.InputStreamReader}.
+	 *
+	 * @return The text of the line
+	 */
+	String text() {
+		int length = end - start;
+		if(data.hasArray()) {
+			return new String(data.array(), data.arrayOffset() + start, length, (flags & ASCII) != 0 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+		}
+		byte[] bytes = new byte[length];
+		data.get(start, bytes);
+		return new String(bytes, (flags & ASCII) != 0 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+	}
+}
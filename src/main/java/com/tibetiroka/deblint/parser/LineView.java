@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A single line of a multiline value, backed by the text of the whole value. Creating a view does not copy any characters.
+ */
+public final class LineView implements CharSequence {
+	/**
+	 * The index after the last character of this line in {@link #source}.
+	 */
+	private final int end;
+	/**
+	 * The physical line number of this line in the control file.
+	 */
+	private final int lineNumber;
+	/**
+	 * The text this line is a part of.
+	 */
+	private final String source;
+	/**
+	 * The index of the first character of this line in {@link #source}.
+	 */
+	private final int start;
+
+	/**
+	 * Creates a view of a part of the source text.
+	 *
+	 * @param source     The text this line is a part of
+	 * @param start      The index of the first character
+	 * @param end        The index after the last character
+	 * @param lineNumber The physical line number
+	 */
+	private LineView(String source, int start, int end, int lineNumber) {
+		this.source = source;
+		this.start = start;
+		this.end = end;
+		this.lineNumber = lineNumber;
+	}
+
+	/**
+	 * Gets the first line of a text.
+	 *
+	 * @param text       The text
+	 * @param lineNumber The line number of the first line
+	 * @return The first line
+	 */
+	public static LineView first(String text, int lineNumber) {
+		int end = text.indexOf('\n');
+		return new LineView(text, 0, end == -1 ? text.length() : end, lineNumber);
+	}
+
+	/**
+	 * Iterates over the lines of a text. The lines are separated by {@code '\n'} characters; the separators are not part of the lines. Like {@code text.split("\n", -1)}, this always produces at least one line, and keeps trailing empty lines.
+	 *
+	 * @param text        The text to split
+	 * @param lineNumber  The line number of the first line
+	 * @param lineNumbers The physical line number of each line, or null if the lines are consecutive
+	 * @return The lines of the text
+	 */
+	public static Iterable<LineView> split(String text, int lineNumber, int[] lineNumbers) {
+		return () -> new Iterator<>() {
+			private int index;
+			private int start;
+
+			@Override
+			public boolean hasNext() {
+				return start <= text.length();
+			}
+
+			@Override
+			public LineView next() {
+				if(!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				int end = text.indexOf('\n', start);
+				if(end == -1) {
+					end = text.length();
+				}
+				int number = lineNumbers == null || index >= lineNumbers.length ? lineNumber + index : lineNumbers[index];
+				LineView view = new LineView(text, start, end, number);
+				start = end + 1;
+				index++;
+				return view;
+			}
+		};
+	}
+
+	@Override
+	public char charAt(int index) {
+		if(index < 0 || index >= length()) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		return source.charAt(start + index);
+	}
+
+	/**
+	 * Checks whether this line is empty or only contains whitespace, as determined by {@link Character#isWhitespace(int)}.
+	 *
+	 * @return True if blank
+	 */
+	public boolean isBlank() {
+		for(int i = start; i < end; i++) {
+			if(!Character.isWhitespace(source.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int length() {
+		return end - start;
+	}
+
+	/**
+	 * The physical line number of this line in the control file.
+	 *
+	 * @return {@link #lineNumber}
+	 */
+	public int lineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Checks whether this line starts with the specified prefix.
+	 *
+	 * @param prefix The prefix
+	 * @return True if the line starts with the prefix
+	 */
+	public boolean startsWith(String prefix) {
+		return prefix.length() <= length() && source.startsWith(prefix, start);
+	}
+
+	/**
+	 * Removes leading and trailing whitespace from this line, as determined by {@link Character#isWhitespace(int)}.
+	 *
+	 * @return The stripped view of this line
+	 */
+	public LineView strip() {
+		int first = start;
+		int last = end;
+		while(first < last && Character.isWhitespace(source.charAt(first))) {
+			first++;
+		}
+		while(last > first && Character.isWhitespace(source.charAt(last - 1))) {
+			last--;
+		}
+		return first == start && last == end ? this : new LineView(source, first, last, lineNumber);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if(start < 0 || end > length() || start > end) {
+			throw new IndexOutOfBoundsException();
+		}
+		return new LineView(source, this.start + start, this.start + end, lineNumber);
+	}
+
+	/**
+	 * Creates a {@link Line} from the text of this view.
+	 *
+	 * @return The line
+	 */
+	public Line toLine() {
+		return new Line(toString(), lineNumber);
+	}
+
+	@Override
+	public String toString() {
+		return source.substring(start, end);
+	}
+}
@@ -12,11 +12,11 @@ package com.tibetiroka.deblint.parser;
 
 import com.tibetiroka.deblint.Configuration;
 import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.References;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * Stanzas are collections of data fields, separated by blank lines.
@@ -45,24 +45,24 @@ public class Stanza {
 	 *
 	 * @param lines  The list of text lines
 	 * @param config The configuration
+	 * @param pool   The pool used for deduplicating field names and values
 	 * @return The stanza or null if it could not be parsed
 	 */
-	public static Stanza parseNext(List<Line> lines, Configuration config) {
+	public static Stanza parseNext(List<Line> lines, Configuration config, StringPool pool) {
 		Stanza s = new Stanza(lines.getFirst().lineNumber());
-		Pattern empty = Pattern.compile("^[ \\t]*$");
 		HashSet<String> fieldNames = new HashSet<>();
-		while(!lines.isEmpty() && !empty.matcher(lines.getFirst().text()).matches()) {
+		while(!lines.isEmpty() && !LineScanner.isBlank(lines.getFirst().text())) {
 			int index = lines.getFirst().lineNumber();
-			DataField field = DataField.parseNext(lines, config);
+			DataField field = DataField.parseNext(lines, config, pool);
 			if(field != null) {
 				if(fieldNames.contains(field.name().toUpperCase())) {
 					if(config.duplicateField) {
-						Main.error("Duplicate data field in stanza: " + field.name(), null, "https://www.debian.org/doc/debian-policy/ch-controlfields#syntax-of-control-files", index);
+						Main.report(null, References.CONTROL_FILE_SYNTAX, index, "Duplicate data field in stanza: {}", field.name());
 					}
 				} else {
 					if(config.emptyFields) {
 						if(field.data().isEmpty()) {
-							Main.error("Empty data field: " + field.name(), null, "https://www.debian.org/doc/debian-policy/ch-controlfields#syntax-of-control-files", index);
+							Main.report(null, References.CONTROL_FILE_SYNTAX, index, "Empty data field: {}", field.name());
 						}
 					}
 					s.dataFields.add(field);
@@ -72,7 +72,7 @@ public class Stanza {
 				break;
 			}
 		}
-		while(!lines.isEmpty() && empty.matcher(lines.getFirst().text()).matches()) {
+		while(!lines.isEmpty() && LineScanner.isBlank(lines.getFirst().text())) {
 			lines.removeFirst();
 		}
 		if(s.dataFields.isEmpty()) {
@@ -82,13 +82,18 @@ public class Stanza {
 	}
 
 	/**
-	 * Gets the field with the specified name. Field names are case-insensitive.
+	 * Gets the field with the specified name. Field names are case-insensitive. Names from the same {@link StringPool} as the parsed field names are found by identity.
 	 *
 	 * @param name The name of the field
 	 * @return The field or null if not present
 	 */
 	public DataField getField(String name) {
-		return dataFields.stream().filter(field -> field.name().equalsIgnoreCase(name)).findAny().orElse(null);
+		for(DataField field : dataFields) {
+			if(field.name() == name || field.name().equalsIgnoreCase(name)) {
+				return field;
+			}
+		}
+		return null;
 	}
 
 	/**
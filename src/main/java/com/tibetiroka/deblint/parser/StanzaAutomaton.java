@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import com.tibetiroka.deblint.parser.FieldSpec.RequirementStatus;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.IntStream;
+
+/**
+ * A compiled form of the stanza specifications of a {@link ControlType}, used for matching parsed stanzas to their specifications in linear time.
+ * <p>
+ * Since stanzas can only be matched in the order of their specifications, the state of the matching process is the index of the first specification that can still be used, and the index of the last used specification. The mandatory fields of each specification are stored as a bitmask over the mandatory field names of the type, so checking whether a specification can match a stanza is a single mask test.
+ */
+public final class StanzaAutomaton {
+	/**
+	 * The maximum number of distinct mandatory field names per control file type.
+	 */
+	private static final int MAX_FIELDS = Long.SIZE;
+	/**
+	 * The bit index of each mandatory field name, both in lower case and as written in the specification.
+	 */
+	private final Map<String, Integer> fieldBits = new HashMap<>();
+	/**
+	 * Whether each specification is mandatory.
+	 */
+	private final boolean[] mandatory;
+	/**
+	 * Whether each specification is repeatable.
+	 */
+	private final boolean[] repeatable;
+	/**
+	 * The mask of the mandatory fields of each specification.
+	 */
+	private final long[] requiredMasks;
+	/**
+	 * The compiled specifications, in their expected order.
+	 */
+	private final List<StanzaSpec> specs;
+
+	/**
+	 * Compiles the specified list of stanza specifications.
+	 *
+	 * @param specs The specifications, in their expected order
+	 */
+	public StanzaAutomaton(List<StanzaSpec> specs) {
+		this.specs = List.copyOf(specs);
+		this.mandatory = new boolean[specs.size()];
+		this.repeatable = new boolean[specs.size()];
+		this.requiredMasks = new long[specs.size()];
+		int fieldCount = 0;
+		for(int i = 0; i < specs.size(); i++) {
+			StanzaSpec spec = specs.get(i);
+			mandatory[i] = spec.mandatory();
+			repeatable[i] = spec.repeatable();
+			for(Entry<String, FieldSpec> entry : spec.fields().entrySet()) {
+				if(entry.getValue().required() == RequirementStatus.MANDATORY) {
+					String name = entry.getKey().toLowerCase();
+					Integer bit = fieldBits.get(name);
+					if(bit == null) {
+						if(fieldCount == MAX_FIELDS) {
+							throw new IllegalArgumentException("Too many mandatory fields in stanza specifications: " + MAX_FIELDS + " are supported");
+						}
+						bit = fieldCount++;
+						fieldBits.put(name, bit);
+					}
+					// parsed names usually share the instance of the key, so they are found without lower-casing
+					fieldBits.put(entry.getKey(), bit);
+					requiredMasks[i] |= 1L << bit;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the compiled specifications, in their expected order.
+	 *
+	 * @return An unmodifiable list of specifications
+	 */
+	public List<StanzaSpec> getSpecs() {
+		return specs;
+	}
+
+	/**
+	 * Creates a new matcher that matches stanzas in order, starting from the first specification.
+	 *
+	 * @return The new matcher
+	 */
+	public Matcher matcher() {
+		return new Matcher();
+	}
+
+	/**
+	 * Computes the mask of the mandatory field names present in the stanza.
+	 *
+	 * @param stanza The stanza
+	 * @return The field mask
+	 */
+	private long maskOf(Stanza stanza) {
+		long mask = 0;
+		for(DataField field : stanza.dataFields) {
+			Integer bit = fieldBits.get(field.name());
+			if(bit == null) {
+				bit = fieldBits.get(field.name().toLowerCase());
+			}
+			if(bit != null) {
+				mask |= 1L << bit;
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * The state of matching a sequence of stanzas against the compiled specifications.
+	 */
+	public final class Matcher {
+		/**
+		 * Whether each specification was used for a stanza.
+		 */
+		private final boolean[] used = new boolean[specs.size()];
+		/**
+		 * The index after the last specification attempted in the last call to {@link #next(Stanza)}.
+		 */
+		private int attemptedEnd;
+		/**
+		 * The index of the first specification attempted in the last call to {@link #next(Stanza)}.
+		 */
+		private int attemptedStart;
+		/**
+		 * The index of the specification used for the previous stanza, or -1 if it could not be matched.
+		 */
+		private int previous = -1;
+		/**
+		 * The index of the first specification that can still be matched.
+		 */
+		private int state;
+
+		private Matcher() {
+		}
+
+		/**
+		 * Gets the specifications that were attempted in the last call to {@link #next(Stanza)}.
+		 *
+		 * @return The list of specifications
+		 */
+		public List<StanzaSpec> getAttempted() {
+			return specs.subList(attemptedStart, attemptedEnd);
+		}
+
+		/**
+		 * Gets the specification with the specified index.
+		 *
+		 * @param index The index of the specification
+		 * @return The specification
+		 */
+		public StanzaSpec getSpec(int index) {
+			return specs.get(index);
+		}
+
+		/**
+		 * Gets the mandatory specifications that were never used.
+		 *
+		 * @return The list of specifications
+		 */
+		public List<StanzaSpec> getMissing() {
+			return IntStream.range(0, specs.size()).filter(i -> mandatory[i] && !used[i]).mapToObj(specs::get).toList();
+		}
+
+		/**
+		 * Matches the next stanza. Mandatory specifications cannot be skipped, unless they were used for the previous stanza. Optional specifications can be skipped, but the last matching specification is always used.
+		 *
+		 * @param stanza The stanza to match
+		 * @return The index of the matched specification, or -1 if none match
+		 */
+		public int next(Stanza stanza) {
+			long mask = maskOf(stanza);
+			int matched = -1;
+			int i = state;
+			for(; i < specs.size(); i++) {
+				boolean fits = (mask & requiredMasks[i]) == requiredMasks[i];
+				if(mandatory[i]) {
+					if(fits) {
+						matched = i;
+						break;
+					}
+					if(previous != i) {
+						break;
+					}
+				} else if(fits) {
+					matched = i;
+				}
+			}
+			attemptedStart = state;
+			attemptedEnd = Math.min(i + 1, specs.size());
+			previous = matched;
+			if(matched != -1) {
+				used[matched] = true;
+				state = repeatable[matched] ? matched : matched + 1;
+			}
+			return matched;
+		}
+	}
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.References;
+import com.tibetiroka.deblint.parser.Utf8Validator.InvalidSequence;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the stanzas of a control file one at a time, so that files much larger than the available memory can be linted.
+ * <p>
+ * The reader removes comments and OpenPGP signatures, and reports errors in the separators between stanzas. Only the lines of the current stanza are kept in memory.
+ */
+public final class StanzaReader implements Closeable {
+	/**
+	 * The size of the buffers used for reading and decompressing input.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/**
+	 * The configuration used for parsing.
+	 */
+	private final Configuration config;
+	/**
+	 * The pool used for deduplicating field names and values across stanzas.
+	 */
+	private final StringPool pool;
+	/**
+	 * The source of the lines, if they are read as text.
+	 */
+	private final BufferedReader reader;
+	/**
+	 * The source of the lines, if they are read as bytes.
+	 */
+	private final InputStream in;
+	/**
+	 * The bytes read from {@link #in}, starting with the ones that were not scanned yet.
+	 */
+	private byte[] buffer;
+	/**
+	 * The flags of the last line that was read, see {@link LineScanner}.
+	 */
+	private int flags;
+	/**
+	 * The number of bytes in {@link #buffer}.
+	 */
+	private int limit;
+	/**
+	 * The scanner of the lines in {@link #buffer}.
+	 */
+	private LineScanner scanner;
+	/**
+	 * Whether the end of the signed content was reached.
+	 */
+	private boolean finished;
+	/**
+	 * Whether a stanza was read. Only the separators before the first stanza are checked, like in {@link ControlFile#parseStanzas(List, Configuration, StringPool, List)}, where each stanza consumes the blank lines after it.
+	 */
+	private boolean started;
+	/**
+	 * The number of the last line that was read.
+	 */
+	private int lineNumber;
+
+	/**
+	 * Creates a reader of the lines supplied by the specified reader.
+	 *
+	 * @param reader The source of the lines
+	 * @param config The configuration used for parsing
+	 */
+	public StanzaReader(BufferedReader reader, Configuration config) {
+		this.reader = reader;
+		this.in = null;
+		this.config = config;
+		this.pool = StringPool.forSpecs(config.checkedType.getStanzas());
+	}
+
+	/**
+	 * Creates a reader of the lines of a UTF-8 stream. The lines are split and classified by a {@link LineScanner}, and lines that only contain ASCII characters are not decoded. Invalid UTF-8 sequences are reported with their line and column.
+	 *
+	 * @param in     The stream
+	 * @param config The configuration used for parsing
+	 */
+	public StanzaReader(InputStream in, Configuration config) {
+		this.reader = null;
+		this.in = in;
+		this.buffer = new byte[BUFFER_SIZE];
+		this.scanner = new LineScanner(ByteBuffer.wrap(buffer), 0, 0, false);
+		this.config = config;
+		this.pool = StringPool.forSpecs(config.checkedType.getStanzas());
+	}
+
+	/**
+	 * Wraps a stream with a decompressor, if its content is compressed. The compression format is detected from the first bytes of the stream.
+	 *
+	 * @param in The stream
+	 * @return The decompressed stream
+	 * @throws IOException If the stream cannot be read
+	 */
+	public static InputStream decompress(InputStream in) throws IOException {
+		BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+		buffered.mark(2);
+		int first = buffered.read();
+		int second = buffered.read();
+		buffered.reset();
+		if(first == 0x1f && second == 0x8b) {
+			return new GZIPInputStream(buffered, BUFFER_SIZE);
+		}
+		return buffered;
+	}
+
+	/**
+	 * Opens a file for reading, decompressing it if needed. If the file is {@code -} and it doesn't exist, standard input is read instead.
+	 *
+	 * @param file The file to open
+	 * @return The decompressed contents of the file
+	 * @throws IOException If the file cannot be read
+	 */
+	public static InputStream open(File file) throws IOException {
+		InputStream in = file.equals(new File("-")) && !file.exists() ? System.in : Files.newInputStream(file.toPath());
+		return decompress(in);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(reader != null) {
+			reader.close();
+		} else {
+			in.close();
+		}
+	}
+
+	/**
+	 * Reads the next stanza. Stanzas that cannot be parsed are reported by the field parser, and skipped. Lines are split into stanzas in the same way as by {@link ControlFile#parse(List)}: stanzas end at an empty line, and lines with only spaces and tabs continue the previous field.
+	 *
+	 * @return The stanza, or null if there are no stanzas left
+	 * @throws IOException If the input cannot be read
+	 */
+	public Stanza next() throws IOException {
+		while(true) {
+			List<Line> lines = new ArrayList<>();
+			for(String text = readLine(); text != null; text = readLine()) {
+				Line line = new Line(text, lineNumber);
+				ControlFile.checkTrailingSpace(line, config);
+				if((flags & LineScanner.BLANK) != 0) {
+					if(lines.isEmpty()) {
+						if(!started) {
+							if(text.isEmpty()) {
+								// the parser stops at an empty line before the first stanza
+								finished = true;
+								return null;
+							}
+							ControlFile.checkSeparator(line, config);
+						}
+						continue;
+					}
+					if(text.isEmpty()) {
+						break;
+					}
+				}
+				lines.add(line);
+			}
+			if(lines.isEmpty()) {
+				return null;
+			}
+			started = true;
+			Stanza stanza = Stanza.parseNext(lines, config, pool);
+			if(stanza != null) {
+				return stanza;
+			}
+		}
+	}
+
+	/**
+	 * Reads the next line of the input, and sets its {@link #flags}. Invalid UTF-8 sequences of lines read as bytes are reported, and replaced.
+	 *
+	 * @return The line, or null if there are no lines left
+	 * @throws IOException If the input cannot be read
+	 */
+	private String nextLine() throws IOException {
+		if(reader != null) {
+			String text = reader.readLine();
+			if(text != null) {
+				flags = LineScanner.classify(text);
+			}
+			return text;
+		}
+		while(!scanner.next()) {
+			int position = scanner.getPosition();
+			System.arraycopy(buffer, position, buffer, 0, limit - position);
+			limit -= position;
+			if(limit == buffer.length) {
+				// the line doesn't fit
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+			int read = in.read(buffer, limit, buffer.length - limit);
+			if(read == -1) {
+				scanner = new LineScanner(ByteBuffer.wrap(buffer), 0, limit, true);
+				if(!scanner.next()) {
+					return null;
+				}
+				break;
+			}
+			limit += read;
+			scanner = new LineScanner(ByteBuffer.wrap(buffer), 0, limit, false);
+		}
+		flags = scanner.getFlags();
+		if((flags & LineScanner.ASCII) == 0) {
+			List<InvalidSequence> invalid = new ArrayList<>();
+			Utf8Validator.validate(ByteBuffer.wrap(buffer), scanner.getStart(), scanner.getEnd(), 0, invalid);
+			invalid.forEach(sequence -> sequence.report(lineNumber + 1));
+		}
+		return scanner.text();
+	}
+
+	/**
+	 * Reads the next line that is not a comment or part of a signature.
+	 *
+	 * @return The line, or null if there are no lines left
+	 * @throws IOException If the input cannot be read
+	 */
+	private String readLine() throws IOException {
+		while(!finished) {
+			String text = nextLine();
+			if(text == null) {
+				finished = true;
+				return null;
+			}
+			lineNumber++;
+			if(config.checkedType.isSupportsPgp()) {
+				if(lineNumber == 1 && text.equals("-----BEGIN PGP SIGNED MESSAGE-----")) {
+					// skip the armor headers
+					do {
+						text = nextLine();
+						lineNumber++;
+					} while(text != null && !text.isEmpty());
+					continue;
+				}
+				if(text.equals("-----BEGIN PGP SIGNATURE-----")) {
+					finished = true;
+					return null;
+				}
+			}
+			if((flags & LineScanner.COMMENT) != 0) {
+				if(config.comments && config.checkedType != ControlType.SOURCE_PACKAGE_CONTROL) {
+					Main.error("Comments are only allowed in debian/control files", "comments", References.CONTROL_FILE_SYNTAX, lineNumber);
+				}
+				continue;
+			}
+			return text;
+		}
+		return null;
+	}
+}
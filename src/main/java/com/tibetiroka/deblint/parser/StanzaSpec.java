@@ -12,6 +12,8 @@ package com.tibetiroka.deblint.parser;
 
 import com.tibetiroka.deblint.Configuration;
 import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.References;
+import com.tibetiroka.deblint.events.MatchEvent;
 import com.tibetiroka.deblint.linter.StanzaLinter;
 import com.tibetiroka.deblint.parser.FieldSpec.RequirementStatus;
 
@@ -53,23 +55,41 @@ public record StanzaSpec(String name, boolean mandatory, boolean repeatable, Map
 	 * @param config The configuration
 	 */
 	public void match(Stanza s, Configuration config) {
+		MatchEvent event = new MatchEvent();
+		event.begin();
+		matchFields(s, config);
+		if(event.shouldCommit()) {
+			event.stanza = name;
+			event.line = s.getFirstLine();
+			event.fields = s.dataFields.size();
+			event.commit();
+		}
+	}
+
+	/**
+	 * Changes the parsed types of the fields of a stanza to the types in this specification, and reports missing and custom fields.
+	 *
+	 * @param s      The stanza to match
+	 * @param config The configuration
+	 */
+	private void matchFields(Stanza s, Configuration config) {
 		for(Entry<String, FieldSpec> entry : this.fields.entrySet()) {
 			String name = entry.getKey().toLowerCase();
 			FieldSpec spec = entry.getValue();
-			DataField field = s.getField(name);
+			DataField field = s.getField(entry.getKey());
 			if(field != null) {
 				DataField proper = field.changeType(spec.type(), false);
 				s.dataFields.remove(field);
 				if(proper == null) {
 					if(config.fieldType) {
-						Main.error("Invalid field type for field " + name + ": expected " + spec.type() + ", found " + field.type(), null, "https://www.debian.org/doc/debian-policy/ch-controlfields#syntax-of-control-files", field.line());
+						Main.report(null, References.CONTROL_FILE_SYNTAX, field.line(), "Invalid field type for field {}: expected {}, found {}", name, spec.type(), field.type());
 					}
 					s.dataFields.add(field.changeType(spec.type(), true));
 				} else {
 					s.dataFields.add(proper);
 				}
 			} else if(config.recommendedFields && spec.required() == RequirementStatus.RECOMMENDED) {
-				Main.error("Missing recommended field: " + name, "recommendedFields", s.getFirstLine());
+				Main.report("recommendedFields", null, s.getFirstLine(), "Missing recommended field: {}", name);
 			}
 		}
 		if(config.customFields) {
@@ -82,16 +102,16 @@ public record StanzaSpec(String name, boolean mandatory, boolean repeatable, Map
 					}
 				}
 				if(!found) {
-					Main.error("Custom field: " + field.name(), "customFields", field.line());
+					Main.report("customFields", null, field.line(), "Custom field: {}", field.name());
 					if(config.customFieldNames) {
 						if(!field.name().matches("X[BCS]{1,3}-.+")) {
-							Main.error("Invalid custom field name: " + field.name(), "customFieldNames", "https://www.debian.org/doc/debian-policy/ch-controlfields#user-defined-fields", field.line());
+							Main.report("customFieldNames", References.USER_DEFINED_FIELDS, field.line(), "Invalid custom field name: {}", field.name());
 						} else {
 							String prefix = field.name().split("-", 2)[0];
 							char[] chars = {'B', 'C', 'S'};
 							for(char c : chars) {
 								if(prefix.indexOf(c) != prefix.lastIndexOf(c)) {
-									Main.error("Duplicate marker in custom field name : " + c + " " + field.name(), "customFieldNames", "https://www.debian.org/doc/debian-policy/ch-controlfields#user-defined-fields", field.line());
+									Main.report("customFieldNames", References.USER_DEFINED_FIELDS, field.line(), "Duplicate marker in custom field name : {} {}", c, field.name());
 								}
 							}
 						}
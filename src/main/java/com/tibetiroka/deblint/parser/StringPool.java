@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A bounded pool of canonical strings, used to deduplicate the field names and short values that repeat across the stanzas of a control file.
+ * <p>
+ * Only the values of {@link #POOLED_FIELDS fields known to repeat} are pooled. Values such as checksums, sizes, versions and file names are unique to each stanza of an archive index, and would fill the table with strings that are never seen again.
+ * <p>
+ * The pool is an open-addressing hash table with a fixed capacity. Strings are added with a single compare-and-set, so the pool can be shared between threads without locking. Once the table, or the probe sequence of a string, is full, strings are returned as-is instead of being pooled.
+ */
+public final class StringPool {
+	/**
+	 * The default number of slots in the table.
+	 */
+	public static final int DEFAULT_CAPACITY = 4096;
+	/**
+	 * The maximum length of pooled strings. Longer strings are unlikely to repeat, and are never pooled.
+	 */
+	public static final int MAX_LENGTH = 64;
+	/**
+	 * The fields whose values are pooled. These fields have a small set of values shared by many stanzas.
+	 */
+	public static final Set<String> POOLED_FIELDS = Collections.unmodifiableSet(Stream.of("Architecture", "Build-Essential", "Distribution", "Essential", "Format", "License", "Maintainer", "Multi-Arch", "Origin", "Original-Maintainer", "Package-Type", "Priority", "Protected", "Rules-Requires-Root", "Section", "Standards-Version", "Urgency").collect(Collectors.toCollection(() -> new TreeSet<>(String.CASE_INSENSITIVE_ORDER))));
+	/**
+	 * The maximum number of slots checked for a string before giving up.
+	 */
+	private static final int MAX_PROBES = 8;
+	/**
+	 * The mask used to map hashes to slots.
+	 */
+	private final int mask;
+	/**
+	 * The slots of the table.
+	 */
+	private final AtomicReferenceArray<String> table;
+
+	/**
+	 * Creates a pool with the default capacity.
+	 */
+	public StringPool() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a pool with the specified capacity.
+	 *
+	 * @param capacity The number of slots in the table, rounded up to a power of two
+	 */
+	public StringPool(int capacity) {
+		int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+		this.table = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Creates a pool that contains the field names of the specified stanzas, so that parsed field names are the same instances as the keys of {@link StanzaSpec#fields()}.
+	 *
+	 * @param specs The stanza specifications
+	 * @return The new pool
+	 */
+	public static StringPool forSpecs(List<StanzaSpec> specs) {
+		StringPool pool = new StringPool();
+		for(StanzaSpec spec : specs) {
+			spec.fields().keySet().forEach(pool::intern);
+		}
+		return pool;
+	}
+
+	/**
+	 * Gets the canonical instance of the value of a field. Values of fields that are not in {@link #POOLED_FIELDS} are returned as-is.
+	 *
+	 * @param field The name of the field
+	 * @param value The value
+	 * @return The canonical instance
+	 */
+	public String internValue(String field, String value) {
+		return POOLED_FIELDS.contains(field) ? intern(value) : value;
+	}
+
+	/**
+	 * Gets the canonical instance of a string. If the string is too long or the pool is full, the string itself is returned.
+	 *
+	 * @param s The string
+	 * @return The canonical instance
+	 */
+	public String intern(String s) {
+		if(s.length() > MAX_LENGTH) {
+			return s;
+		}
+		int hash = s.hashCode();
+		int index = (hash ^ (hash >>> 16)) & mask;
+		for(int i = 0; i < MAX_PROBES; i++) {
+			String current = table.get(index);
+			if(current == null) {
+				if(table.compareAndSet(index, null, s)) {
+					return s;
+				}
+				current = table.get(index);
+			}
+			if(current.equals(s)) {
+				return current;
+			}
+			index = (index + 1) & mask;
+		}
+		return s;
+	}
+}
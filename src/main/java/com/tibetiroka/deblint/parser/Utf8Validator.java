@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import com.tibetiroka.deblint.Main;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Finds the invalid sequences of UTF-8 text. ASCII bytes are skipped eight at a time; the rest are checked against the well-formed byte sequences of the Unicode standard, so overlong encodings, surrogates and code points above U+10FFFF are invalid. Each invalid sequence is the longest prefix of a well-formed sequence, or a single byte, which is also how decoders replace it.
+ *
+ * @see <a href="https://www.unicode.org/versions/latest/core-spec/chapter-3/#G27506">Unicode: well-formed UTF-8 byte sequences</a>
+ */
+final class Utf8Validator {
+	/**
+	 * A word with the high bit of every byte set.
+	 */
+	private static final long HIGH_BITS = 0x8080808080808080L;
+
+	/**
+	 * Finds the invalid sequences of a line.
+	 *
+	 * @param data    The bytes of the text
+	 * @param start   The offset of the line
+	 * @param end     The end of the line
+	 * @param line    The index of the line, stored in the invalid sequences
+	 * @param invalid The list the invalid sequences are added to
+	 */
+	static void validate(ByteBuffer data, int start, int end, int line, List<InvalidSequence> invalid) {
+		ByteBuffer words = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		int column = 1;
+		int columnOffset = start;
+		int i = start;
+		while(i < end) {
+			if(i + Long.BYTES <= end && (words.getLong(i) & HIGH_BITS) == 0) {
+				i += Long.BYTES;
+				continue;
+			}
+			int length = sequenceLength(words, i, end);
+			if(length > 0) {
+				i += length;
+				continue;
+			}
+			byte[] prefix = new byte[i - columnOffset];
+			words.get(columnOffset, prefix);
+			String decoded = new String(prefix, StandardCharsets.UTF_8);
+			column += decoded.codePointCount(0, decoded.length());
+			columnOffset = i;
+			StringBuilder bytes = new StringBuilder();
+			for(int j = i; j < i - length; j++) {
+				if(!bytes.isEmpty()) {
+					bytes.append(' ');
+				}
+				bytes.append(String.format("0x%02X", words.get(j) & 0xff));
+			}
+			invalid.add(new InvalidSequence(line, column, bytes.toString()));
+			i -= length;
+		}
+	}
+
+	/**
+	 * Finds the length of the sequence at an offset.
+	 *
+	 * @param data The bytes of the text
+	 * @param i    The offset of the sequence
+	 * @param end  The end of the text
+	 * @return The length of the well-formed sequence, or the negated length of the invalid sequence
+	 */
+	private static int sequenceLength(ByteBuffer data, int i, int end) {
+		int first = data.get(i) & 0xff;
+		int length;
+		int min = 0x80;
+		int max = 0xbf;
+		if(first < 0x80) {
+			return 1;
+		} else if(first >= 0xc2 && first <= 0xdf) {
+			length = 2;
+		} else if(first >= 0xe0 && first <= 0xef) {
+			length = 3;
+			if(first == 0xe0) {
+				min = 0xa0;
+			} else if(first == 0xed) {
+				max = 0x9f;
+			}
+		} else if(first >= 0xf0 && first <= 0xf4) {
+			length = 4;
+			if(first == 0xf0) {
+				min = 0x90;
+			} else if(first == 0xf4) {
+				max = 0x8f;
+			}
+		} else {
+			return -1;
+		}
+		for(int j = 1; j < length; j++) {
+			if(i + j >= end) {
+				return -j;
+			}
+			int b = data.get(i + j) & 0xff;
+			if(b < min || b > max) {
+				return -j;
+			}
+			min = 0x80;
+			max = 0xbf;
+		}
+		return length;
+	}
+
+	/**
+	 * An invalid sequence of a line.
+	 *
+	 * @param line   The index of the line, such as in its chunk
+	 * @param column The column of the sequence in the decoded line, in code points starting from 1
+	 * @param bytes  The bytes of the sequence in hexadecimal
+	 */
+	record InvalidSequence(int line, int column, String bytes) {
+		/**
+		 * Reports this sequence as an error.
+		 *
+		 * @param firstLine The line number of the line with index 0
+		 */
+		void report(int firstLine) {
+			Main.report(null, null, firstLine + line, "Invalid UTF-8 sequence at column {}: {}", column, bytes);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.universe;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The parts of a Debian architecture that architecture wildcards are matched against: the ABI, the C library, the operating system and the CPU. For example, {@code armhf} is {@code eabihf-gnu-linux-arm}, and {@code hurd-i386} is {@code base-gnu-hurd-i386}. The tuples follow the {@code tupletable} and {@code cputable} files of dpkg.
+ *
+ * @param abi  The ABI
+ * @param libc The C library
+ * @param os   The operating system
+ * @param cpu  The CPU
+ * @see <a href="https://manpages.debian.org/dpkg-architecture.1">dpkg-architecture(1)</a>
+ */
+record ArchitectureTuple(String abi, String libc, String os, String cpu) {
+	/**
+	 * The Debian CPU names, from the {@code cputable} of dpkg.
+	 */
+	private static final Set<String> CPUS = Set.of("i386", "ia64", "alpha", "amd64", "arc", "armeb", "arm", "arm64", "avr32", "hppa", "loong64", "m32r", "m68k", "mips", "mipsel", "mipsr6", "mipsr6el", "mips64", "mips64el", "mips64r6", "mips64r6el", "nios2", "or1k", "powerpc", "powerpcel", "ppc64", "ppc64el", "riscv64", "s390", "s390x", "sh3", "sh3eb", "sh4", "sh4eb", "sparc", "sparc64");
+	/**
+	 * The architectures and their tuples, from the {@code tupletable} of dpkg, in the order they are matched. A {@code <cpu>} placeholder matches any of the {@link #CPUS}.
+	 */
+	private static final List<String[]> TABLE = List.of(new String[] {"eabihf-musl-linux-arm", "musl-linux-armhf"}, new String[] {"eabi-musl-linux-arm", "musl-linux-armel"}, new String[] {"base-musl-linux-<cpu>", "musl-linux-<cpu>"}, new String[] {"ilp32-gnu-linux-arm64", "arm64ilp32"}, new String[] {"eabihf-gnu-linux-arm", "armhf"}, new String[] {"eabi-gnu-linux-arm", "armel"}, new String[] {"abin32-gnu-linux-mips64r6el", "mipsn32r6el"}, new String[] {"abin32-gnu-linux-mips64r6", "mipsn32r6"}, new String[] {"abin32-gnu-linux-mips64el", "mipsn32el"}, new String[] {"abin32-gnu-linux-mips64", "mipsn32"}, new String[] {"abi64-gnu-linux-mips64r6el", "mips64r6el"}, new String[] {"abi64-gnu-linux-mips64r6", "mips64r6"}, new String[] {"abi64-gnu-linux-mips64el", "mips64el"}, new String[] {"abi64-gnu-linux-mips64", "mips64"}, new String[] {"spe-gnu-linux-powerpc", "powerpcspe"}, new String[] {"x32-gnu-linux-amd64", "x32"}, new String[] {"base-gnu-linux-<cpu>", "<cpu>"}, new String[] {"eabihf-gnu-kfreebsd-arm", "kfreebsd-armhf"}, new String[] {"base-gnu-kfreebsd-<cpu>", "kfreebsd-<cpu>"}, new String[] {"base-gnu-knetbsd-<cpu>", "knetbsd-<cpu>"}, new String[] {"base-gnu-kopensolaris-<cpu>", "kopensolaris-<cpu>"}, new String[] {"base-gnu-hurd-<cpu>", "hurd-<cpu>"}, new String[] {"base-bsd-dragonflybsd-<cpu>", "dragonflybsd-<cpu>"}, new String[] {"base-bsd-freebsd-<cpu>", "freebsd-<cpu>"}, new String[] {"base-bsd-openbsd-<cpu>", "openbsd-<cpu>"}, new String[] {"base-bsd-netbsd-<cpu>", "netbsd-<cpu>"}, new String[] {"base-bsd-darwin-<cpu>", "darwin-<cpu>"}, new String[] {"base-sysv-aix-<cpu>", "aix-<cpu>"}, new String[] {"base-sysv-solaris-<cpu>", "solaris-<cpu>"}, new String[] {"eabi-uclibc-linux-arm", "uclibc-linux-armel"}, new String[] {"base-uclibc-linux-<cpu>", "uclibc-linux-<cpu>"}, new String[] {"base-tos-mint-m68k", "mint-m68k"});
+
+	/**
+	 * Finds the tuple of an architecture.
+	 *
+	 * @param architecture The architecture, such as {@code amd64} or {@code kfreebsd-i386}
+	 * @return The tuple, or null if the architecture is not known
+	 */
+	static ArchitectureTuple of(String architecture) {
+		for(String[] row : TABLE) {
+			String name = row[1];
+			int placeholder = name.indexOf("<cpu>");
+			if(placeholder == -1) {
+				if(name.equals(architecture)) {
+					return parse(row[0]);
+				}
+			} else if(architecture.startsWith(name.substring(0, placeholder)) && CPUS.contains(architecture.substring(placeholder))) {
+				return parse(row[0].replace("<cpu>", architecture.substring(placeholder)));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the tuple of an architecture wildcard. Wildcards with less than four parts are extended with {@code any} on the left, so {@code linux-any} is {@code any-any-linux-any}.
+	 *
+	 * @param wildcard The wildcard, such as {@code any-arm} or {@code gnu-any-any}
+	 * @return The tuple, or null if it is not a wildcard of a known architecture
+	 */
+	static ArchitectureTuple ofWildcard(String wildcard) {
+		String[] parts = wildcard.split("-", 4);
+		if(!List.of(parts).contains("any")) {
+			return of(wildcard);
+		}
+		String[] tuple = {"any", "any", "any", "any"};
+		if(parts.length > 1) {
+			System.arraycopy(parts, 0, tuple, 4 - parts.length, parts.length);
+		}
+		return new ArchitectureTuple(tuple[0], tuple[1], tuple[2], tuple[3]);
+	}
+
+	/**
+	 * Parses a tuple.
+	 *
+	 * @param tuple The parts of the tuple, separated by dashes
+	 * @return The tuple
+	 */
+	private static ArchitectureTuple parse(String tuple) {
+		String[] parts = tuple.split("-", 4);
+		return new ArchitectureTuple(parts[0], parts[1], parts[2], parts[3]);
+	}
+
+	/**
+	 * Checks whether this wildcard tuple matches the tuple of an architecture. Each part of this tuple must be equal to the part of the architecture, or {@code any}.
+	 *
+	 * @param architecture The tuple of the architecture
+	 * @return True if the tuples match
+	 */
+	boolean matches(ArchitectureTuple architecture) {
+		return matches(abi, architecture.abi) && matches(libc, architecture.libc) && matches(os, architecture.os) && matches(cpu, architecture.cpu);
+	}
+
+	/**
+	 * Checks whether a part of a wildcard matches the part of an architecture.
+	 *
+	 * @param wildcard     The part of the wildcard
+	 * @param architecture The part of the architecture
+	 * @return True if the part of the wildcard is {@code any} or the same part
+	 */
+	private static boolean matches(String wildcard, String architecture) {
+		return wildcard.equals("any") || wildcard.equals(architecture);
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.universe;
+
+import java.util.Comparator;
+
+/**
+ * Compares debian package versions, following the algorithm of dpkg.
+ *
+ * @see <a href="https://www.debian.org/doc/debian-policy/ch-controlfields#version">Debian Policy Manual</a>
+ */
+public final class DebianVersion {
+	/**
+	 * Orders versions from oldest to newest.
+	 */
+	public static final Comparator<String> ORDER = DebianVersion::compare;
+
+	/**
+	 * Compares two versions.
+	 *
+	 * @param first  The first version
+	 * @param second The second version
+	 * @return A negative integer, zero, or a positive integer if the first version is older, the same, or newer than the second version
+	 */
+	public static int compare(String first, String second) {
+		int firstColon = first.indexOf(':');
+		int secondColon = second.indexOf(':');
+		int result = Long.compare(parseEpoch(first, firstColon), parseEpoch(second, secondColon));
+		if(result != 0) {
+			return result;
+		}
+		int firstDash = first.lastIndexOf('-');
+		int secondDash = second.lastIndexOf('-');
+		if(firstDash < firstColon) {
+			firstDash = -1;
+		}
+		if(secondDash < secondColon) {
+			secondDash = -1;
+		}
+		result = compareParts(first, firstColon + 1, firstDash == -1 ? first.length() : firstDash, second, secondColon + 1, secondDash == -1 ? second.length() : secondDash);
+		if(result != 0) {
+			return result;
+		}
+		return compareParts(first, firstDash == -1 ? first.length() : firstDash + 1, first.length(), second, secondDash == -1 ? second.length() : secondDash + 1, second.length());
+	}
+
+	/**
+	 * Checks whether a version satisfies a relation.
+	 *
+	 * @param version  The version to check
+	 * @param operator The relation operator, one of {@code <<}, {@code <=}, {@code =}, {@code >=} and {@code >>}; the deprecated {@code <} and {@code >} are treated as {@code <=} and {@code >=}
+	 * @param required The version on the right side of the relation
+	 * @return True if the relation holds
+	 */
+	public static boolean satisfies(String version, String operator, String required) {
+		return satisfies(compare(version, required), operator);
+	}
+
+	/**
+	 * Checks whether the result of a comparison satisfies a relation.
+	 *
+	 * @param comparison The result of comparing the checked version to the required version
+	 * @param operator   The relation operator
+	 * @return True if the relation holds
+	 * @see #satisfies(String, String, String)
+	 */
+	public static boolean satisfies(int comparison, String operator) {
+		return switch(operator) {
+			case "<<" -> comparison < 0;
+			case "<=", "<" -> comparison <= 0;
+			case "=" -> comparison == 0;
+			case ">=", ">" -> comparison >= 0;
+			case ">>" -> comparison > 0;
+			default -> false;
+		};
+	}
+
+	/**
+	 * Compares the upstream versions or debian revisions of two versions, as done by dpkg's {@code verrevcmp}.
+	 *
+	 * @param first       The first version
+	 * @param firstStart  The start of the compared part in the first version
+	 * @param firstEnd    The end of the compared part in the first version
+	 * @param second      The second version
+	 * @param secondStart The start of the compared part in the second version
+	 * @param secondEnd   The end of the compared part in the second version
+	 * @return The result of the comparison
+	 */
+	private static int compareParts(String first, int firstStart, int firstEnd, String second, int secondStart, int secondEnd) {
+		int i = firstStart;
+		int j = secondStart;
+		while(i < firstEnd || j < secondEnd) {
+			while((i < firstEnd && !isDigit(first.charAt(i))) || (j < secondEnd && !isDigit(second.charAt(j)))) {
+				int firstOrder = i < firstEnd ? order(first.charAt(i)) : 0;
+				int secondOrder = j < secondEnd ? order(second.charAt(j)) : 0;
+				if(firstOrder != secondOrder) {
+					return firstOrder - secondOrder;
+				}
+				i++;
+				j++;
+			}
+			while(i < firstEnd && first.charAt(i) == '0') {
+				i++;
+			}
+			while(j < secondEnd && second.charAt(j) == '0') {
+				j++;
+			}
+			int difference = 0;
+			while(i < firstEnd && isDigit(first.charAt(i)) && j < secondEnd && isDigit(second.charAt(j))) {
+				if(difference == 0) {
+					difference = first.charAt(i) - second.charAt(j);
+				}
+				i++;
+				j++;
+			}
+			if(i < firstEnd && isDigit(first.charAt(i))) {
+				return 1;
+			}
+			if(j < secondEnd && isDigit(second.charAt(j))) {
+				return -1;
+			}
+			if(difference != 0) {
+				return difference;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Checks whether a character is an ASCII digit.
+	 *
+	 * @param c The character
+	 * @return True if the character is a digit
+	 */
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Gets the sorting weight of a character in the non-digit part of a comparison. Digits weigh the same as the end of the part, letters sort earlier than other characters, and a tilde sorts before anything, even the end of the part.
+	 *
+	 * @param c The character
+	 * @return The weight of the character
+	 */
+	private static int order(char c) {
+		if(isDigit(c)) {
+			return 0;
+		}
+		if((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+			return c;
+		}
+		if(c == '~') {
+			return -1;
+		}
+		return c + 256;
+	}
+
+	/**
+	 * Parses the epoch of a version.
+	 *
+	 * @param version The version
+	 * @param colon   The index of the colon ending the epoch, or -1 if there is no epoch
+	 * @return The epoch, or 0 if missing or invalid
+	 */
+	private static long parseEpoch(String version, int colon) {
+		if(colon == -1) {
+			return 0;
+		}
+		try {
+			return Long.parseLong(version, 0, colon, 10);
+		} catch(NumberFormatException e) {
+			return 0;
+		}
+	}
+}
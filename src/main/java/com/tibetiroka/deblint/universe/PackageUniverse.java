@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.universe;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.parser.ControlType;
+import com.tibetiroka.deblint.parser.DataField;
+import com.tibetiroka.deblint.parser.Stanza;
+import com.tibetiroka.deblint.parser.StanzaReader;
+import com.tibetiroka.deblint.util.SymbolTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The packages available in an archive, loaded from a {@link ControlType#PACKAGES_INDEX Packages} index, for checking whether package relationships can be satisfied.
+ * <p>
+ * Both real packages and the virtual packages they provide are stored as entries of the package name they can satisfy. Names, versions and architectures are replaced by {@link SymbolTable} ids, and the entries of each name are stored in a contiguous range of primitive arrays, newest version first. Versions are ranked once when the universe is loaded, so queries compare integers instead of version strings. Instances are immutable and can be queried from multiple threads.
+ */
+public final class PackageUniverse {
+	/**
+	 * The universes loaded by {@link #cached(File)}, by absolute path.
+	 */
+	private static final ConcurrentHashMap<File, PackageUniverse> CACHE = new ConcurrentHashMap<>();
+	/**
+	 * The rank of unversioned virtual packages, which never satisfy versioned relations.
+	 */
+	private static final int UNVERSIONED = -1;
+	/**
+	 * The id of the {@code all} architecture, or -1 if no package uses it.
+	 */
+	private final int allArchitecture;
+	/**
+	 * The ids of architectures.
+	 */
+	private final SymbolTable architectures;
+	/**
+	 * The architecture id of each entry.
+	 */
+	private final int[] entryArchitectures;
+	/**
+	 * The version rank of each entry, or {@link #UNVERSIONED}.
+	 */
+	private final int[] entryRanks;
+	/**
+	 * The ids of package names, including virtual packages.
+	 */
+	private final SymbolTable names;
+	/**
+	 * The start of the entries of each name id; the entries of a name end where the entries of the next name start.
+	 */
+	private final int[] offsets;
+	/**
+	 * The number of real packages in the universe.
+	 */
+	private final int packageCount;
+	/**
+	 * A version of each rank, from oldest to newest.
+	 */
+	private final String[] rankedVersions;
+
+	/**
+	 * Creates a new universe from the collected entries.
+	 *
+	 * @param names              The ids of package names
+	 * @param versions           The ids of versions
+	 * @param architectures      The ids of architectures
+	 * @param entryNames         The name id of each entry
+	 * @param entryVersions      The version id of each entry, or -1 if unversioned
+	 * @param entryArchitectures The architecture id of each entry
+	 * @param entryCount         The number of entries
+	 * @param packageCount       The number of real packages
+	 */
+	private PackageUniverse(SymbolTable names, SymbolTable versions, SymbolTable architectures, int[] entryNames, int[] entryVersions, int[] entryArchitectures, int entryCount, int packageCount) {
+		this.names = names;
+		this.architectures = architectures;
+		this.packageCount = packageCount;
+		this.allArchitecture = architectures.find("all");
+		// rank versions, so that equal versions such as 1.0 and 1.0-0 share a rank
+		String[] sorted = new String[versions.size()];
+		for(int i = 0; i < sorted.length; i++) {
+			sorted[i] = versions.get(i);
+		}
+		Arrays.sort(sorted, DebianVersion.ORDER);
+		int[] versionRanks = new int[sorted.length];
+		String[] rankedVersions = new String[sorted.length];
+		int rank = -1;
+		for(int i = 0; i < sorted.length; i++) {
+			if(rank == -1 || DebianVersion.compare(rankedVersions[rank], sorted[i]) != 0) {
+				rankedVersions[++rank] = sorted[i];
+			}
+			versionRanks[versions.find(sorted[i])] = rank;
+		}
+		this.rankedVersions = Arrays.copyOf(rankedVersions, rank + 1);
+		// group the entries by name
+		this.offsets = new int[names.size() + 1];
+		for(int i = 0; i < entryCount; i++) {
+			offsets[entryNames[i] + 1]++;
+		}
+		for(int i = 0; i < names.size(); i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		this.entryRanks = new int[entryCount];
+		this.entryArchitectures = new int[entryCount];
+		int[] next = Arrays.copyOf(offsets, names.size());
+		for(int i = 0; i < entryCount; i++) {
+			int index = next[entryNames[i]]++;
+			entryRanks[index] = entryVersions[i] == -1 ? UNVERSIONED : versionRanks[entryVersions[i]];
+			this.entryArchitectures[index] = entryArchitectures[i];
+		}
+		// sort the entries of each name from newest to oldest
+		for(int name = 0; name < names.size(); name++) {
+			for(int i = offsets[name] + 1; i < offsets[name + 1]; i++) {
+				int entryRank = entryRanks[i];
+				int entryArchitecture = this.entryArchitectures[i];
+				int j = i - 1;
+				for(; j >= offsets[name] && entryRanks[j] < entryRank; j--) {
+					entryRanks[j + 1] = entryRanks[j];
+					this.entryArchitectures[j + 1] = this.entryArchitectures[j];
+				}
+				entryRanks[j + 1] = entryRank;
+				this.entryArchitectures[j + 1] = entryArchitecture;
+			}
+		}
+	}
+
+	/**
+	 * Gets the universe of an index file, loading it with {@link #load(File)} on first use. Later calls return the same instance, so many files can be checked against an index while only loading it once. Failed loads are not cached.
+	 *
+	 * @param file The index file
+	 * @return The universe of the packages in the file
+	 * @throws IOException If the file cannot be read
+	 */
+	public static PackageUniverse cached(File file) throws IOException {
+		File key = file.getAbsoluteFile();
+		PackageUniverse universe = CACHE.get(key);
+		if(universe == null) {
+			universe = load(key);
+			PackageUniverse previous = CACHE.putIfAbsent(key, universe);
+			if(previous != null) {
+				universe = previous;
+			}
+		}
+		return universe;
+	}
+
+	/**
+	 * Loads the packages of a {@link ControlType#PACKAGES_INDEX} file, which may be compressed. The file is not linted.
+	 *
+	 * @param file The index file
+	 * @return The universe of the packages in the file
+	 * @throws IOException If the file cannot be read
+	 */
+	public static PackageUniverse load(File file) throws IOException {
+		Configuration config = Configuration.PRESET_QUIRKS.clone();
+		config.checkedType = ControlType.PACKAGES_INDEX;
+		try(StanzaReader reader = new StanzaReader(StanzaReader.open(file), config)) {
+			return read(reader);
+		}
+	}
+
+	/**
+	 * Loads the packages of the stanzas supplied by a reader.
+	 *
+	 * @param reader The source of the package stanzas
+	 * @return The universe of the packages
+	 * @throws IOException If the stanzas cannot be read
+	 */
+	public static PackageUniverse read(StanzaReader reader) throws IOException {
+		SymbolTable names = new SymbolTable(1 << 12);
+		SymbolTable versions = new SymbolTable(1 << 12);
+		SymbolTable architectures = new SymbolTable();
+		int[] entryNames = new int[1 << 12];
+		int[] entryVersions = new int[1 << 12];
+		int[] entryArchitectures = new int[1 << 12];
+		int count = 0;
+		int packageCount = 0;
+		for(Stanza stanza = reader.next(); stanza != null; stanza = reader.next()) {
+			DataField name = stanza.getField("Package");
+			DataField version = stanza.getField("Version");
+			if(name == null || version == null) {
+				continue;
+			}
+			DataField architectureField = stanza.getField("Architecture");
+			int architecture = architectures.intern(architectureField == null ? "all" : architectureField.data());
+			DataField provides = stanza.getField("Provides");
+			List<List<Relation>> provided = provides == null ? List.of() : Relation.parse(provides.data());
+			int needed = count + 1 + provided.size();
+			if(needed > entryNames.length) {
+				int capacity = Math.max(needed, entryNames.length * 2);
+				entryNames = Arrays.copyOf(entryNames, capacity);
+				entryVersions = Arrays.copyOf(entryVersions, capacity);
+				entryArchitectures = Arrays.copyOf(entryArchitectures, capacity);
+			}
+			entryNames[count] = names.intern(name.data());
+			entryVersions[count] = versions.intern(version.data());
+			entryArchitectures[count++] = architecture;
+			packageCount++;
+			for(List<Relation> group : provided) {
+				// provided packages can't have alternatives
+				Relation relation = group.getFirst();
+				entryNames[count] = names.intern(relation.name());
+				entryVersions[count] = relation.isVersioned() && relation.operator().equals("=") ? versions.intern(relation.version()) : -1;
+				entryArchitectures[count++] = architecture;
+			}
+		}
+		return new PackageUniverse(names, versions, architectures, entryNames, entryVersions, entryArchitectures, count, packageCount);
+	}
+
+	/**
+	 * Checks whether any real or virtual package has the specified name.
+	 *
+	 * @param name The name of the package
+	 * @return True if the package is in the universe
+	 */
+	public boolean contains(String name) {
+		return names.find(name) != -1;
+	}
+
+	/**
+	 * Checks whether a relation can be satisfied by a package of the universe. Architecture and build profile restrictions are not evaluated.
+	 *
+	 * @param relation     The relation
+	 * @param architecture The architecture the package must be available for (packages of the {@code all} architecture are always accepted), or null to accept any architecture
+	 * @return True if a package satisfies the relation
+	 */
+	public boolean satisfies(Relation relation, String architecture) {
+		int name = names.find(relation.name());
+		if(name == -1) {
+			return false;
+		}
+		int requiredArchitecture = architecture == null ? -1 : architectures.find(architecture);
+		int start = offsets[name];
+		int end = offsets[name + 1];
+		if(!relation.isVersioned()) {
+			for(int i = start; i < end; i++) {
+				if(isArchitectureAccepted(entryArchitectures[i], architecture, requiredArchitecture)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		String operator = relation.operator();
+		boolean lowerBound = operator.startsWith(">") || operator.equals("=");
+		int low = lowerBound(relation.version());
+		boolean equal = low < rankedVersions.length && DebianVersion.compare(rankedVersions[low], relation.version()) == 0;
+		for(int i = start; i < end && entryRanks[i] != UNVERSIONED; i++) {
+			int rank = entryRanks[i];
+			int comparison = rank < low ? -1 : rank == low && equal ? 0 : 1;
+			if(comparison < 0 && lowerBound) {
+				// the remaining entries are even older
+				break;
+			}
+			if(DebianVersion.satisfies(comparison, operator) && isArchitectureAccepted(entryArchitectures[i], architecture, requiredArchitecture)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the first group of alternatives that cannot be satisfied by this universe. Alternatives that don't apply to the architecture and build profiles are ignored, and groups without applicable alternatives are always satisfied. Groups with substitution variables, such as {@code ${misc:Depends}}, are not checked.
+	 *
+	 * @param groups       The groups of alternatives, as returned by {@link Relation#parse(String)}
+	 * @param architecture The host architecture, or null if unknown
+	 * @param profiles     The active build profiles
+	 * @return The applicable alternatives of the first unsatisfiable group, or null if every group can be satisfied
+	 */
+	public List<Relation> findUnsatisfiable(List<List<Relation>> groups, String architecture, Set<String> profiles) {
+		groups:
+		for(List<Relation> group : groups) {
+			List<Relation> applicable = new ArrayList<>(group.size());
+			for(Relation relation : group) {
+				if(relation.name().contains("${")) {
+					continue groups;
+				}
+				if(relation.isApplicable(architecture, profiles)) {
+					applicable.add(relation);
+				}
+			}
+			if(applicable.isEmpty()) {
+				continue;
+			}
+			for(Relation relation : applicable) {
+				// packages of other architectures can only satisfy relations qualified with :any or an explicit architecture
+				String qualifier = relation.qualifier();
+				String required = qualifier == null || qualifier.equals("native") ? architecture : qualifier.equals("any") ? null : qualifier;
+				if(satisfies(relation, required)) {
+					continue groups;
+				}
+			}
+			return applicable;
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the number of real packages in the universe, not counting virtual packages.
+	 *
+	 * @return {@link #packageCount}
+	 */
+	public int size() {
+		return packageCount;
+	}
+
+	/**
+	 * Checks whether an entry is available for the required architecture.
+	 *
+	 * @param entryArchitecture    The architecture id of the entry
+	 * @param architecture         The required architecture, or null if any architecture is accepted
+	 * @param requiredArchitecture The id of the required architecture, or -1
+	 * @return True if the entry is available
+	 */
+	private boolean isArchitectureAccepted(int entryArchitecture, String architecture, int requiredArchitecture) {
+		return architecture == null || entryArchitecture == requiredArchitecture || entryArchitecture == allArchitecture;
+	}
+
+	/**
+	 * Finds the lowest rank whose versions are not older than a version.
+	 *
+	 * @param version The version
+	 * @return The rank, or the number of ranks if every version is older
+	 */
+	private int lowerBound(String version) {
+		int low = 0;
+		int high = rankedVersions.length;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(DebianVersion.compare(rankedVersions[middle], version) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+}
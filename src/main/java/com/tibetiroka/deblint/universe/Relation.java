@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.universe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A single alternative of a package relationship field, such as {@code libc6:amd64 (>= 2.34) [amd64] <!nocheck>}.
+ *
+ * @param name          The name of the package
+ * @param qualifier     The architecture qualifier after the name, such as {@code any} or {@code amd64}, or null
+ * @param operator      The version relation operator, or null if the relation is not versioned
+ * @param version       The version on the right side of the relation, or null if the relation is not versioned
+ * @param architectures The architecture restriction list, without the brackets, or null
+ * @param profiles      The restriction formulas, including their angle brackets, or null
+ * @see <a href="https://www.debian.org/doc/debian-policy/ch-relationships.html">Debian Policy Manual</a>
+ */
+public record Relation(String name, String qualifier, String operator, String version, String architectures, String profiles) {
+	/**
+	 * Parses the value of a relationship field. The syntax of the field is not validated; malformed parts are skipped or returned as-is.
+	 *
+	 * @param text The value of the field
+	 * @return The groups of alternatives, separated by commas in the field
+	 */
+	public static List<List<Relation>> parse(String text) {
+		List<List<Relation>> groups = new ArrayList<>();
+		for(String group : text.split(",")) {
+			List<Relation> alternatives = new ArrayList<>();
+			for(String alternative : group.split("\\|")) {
+				Relation relation = parseAlternative(alternative);
+				if(relation != null) {
+					alternatives.add(relation);
+				}
+			}
+			if(!alternatives.isEmpty()) {
+				groups.add(alternatives);
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * Parses a single alternative.
+	 *
+	 * @param text The text of the alternative
+	 * @return The relation, or null if the text is blank
+	 */
+	private static Relation parseAlternative(String text) {
+		int length = text.length();
+		int i = skipSpaces(text, 0);
+		int start = i;
+		while(i < length && !isDelimiter(text.charAt(i)) && text.charAt(i) != ':') {
+			i++;
+		}
+		if(start == i) {
+			return null;
+		}
+		String name = text.substring(start, i);
+		String qualifier = null;
+		if(i < length && text.charAt(i) == ':') {
+			start = ++i;
+			while(i < length && !isDelimiter(text.charAt(i))) {
+				i++;
+			}
+			qualifier = text.substring(start, i);
+		}
+		String operator = null;
+		String version = null;
+		String architectures = null;
+		String profiles = null;
+		i = skipSpaces(text, i);
+		if(i < length && text.charAt(i) == '(') {
+			int end = text.indexOf(')', i);
+			String relation = text.substring(i + 1, end == -1 ? length : end).strip();
+			int split = 0;
+			while(split < relation.length() && "<=>".indexOf(relation.charAt(split)) != -1) {
+				split++;
+			}
+			operator = relation.substring(0, split);
+			version = relation.substring(split).strip();
+			i = skipSpaces(text, end == -1 ? length : end + 1);
+		}
+		if(i < length && text.charAt(i) == '[') {
+			int end = text.indexOf(']', i);
+			architectures = text.substring(i + 1, end == -1 ? length : end).strip();
+			i = skipSpaces(text, end == -1 ? length : end + 1);
+		}
+		if(i < length && text.charAt(i) == '<') {
+			profiles = text.substring(i).strip();
+		}
+		return new Relation(name, qualifier, operator, version, architectures, profiles);
+	}
+
+	/**
+	 * Checks whether an architecture matches an architecture name or wildcard, such as {@code amd64}, {@code linux-any} or {@code any-arm}. Wildcards are matched against the {@link ArchitectureTuple tuple} of the architecture, so {@code any-arm} matches {@code armhf} and {@code any-i386} matches {@code hurd-i386}, as in dpkg.
+	 *
+	 * @param architecture The architecture
+	 * @param pattern      The architecture name or wildcard
+	 * @return True if the architecture matches
+	 * @see <a href="https://www.debian.org/doc/debian-policy/ch-customized-programs.html#s-arch-wildcard-spec">Debian Policy Manual</a>
+	 */
+	public static boolean matchesArchitecture(String architecture, String pattern) {
+		if(pattern.equals("any") || pattern.equals(architecture)) {
+			return true;
+		}
+		ArchitectureTuple tuple = ArchitectureTuple.of(architecture);
+		ArchitectureTuple wildcard = ArchitectureTuple.ofWildcard(pattern);
+		return tuple != null && wildcard != null && wildcard.matches(tuple);
+	}
+
+	/**
+	 * Checks whether a character ends a package name or qualifier.
+	 *
+	 * @param c The character
+	 * @return True if the character is whitespace or starts a version, architecture or profile restriction
+	 */
+	private static boolean isDelimiter(char c) {
+		return Character.isWhitespace(c) || c == '(' || c == '[' || c == '<';
+	}
+
+	/**
+	 * Skips whitespace characters, including the line breaks of folded fields.
+	 *
+	 * @param text  The text
+	 * @param index The index to start at
+	 * @return The index of the first non-whitespace character, or the length of the text
+	 */
+	private static int skipSpaces(String text, int index) {
+		while(index < text.length() && Character.isWhitespace(text.charAt(index))) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * Checks whether this relation applies when building for an architecture with a set of build profiles.
+	 *
+	 * @param architecture   The host architecture, or null if unknown
+	 * @param activeProfiles The active build profiles
+	 * @return True if the relation applies; false if it doesn't, or if it has an architecture restriction and the architecture is unknown
+	 * @see <a href="https://wiki.debian.org/BuildProfileSpec">Build profile specification</a>
+	 */
+	public boolean isApplicable(String architecture, Set<String> activeProfiles) {
+		if(architectures != null) {
+			if(architecture == null) {
+				return false;
+			}
+			boolean negated = architectures.startsWith("!");
+			boolean matched = false;
+			for(String pattern : architectures.split("\\s+")) {
+				if(matchesArchitecture(architecture, pattern.startsWith("!") ? pattern.substring(1) : pattern)) {
+					matched = true;
+					break;
+				}
+			}
+			if(matched == negated) {
+				return false;
+			}
+		}
+		if(profiles != null) {
+			// the formulas are alternatives; the terms of a formula must all hold
+			for(int start = profiles.indexOf('<'); start != -1; start = profiles.indexOf('<', start + 1)) {
+				int end = profiles.indexOf('>', start);
+				boolean holds = true;
+				for(String term : profiles.substring(start + 1, end == -1 ? profiles.length() : end).strip().split("\\s+")) {
+					if(!term.isEmpty() && (term.startsWith("!") == activeProfiles.contains(term.startsWith("!") ? term.substring(1) : term))) {
+						holds = false;
+						break;
+					}
+				}
+				if(holds) {
+					return true;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether this relation has a version requirement.
+	 *
+	 * @return True if the relation is versioned
+	 */
+	public boolean isVersioned() {
+		return operator != null && version != null && !version.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(name);
+		if(qualifier != null) {
+			builder.append(':').append(qualifier);
+		}
+		if(operator != null) {
+			builder.append(" (").append(operator).append(' ').append(version).append(')');
+		}
+		if(architectures != null) {
+			builder.append(" [").append(architectures).append(']');
+		}
+		if(profiles != null) {
+			builder.append(' ').append(profiles);
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Matches text against many file patterns of debian/copyright files at once. A {@code *} matches any sequence of characters, including slashes, a {@code ?} matches any single character, and a backslash escapes the next character.
+ * <p>
+ * The patterns are compiled into a single nondeterministic automaton, whose states are the positions in the patterns. The set of active states is kept as a bitset, so each character of the text is only read once, regardless of the number of patterns. Since a state only depends on the text read so far, the state of a common prefix, such as a directory, can be reused for all texts starting with it.
+ * <p>
+ * Instances of this class are immutable and thread-safe; states are plain arrays owned by the caller.
+ *
+ * @see <a href="https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/#files-field">Machine-readable debian/copyright file</a>
+ */
+public final class GlobSet {
+	/**
+	 * The token of a {@code ?} wildcard.
+	 */
+	private static final int ANY = -1;
+	/**
+	 * The token ending a pattern.
+	 */
+	private static final int END = -3;
+	/**
+	 * The token of a {@code *} wildcard.
+	 */
+	private static final int STAR = -2;
+	/**
+	 * The bits of the {@link #END} tokens.
+	 */
+	private final long[] ends;
+	/**
+	 * The index of the pattern of each token.
+	 */
+	private final int[] owners;
+	/**
+	 * The number of patterns.
+	 */
+	private final int size;
+	/**
+	 * The initial state, with the first token of every pattern active.
+	 */
+	private final long[] start;
+	/**
+	 * The tokens of all patterns, each pattern followed by an {@link #END} token. Literal characters are stored as their value.
+	 */
+	private final int[] tokens;
+
+	/**
+	 * Compiles a list of patterns. Patterns are identified by their index in the list.
+	 *
+	 * @param patterns The patterns
+	 */
+	public GlobSet(List<String> patterns) {
+		int length = 0;
+		for(String pattern : patterns) {
+			length += pattern.length() + 1;
+		}
+		int[] tokens = new int[length];
+		int[] owners = new int[length];
+		int[] starts = new int[patterns.size()];
+		int count = 0;
+		for(int i = 0; i < patterns.size(); i++) {
+			String pattern = patterns.get(i);
+			starts[i] = count;
+			for(int j = 0; j < pattern.length(); j++) {
+				char c = pattern.charAt(j);
+				owners[count] = i;
+				if(c == '\\' && j + 1 < pattern.length()) {
+					tokens[count++] = pattern.charAt(++j);
+				} else if(c == '*') {
+					// consecutive stars are equivalent to a single one
+					if(count == starts[i] || tokens[count - 1] != STAR) {
+						tokens[count++] = STAR;
+					}
+				} else {
+					tokens[count++] = c == '?' ? ANY : c;
+				}
+			}
+			owners[count] = i;
+			tokens[count++] = END;
+		}
+		this.tokens = tokens;
+		this.owners = owners;
+		this.size = patterns.size();
+		this.ends = new long[words(count)];
+		this.start = new long[words(count)];
+		for(int i = 0; i < count; i++) {
+			if(tokens[i] == END) {
+				ends[i >>> 6] |= 1L << i;
+			}
+		}
+		for(int s : starts) {
+			activate(start, s);
+		}
+	}
+
+	/**
+	 * Gets the number of words needed for a bitset.
+	 *
+	 * @param bits The number of bits
+	 * @return The number of longs
+	 */
+	private static int words(int bits) {
+		return (bits + 63) >>> 6;
+	}
+
+	/**
+	 * Activates a state, and the states reachable from it without reading a character.
+	 *
+	 * @param state    The set of active states
+	 * @param position The position to activate
+	 */
+	private void activate(long[] state, int position) {
+		state[position >>> 6] |= 1L << position;
+		// a star may match the empty string
+		while(tokens[position] == STAR) {
+			position++;
+			state[position >>> 6] |= 1L << position;
+		}
+	}
+
+	/**
+	 * Reads text, starting from a state.
+	 *
+	 * @param state The state before reading the text; not modified
+	 * @param text  The text to read
+	 * @return The state after reading the text
+	 */
+	public long[] advance(long[] state, CharSequence text) {
+		long[] current = state.clone();
+		long[] next = new long[state.length];
+		for(int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			boolean alive = false;
+			for(int word = 0; word < current.length; word++) {
+				long bits = current[word];
+				while(bits != 0) {
+					int position = (word << 6) + Long.numberOfTrailingZeros(bits);
+					bits &= bits - 1;
+					int token = tokens[position];
+					if(token == STAR) {
+						activate(next, position);
+						alive = true;
+					} else if(token == ANY || token == c) {
+						activate(next, position + 1);
+						alive = true;
+					}
+				}
+			}
+			long[] swap = current;
+			current = next;
+			next = swap;
+			if(!alive) {
+				return current;
+			}
+			Arrays.fill(next, 0);
+		}
+		return current;
+	}
+
+	/**
+	 * Checks whether no pattern can match any continuation of the text read so far.
+	 *
+	 * @param state The state
+	 * @return True if there are no active states
+	 */
+	public boolean isDead(long[] state) {
+		for(long word : state) {
+			if(word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Lists the patterns matching the text read so far, in increasing order.
+	 *
+	 * @param state  The state after reading the text
+	 * @param action The action to perform with the index of each matching pattern
+	 */
+	public void forEachMatch(long[] state, IntConsumer action) {
+		for(int word = 0; word < state.length; word++) {
+			long bits = state[word] & ends[word];
+			while(bits != 0) {
+				action.accept(owners[(word << 6) + Long.numberOfTrailingZeros(bits)]);
+				bits &= bits - 1;
+			}
+		}
+	}
+
+	/**
+	 * Gets the highest index of the patterns matching the text read so far.
+	 *
+	 * @param state The state after reading the text
+	 * @return The index of the last matching pattern, or -1 if there are none
+	 */
+	public int lastMatch(long[] state) {
+		for(int word = state.length - 1; word >= 0; word--) {
+			long bits = state[word] & ends[word];
+			if(bits != 0) {
+				return owners[(word << 6) + 63 - Long.numberOfLeadingZeros(bits)];
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the number of patterns.
+	 *
+	 * @return {@link #size}
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the initial state, before reading any text.
+	 *
+	 * @return A copy of {@link #start}
+	 */
+	public long[] start() {
+		return start.clone();
+	}
+}
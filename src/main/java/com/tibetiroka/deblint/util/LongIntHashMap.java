@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.util;
+
+/**
+ * A hash map from {@code long} keys to {@code int} values, without boxing. Keys are usually built from pairs of {@link SymbolTable} ids with {@link #key(int, int)}.
+ * <p>
+ * The map uses open addressing with linear probing, so its memory use is proportional to the number of distinct keys. Entries cannot be removed. This class is not thread-safe.
+ */
+public final class LongIntHashMap {
+	/**
+	 * The maximum ratio of used slots, before the map is resized.
+	 */
+	private static final float LOAD_FACTOR = 0.5f;
+	/**
+	 * The keys of the slots.
+	 */
+	private long[] keys;
+	/**
+	 * The number of entries in the map.
+	 */
+	private int size;
+	/**
+	 * Whether each slot is used.
+	 */
+	private boolean[] used;
+	/**
+	 * The values of the slots.
+	 */
+	private int[] values;
+
+	/**
+	 * Creates an empty map.
+	 */
+	public LongIntHashMap() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty map with space for the specified number of entries.
+	 *
+	 * @param capacity The expected number of entries
+	 */
+	public LongIntHashMap(int capacity) {
+		int slots = Integer.highestOneBit((int) (Math.max(capacity, 4) / LOAD_FACTOR) - 1) << 1;
+		this.keys = new long[slots];
+		this.values = new int[slots];
+		this.used = new boolean[slots];
+	}
+
+	/**
+	 * Combines two integers, such as symbol ids, into a single key.
+	 *
+	 * @param first  The first integer
+	 * @param second The second integer
+	 * @return The key
+	 */
+	public static long key(int first, int second) {
+		return ((long) first << 32) | (second & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Gets the first integer of a key created with {@link #key(int, int)}.
+	 *
+	 * @param key The key
+	 * @return The first integer
+	 */
+	public static int first(long key) {
+		return (int) (key >>> 32);
+	}
+
+	/**
+	 * Gets the second integer of a key created with {@link #key(int, int)}.
+	 *
+	 * @param key The key
+	 * @return The second integer
+	 */
+	public static int second(long key) {
+		return (int) key;
+	}
+
+	/**
+	 * Computes the preferred slot of a key.
+	 *
+	 * @param key  The key
+	 * @param mask The mask of the slot indices
+	 * @return The slot index
+	 */
+	private static int slot(long key, int mask) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	/**
+	 * Calls the consumer for each entry of the map, in no particular order.
+	 *
+	 * @param consumer The consumer of the entries
+	 */
+	public void forEach(EntryConsumer consumer) {
+		for(int i = 0; i < keys.length; i++) {
+			if(used[i]) {
+				consumer.accept(keys[i], values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Gets the value of a key.
+	 *
+	 * @param key          The key
+	 * @param defaultValue The value to return if the key is not in the map
+	 * @return The value of the key, or the default value
+	 */
+	public int get(long key, int defaultValue) {
+		int mask = keys.length - 1;
+		for(int index = slot(key, mask); used[index]; index = (index + 1) & mask) {
+			if(keys[index] == key) {
+				return values[index];
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Sets the value of a key.
+	 *
+	 * @param key   The key
+	 * @param value The new value
+	 */
+	public void put(long key, int value) {
+		int mask = keys.length - 1;
+		int index = slot(key, mask);
+		for(; used[index]; index = (index + 1) & mask) {
+			if(keys[index] == key) {
+				values[index] = value;
+				return;
+			}
+		}
+		used[index] = true;
+		keys[index] = key;
+		values[index] = value;
+		if(++size > keys.length * LOAD_FACTOR) {
+			rehash();
+		}
+	}
+
+	/**
+	 * Gets the number of entries in the map.
+	 *
+	 * @return {@link #size}
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Doubles the number of slots.
+	 */
+	private void rehash() {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		boolean[] oldUsed = used;
+		keys = new long[oldKeys.length * 2];
+		values = new int[oldKeys.length * 2];
+		used = new boolean[oldKeys.length * 2];
+		int mask = keys.length - 1;
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldUsed[i]) {
+				int index = slot(oldKeys[i], mask);
+				while(used[index]) {
+					index = (index + 1) & mask;
+				}
+				used[index] = true;
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+
+	/**
+	 * A consumer of the entries of a {@link LongIntHashMap}.
+	 */
+	@FunctionalInterface
+	public interface EntryConsumer {
+		/**
+		 * Consumes an entry.
+		 *
+		 * @param key   The key of the entry
+		 * @param value The value of the entry
+		 */
+		void accept(long key, int value);
+	}
+}
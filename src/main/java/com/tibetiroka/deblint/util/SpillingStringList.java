@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * An append-only list of strings that is moved to a temporary file whenever its estimated size exceeds a budget. File-wide checks use it for the summaries they keep of every stanza, so that huge files can be linted with bounded memory.
+ * <p>
+ * The strings are read in {@link #forEachBatch(Consumer) batches}: the spilled strings are read back from the file, one batch of at most the budget at a time, followed by the strings still in memory. This class is not thread-safe.
+ */
+public final class SpillingStringList implements Closeable {
+	/**
+	 * The estimated memory used by a string besides its characters: the object and array headers, and the reference in the list.
+	 */
+	private static final int OVERHEAD = 48;
+	/**
+	 * The total number of bytes written to temporary files by all lists.
+	 */
+	private static final AtomicLong SPILLED_BYTES = new AtomicLong();
+	/**
+	 * The maximum estimated size of the strings kept in memory, in bytes.
+	 */
+	private final long budget;
+	/**
+	 * The strings added since the last spill.
+	 */
+	private final List<String> memory = new ArrayList<>();
+	/**
+	 * The temporary file, or null if nothing was spilled.
+	 */
+	private Path file;
+	/**
+	 * The estimated size of {@link #memory}, in bytes.
+	 */
+	private long memoryBytes;
+	/**
+	 * The stream writing {@link #file}, or null if nothing was spilled.
+	 */
+	private DataOutputStream out;
+	/**
+	 * The largest estimated size of the strings in memory, in bytes.
+	 */
+	private long peakBytes;
+	/**
+	 * The number of strings in {@link #file}.
+	 */
+	private int spilled;
+
+	/**
+	 * Creates an empty list.
+	 *
+	 * @param budget The maximum estimated size of the strings kept in memory, in bytes
+	 */
+	public SpillingStringList(long budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Gets the number of bytes written to temporary files by all lists so far.
+	 *
+	 * @return {@link #SPILLED_BYTES}
+	 */
+	public static long getSpilledBytes() {
+		return SPILLED_BYTES.get();
+	}
+
+	/**
+	 * Estimates the memory used by a string.
+	 *
+	 * @param value The string
+	 * @return The estimated size, in bytes
+	 */
+	private static long estimate(String value) {
+		return OVERHEAD + value.length();
+	}
+
+	/**
+	 * Appends a string, spilling the list to the temporary file if it exceeds the budget.
+	 *
+	 * @param value The string
+	 * @throws UncheckedIOException If the temporary file cannot be written
+	 */
+	public void add(String value) {
+		memory.add(value);
+		memoryBytes += estimate(value);
+		peakBytes = Math.max(peakBytes, memoryBytes);
+		if(memoryBytes > budget) {
+			spill();
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			if(out != null) {
+				out.close();
+				Files.deleteIfExists(file);
+				out = null;
+			}
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Passes every string to an action, in the order they were added. Each batch is at most the budget, except for strings larger than the budget.
+	 *
+	 * @param action The action receiving the unmodifiable batches
+	 * @throws UncheckedIOException If the temporary file cannot be read
+	 */
+	public void forEachBatch(Consumer<List<String>> action) {
+		if(out != null) {
+			try {
+				out.flush();
+				try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+					List<String> batch = new ArrayList<>();
+					long bytes = 0;
+					for(int i = 0; i < spilled; i++) {
+						byte[] data = new byte[in.readInt()];
+						in.readFully(data);
+						String value = new String(data, StandardCharsets.UTF_8);
+						batch.add(value);
+						bytes += estimate(value);
+						peakBytes = Math.max(peakBytes, memoryBytes + bytes);
+						if(bytes >= budget) {
+							action.accept(Collections.unmodifiableList(batch));
+							batch = new ArrayList<>();
+							bytes = 0;
+						}
+					}
+					if(!batch.isEmpty()) {
+						action.accept(Collections.unmodifiableList(batch));
+					}
+				}
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		if(!memory.isEmpty()) {
+			action.accept(Collections.unmodifiableList(memory));
+		}
+	}
+
+	/**
+	 * Gets the largest estimated size of the strings held in memory, including the batches read back from the temporary file.
+	 *
+	 * @return {@link #peakBytes}
+	 */
+	public long getPeakBytes() {
+		return peakBytes;
+	}
+
+	/**
+	 * Checks whether any strings were moved to the temporary file.
+	 *
+	 * @return True if the list was spilled
+	 */
+	public boolean isSpilled() {
+		return spilled > 0;
+	}
+
+	/**
+	 * Gets the number of strings in the list.
+	 *
+	 * @return The number of strings, including the spilled ones
+	 */
+	public int size() {
+		return spilled + memory.size();
+	}
+
+	/**
+	 * Moves the strings in memory to the end of the temporary file, creating it if needed.
+	 *
+	 * @throws UncheckedIOException If the temporary file cannot be written
+	 */
+	private void spill() {
+		try {
+			if(out == null) {
+				file = Files.createTempFile("deblint-", ".spill");
+				file.toFile().deleteOnExit();
+				out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+			}
+			for(String value : memory) {
+				byte[] data = value.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(data.length);
+				out.write(data);
+				SPILLED_BYTES.addAndGet(Integer.BYTES + data.length);
+			}
+			spilled += memory.size();
+			memory.clear();
+			memoryBytes = 0;
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.util;
+
+import java.util.Arrays;
+
+/**
+ * Assigns dense integer ids to strings, starting from 0 in the order the strings are first seen. Other tables can then be keyed by these ids instead of the strings themselves.
+ * <p>
+ * The table uses open addressing with linear probing, and only stores each distinct string once. This class is not thread-safe.
+ */
+public final class SymbolTable {
+	/**
+	 * The maximum ratio of used slots in {@link #table}, before it is resized.
+	 */
+	private static final float LOAD_FACTOR = 0.5f;
+	/**
+	 * The hash of each symbol, by id.
+	 */
+	private int[] hashes;
+	/**
+	 * The number of symbols in the table.
+	 */
+	private int size;
+	/**
+	 * The symbols, by id.
+	 */
+	private String[] symbols;
+	/**
+	 * The slots of the hash table, containing the id of a symbol plus one, or 0 if empty.
+	 */
+	private int[] table;
+
+	/**
+	 * Creates an empty symbol table.
+	 */
+	public SymbolTable() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty symbol table with space for the specified number of symbols.
+	 *
+	 * @param capacity The expected number of symbols
+	 */
+	public SymbolTable(int capacity) {
+		capacity = Math.max(capacity, 4);
+		this.symbols = new String[capacity];
+		this.hashes = new int[capacity];
+		this.table = new int[Integer.highestOneBit((int) (capacity / LOAD_FACTOR) - 1) << 1];
+	}
+
+	/**
+	 * Mixes the bits of a hash code, so that similar strings are spread across the table.
+	 *
+	 * @param hash The hash code
+	 * @return The mixed hash
+	 */
+	private static int mix(int hash) {
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Gets the id of a symbol without adding it to the table.
+	 *
+	 * @param symbol The symbol
+	 * @return The id, or -1 if the symbol is not in the table
+	 */
+	public int find(String symbol) {
+		int hash = mix(symbol.hashCode());
+		int mask = table.length - 1;
+		for(int index = hash & mask; table[index] != 0; index = (index + 1) & mask) {
+			int id = table[index] - 1;
+			if(hashes[id] == hash && symbols[id].equals(symbol)) {
+				return id;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the symbol with the specified id.
+	 *
+	 * @param id The id of the symbol
+	 * @return The symbol
+	 */
+	public String get(int id) {
+		if(id < 0 || id >= size) {
+			throw new IndexOutOfBoundsException(id);
+		}
+		return symbols[id];
+	}
+
+	/**
+	 * Gets the id of a symbol, adding it to the table if not yet present.
+	 *
+	 * @param symbol The symbol
+	 * @return The id of the symbol
+	 */
+	public int intern(String symbol) {
+		int hash = mix(symbol.hashCode());
+		int mask = table.length - 1;
+		int index = hash & mask;
+		for(; table[index] != 0; index = (index + 1) & mask) {
+			int id = table[index] - 1;
+			if(hashes[id] == hash && symbols[id].equals(symbol)) {
+				return id;
+			}
+		}
+		if(size == symbols.length) {
+			symbols = Arrays.copyOf(symbols, size * 2);
+			hashes = Arrays.copyOf(hashes, size * 2);
+		}
+		int id = size++;
+		symbols[id] = symbol;
+		hashes[id] = hash;
+		table[index] = id + 1;
+		if(size > table.length * LOAD_FACTOR) {
+			rehash();
+		}
+		return id;
+	}
+
+	/**
+	 * Gets the number of symbols in the table. The ids of the symbols are the integers from 0 to this value, exclusive.
+	 *
+	 * @return {@link #size}
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Doubles the size of the hash table.
+	 */
+	private void rehash() {
+		int[] table = new int[this.table.length * 2];
+		int mask = table.length - 1;
+		for(int id = 0; id < size; id++) {
+			int index = hashes[id] & mask;
+			while(table[index] != 0) {
+				index = (index + 1) & mask;
+			}
+			table[index] = id + 1;
+		}
+		this.table = table;
+	}
+}
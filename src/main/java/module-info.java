@@ -1,3 +1,5 @@
 module debian.control.linter {
 	requires jakarta.mail;
-}
\ No newline at end of file
+	requires java.management;
+	requires jdk.jfr;
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint;
+
+import com.tibetiroka.deblint.parser.Line;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class DiagnosticTest {
+	@Test
+	public void message() {
+		assertEquals("Invalid package name: Foo", new Diagnostic("Invalid package name: {}", new Object[]{new Line("Foo", 3)}, null, null, 3, null).message());
+		assertEquals("Duplicate file pattern: a/* and a/b", new Diagnostic("Duplicate file pattern: {} and {}", new Object[]{"a/*", "a/b"}, "duplicateFilePattern", null, 1, null).message());
+		assertEquals("Listed size of a.tar is 5, but the file has {} bytes", new Diagnostic("Listed size of {} is {}, but the file has {} bytes", new Object[]{"a.tar", 5}, null, null, -1, null).message());
+		assertEquals("Template {} without arguments", new Diagnostic("Template {} without arguments", null, null, -1).message());
+	}
+
+	@Test
+	public void copies() {
+		Diagnostic diagnostic = new Diagnostic("Unknown section: {}", new Object[]{"foo"}, "strictSection", References.SECTIONS, 4, null);
+		Diagnostic moved = diagnostic.withContext("hello 1.0").withLine(7);
+		assertEquals("Unknown section: foo", moved.message());
+		assertEquals("hello 1.0", moved.context());
+		assertEquals(7, moved.line());
+		assertSame(diagnostic, diagnostic.withLine(4));
+	}
+}
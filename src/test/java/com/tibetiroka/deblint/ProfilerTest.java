@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint;
+
+import com.tibetiroka.deblint.Profiler.Kind;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class ProfilerTest {
+	@Test
+	public void disabled() {
+		assertEquals(0, Profiler.enter(Kind.FIELD, "ProfilerTest-Disabled"));
+		Profiler.exit(0);
+		assertFalse(print(false).contains("ProfilerTest-Disabled"));
+	}
+
+	@Test
+	public void counts() {
+		Profiler.ENABLED = true;
+		try {
+			long file = Profiler.enter(Kind.FILE, "ProfilerTest-File");
+			for(int i = 0; i < 3; i++) {
+				long field = Profiler.enter(Kind.FIELD, "ProfilerTest-Field");
+				Profiler.diagnostic("profilerTestCheck");
+				Profiler.exit(field);
+			}
+			Profiler.diagnostic(null);
+			Profiler.exit(file);
+		} finally {
+			Profiler.ENABLED = false;
+		}
+		String json = print(true);
+		assertTrue(json.contains("{\"kind\":\"file\",\"name\":\"ProfilerTest-File\",\"invocations\":1,"), json);
+		assertTrue(json.contains("{\"kind\":\"field\",\"name\":\"ProfilerTest-Field\",\"invocations\":3,"), json);
+		assertTrue(json.contains("\"name\":\"profilerTestCheck\",\"invocations\":0,\"totalNanos\":0,\"maxNanos\":0,\"errors\":3}"), json);
+		assertTrue(json.indexOf("ProfilerTest-File") < json.indexOf("ProfilerTest-Field"), json);
+		String table = print(false);
+		assertTrue(table.lines().anyMatch(line -> line.startsWith("file ") && line.contains("ProfilerTest-File") && line.endsWith(" 1")), table);
+		assertTrue(table.lines().anyMatch(line -> line.startsWith("field ") && line.contains("ProfilerTest-Field") && line.endsWith(" 3")), table);
+	}
+
+	private static String print(boolean json) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Profiler.print(new PrintStream(out, true, StandardCharsets.UTF_8), json);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+}
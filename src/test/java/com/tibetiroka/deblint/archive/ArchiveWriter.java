@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds small archives in memory for tests.
+ */
+final class ArchiveWriter {
+	static byte[] deb(String controlName, byte[] control) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.writeBytes("!<arch>\n".getBytes(StandardCharsets.US_ASCII));
+		arMember(out, "debian-binary", "2.0\n".getBytes(StandardCharsets.US_ASCII));
+		arMember(out, controlName, control);
+		arMember(out, "data.tar.gz", gzip(tar()));
+		return out.toByteArray();
+	}
+
+	static byte[] gzip(byte[] data) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try(GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(data);
+		}
+		return out.toByteArray();
+	}
+
+	static byte[] tar(String... files) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		tarEntry(out, "./", '5', new byte[0]);
+		tarEntry(out, "./md5sums", '0', "d41d8cd98f00b204e9800998ecf8427e  usr/bin/hello\n".getBytes(StandardCharsets.UTF_8));
+		for(int i = 0; i < files.length; i += 2) {
+			tarEntry(out, files[i], '0', files[i + 1].getBytes(StandardCharsets.UTF_8));
+		}
+		out.writeBytes(new byte[1024]);
+		return out.toByteArray();
+	}
+
+	private static void arMember(ByteArrayOutputStream out, String name, byte[] data) {
+		String header = "%-16s%-12s%-6s%-6s%-8s%-10d`\n".formatted(name + "/", "0", "0", "0", "100644", data.length);
+		out.writeBytes(header.getBytes(StandardCharsets.US_ASCII));
+		out.writeBytes(data);
+		if(data.length % 2 == 1) {
+			out.write('\n');
+		}
+	}
+
+	private static void put(byte[] header, int offset, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+		System.arraycopy(bytes, 0, header, offset, bytes.length);
+	}
+
+	private static void tarEntry(ByteArrayOutputStream out, String name, char type, byte[] data) {
+		byte[] header = new byte[512];
+		put(header, 0, name);
+		put(header, 100, "0000644");
+		put(header, 124, "%011o".formatted(data.length));
+		put(header, 148, "        ");
+		header[156] = (byte) type;
+		put(header, 257, "ustar");
+		put(header, 263, "00");
+		int sum = 0;
+		for(byte b : header) {
+			sum += b & 0xff;
+		}
+		put(header, 148, "%06o".formatted(sum));
+		out.writeBytes(header);
+		out.writeBytes(data);
+		out.writeBytes(new byte[(512 - data.length % 512) % 512]);
+	}
+}
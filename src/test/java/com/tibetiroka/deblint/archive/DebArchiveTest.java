@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.archive;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.parser.ControlFile;
+import com.tibetiroka.deblint.parser.ControlType;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class DebArchiveTest {
+	private static final String CONTROL = """
+			Package: hello
+			Version: 2.10-3
+			Architecture: amd64
+			Maintainer: Santiago Vila <sanvila@debian.org>
+			Installed-Size: 284
+			Section: devel
+			Priority: optional
+			Description: example package based on GNU hello
+			 The GNU hello program produces a familiar, friendly greeting.
+			""";
+
+	@Test
+	public void lintPackage(@TempDir Path dir) throws IOException {
+		Path deb = dir.resolve("hello_2.10-3_amd64.deb");
+		Files.write(deb, ArchiveWriter.deb("control.tar.gz", ArchiveWriter.gzip(ArchiveWriter.tar("./control", CONTROL))));
+		Configuration config = Configuration.PRESET_NORMAL.clone();
+		config.urlExists = false;
+		config.targetFile = deb.toFile();
+		config.apply();
+		assertEquals(ControlType.BINARY_PACKAGE_CONTROL, config.checkedType);
+		ControlFile file = new ControlFile(config);
+		assertDoesNotThrow(() -> {
+			file.parse();
+			file.matchStanzas();
+			file.lintStanzas();
+		});
+		assertEquals("hello", file.getStanzas().getFirst().getField("Package").data());
+	}
+
+	@Test
+	public void externalDecompressor() throws IOException {
+		byte[] data = "compressed".getBytes(StandardCharsets.UTF_8);
+		try(InputStream in = Decompressors.external("cat").open(new ByteArrayInputStream(data))) {
+			assertArrayEquals(data, in.readAllBytes());
+		}
+		// corrupt data is truncated by the decompressor
+		InputStream truncated = Decompressors.external("sh", "-c", "head -c 3; echo corrupt data >&2; exit 1").open(new ByteArrayInputStream(data));
+		IOException e = assertThrows(IOException.class, truncated::readAllBytes);
+		assertEquals("sh exited with status 1: corrupt data", e.getMessage());
+		truncated.close();
+		InputStream unread = Decompressors.external("sh", "-c", "cat; exit 2").open(new ByteArrayInputStream(data));
+		assertEquals('c', unread.read());
+		e = assertThrows(IOException.class, unread::close);
+		assertEquals("sh exited with status 2", e.getMessage());
+	}
+
+	@Test
+	public void readControl() throws IOException {
+		assertEquals(CONTROL.lines().toList(), DebArchive.readControl(new ByteArrayInputStream(ArchiveWriter.deb("control.tar", ArchiveWriter.tar("./control", CONTROL)))));
+		assertEquals(CONTROL.lines().toList(), DebArchive.readControl(new ByteArrayInputStream(ArchiveWriter.deb("control.tar.gz", ArchiveWriter.gzip(ArchiveWriter.tar("./control", CONTROL))))));
+		IOException e = assertThrows(IOException.class, () -> DebArchive.readControl(new ByteArrayInputStream(ArchiveWriter.deb("control.tar.bz2", ArchiveWriter.tar("./control", CONTROL)))));
+		assertEquals("Unsupported compression: control.tar.bz2", e.getMessage());
+		e = assertThrows(IOException.class, () -> DebArchive.readControl(new ByteArrayInputStream("hello".getBytes(StandardCharsets.US_ASCII))));
+		assertEquals("Not an ar archive", e.getMessage());
+	}
+}
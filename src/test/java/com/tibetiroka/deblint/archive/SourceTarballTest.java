@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.archive;
+
+import com.tibetiroka.deblint.Configuration;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class SourceTarballTest {
+	private static final String CONTROL = """
+			Source: hello
+			Maintainer: Santiago Vila <%s>
+			Section: devel
+			Priority: optional
+			Standards-Version: 4.6.2
+			Build-Depends: debhelper-compat (= 13)
+			
+			Package: hello
+			Architecture: any
+			Depends: libc6 (>= 2.36)
+			Description: example package based on GNU hello
+			 The GNU hello program produces a familiar, friendly greeting.
+			""";
+	private static final String COPYRIGHT = """
+			Format: https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/
+			Upstream-Name: hello
+			Source: https://www.gnu.org/software/hello/
+			
+			Files: *
+			Copyright: 1992-2022 Free Software Foundation, Inc.
+			License: %s
+			 description
+			""";
+
+	@Test
+	public void isTarball() {
+		assertTrue(SourceTarball.isTarball(new File("hello_2.10-3.debian.tar.xz")));
+		assertTrue(SourceTarball.isTarball(new File("hello_2.10.tar")));
+		assertFalse(SourceTarball.isTarball(new File("hello_2.10-3.dsc")));
+		assertFalse(SourceTarball.isTarball(new File("hello.target")));
+	}
+
+	@Test
+	public void lint(@TempDir Path dir) throws IOException {
+		Configuration config = Configuration.PRESET_NORMAL.clone();
+		config.urlExists = false;
+		File debian = write(dir, "hello_2.10-3.debian.tar.gz", "debian/control", CONTROL.formatted("sanvila@debian.org"), "debian/copyright", COPYRIGHT.formatted("GPL-3+"), "debian/tests/control", "not a control file");
+		assertDoesNotThrow(() -> SourceTarball.lint(debian, config));
+		File nativeTarball = write(dir, "hello_2.10.tar.gz", "hello-2.10/src/hello.c", "int main;", "hello-2.10/debian/control", CONTROL.formatted("sanvila@@debian.org"));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> SourceTarball.lint(nativeTarball, config));
+		assertEquals("Invalid email address: sanvila@@debian.org", e.getMessage());
+		File copyright = write(dir, "hello_2.10-4.debian.tar.gz", "debian/copyright", COPYRIGHT.formatted("GPL 3"));
+		assertThrows(IllegalArgumentException.class, () -> SourceTarball.lint(copyright, config));
+	}
+
+	private static File write(Path dir, String name, String... files) throws IOException {
+		Path path = dir.resolve(name);
+		Files.write(path, ArchiveWriter.gzip(ArchiveWriter.tar(files)));
+		return path.toFile();
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.events;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.parser.ControlFile;
+import com.tibetiroka.deblint.parser.ControlType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class EventsTest {
+	private static final String PACKAGES = """
+			Package: hello
+			Version: 2.10-3
+			Architecture: amd64
+			Maintainer: Santiago Vila <sanvila@debian.org>
+			Description: example package based on GNU hello
+			Filename: pool/main/h/hello/hello_2.10-3_amd64.deb
+			Size: 53000
+			SHA256: 6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6
+			""";
+
+	@Test
+	public void parseAndCheck() throws IOException {
+		Configuration config = Configuration.PRESET_QUIRKS.clone();
+		config.checkedType = ControlType.PACKAGES_INDEX;
+		List<RecordedEvent> events = record(() -> {
+			ControlFile file = new ControlFile(config);
+			file.parse(PACKAGES.lines().toList());
+			file.matchStanzas();
+			file.lintStanzas();
+		});
+		String type = ControlType.PACKAGES_INDEX.getTypeName();
+		List<RecordedEvent> parse = events.stream().filter(e -> e.getEventType().getName().equals("com.tibetiroka.deblint.Parse")).toList();
+		assertEquals(1, parse.size());
+		assertEquals(8, parse.getFirst().getInt("lines"));
+		assertEquals(1, parse.getFirst().getInt("stanzas"));
+		assertEquals(type, parse.getFirst().getString("type"));
+		List<RecordedEvent> checks = events.stream().filter(e -> e.getEventType().getName().equals("com.tibetiroka.deblint.Check")).toList();
+		assertEquals(List.of("1 Package", "2 Version", "3 Architecture", "4 Maintainer", "5 Description", "6 Filename", "7 Size", "8 SHA256"), checks.stream().map(e -> e.getInt("line") + " " + e.getString("field")).sorted().toList());
+		for(RecordedEvent check : checks) {
+			assertEquals(type, check.getString("type"));
+			assertEquals("binary package index stanza", check.getString("stanza"));
+		}
+	}
+
+	@Test
+	public void disabledByDefault() throws IOException {
+		Path file = Files.createTempFile("deblint", ".jfr");
+		try(Recording recording = new Recording()) {
+			recording.start();
+			new ParseEvent().commit();
+			recording.stop();
+			recording.dump(file);
+			assertTrue(RecordingFile.readAllEvents(file).stream().noneMatch(e -> e.getEventType().getName().equals("com.tibetiroka.deblint.Parse")));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static List<RecordedEvent> record(Runnable action) throws IOException {
+		Path file = Files.createTempFile("deblint", ".jfr");
+		try(Recording recording = new Recording()) {
+			recording.enable(ParseEvent.class);
+			recording.enable(CheckEvent.class);
+			recording.start();
+			Main.defer(action);
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.git;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Diagnostic;
+import com.tibetiroka.deblint.Main;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class GitHistoryTest {
+	private static final String CONTROL = """
+			Source: hello
+			Maintainer: Santiago Vila <%s>
+			Section: devel
+			Priority: optional
+			Standards-Version: %s
+			
+			Package: hello
+			Architecture: any
+			Description: example package based on GNU hello
+			 The GNU hello program produces a familiar, friendly greeting.
+			""";
+	private static final String COPYRIGHT = """
+			Format: https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/
+			Upstream-Name: hello
+			Source: https://www.gnu.org/software/hello/
+			
+			Files: *
+			Copyright: 1992-2022 Free Software Foundation, Inc.
+			License: GPL-3+
+			 description
+			""";
+
+	@Test
+	public void lintHistory(@TempDir Path dir) throws IOException, InterruptedException {
+		Assumptions.assumeTrue(git(dir, "init", "-q"), "git is not available");
+		Files.createDirectories(dir.resolve("debian"));
+		commit(dir, "debian/control", CONTROL.formatted("sanvila@debian.org", "4.6.2"));
+		commit(dir, "debian/copyright", COPYRIGHT);
+		commit(dir, "README", "hello");
+		commit(dir, "debian/control", CONTROL.formatted("sanvila@debian.org", "4.7.0"));
+		commit(dir, "debian/control", CONTROL.formatted("sanvila@debian.org", "4.6.2"));
+		Configuration config = Configuration.PRESET_NORMAL.clone();
+		config.urlExists = false;
+		// the reverted control file is not linted again
+		assertEquals(3, GitHistory.lint(dir.toFile(), "HEAD", config));
+		assertEquals(0, GitHistory.lint(dir.toFile(), "HEAD..HEAD", config));
+		commit(dir, "debian/control", CONTROL.formatted("sanvila@@debian.org", "4.6.2"));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> GitHistory.lint(dir.toFile(), "HEAD~1..HEAD", config));
+		assertEquals("Invalid email address: sanvila@@debian.org", e.getMessage());
+		e = assertThrows(IllegalArgumentException.class, () -> GitHistory.lint(dir.toFile(), "missing", config));
+		assertTrue(e.getMessage().startsWith("Could not list revisions: "));
+	}
+
+	@Test
+	public void replayCachedErrors(@TempDir Path dir) throws IOException, InterruptedException {
+		Assumptions.assumeTrue(git(dir, "init", "-q"), "git is not available");
+		Files.createDirectories(dir.resolve("debian"));
+		StringBuilder specific = new StringBuilder();
+		for(int i = 0; i < 50; i++) {
+			specific.append(" src/file").append(i).append(".c\n");
+		}
+		String copyright = COPYRIGHT + "\nFiles:\n" + specific + "Copyright: 2024 Test\nLicense: GPL-3+\n\nFiles: src/*\nCopyright: %s Test\nLicense: GPL-3+\n";
+		commit(dir, "debian/copyright", copyright.formatted("2024"));
+		commit(dir, "debian/copyright", copyright.formatted("2025"));
+		commit(dir, "debian/copyright", copyright.formatted("2024"));
+		Configuration config = Configuration.PRESET_NORMAL.clone();
+		config.urlExists = false;
+		int[] linted = {0};
+		List<Diagnostic> diagnostics = Main.defer(() -> linted[0] = GitHistory.lint(dir.toFile(), "HEAD", config));
+		// the reverted file is replayed from the cache, with every error of the parallel generality check
+		assertEquals(2, linted[0]);
+		assertEquals(150, diagnostics.stream().filter(d -> "copyrightFilePatternGenerality".equals(d.check())).count());
+		List<String> first = diagnostics.subList(0, diagnostics.size() / 3).stream().map(Diagnostic::message).toList();
+		assertEquals(first, diagnostics.subList(diagnostics.size() / 3 * 2, diagnostics.size()).stream().map(Diagnostic::message).toList());
+		assertEquals("More generic patterns should precede specific ones: src/file0.c and src/*", first.getFirst());
+	}
+
+	private static void commit(Path dir, String file, String text) throws IOException, InterruptedException {
+		Files.writeString(dir.resolve(file), text);
+		assertTrue(git(dir, "add", file));
+		assertTrue(git(dir, "-c", "user.name=Test", "-c", "user.email=test@example.org", "commit", "-q", "-m", "Update " + file));
+	}
+
+	private static boolean git(Path dir, String... args) throws InterruptedException {
+		String[] command = new String[args.length + 3];
+		command[0] = "git";
+		command[1] = "-C";
+		command[2] = dir.toString();
+		System.arraycopy(args, 0, command, 3, args.length);
+		try {
+			return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start().waitFor() == 0;
+		} catch(IOException e) {
+			return false;
+		}
+	}
+}
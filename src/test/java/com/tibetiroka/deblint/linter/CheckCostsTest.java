@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import com.tibetiroka.deblint.parser.FieldSpec;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.tibetiroka.deblint.parser.FieldSpec.RequirementStatus.OPTIONAL;
+import static com.tibetiroka.deblint.parser.FieldType.SIMPLE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class CheckCostsTest {
+	@Test
+	public void order() {
+		FieldLinter cheap = (s, config) -> {
+		};
+		FieldLinter expensive = (s, config) -> {
+		};
+		FieldLinter unmeasured = (s, config) -> {
+		};
+		Map<String, FieldSpec> fields = new LinkedHashMap<>();
+		fields.put("Homepage", new FieldSpec(OPTIONAL, SIMPLE, expensive));
+		fields.put("Section", new FieldSpec(OPTIONAL, SIMPLE, cheap));
+		fields.put("Priority", new FieldSpec(OPTIONAL, SIMPLE, unmeasured));
+		CheckCosts.estimate(expensive, 10_000_000);
+		CheckCosts.measure(cheap, 300);
+		CheckCosts.measure(cheap, 500);
+		assertEquals(400, CheckCosts.cost(cheap));
+		assertEquals(0, CheckCosts.cost(unmeasured));
+		assertEquals(List.of("Priority", "Section", "Homepage"), CheckCosts.order(fields).stream().map(Map.Entry::getKey).toList());
+		// measurements are averaged with the estimate
+		CheckCosts.measure(expensive, 0);
+		assertEquals(5_000_000, CheckCosts.cost(expensive));
+	}
+
+	@Test
+	public void slowLintersAreEstimated() {
+		assertTrue(CheckCosts.cost(Linters.URL_LINTER) >= CheckCosts.cost(Linters.ADDRESS_LINTER));
+		assertTrue(CheckCosts.cost(Linters.ADDRESS_LINTER) > 0);
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class DeadlineTest {
+	private static final Pattern BACKTRACKING = Pattern.compile("^(.*a){20}b$");
+	private static final String INPUT = "a".repeat(28);
+
+	@Test
+	public void unlimited() {
+		Deadline previous = Deadline.enter(0, false);
+		try {
+			assertNull(Deadline.current());
+			assertSame(INPUT, Deadline.watch(INPUT));
+			Deadline.check();
+		} finally {
+			Deadline.exit(previous);
+		}
+	}
+
+	@Test
+	public void regex() {
+		Deadline previous = Deadline.enter(20, false);
+		try {
+			Deadline.Exceeded e = assertThrows(Deadline.Exceeded.class, () -> BACKTRACKING.matcher(Deadline.watch(INPUT)).matches());
+			assertEquals(20, e.getBudget());
+			assertFalse(e.isFile());
+		} finally {
+			Deadline.exit(previous);
+		}
+		assertNull(Deadline.current());
+	}
+
+	@Test
+	public void nested() throws InterruptedException {
+		Deadline file = Deadline.enter(1, true);
+		try {
+			Thread.sleep(5);
+			Deadline check = Deadline.enter(60_000, false);
+			try {
+				assertEquals(1, Deadline.remainingMillis(30_000));
+				Deadline.Exceeded e = assertThrows(Deadline.Exceeded.class, Deadline::check);
+				assertTrue(e.isFile());
+			} finally {
+				Deadline.exit(check);
+			}
+		} finally {
+			Deadline.exit(file);
+		}
+	}
+
+	@Test
+	public void parallel() {
+		Deadline previous = Deadline.enter(20, false);
+		try {
+			Deadline deadline = Deadline.current();
+			assertThrows(Deadline.Exceeded.class, () -> List.of(INPUT, INPUT, INPUT, INPUT).parallelStream().forEach(text -> Deadline.run(deadline, () -> BACKTRACKING.matcher(Deadline.watch(text)).matches())));
+		} finally {
+			Deadline.exit(previous);
+		}
+	}
+
+	@Test
+	public void filePatterns() {
+		Linters.TypeCopyrightLinter linter = new Linters.TypeCopyrightLinter();
+		assertTrue(linter.isMoreGeneric("*", "src/*.c"));
+		Deadline previous = Deadline.enter(20, false);
+		try {
+			assertThrows(Deadline.Exceeded.class, () -> linter.isMoreGeneric("*a*a*a*a*a*a*a*a*a*a*a*a*a*a*b", "*a*a*a*a*a*a*a*a*a*a*a*a*a*a*c"));
+		} finally {
+			Deadline.exit(previous);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Diagnostic;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.parser.ControlFile;
+import com.tibetiroka.deblint.parser.ControlType;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class FileVerifierTest {
+	private static final String STANZA = """
+			Format: 3.0 (quilt)
+			Source: hello
+			Files:
+			 %1$s %4$d hello_2.10.orig.tar.gz
+			 %1$s %4$d hello_2.10-3.debian.tar.xz
+			Checksums-Sha1:
+			 %2$s %4$d hello_2.10.orig.tar.gz
+			 %2$s %4$d hello_2.10-3.debian.tar.xz
+			Checksums-Sha256:
+			 %3$s %4$d hello_2.10.orig.tar.gz
+			 %3$s %4$d hello_2.10-3.debian.tar.xz
+			""";
+
+	@Test
+	public void verify(@TempDir Path dir) throws IOException, NoSuchAlgorithmException {
+		byte[] data = new byte[(1 << 20) * 3 + 17];
+		for(int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i * 31);
+		}
+		Files.write(dir.resolve("hello_2.10.orig.tar.gz"), data);
+		Files.write(dir.resolve("hello_2.10-3.debian.tar.xz"), data);
+		String md5 = hash("MD5", data);
+		String sha1 = hash("SHA-1", data);
+		String sha256 = hash("SHA-256", data);
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		config.checkedType = ControlType.SOURCE_CONTROL;
+		config.verifyFiles = dir.toFile();
+		assertDoesNotThrow(() -> verify(config, STANZA.formatted(md5, sha1, sha256, data.length)));
+		assertDoesNotThrow(() -> verify(config, STANZA.formatted(md5.toUpperCase(), sha1, sha256, data.length)));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> verify(config, STANZA.formatted(md5, sha1, sha256, data.length + 1)));
+		assertEquals("Listed size of hello_2.10.orig.tar.gz is " + (data.length + 1) + ", but the file has " + data.length + " bytes", e.getMessage());
+		String wrong = "0".repeat(64);
+		e = assertThrows(IllegalArgumentException.class, () -> verify(config, STANZA.formatted(md5, sha1, wrong, data.length)));
+		assertEquals("SHA256 checksum of hello_2.10.orig.tar.gz does not match: listed " + wrong + ", actual " + sha256, e.getMessage());
+		Files.delete(dir.resolve("hello_2.10-3.debian.tar.xz"));
+		e = assertThrows(IllegalArgumentException.class, () -> verify(config, STANZA.formatted(md5, sha1, sha256, data.length)));
+		assertEquals("Listed file does not exist: hello_2.10-3.debian.tar.xz", e.getMessage());
+	}
+
+	@Test
+	public void pathTraversal(@TempDir Path dir) throws IOException {
+		Path verified = Files.createDirectory(dir.resolve("upload"));
+		Files.writeString(dir.resolve("secret"), "secret");
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		config.checkedType = ControlType.SOURCE_CONTROL;
+		config.verifyFiles = verified.toFile();
+		String stanza = "Format: 3.0 (quilt)\nSource: hello\nFiles:\n %s 6 ../secret\n %s 6 ..\n".formatted("0".repeat(32), "0".repeat(32));
+		ControlFile file = new ControlFile(config);
+		file.parse(stanza.lines().toList());
+		List<String> errors = Main.defer(() -> FileVerifier.verify(file.getStanzas().getFirst(), config)).stream().map(Diagnostic::message).toList();
+		assertEquals(List.of("Listed file name is not a plain file name: ../secret", "Listed file name is not a plain file name: .."), errors);
+	}
+
+	private static String hash(String algorithm, byte[] data) throws NoSuchAlgorithmException {
+		return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(data));
+	}
+
+	private static void verify(Configuration config, String text) {
+		ControlFile file = new ControlFile(config);
+		file.parse(text.lines().toList());
+		FileVerifier.verify(file.getStanzas().getFirst(), config);
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Main;
+import com.tibetiroka.deblint.parser.ControlType;
+import com.tibetiroka.deblint.parser.Line;
+import com.tibetiroka.deblint.parser.StanzaSpec;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoizedFieldLinterTest {
+	@Test
+	public void configurationChanges() {
+		AtomicInteger calls = new AtomicInteger();
+		MemoizedFieldLinter linter = new MemoizedFieldLinter((s, config) -> calls.incrementAndGet());
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		linter.accept(new Line("amd64", 1), config);
+		linter.accept(new Line("amd64", 2), config.clone());
+		assertEquals(1, calls.get());
+		Configuration changedCheck = config.clone();
+		changedCheck.strictArch = false;
+		linter.accept(new Line("amd64", 3), changedCheck);
+		assertEquals(2, calls.get());
+		Configuration changedType = changedCheck.clone();
+		changedType.checkedType = ControlType.CHANGES;
+		linter.accept(new Line("amd64", 4), changedType);
+		assertEquals(3, calls.get());
+		Configuration changedFile = changedType.clone();
+		changedFile.targetFile = new File("other.changes");
+		linter.accept(new Line("amd64", 5), changedFile);
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void declaredOptions() {
+		AtomicInteger calls = new AtomicInteger();
+		MemoizedFieldLinter linter = new MemoizedFieldLinter((s, config) -> calls.incrementAndGet(), MemoizedFieldLinter.DEFAULT_CAPACITY, "buildProfiles");
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		linter.accept(new Line("amd64", 1), config);
+		Configuration changedProfiles = config.clone();
+		changedProfiles.buildProfiles = Set.of("nocheck");
+		linter.accept(new Line("amd64", 2), changedProfiles);
+		assertEquals(2, calls.get());
+		linter.accept(new Line("amd64", 3), changedProfiles.clone());
+		assertEquals(2, calls.get());
+		assertThrows(IllegalArgumentException.class, () -> new MemoizedFieldLinter(Linters.DEFAULT_LINTER, 1, "noSuchOption"));
+	}
+
+	@Test
+	public void disabledByDefault() {
+		for(StanzaSpec spec : Linters.PACKAGES_INDEX_STANZAS) {
+			spec.fields().values().forEach(field -> assertFalse(field.linter() instanceof MemoizedFieldLinter));
+		}
+	}
+
+	@Test
+	public void errorsAreNotCachedWhenThrown() {
+		MemoizedFieldLinter linter = new MemoizedFieldLinter(Linters.PACKAGE_NAME_LINTER);
+		assertThrows(IllegalArgumentException.class, () -> linter.accept(new Line("Invalid_Name", 1), Configuration.PRESET_EXACT));
+		assertThrows(IllegalArgumentException.class, () -> linter.accept(new Line("Invalid_Name", 2), Configuration.PRESET_EXACT));
+		assertEquals(0, linter.getHits());
+		assertEquals(2, linter.getMisses());
+	}
+
+	@Test
+	public void repeatedValues() {
+		AtomicInteger calls = new AtomicInteger();
+		MemoizedFieldLinter linter = new MemoizedFieldLinter((s, config) -> {
+			calls.incrementAndGet();
+			Linters.SECTION_LINTER.accept(s, config);
+		});
+		for(int i = 0; i < 100; i++) {
+			linter.accept(new Line(i % 2 == 0 ? "utils" : "contrib/net", i), Configuration.PRESET_EXACT);
+		}
+		assertEquals(2, calls.get());
+		assertEquals(98, linter.getHits());
+		assertEquals(2, linter.getMisses());
+	}
+
+	@Test
+	public void uncacheable() {
+		AtomicInteger calls = new AtomicInteger();
+		MemoizedFieldLinter linter = new MemoizedFieldLinter((s, config) -> {
+			calls.incrementAndGet();
+			Main.uncacheable();
+		});
+		linter.accept(new Line("Mon, 01 Jan 2024 00:00:00 +0000", 1), Configuration.PRESET_EXACT);
+		linter.accept(new Line("Mon, 01 Jan 2024 00:00:00 +0000", 2), Configuration.PRESET_EXACT);
+		assertEquals(2, calls.get());
+		assertEquals(0, linter.getHits());
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import com.tibetiroka.deblint.Configuration;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class PackageConsistencyTest {
+	private static final String CONTROL = """
+			Source: hello
+			Maintainer: Santiago Vila <sanvila@debian.org>
+			Section: devel
+			Priority: optional
+			Standards-Version: 4.6.2
+			
+			Package: hello
+			Architecture: any
+			Description: example package based on GNU hello
+			 The GNU hello program produces a familiar, friendly greeting.
+			
+			Package: hello-udeb
+			Package-Type: udeb
+			Section: debian-installer
+			Architecture: any
+			Description: example package based on GNU hello
+			 The GNU hello program produces a familiar, friendly greeting.
+			""";
+	private static final String DSC = """
+			Format: 3.0 (quilt)
+			Source: hello
+			Binary: %s
+			Architecture: any
+			Version: 2.10-3
+			Maintainer: Santiago Vila <sanvila@debian.org>
+			Standards-Version: 4.6.2
+			Package-List:
+			 hello deb devel optional arch=any
+			 hello-udeb udeb %s optional arch=any
+			Checksums-Sha1:
+			 6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e6b8d2b6e 1234 hello_2.10.orig.tar.gz
+			 6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e6b8d2b6e 1234 hello_2.10-3.debian.tar.xz
+			Checksums-Sha256:
+			 31e066137a962676e89f69d1b65382de95a7ef7d914b8cb956f41ea72e0f516b 1234 hello_2.10.orig.tar.gz
+			 31e066137a962676e89f69d1b65382de95a7ef7d914b8cb956f41ea72e0f516b 1234 hello_2.10-3.debian.tar.xz
+			Files:
+			 6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e 1234 hello_2.10.orig.tar.gz
+			 6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e 1234 hello_2.10-3.debian.tar.xz
+			""";
+	private static final String CHANGES = """
+			Format: 1.8
+			Date: Sun, 06 Aug 2023 12:00:00 +0200
+			Source: hello
+			Binary: %s
+			Architecture: source amd64
+			Version: %s
+			Distribution: unstable
+			Urgency: medium
+			Maintainer: Santiago Vila <sanvila@debian.org>
+			Changed-By: Santiago Vila <sanvila@debian.org>
+			Changes:
+			 hello (2.10-3) unstable; urgency=medium
+			 .
+			   * New release.
+			Checksums-Sha1:
+			 6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e6b8d2b6e 1234 hello_2.10-3.dsc
+			Checksums-Sha256:
+			 31e066137a962676e89f69d1b65382de95a7ef7d914b8cb956f41ea72e0f516b 1234 hello_2.10-3.dsc
+			Files:
+			 6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e 1234 devel optional hello_2.10-3.dsc
+			""";
+
+	@Test
+	public void consistency(@TempDir Path dir) throws IOException {
+		Files.createDirectories(dir.resolve("debian"));
+		Files.writeString(dir.resolve("debian/control"), CONTROL);
+		Configuration config = Configuration.PRESET_QUIRKS.clone();
+		config.packageConsistency = true;
+		config.packageDirectory = dir.toFile();
+		write(dir, "hello_2.10-3.dsc", DSC.formatted("hello, hello-udeb", "debian-installer"));
+		write(dir, "hello_2.10-3_amd64.changes", CHANGES.formatted("hello hello-udeb", "2.10-3"));
+		assertDoesNotThrow(() -> PackageConsistency.lint(config));
+		write(dir, "hello_2.10-3.dsc", DSC.formatted("hello", "debian-installer"));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> PackageConsistency.lint(config));
+		assertEquals("Binary package of debian/control is missing from the Binary field: hello-udeb", e.getMessage());
+		write(dir, "hello_2.10-3.dsc", DSC.formatted("hello, hello-udeb", "devel"));
+		e = assertThrows(IllegalArgumentException.class, () -> PackageConsistency.lint(config));
+		assertEquals("Package-List entry does not match debian/control: hello-udeb udeb devel optional, expected udeb debian-installer optional", e.getMessage());
+		write(dir, "hello_2.10-3.dsc", DSC.formatted("hello, hello-udeb", "debian-installer"));
+		write(dir, "hello_2.10-3_amd64.changes", CHANGES.formatted("hello hello-doc", "2.10-3"));
+		e = assertThrows(IllegalArgumentException.class, () -> PackageConsistency.lint(config));
+		assertEquals("Binary package is not built by the source package in the .dsc file: hello-doc", e.getMessage());
+		// automatic debug symbol packages
+		write(dir, "hello_2.10-3_amd64.changes", CHANGES.formatted("hello hello-dbgsym", "2.10-3"));
+		assertDoesNotThrow(() -> PackageConsistency.lint(config));
+		write(dir, "hello_2.10-3_amd64.changes", CHANGES.formatted("hello hello-doc-dbgsym", "2.10-3"));
+		e = assertThrows(IllegalArgumentException.class, () -> PackageConsistency.lint(config));
+		assertEquals("Binary package is not built by the source package in the .dsc file: hello-doc-dbgsym", e.getMessage());
+		write(dir, "hello_2.10-3_amd64.changes", CHANGES.formatted("hello", "2.10-4"));
+		e = assertThrows(IllegalArgumentException.class, () -> PackageConsistency.lint(config));
+		assertEquals("Version does not match the .dsc file: 2.10-4, expected 2.10-3", e.getMessage());
+		config.packageConsistency = false;
+		assertDoesNotThrow(() -> PackageConsistency.lint(config));
+	}
+
+	private static void write(Path dir, String name, String text) throws IOException {
+		Files.writeString(dir.resolve(name), text);
+	}
+}
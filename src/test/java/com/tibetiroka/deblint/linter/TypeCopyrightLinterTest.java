@@ -13,11 +13,21 @@ package com.tibetiroka.deblint.linter;
 import com.tibetiroka.deblint.Configuration;
 import com.tibetiroka.deblint.linter.Linters.TypeCopyrightLinter;
 import com.tibetiroka.deblint.parser.ControlFile;
+import com.tibetiroka.deblint.parser.ControlType;
+import com.tibetiroka.deblint.parser.StanzaReader;
+import com.tibetiroka.deblint.util.GlobSet;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.*;
 import org.junit.jupiter.params.provider.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -134,6 +144,98 @@ public final class TypeCopyrightLinterTest {
 		assertEquals(regex, p.pattern());
 	}
 
+	@ParameterizedTest
+	@CsvSource({"a,a", "a,b", "*,src/a.c", "src/*,src/a.c", "src/*,src/sub/a.c", "src/*.c,src/sub/a.c", "src/*.c,src/a.h", "?,a", "?,ab", "a*b*c,aXbYc", "a*b*c,aXcYb", "a**b,ab", "*.txt,.txt", "\\*,*", "\\*,a", "./a,a"})
+	public void globSetMatchesRegex(String pattern, String path) {
+		TypeCopyrightLinter linter = new TypeCopyrightLinter();
+		GlobSet set = new GlobSet(List.of(linter.normalizePattern(pattern)));
+		assertEquals(linter.toRegex(pattern).matcher(path).matches(), set.lastMatch(set.advance(set.start(), path)) == 0);
+	}
+
+	@Test
+	public void sourceTree(@TempDir Path dir) throws IOException {
+		Files.createDirectories(dir.resolve("src/sub"));
+		Files.createDirectories(dir.resolve(".git"));
+		Files.writeString(dir.resolve("README"), "");
+		Files.writeString(dir.resolve("src/a.c"), "");
+		Files.writeString(dir.resolve("src/sub/b.c"), "");
+		Files.writeString(dir.resolve(".git/config"), "");
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		config.urlExists = false;
+		config.sourceTree = dir.toFile();
+		String header = """
+				Format: https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/
+				Upstream-Name: test
+				Upstream-Contact: test <test@test.org>
+				Source: https://salsa.debian.org/debian/debmake-doc
+				
+				Files: *
+				Copyright: copyright text
+				License: test
+				 description
+				
+				""";
+		assertDoesNotThrow(() -> lint(config, header + """
+				Files:
+				 README
+				 src/*
+				Copyright: copyright text
+				License: test
+				 description
+				"""));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> lint(config, header + """
+				Files: src/*
+				Copyright: copyright text
+				License: test
+				 description
+				"""));
+		assertEquals("File is only covered by the catch-all pattern: README", e.getMessage());
+		e = assertThrows(IllegalArgumentException.class, () -> lint(config, header + """
+				Files:
+				 README
+				 src/*
+				 doc/*
+				Copyright: copyright text
+				License: test
+				 description
+				"""));
+		assertEquals("File pattern does not match any file in the source tree: doc/*", e.getMessage());
+		config.catchAllFiles = false;
+		assertDoesNotThrow(() -> lint(config, header + """
+				Files: src/*
+				Copyright: copyright text
+				License: test
+				 description
+				"""));
+	}
+
+	@Test
+	public void memoryBudget() {
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		config.urlExists = false;
+		config.checkedType = ControlType.COPYRIGHT;
+		// small enough to spill the patterns of every stanza
+		config.memoryBudget = 64;
+		StringBuilder text = new StringBuilder("""
+				Format: https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/
+				Upstream-Name: test
+				Upstream-Contact: test <test@test.org>
+				Source: https://salsa.debian.org/debian/debmake-doc
+				""");
+		for(int i = 0; i < 20; i++) {
+			text.append("\nFiles: src/").append(i).append("/*\nCopyright: copyright text\nLicense: test\n description\n");
+		}
+		assertDoesNotThrow(() -> lintStreamed(config, text.toString()));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> lintStreamed(config, text + "\nFiles: src/*\nCopyright: copyright text\nLicense: test\n description\n"));
+		assertEquals("More generic patterns should precede specific ones: src/0/* and src/*", e.getMessage());
+		e = assertThrows(IllegalArgumentException.class, () -> lintStreamed(config, text + "\nLicense: other\n text\n"));
+		assertEquals("Stand-alone license stanza is not required; maybe the license was already defined: other", e.getMessage());
+	}
+
+	private void lintStreamed(Configuration config, String text) throws Exception {
+		new ControlFile(config).lintStreamed(new StanzaReader(new BufferedReader(new StringReader(text)), config));
+	}
+
 	private void lint(Configuration config, String text) throws Exception {
 		ControlFile file = new ControlFile(config);
 		file.parse(Arrays.asList(text.split("\\n")));
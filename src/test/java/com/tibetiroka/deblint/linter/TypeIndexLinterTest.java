@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.linter;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.parser.ControlFile;
+import com.tibetiroka.deblint.parser.ControlType;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class TypeIndexLinterTest {
+	private static final String PACKAGE = """
+			Package: %s
+			Source: %s
+			Version: %s
+			Architecture: %s
+			Maintainer: Santiago Vila <sanvila@debian.org>
+			Installed-Size: 284
+			Section: devel
+			Priority: optional
+			Description: example package based on GNU hello
+			Filename: %s
+			Size: %d
+			SHA256: %s
+			""";
+	private static final String SHA = "6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6";
+
+	@Test
+	public void duplicateEntries() throws IOException {
+		Configuration config = config(ControlType.PACKAGES_INDEX);
+		assertDoesNotThrow(() -> lint(config, entry("hello", "2.10-3", "amd64", "a.deb", 1, SHA + "a"), entry("hello", "2.10-3", "arm64", "b.deb", 1, SHA + "b"), entry("hello", "2.10-4", "amd64", "c.deb", 1, SHA + "c")));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> lint(config, entry("hello", "2.10-3", "amd64", "a.deb", 1, SHA + "a"), entry("hello", "2.10-3", "amd64", "b.deb", 1, SHA + "b")));
+		assertEquals("Package is already declared in the index on line 1: hello 2.10-3 amd64", e.getMessage());
+		config.duplicateIndexEntries = false;
+		assertDoesNotThrow(() -> lint(config, entry("hello", "2.10-3", "amd64", "a.deb", 1, SHA + "a"), entry("hello", "2.10-3", "amd64", "b.deb", 1, SHA + "b")));
+	}
+
+	@Test
+	public void fileCollisions() {
+		Configuration config = config(ControlType.PACKAGES_INDEX);
+		// the same file may be listed more than once, as long as it has the same contents
+		assertDoesNotThrow(() -> lint(config, entry("hello", "2.10-3", "amd64", "a.deb", 1, SHA + "a"), entry("hello", "2.10-3", "arm64", "a.deb", 1, SHA + "a")));
+		assertThrows(IllegalArgumentException.class, () -> lint(config, entry("hello", "2.10-3", "amd64", "a.deb", 1, SHA + "a"), entry("hello", "2.10-3", "arm64", "a.deb", 2, SHA + "b")));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> lint(config, entry("hello", "2.10-3", "amd64", "a.deb", 1, SHA + "a"), entry("hello", "2.10-3", "arm64", "b.deb", 2, SHA + "a")));
+		assertEquals("SHA256 hash is shared by files of different sizes: " + SHA + "a", e.getMessage());
+	}
+
+	@Test
+	public void missingSources(@TempDir Path dir) throws IOException {
+		Path sources = dir.resolve("Sources");
+		Files.writeString(sources, """
+				Package: hello
+				Version: 2.10-3
+				""");
+		Configuration config = config(ControlType.PACKAGES_INDEX);
+		config.sourcesIndex = sources.toFile();
+		assertDoesNotThrow(() -> lint(config, entry("hello", "2.10-3", "amd64", "a.deb", 1, SHA + "a"), entry("hello-doc", "hello (2.10-3)", "2.10-3+b1", "all", "b.deb", 1, SHA + "b")));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> lint(config, entry("hello", "2.10-4", "amd64", "a.deb", 1, SHA + "a")));
+		assertEquals("Source package is not in the sources index: hello_2.10-4", e.getMessage());
+		config.sourcesIndex = new File(dir.toFile(), "missing");
+		assertThrows(IllegalArgumentException.class, () -> lint(config, entry("hello", "2.10-3", "amd64", "a.deb", 1, SHA + "a")));
+	}
+
+	private static Configuration config(ControlType type) {
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		config.checkedType = type;
+		config.customFields = false;
+		config.recommendedFields = false;
+		return config;
+	}
+
+	private static String entry(String name, String version, String architecture, String file, long size, String hash) {
+		return entry(name, name, version, architecture, file, size, hash);
+	}
+
+	private static String entry(String name, String source, String version, String architecture, String file, long size, String hash) {
+		return PACKAGE.formatted(name, source, version, architecture, file, size, hash);
+	}
+
+	private static void lint(Configuration config, String... stanzas) {
+		ControlFile file = new ControlFile(config);
+		file.parse(String.join("\n", stanzas).lines().toList());
+		file.matchStanzas();
+		file.lintStanzas();
+	}
+}
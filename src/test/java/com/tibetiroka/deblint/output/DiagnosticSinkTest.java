@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.output;
+
+import com.tibetiroka.deblint.Diagnostic;
+import com.tibetiroka.deblint.parser.ControlType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class DiagnosticSinkTest {
+	private static final Diagnostic FIRST = new Diagnostic("Invalid email address: \"a@@b\"", "addressStyle", "https://www.debian.org/doc/debian-policy/ch-controlfields.html#maintainer", 2, null);
+	private static final Diagnostic SECOND = new Diagnostic("Missing mandatory stanza:\tFiles", null, null, -1, "hello_1.0.dsc");
+
+	@Test
+	public void json() throws IOException {
+		assertEquals("{\"diagnostics\":[{\"message\":\"Invalid email address: \\\"a@@b\\\"\",\"check\":\"addressStyle\",\"reference\":\"https://www.debian.org/doc/debian-policy/ch-controlfields.html#maintainer\",\"line\":2,\"file\":\"debian/control\",\"context\":null,\"type\":\"debian/control\"},{\"message\":\"Missing mandatory stanza:\\tFiles\",\"check\":null,\"reference\":null,\"line\":null,\"file\":\"debian/control\",\"context\":\"hello_1.0.dsc\",\"type\":null}],\"summary\":{\"errors\":2,\"checks\":{\"addressStyle\":1}}}\n", write("json"));
+		assertEquals("{\"diagnostics\":[],\"summary\":{\"errors\":0,\"checks\":{}}}\n", write("json", new Diagnostic[0]));
+	}
+
+	@Test
+	public void jsonLines() throws IOException {
+		String[] lines = write("jsonl").split("\n");
+		assertEquals(3, lines.length);
+		assertTrue(lines[0].startsWith("{\"message\":\"Invalid email address: \\\"a@@b\\\"\",\"check\":\"addressStyle\","));
+		assertTrue(lines[1].endsWith("\"context\":\"hello_1.0.dsc\",\"type\":null}"));
+		assertEquals("{\"summary\":{\"errors\":2,\"checks\":{\"addressStyle\":1}}}", lines[2]);
+	}
+
+	@Test
+	public void sarif() throws IOException {
+		String sarif = write("sarif");
+		assertTrue(sarif.startsWith("{\"$schema\":\"https://json.schemastore.org/sarif-2.1.0.json\",\"version\":\"2.1.0\",\"runs\":[{\"results\":[{\"ruleId\":\"addressStyle\",\"level\":\"error\",\"message\":{\"text\":\"Invalid email address: \\\"a@@b\\\"\"},\"locations\":[{\"physicalLocation\":{\"artifactLocation\":{\"uri\":\"debian/control\"},\"region\":{\"startLine\":2}}}]"));
+		assertTrue(sarif.contains("\"logicalLocations\":[{\"name\":\"hello_1.0.dsc\"}]"));
+		assertTrue(sarif.contains("\"rules\":[{\"id\":\"addressStyle\",\"shortDescription\":{\"text\":\"An address (name and email) not using the proper format.\"}}]"));
+		assertTrue(sarif.endsWith("\"properties\":{\"errors\":2,\"checks\":{\"addressStyle\":1}}}]}\n"));
+	}
+
+	@Test
+	public void text() throws IOException {
+		StringWriter out = new StringWriter();
+		DiagnosticSink sink = DiagnosticSink.create("text", out, true, true, false);
+		sink.accept(FIRST, "debian/control", ControlType.SOURCE_PACKAGE_CONTROL);
+		sink.accept(SECOND, "debian/control", null);
+		sink.finish();
+		assertEquals("Error: [addressStyle] Invalid email address: \"a@@b\" {around line 2}" + System.lineSeparator() + "Error: Missing mandatory stanza:\tFiles (in hello_1.0.dsc)" + System.lineSeparator(), out.toString());
+	}
+
+	private static String write(String format) throws IOException {
+		return write(format, FIRST, SECOND);
+	}
+
+	private static String write(String format, Diagnostic... diagnostics) throws IOException {
+		StringWriter out = new StringWriter();
+		DiagnosticSink sink = DiagnosticSink.create(format, out, false, false, false);
+		for(int i = 0; i < diagnostics.length; i++) {
+			sink.accept(diagnostics[i], "debian/control", i == 0 ? ControlType.SOURCE_PACKAGE_CONTROL : null);
+		}
+		sink.finish();
+		return out.toString();
+	}
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.Diagnostic;
+import com.tibetiroka.deblint.Main;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ControlFileTest {
+	@Test
+	public void matchStanzas() {
+		Configuration config = Configuration.PRESET_QUIRKS.clone();
+		config.checkedType = ControlType.COPYRIGHT;
+		// header, repeated file stanzas, then stand-alone licenses
+		ControlFile file = match(config, """
+				Format: https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/
+
+				Files: *
+				Copyright: text
+				License: a
+
+				Files: b
+				Copyright: text
+				License: b
+
+				License: a
+
+				License: b
+				""");
+		assertEquals("[header stanza, file stanza, file stanza, stand-alone license stanza, stand-alone license stanza]", Arrays.toString(file.getSpecs().stream().map(StanzaSpec::name).toArray()));
+		// file stanza after the stand-alone licenses
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> match(config, """
+				Format: https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/
+
+				Files: *
+				Copyright: text
+				License: a
+
+				License: a
+
+				Files: b
+				Copyright: text
+				"""));
+		assertEquals("Cannot match stanza; possibly missing fields or incorrect stanza order: no. 4 (attempted matching with: stand-alone license stanza)", e.getMessage());
+		// missing header
+		e = assertThrows(IllegalArgumentException.class, () -> match(config, """
+				Files: *
+				Copyright: text
+				License: a
+				"""));
+		assertEquals("Cannot match stanza; possibly missing fields or incorrect stanza order: no. 1 (attempted matching with: header stanza)", e.getMessage());
+		// missing file stanza
+		e = assertThrows(IllegalArgumentException.class, () -> match(config, """
+				Format: https://www.debian.org/doc/packaging-manuals/copyright-format/1.0/
+				"""));
+		assertEquals("Missing mandatory stanza: file stanza", e.getMessage());
+	}
+
+	@Test
+	public void matchRepeatedStanzas() {
+		Configuration config = Configuration.PRESET_QUIRKS.clone();
+		config.checkedType = ControlType.SOURCE_PACKAGE_CONTROL;
+		StringBuilder text = new StringBuilder("Source: a\nMaintainer: A <a@a>\nStandards-Version: 4.7.0\n");
+		for(int i = 0; i < 1000; i++) {
+			text.append("\nPackage: a").append(i).append("\nArchitecture: any\n");
+		}
+		ControlFile file = match(config, text.toString());
+		assertEquals(1001, file.getSpecs().size());
+		assertEquals("binary package stanza", file.getSpecs().getLast().name());
+		// general stanza used again
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> match(config, text + "\nSource: b\nMaintainer: A <a@a>\nStandards-Version: 4.7.0\n"));
+		assertEquals("Cannot match stanza; possibly missing fields or incorrect stanza order: no. 1002 (attempted matching with: binary package stanza)", e.getMessage());
+	}
+
+	@Test
+	public void fieldLineNumbers() {
+		Configuration config = Configuration.PRESET_QUIRKS.clone();
+		config.checkedType = ControlType.SOURCE_CONTROL;
+		ControlFile file = new ControlFile(config);
+		file.parse(Arrays.asList("""
+				Format: 3.0 (quilt)
+				Files:
+				 c6f698f19f2a2aa07dbb9bbda90a2754 571925 a.tar.xz
+				# comment
+				 938af0d6e2e1c2b1a1d5e4d9e0c4f6c1 1234 a.dsc
+				""".split("\\n")));
+		DataField field = file.getStanzas().getFirst().getField("Files");
+		List<Integer> numbers = new ArrayList<>();
+		for(LineView line : field.lines()) {
+			numbers.add(line.lineNumber());
+		}
+		assertEquals(List.of(2, 3, 5), numbers);
+		assertEquals("", field.firstLine().toString());
+		assertEquals("a.dsc", field.data().substring(field.data().lastIndexOf(' ') + 1));
+	}
+
+	@Test
+	public void internFields() {
+		Configuration config = Configuration.PRESET_QUIRKS.clone();
+		config.checkedType = ControlType.SOURCE_PACKAGE_CONTROL;
+		ControlFile file = match(config, "Source: a\nMaintainer: A <a@a>\nStandards-Version: 4.7.0\n\nPackage: a\nArchitecture: any\n\nPackage: b\nArchitecture: any\n");
+		Stanza first = file.getStanzas().get(1);
+		Stanza second = file.getStanzas().get(2);
+		assertSame(first.getField("Architecture").data(), second.getField("Architecture").data());
+		String key = file.getSpecs().get(1).fields().keySet().stream().filter("Package"::equals).findAny().orElseThrow();
+		assertSame(key, first.getField("package").name());
+		assertSame(key, second.getField("package").name());
+	}
+
+	@Test
+	public void parallelParse() {
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		config.checkedType = ControlType.PACKAGES_INDEX;
+		StringBuilder text = new StringBuilder();
+		for(int i = 0; i < 200; i++) {
+			String newline = i % 7 == 0 ? "\r\n" : "\n";
+			text.append("Package: p").append(i).append(newline);
+			if(i % 5 == 0) {
+				text.append("# comment").append(newline);
+			}
+			text.append("Description: d").append(newline).append(" continued ").append(i).append(newline);
+			if(i % 11 == 0) {
+				text.append(" ").append(newline);
+			}
+			text.append(i % 13 == 0 ? "\t" : "").append(newline);
+			if(i % 17 == 0) {
+				text.append(newline);
+			}
+		}
+		assertParsedInParallel(config, text.toString());
+		// parsing stops at the first stanza that cannot be parsed
+		assertParsedInParallel(config, text + "Package: broken\nno colon\n\n" + text);
+		assertParsedInParallel(config, "Package: a\n\n\nPackage: b\n");
+	}
+
+	@Test
+	public void streamedDiagnostics() {
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		config.checkedType = ControlType.PACKAGES_INDEX;
+		String text = "  \nPackage: a \nDescription: b\n c\t\n \n\t\n\nPackage: b\n\t\nPackage: c\n";
+		ControlFile sequential = new ControlFile(config);
+		List<String> expected = Main.defer(() -> sequential.parse(text.lines().toList())).stream().map(d -> d.line() + " " + d.message()).sorted().toList();
+		assertEquals(List.of("1 Stanza separator contains whitespaces: should be empty", "5 Line has trailing whitespace: ", "6 Line has trailing whitespace: ", "9 Line has trailing whitespace: "), expected);
+		StanzaReader reader = new StanzaReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), config);
+		List<Stanza> stanzas = new ArrayList<>();
+		List<String> streamed = Main.defer(() -> {
+			try {
+				for(Stanza stanza = reader.next(); stanza != null; stanza = reader.next()) {
+					stanzas.add(stanza);
+				}
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}).stream().map(d -> d.line() + " " + d.message()).sorted().toList();
+		assertEquals(expected, streamed);
+		assertEquals(render(sequential.getStanzas()), render(stanzas));
+		assertEquals(2, stanzas.size());
+	}
+
+	@Test
+	public void streamedInvalidStanza() throws IOException {
+		Configuration config = Configuration.PRESET_QUIRKS.clone();
+		config.checkedType = ControlType.SOURCES_INDEX;
+		String text = "Package: a\n\nPackage b\nVersion: 1\n\nPackage: c\n";
+		StanzaReader reader = new StanzaReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), config);
+		List<String> names = new ArrayList<>();
+		List<Diagnostic> diagnostics = Main.defer(() -> {
+			try {
+				for(Stanza stanza = reader.next(); stanza != null; stanza = reader.next()) {
+					names.add(stanza.getField("Package").data());
+				}
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		assertEquals(List.of("a", "c"), names);
+		assertEquals(1, diagnostics.size());
+		assertEquals(3, diagnostics.getFirst().line());
+	}
+
+	@Test
+	public void invalidUtf8() throws IOException {
+		Configuration config = Configuration.PRESET_QUIRKS.clone();
+		config.checkedType = ControlType.PACKAGES_INDEX;
+		File target = File.createTempFile("deblint", "Packages");
+		target.deleteOnExit();
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		data.write("Package: a\nDescription: caf".getBytes(StandardCharsets.UTF_8));
+		data.write(new byte[] {(byte) 0xc3, '\n', ' ', 'x', (byte) 0xff, (byte) 0xfe, 'y', '\n', '\n'});
+		data.write("Package: b\nDescription: é\n".getBytes(StandardCharsets.UTF_8));
+		try(OutputStream out = new FileOutputStream(target)) {
+			data.writeTo(out);
+		}
+		config.targetFile = target;
+		List<String> expected = List.of("2 Invalid UTF-8 sequence at column 17: 0xC3", "3 Invalid UTF-8 sequence at column 3: 0xFF", "3 Invalid UTF-8 sequence at column 4: 0xFE");
+		ControlFile sequential = new ControlFile(config);
+		assertEquals(expected, Main.defer(sequential::parse).stream().map(d -> d.line() + " " + d.message()).toList());
+		assertEquals(2, sequential.getStanzas().size());
+		assertEquals("caf\uFFFD\n x\uFFFD\uFFFDy", sequential.getStanzas().getFirst().getField("Description").data().strip());
+		ControlFile parallel = new ControlFile(config);
+		assertEquals(expected, Main.defer(() -> assertTrue(parallel.parse(ByteBuffer.wrap(data.toByteArray()), 4))).stream().map(d -> d.line() + " " + d.message()).toList());
+		assertEquals(render(sequential), render(parallel));
+		StanzaReader reader = new StanzaReader(new ByteArrayInputStream(data.toByteArray()), config);
+		assertEquals(expected, Main.defer(() -> {
+			try {
+				while(reader.next() != null) {
+				}
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}).stream().map(d -> d.line() + " " + d.message()).toList());
+	}
+
+	private static void assertParsedInParallel(Configuration config, String text) {
+		ControlFile sequential = new ControlFile(config);
+		List<Diagnostic> expected = Main.defer(() -> sequential.parse(text.lines().toList()));
+		for(int chunks : new int[] {1, 3, 16, 1000}) {
+			ControlFile parallel = new ControlFile(config);
+			List<Diagnostic> actual = Main.defer(() -> assertTrue(parallel.parse(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)), chunks)));
+			assertEquals(expected.stream().map(d -> d.line() + " " + d.message()).toList(), actual.stream().map(d -> d.line() + " " + d.message()).toList());
+			assertEquals(render(sequential), render(parallel));
+		}
+	}
+
+	private static List<String> render(ControlFile file) {
+		return render(file.getStanzas());
+	}
+
+	private static List<String> render(List<Stanza> stanzas) {
+		List<String> rendered = new ArrayList<>();
+		for(Stanza stanza : stanzas) {
+			rendered.add("stanza " + stanza.getFirstLine());
+			for(DataField field : stanza.dataFields) {
+				List<Integer> numbers = new ArrayList<>();
+				for(LineView line : field.lines()) {
+					numbers.add(line.lineNumber());
+				}
+				rendered.add(field.name() + ":" + field.data() + " " + numbers);
+			}
+		}
+		return rendered;
+	}
+
+	@Test
+	public void streamIndex() throws IOException {
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		config.checkedType = ControlType.PACKAGES_INDEX;
+		String stanza = """
+				Package: hello%d
+				Version: 2.10-3
+				Architecture: amd64
+				Maintainer: Santiago Vila <sanvila@debian.org>
+				Installed-Size: 284
+				Depends: libc6 (>= 2.34)
+				Section: devel
+				Priority: optional
+				Multi-Arch: foreign
+				Description: example package based on GNU hello
+				Description-md5: 6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e
+				Filename: pool/main/h/hello/hello_2.10-3_amd64.deb
+				Size: 53120
+				MD5sum: 6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e
+				SHA256: 6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e6b8d2b6e5a1b1e0b1c5d1b0e6b8d2b6e
+				""";
+		StringBuilder text = new StringBuilder();
+		for(int i = 0; i < 100; i++) {
+			text.append(stanza.formatted(i)).append('\n');
+		}
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try(GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+			out.write(text.toString().getBytes(StandardCharsets.UTF_8));
+		}
+		assertDoesNotThrow(() -> streamIndex(config, compressed.toByteArray()));
+		assertDoesNotThrow(() -> streamIndex(config, text.toString().getBytes(StandardCharsets.UTF_8)));
+		String invalid = text + stanza.formatted(100).replace("Size: 53120", "Size: -1");
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> streamIndex(config, invalid.getBytes(StandardCharsets.UTF_8)));
+		assertEquals("Size cannot be negative: -1", e.getMessage());
+	}
+
+	private static void streamIndex(Configuration config, byte[] data) throws IOException {
+		ControlFile file = new ControlFile(config);
+		try(StanzaReader reader = new StanzaReader(new BufferedReader(new InputStreamReader(StanzaReader.decompress(new ByteArrayInputStream(data)), StandardCharsets.UTF_8)), config)) {
+			file.lintStreamed(reader);
+		}
+		assertTrue(file.getStanzas().isEmpty());
+	}
+
+	private static ControlFile match(Configuration config, String text) {
+		ControlFile file = new ControlFile(config);
+		file.parse(Arrays.asList(text.split("\\n")));
+		file.matchStanzas();
+		return file;
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataFieldTest {
+	private static final int[] SIZES = {10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+	@Test
+	public void equality() {
+		DataField field = new DataField("Description", "a\n b", 1, FieldType.MULTILINE, new int[] {1, 3});
+		DataField same = new DataField("Description", "a\n b", 1, FieldType.MULTILINE, new int[] {1, 3});
+		assertEquals(field, same);
+		assertEquals(field.hashCode(), same.hashCode());
+		assertNotEquals(field, new DataField("Description", "a\n b", 1, FieldType.MULTILINE, new int[] {1, 4}));
+		assertNotEquals(field, new DataField("Description", "a\n b", 1, FieldType.MULTILINE, null));
+		assertEquals(field.toLine(), same.toLine());
+		assertEquals(field.toLine().hashCode(), same.toLine().hashCode());
+		assertNotEquals(field.toLine(), new Line("a\n b", 1));
+	}
+
+	@Test
+	public void fold() {
+		Random random = new Random(0);
+		for(int size : SIZES) {
+			String data = generate(random, size);
+			assertEquals(data.replaceAll("\\s*\\n\\s*", ""), DataField.fold(data), "size " + size);
+		}
+		String simple = "libc6 (>= 2.36), libgcc-s1";
+		assertSame(simple, DataField.fold(simple));
+		assertEquals("a,b", DataField.fold("a,\n \t b"));
+		assertEquals("a, b", DataField.fold("a, b"));
+		assertEquals("", DataField.fold("\n \n"));
+	}
+
+	@Test
+	public void normalizeField() {
+		DataField field = new DataField("Depends", " \tlibc6,\n libgcc-s1 \n\t", 1, FieldType.MULTILINE);
+		assertEquals("libc6,\n libgcc-s1", field.data());
+		assertEquals("libc6,libgcc-s1", field.changeType(FieldType.FOLDED, false).data());
+		assertEquals("libc6,", field.changeType(FieldType.SIMPLE, true).data());
+		assertNull(field.changeType(FieldType.SIMPLE, false));
+		assertSame(field, field.changeType(FieldType.MULTILINE, false));
+	}
+
+	@Test
+	public void trim() {
+		Random random = new Random(1);
+		for(int size : SIZES) {
+			String data = " \t " + generate(random, size) + " \n\t\r";
+			assertEquals(data.stripTrailing().replaceAll("^[ \t]*", ""), DataField.trim(data), "size " + size);
+		}
+		String trimmed = "already trimmed";
+		assertSame(trimmed, DataField.trim(trimmed));
+		assertEquals("\n a", DataField.trim(" \t\n a  "));
+		assertEquals("", DataField.trim(" \t "));
+	}
+
+	@Test
+	public void truncate() {
+		Random random = new Random(2);
+		for(int size : SIZES) {
+			String data = generate(random, size);
+			assertEquals(data.split("\\n", 2)[0], DataField.truncate(data), "size " + size);
+		}
+		String line = "single line";
+		assertSame(line, DataField.truncate(line));
+		assertEquals("", DataField.truncate("\nsecond"));
+	}
+
+	/**
+	 * Generates a field value made of words separated by runs of mixed whitespace.
+	 *
+	 * @param random The source of randomness
+	 * @param size   The approximate length of the value
+	 * @return The generated value
+	 */
+	private static String generate(Random random, int size) {
+		String whitespace = " \t\n\r\f\u000B";
+		StringBuilder builder = new StringBuilder(size + 16);
+		while(builder.length() < size) {
+			int word = random.nextInt(1, 12);
+			for(int i = 0; i < word; i++) {
+				builder.append((char) random.nextInt('a', 'z' + 1));
+			}
+			int spaces = random.nextInt(0, 4);
+			for(int i = 0; i < spaces; i++) {
+				builder.append(whitespace.charAt(random.nextInt(whitespace.length())));
+			}
+		}
+		return builder.toString();
+	}
+}
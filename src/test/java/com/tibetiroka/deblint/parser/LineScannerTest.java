@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import com.tibetiroka.deblint.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class LineScannerTest {
+	@Test
+	public void lines() {
+		String[] texts = {"", "a", "a\n", "a\r\nb\rc\n\nd", "Package: a\r\n\r\n\r\r\nDescription: é\n continued line that is longer than a word\n\t \n# comment ü\n", "\n\n\r", " x:y\t\n" + "z".repeat(100) + "é".repeat(30) + "\r"};
+		for(String text : texts) {
+			byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+			LineScanner scanner = new LineScanner(ByteBuffer.wrap(bytes), 0, bytes.length, true);
+			List<String> lines = new ArrayList<>();
+			while(scanner.next()) {
+				String line = scanner.text();
+				assertEquals(LineScanner.classify(line), scanner.getFlags(), line);
+				lines.add(line);
+			}
+			assertEquals(text.lines().toList(), lines);
+		}
+		assertEquals(LineScanner.BLANK | LineScanner.CONTINUATION | LineScanner.ASCII, LineScanner.classify(" \t"));
+		assertEquals(LineScanner.COMMENT, LineScanner.classify("# é"));
+	}
+
+	@Test
+	public void incompleteLines() {
+		byte[] bytes = "a\r\nb\r".getBytes(StandardCharsets.UTF_8);
+		LineScanner scanner = new LineScanner(ByteBuffer.wrap(bytes), 0, bytes.length, false);
+		assertTrue(scanner.next());
+		assertEquals("a", scanner.text());
+		// the next byte may be \n
+		assertFalse(scanner.next());
+		assertEquals(3, scanner.getPosition());
+	}
+
+	@Test
+	public void indexOfNewline() {
+		ByteBuffer data = ByteBuffer.wrap("0123456789abcdef\nxyz\n".getBytes(StandardCharsets.US_ASCII));
+		assertEquals(16, LineScanner.indexOfNewline(data, 0, data.limit()));
+		assertEquals(20, LineScanner.indexOfNewline(data, 17, data.limit()));
+		assertEquals(-1, LineScanner.indexOfNewline(data, 0, 16));
+	}
+
+	@Test
+	public void streamBytes() throws IOException {
+		Configuration config = Configuration.PRESET_QUIRKS.clone();
+		config.checkedType = ControlType.PACKAGES_INDEX;
+		StringBuilder text = new StringBuilder();
+		for(int i = 0; i < 3000; i++) {
+			String newline = i % 3 == 0 ? "\r\n" : "\n";
+			text.append("Package: p").append(i).append(newline).append("Description: é").append(newline).append(" x").append("x".repeat(i % 50)).append(newline);
+			if(i == 1500) {
+				// longer than the buffer
+				text.append(" ").append("y".repeat(100_000)).append(newline);
+			}
+			text.append(newline);
+		}
+		StanzaReader bytes = new StanzaReader(new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)), config);
+		StanzaReader chars = new StanzaReader(new BufferedReader(new StringReader(text.toString())), config);
+		int count = 0;
+		for(Stanza expected = chars.next(); expected != null; expected = chars.next()) {
+			Stanza actual = bytes.next();
+			assertNotNull(actual);
+			assertEquals(expected.getFirstLine(), actual.getFirstLine());
+			assertEquals(expected.dataFields.stream().map(DataField::data).toList(), actual.dataFields.stream().map(DataField::data).toList());
+			count++;
+		}
+		assertNull(bytes.next());
+		assertEquals(3000, count);
+	}
+}
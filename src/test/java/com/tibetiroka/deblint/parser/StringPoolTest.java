@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import com.tibetiroka.deblint.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class StringPoolTest {
+	@Test
+	public void intern() {
+		StringPool pool = new StringPool(16);
+		String value = new String("utils");
+		assertSame(value, pool.intern(value));
+		assertSame(value, pool.intern(new String("utils")));
+		String tooLong = "x".repeat(StringPool.MAX_LENGTH + 1);
+		assertSame(tooLong, pool.intern(tooLong));
+		assertNotSame(tooLong, pool.intern(new String(tooLong)));
+	}
+
+	@Test
+	public void pooledFields() {
+		Configuration config = Configuration.PRESET_QUIRKS.clone();
+		config.checkedType = ControlType.PACKAGES_INDEX;
+		StringPool pool = new StringPool(16);
+		List<Stanza> stanzas = new ArrayList<>();
+		for(int i = 0; i < 2; i++) {
+			List<Line> lines = new ArrayList<>(List.of(new Line("Package: hello", 1), new Line("Section: utils", 2), new Line("SHA256: " + "0".repeat(64), 3)));
+			stanzas.add(Stanza.parseNext(lines, config, pool));
+		}
+		assertSame(stanzas.get(0).getField("Section").data(), stanzas.get(1).getField("Section").data());
+		assertNotSame(stanzas.get(0).getField("SHA256").data(), stanzas.get(1).getField("SHA256").data());
+		assertNotSame(stanzas.get(0).getField("Package").data(), stanzas.get(1).getField("Package").data());
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.parser;
+
+import com.tibetiroka.deblint.parser.Utf8Validator.InvalidSequence;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class Utf8ValidatorTest {
+	@Test
+	public void valid() {
+		assertEquals(List.of(), validate("plain ASCII text, longer than a word"));
+		assertEquals(List.of(), validate("é ü – € 😀 �"));
+	}
+
+	@Test
+	public void invalid() {
+		// overlong encoding, surrogate, above U+10FFFF, invalid lead byte, stray continuation byte
+		assertEquals(List.of(new InvalidSequence(0, 2, "0xC0"), new InvalidSequence(0, 3, "0x80")), validate(bytes(0x61, 0xc0, 0x80)));
+		assertEquals(List.of(new InvalidSequence(0, 1, "0xED"), new InvalidSequence(0, 2, "0xA0"), new InvalidSequence(0, 3, "0x80")), validate(bytes(0xed, 0xa0, 0x80)));
+		assertEquals(List.of(new InvalidSequence(0, 1, "0xF4"), new InvalidSequence(0, 2, "0x90"), new InvalidSequence(0, 3, "0x80"), new InvalidSequence(0, 4, "0x80")), validate(bytes(0xf4, 0x90, 0x80, 0x80)));
+		assertEquals(List.of(new InvalidSequence(0, 1, "0xF5")), validate(bytes(0xf5)));
+		// truncated sequences, counted as one code point like their replacement
+		assertEquals(List.of(new InvalidSequence(0, 2, "0xE2 0x82"), new InvalidSequence(0, 4, "0xF0 0x9F 0x98")), validate(bytes(0xc3, 0xa9, 0xe2, 0x82, 0x78, 0xf0, 0x9f, 0x98)));
+	}
+
+	@Test
+	public void readLines() {
+		byte[] bytes = bytes('a', '\n', 'b', 0xff, 'c', '\r', '\n', 0xc3, 0xa9, '\n', 0xc3);
+		List<InvalidSequence> invalid = new ArrayList<>();
+		assertEquals(List.of("a", "b�c", "é", "�"), LineScanner.readLines(ByteBuffer.wrap(bytes), 0, bytes.length, invalid));
+		assertEquals(List.of(new InvalidSequence(1, 2, "0xFF"), new InvalidSequence(3, 1, "0xC3")), invalid);
+	}
+
+	private static List<InvalidSequence> validate(String text) {
+		return validate(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<InvalidSequence> validate(byte[] bytes) {
+		List<InvalidSequence> invalid = new ArrayList<>();
+		Utf8Validator.validate(ByteBuffer.wrap(bytes), 0, bytes.length, 0, invalid);
+		return invalid;
+	}
+
+	private static byte[] bytes(int... values) {
+		byte[] bytes = new byte[values.length];
+		for(int i = 0; i < values.length; i++) {
+			bytes[i] = (byte) values[i];
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.universe;
+
+import com.tibetiroka.deblint.Configuration;
+import com.tibetiroka.deblint.parser.ControlFile;
+import com.tibetiroka.deblint.parser.ControlType;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackageUniverseTest {
+	private static final String INDEX = """
+			Package: libc6
+			Version: 2.36-9
+			Architecture: amd64
+						
+			Package: libc6
+			Version: 2.37-1
+			Architecture: arm64
+						
+			Package: debhelper-compat
+			Version: 13.11.4
+			Architecture: all
+						
+			Package: postfix
+			Version: 1:3.7.10-0+deb12u1
+			Architecture: amd64
+			Provides: mail-transport-agent, default-mta (= 1:3.7.10-0+deb12u1)
+			""";
+
+	@ParameterizedTest
+	@CsvSource({"1.0,1.0,0", "1.0,1.0-0,0", "1.0~rc1,1.0,-1", "1.0,1.0+b1,-1", "1:0.1,2.0,1", "1.10,1.9,1", "1.0a,1.0,1", "1.0-1,1.0-1~bpo1,1", "2.36-9,2.37-1,-1", "001.0,1.0,0", "1.0+1,1.0+b,-1", "3.0+dfsg,3.0+1,1", "1.0~1,1.0~a,-1"})
+	public void compareVersions(String first, String second, int expected) {
+		assertEquals(expected, Integer.signum(DebianVersion.compare(first, second)));
+		assertEquals(-expected, Integer.signum(DebianVersion.compare(second, first)));
+	}
+
+	@Test
+	public void buildDependencies(@TempDir Path dir) throws IOException {
+		Path index = dir.resolve("Packages");
+		Files.writeString(index, INDEX);
+		PackageUniverse universe = PackageUniverse.cached(index.toFile());
+		assertSame(universe, PackageUniverse.cached(index.toFile()));
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		config.checkedType = ControlType.SOURCE_PACKAGE_CONTROL;
+		String control = """
+				Source: hello
+				Build-Depends: debhelper-compat (= 13.11.4), libc6 (>= 2.37) [arm64] | missing [amd64], missing <stage1>
+				Build-Depends-Indep: missing-doc <!nodoc>
+				""";
+		config.architecture = "arm64";
+		config.buildProfiles = Set.of("nodoc");
+		assertDoesNotThrow(() -> checkBuildDependencies(config, universe, control));
+		config.buildProfiles = Set.of("nodoc", "stage1");
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> checkBuildDependencies(config, universe, control));
+		assertEquals("Build dependency cannot be installed on arm64: missing <stage1>", e.getMessage());
+		config.buildProfiles = Set.of();
+		e = assertThrows(IllegalArgumentException.class, () -> checkBuildDependencies(config, universe, control));
+		assertEquals("Build dependency cannot be installed on arm64: missing-doc <!nodoc>", e.getMessage());
+		config.architecture = "amd64";
+		config.buildProfiles = Set.of("nodoc");
+		e = assertThrows(IllegalArgumentException.class, () -> checkBuildDependencies(config, universe, control));
+		assertEquals("Build dependency cannot be installed on amd64: missing [amd64]", e.getMessage());
+	}
+
+	@ParameterizedTest
+	@CsvSource({"amd64,amd64,true", "amd64,linux-any,true", "amd64,any-amd64,true", "amd64,any,true", "kfreebsd-amd64,linux-any,false", "kfreebsd-amd64,kfreebsd-any,true", "kfreebsd-amd64,any-amd64,true", "arm64,any-amd64,false", "musl-linux-arm64,linux-any,true", "armhf,any-arm,true", "armel,any-arm,true", "arm64,any-arm,false", "x32,any-amd64,true", "hurd-i386,any-i386,true", "kfreebsd-i386,any-i386,true", "hurd-i386,linux-any,false", "armhf,gnueabihf-any-any,false", "armhf,eabihf-any-any-any,true", "armhf,gnu-linux-any,true", "musl-linux-armhf,gnu-any-any,false", "unknown,any-unknown,false"})
+	public void matchArchitectures(String architecture, String pattern, boolean expected) {
+		assertEquals(expected, Relation.matchesArchitecture(architecture, pattern));
+	}
+
+	@Test
+	public void lintRelations(@TempDir Path dir) throws IOException {
+		Path index = dir.resolve("Packages");
+		Files.writeString(index, INDEX);
+		Configuration config = Configuration.PRESET_EXACT.clone();
+		config.checkedType = ControlType.SOURCE_PACKAGE_CONTROL;
+		config.packagesIndex = index.toFile();
+		String control = """
+				Source: hello
+				Maintainer: Santiago Vila <sanvila@debian.org>
+				Section: devel
+				Priority: optional
+				Standards-Version: 4.6.2
+				Build-Depends: debhelper-compat (= 13.11.4), %s
+								
+				Package: hello
+				Architecture: any
+				Section: devel
+				Priority: optional
+				Depends: libc6 (>= 2.36)
+				Description: example package based on GNU hello
+				 The GNU hello program produces a familiar, friendly greeting.
+				""";
+		assertDoesNotThrow(() -> lint(config, control.formatted("default-mta (>= 3.0)")));
+		assertDoesNotThrow(() -> lint(config, control.formatted("missing [!amd64]")));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> lint(config, control.formatted("missing | libc6 (>= 3)")));
+		assertEquals("Relation is not satisfied by any package in the packages index: missing | libc6 (>= 3)", e.getMessage());
+		config.unsatisfiableDependencies = false;
+		assertDoesNotThrow(() -> lint(config, control.formatted("missing | libc6 (>= 3)")));
+	}
+
+	@Test
+	public void satisfies(@TempDir Path dir) throws IOException {
+		Path index = dir.resolve("Packages");
+		Files.writeString(index, INDEX);
+		PackageUniverse universe = PackageUniverse.load(index.toFile());
+		assertEquals(4, universe.size());
+		assertTrue(universe.contains("mail-transport-agent"));
+		assertFalse(universe.contains("exim4"));
+		assertTrue(universe.satisfies(relation("libc6 (>= 2.36)"), null));
+		assertTrue(universe.satisfies(relation("libc6 (>= 2.36)"), "amd64"));
+		assertFalse(universe.satisfies(relation("libc6 (>= 2.37)"), "amd64"));
+		assertTrue(universe.satisfies(relation("libc6 (>= 2.37)"), "arm64"));
+		assertTrue(universe.satisfies(relation("libc6 (<< 2.37)"), null));
+		assertFalse(universe.satisfies(relation("libc6 (>> 2.37-1)"), null));
+		assertTrue(universe.satisfies(relation("libc6 (= 2.36-9)"), null));
+		assertTrue(universe.satisfies(relation("debhelper-compat (= 13.11.4)"), "riscv64"));
+		// unversioned virtual packages only satisfy unversioned relations
+		assertTrue(universe.satisfies(relation("mail-transport-agent"), null));
+		assertFalse(universe.satisfies(relation("mail-transport-agent (>= 1)"), null));
+		assertTrue(universe.satisfies(relation("default-mta (>= 3.7)"), null));
+		assertFalse(universe.satisfies(relation("default-mta (>= 2:1)"), null));
+	}
+
+	private static void checkBuildDependencies(Configuration config, PackageUniverse universe, String text) {
+		ControlFile file = new ControlFile(config);
+		file.parse(text.lines().toList());
+		file.checkBuildDependencies(universe);
+	}
+
+	private static void lint(Configuration config, String text) {
+		ControlFile file = new ControlFile(config);
+		file.parse(text.lines().toList());
+		file.matchStanzas();
+		file.lintStanzas();
+	}
+
+	private static Relation relation(String text) {
+		List<List<Relation>> groups = Relation.parse(text);
+		assertEquals(1, groups.size());
+		return groups.getFirst().getFirst();
+	}
+}
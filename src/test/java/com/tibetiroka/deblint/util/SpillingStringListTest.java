@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2024 by tibetiroka.
+ *
+ * debian-control-linter is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * debian-control-linter is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.tibetiroka.deblint.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class SpillingStringListTest {
+	@Test
+	public void spill() {
+		List<String> expected = new ArrayList<>();
+		try(SpillingStringList list = new SpillingStringList(200)) {
+			for(int i = 0; i < 50; i++) {
+				String value = "src/" + i + "/* é";
+				list.add(value);
+				expected.add(value);
+			}
+			assertTrue(list.isSpilled());
+			assertEquals(50, list.size());
+			List<String> read = new ArrayList<>();
+			List<Integer> batches = new ArrayList<>();
+			list.forEachBatch(batch -> {
+				read.addAll(batch);
+				batches.add(batch.size());
+			});
+			assertEquals(expected, read);
+			assertTrue(batches.size() > 1, batches.toString());
+			// one string over the budget before spilling, plus the batch in memory
+			assertTrue(list.getPeakBytes() <= 2 * 260, Long.toString(list.getPeakBytes()));
+		}
+	}
+
+	@Test
+	public void inMemory() {
+		try(SpillingStringList list = new SpillingStringList(Long.MAX_VALUE)) {
+			list.add("a");
+			list.add("b");
+			assertFalse(list.isSpilled());
+			List<String> read = new ArrayList<>();
+			list.forEachBatch(read::addAll);
+			assertEquals(List.of("a", "b"), read);
+		}
+	}
+}